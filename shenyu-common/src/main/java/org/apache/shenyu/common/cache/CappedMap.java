@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A concurrent map bounding the number of its keys, for metrics labelled by keys the gateway
+ * does not control.
+ *
+ * <p>Once the map holds {@code maxKeys} keys, any new key is folded into the overflow key,
+ * so lookups of a known key stay a single map read. Racing inserts may overshoot the cap by a
+ * few keys, which is fine for a cardinality guard.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class CappedMap<K, V> {
+
+    private final Map<K, V> map = new ConcurrentHashMap<>();
+
+    private final K overflowKey;
+
+    private volatile int maxKeys;
+
+    /**
+     * Instantiates a new capped map.
+     *
+     * @param maxKeys the max number of keys before folding
+     * @param overflowKey the key the keys over the cap are folded into
+     */
+    public CappedMap(final int maxKeys, final K overflowKey) {
+        this.maxKeys = maxKeys;
+        this.overflowKey = overflowKey;
+    }
+
+    /**
+     * Get the value of a key.
+     *
+     * @param key the key
+     * @return the value, null if the key is absent
+     */
+    public V get(final K key) {
+        return map.get(key);
+    }
+
+    /**
+     * Get the value of a key, creating it, or the overflow value once the map is full.
+     *
+     * @param key the key
+     * @param factory creates the value of the key, or of the overflow key
+     * @return the value
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> factory) {
+        V value = map.get(key);
+        if (Objects.nonNull(value)) {
+            return value;
+        }
+        return map.computeIfAbsent(map.size() >= maxKeys ? overflowKey : key, factory);
+    }
+
+    /**
+     * Set the max number of keys, keys already present are kept.
+     *
+     * @param maxKeys the max number of keys
+     */
+    public void setMaxKeys(final int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Get the max number of keys.
+     *
+     * @return the max number of keys
+     */
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * Get the number of keys, the overflow key included.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Get a read only view of the map.
+     *
+     * @return the view
+     */
+    public Map<K, V> asMap() {
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Remove every key.
+     */
+    public void clear() {
+        map.clear();
+    }
+}
@@ -34,6 +34,10 @@ public class NettyHttpProperties {
 
     private Boolean accessLog = false;
 
+    private Integer maxInitialLineLength = 4096;
+
+    private Integer maxHeaderSize = 8192;
+
     private ServerSocketChannelProperties serverSocketChannel = new ServerSocketChannelProperties();
 
     private SocketChannelProperties socketChannel = new SocketChannelProperties();
@@ -167,6 +171,44 @@ public class NettyHttpProperties {
         this.accessLog = accessLog;
     }
 
+    /**
+     * get maxInitialLineLength.
+     *
+     * @return maxInitialLineLength
+     */
+    public Integer getMaxInitialLineLength() {
+        return maxInitialLineLength;
+    }
+
+    /**
+     * set maxInitialLineLength.
+     * requests whose request line exceeds it are rejected by the netty decoder.
+     *
+     * @param maxInitialLineLength max initial line length
+     */
+    public void setMaxInitialLineLength(final Integer maxInitialLineLength) {
+        this.maxInitialLineLength = maxInitialLineLength;
+    }
+
+    /**
+     * get maxHeaderSize.
+     *
+     * @return maxHeaderSize
+     */
+    public Integer getMaxHeaderSize() {
+        return maxHeaderSize;
+    }
+
+    /**
+     * set maxHeaderSize.
+     * requests whose headers exceed it are rejected by the netty decoder before reaching the plugin chain.
+     *
+     * @param maxHeaderSize max header size
+     */
+    public void setMaxHeaderSize(final Integer maxHeaderSize) {
+        this.maxHeaderSize = maxHeaderSize;
+    }
+
     public static class ServerSocketChannelProperties extends NettyChannelProperties {
 
         private Integer soBacklog = 128;
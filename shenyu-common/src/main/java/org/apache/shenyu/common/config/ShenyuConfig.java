@@ -45,6 +45,12 @@ public class ShenyuConfig {
 
     private FallbackPath fallback = new FallbackPath();
     
+    private UnroutableConfig unroutable = new UnroutableConfig();
+    
+    private ProfileConfig profile = new ProfileConfig();
+    
+    private TraceConfig trace = new TraceConfig();
+    
     private ExtPlugin extPlugin = new ExtPlugin();
     
     private Scheduler scheduler = new Scheduler();
@@ -271,6 +277,60 @@ public class ShenyuConfig {
         this.exclude = exclude;
     }
     
+    /**
+     * Gets unroutable.
+     *
+     * @return the unroutable
+     */
+    public UnroutableConfig getUnroutable() {
+        return unroutable;
+    }
+    
+    /**
+     * Sets unroutable.
+     *
+     * @param unroutable the unroutable
+     */
+    public void setUnroutable(final UnroutableConfig unroutable) {
+        this.unroutable = unroutable;
+    }
+    
+    /**
+     * Gets profile.
+     *
+     * @return the profile
+     */
+    public ProfileConfig getProfile() {
+        return profile;
+    }
+    
+    /**
+     * Sets profile.
+     *
+     * @param profile the profile
+     */
+    public void setProfile(final ProfileConfig profile) {
+        this.profile = profile;
+    }
+    
+    /**
+     * Gets trace.
+     *
+     * @return the trace
+     */
+    public TraceConfig getTrace() {
+        return trace;
+    }
+    
+    /**
+     * Sets trace.
+     *
+     * @param trace the trace
+     */
+    public void setTrace(final TraceConfig trace) {
+        this.trace = trace;
+    }
+    
     /**
      * Gets fallback.
      *
@@ -796,6 +856,264 @@ public class ShenyuConfig {
         }
     }
     
+    /**
+     * The type Unroutable config, rejects requests no selector can match before the plugin chain.
+     */
+    public static class UnroutableConfig {
+    
+        private boolean enabled;
+    
+        /**
+         * Gets enabled.
+         *
+         * @return the enabled
+         */
+        public boolean getEnabled() {
+            return enabled;
+        }
+    
+        /**
+         * Sets enabled.
+         *
+         * @param enabled the enabled
+         */
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+    
+    /**
+     * The type Profile config, times the plugins of a sample of the requests.
+     */
+    public static class ProfileConfig {
+    
+        private boolean enabled;
+    
+        private double sampleRate = 0.01;
+    
+        private int maxRoutes = 100;
+    
+        /**
+         * Gets enabled.
+         *
+         * @return the enabled
+         */
+        public boolean getEnabled() {
+            return enabled;
+        }
+    
+        /**
+         * Sets enabled.
+         *
+         * @param enabled the enabled
+         */
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+    
+        /**
+         * Gets the ratio of the requests to profile.
+         *
+         * @return the sample rate
+         */
+        public double getSampleRate() {
+            return sampleRate;
+        }
+    
+        /**
+         * Sets the ratio of the requests to profile.
+         *
+         * @param sampleRate the sample rate
+         */
+        public void setSampleRate(final double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    
+        /**
+         * Gets the max number of routes profiled separately.
+         *
+         * @return the max routes
+         */
+        public int getMaxRoutes() {
+            return maxRoutes;
+        }
+    
+        /**
+         * Sets the max number of routes profiled separately.
+         *
+         * @param maxRoutes the max routes
+         */
+        public void setMaxRoutes(final int maxRoutes) {
+            this.maxRoutes = maxRoutes;
+        }
+    }
+    
+    /**
+     * The type Trace config, emits spans of the chain, the plugins and the upstream attempts.
+     */
+    public static class TraceConfig {
+    
+        private boolean enabled;
+    
+        private String exporter = "otlp";
+    
+        private String endpoint = "http://localhost:4318/v1/traces";
+    
+        private String serviceName = "shenyu-gateway";
+    
+        private double sampleRate = 1.0;
+    
+        private int batchSize = 512;
+    
+        private long flushIntervalMillis = 5000;
+    
+        private int queueSize = 2048;
+    
+        /**
+         * Gets enabled.
+         *
+         * @return the enabled
+         */
+        public boolean getEnabled() {
+            return enabled;
+        }
+    
+        /**
+         * Sets enabled.
+         *
+         * @param enabled the enabled
+         */
+        public void setEnabled(final boolean enabled) {
+            this.enabled = enabled;
+        }
+    
+        /**
+         * Gets the name of the tracer spi to export spans with.
+         *
+         * @return the exporter
+         */
+        public String getExporter() {
+            return exporter;
+        }
+    
+        /**
+         * Sets the name of the tracer spi to export spans with.
+         *
+         * @param exporter the exporter
+         */
+        public void setExporter(final String exporter) {
+            this.exporter = exporter;
+        }
+    
+        /**
+         * Gets the url the spans are exported to.
+         *
+         * @return the endpoint
+         */
+        public String getEndpoint() {
+            return endpoint;
+        }
+    
+        /**
+         * Sets the url the spans are exported to.
+         *
+         * @param endpoint the endpoint
+         */
+        public void setEndpoint(final String endpoint) {
+            this.endpoint = endpoint;
+        }
+    
+        /**
+         * Gets the service name reported with the spans.
+         *
+         * @return the service name
+         */
+        public String getServiceName() {
+            return serviceName;
+        }
+    
+        /**
+         * Sets the service name reported with the spans.
+         *
+         * @param serviceName the service name
+         */
+        public void setServiceName(final String serviceName) {
+            this.serviceName = serviceName;
+        }
+    
+        /**
+         * Gets the ratio of the new traces to sample, an incoming traceparent keeps its own decision.
+         *
+         * @return the sample rate
+         */
+        public double getSampleRate() {
+            return sampleRate;
+        }
+    
+        /**
+         * Sets the ratio of the new traces to sample, an incoming traceparent keeps its own decision.
+         *
+         * @param sampleRate the sample rate
+         */
+        public void setSampleRate(final double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    
+        /**
+         * Gets the max number of spans exported in one request.
+         *
+         * @return the batch size
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+    
+        /**
+         * Sets the max number of spans exported in one request.
+         *
+         * @param batchSize the batch size
+         */
+        public void setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+    
+        /**
+         * Gets the max time a span waits before being exported.
+         *
+         * @return the flush interval millis
+         */
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+    
+        /**
+         * Sets the max time a span waits before being exported.
+         *
+         * @param flushIntervalMillis the flush interval millis
+         */
+        public void setFlushIntervalMillis(final long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+    
+        /**
+         * Gets the max number of spans waiting for export, more are dropped.
+         *
+         * @return the queue size
+         */
+        public int getQueueSize() {
+            return queueSize;
+        }
+    
+        /**
+         * Sets the max number of spans waiting for export, more are dropped.
+         *
+         * @param queueSize the queue size
+         */
+        public void setQueueSize(final int queueSize) {
+            this.queueSize = queueSize;
+        }
+    }
+    
     /**
      * The type fallback path.
      */
@@ -834,7 +834,32 @@ public interface Constants {
      * Hystrix plugin metrics.
      */
     String METRICS_HYSTRIX = "metricsHystrix";
-    
+
+    /**
+     * oauth2 plugin metrics.
+     */
+    String METRICS_OAUTH2 = "metricsOAuth2";
+
+    /**
+     * logging plugin metrics.
+     */
+    String METRICS_LOGGING = "metricsLogging";
+
+    /**
+     * The rule matched by the routing plugin of the chain.
+     */
+    String MATCHED_RULE = "matchedRule";
+
+    /**
+     * metrics plugin callback counting a request once its routing plugin matched a rule.
+     */
+    String METRICS_ROUTE = "metricsRoute";
+
+    /**
+     * The signatures found by the waf payload inspection, reported by the logging plugins.
+     */
+    String WAF_INSPECTION_HITS = "wafInspectionHits";
+
     /**
      * The constant shenyu namespace id.
      */
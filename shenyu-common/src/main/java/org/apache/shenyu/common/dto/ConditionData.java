@@ -46,6 +46,11 @@ public class ConditionData {
      */
     private String paramValue;
 
+    /**
+     * the param value compiled by the predicate judge, not serialized.
+     */
+    private transient volatile Object compiledValue;
+
     /**
      * get paramType.
      *
@@ -116,6 +121,27 @@ public class ConditionData {
      */
     public void setParamValue(final String paramValue) {
         this.paramValue = paramValue;
+        this.compiledValue = null;
+    }
+
+    /**
+     * obtain the param value compiled by the predicate judge.
+     *
+     * @param <T> the compiled type
+     * @return the compiled value, null if none has been bound
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obtainCompiledValue() {
+        return (T) compiledValue;
+    }
+
+    /**
+     * bind the param value compiled by the predicate judge.
+     *
+     * @param compiledValue the compiled value
+     */
+    public void bindCompiledValue(final Object compiledValue) {
+        this.compiledValue = compiledValue;
     }
 
     @Override
@@ -65,6 +65,11 @@ public class RuleData {
      */
     private String namespaceId;
 
+    /**
+     * the handle parsed from {@link #handle} by the plugin data handler, not serialized.
+     */
+    private transient volatile Object cachedHandle;
+
     /**
      * no args constructor.
      */
@@ -278,6 +283,7 @@ public class RuleData {
      */
     public RuleData setHandle(final String handle) {
         this.handle = handle;
+        this.cachedHandle = null;
         return this;
     }
 
@@ -353,6 +359,26 @@ public class RuleData {
         this.namespaceId = namespaceId;
     }
     
+    /**
+     * obtain the handle parsed by the plugin data handler.
+     *
+     * @param <T> the handle type
+     * @return the cached handle, null if none has been bound
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obtainCachedHandle() {
+        return (T) cachedHandle;
+    }
+
+    /**
+     * bind the handle parsed by the plugin data handler, replacing the previous one atomically.
+     *
+     * @param cachedHandle the cached handle
+     */
+    public void bindCachedHandle(final Object cachedHandle) {
+        this.cachedHandle = cachedHandle;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
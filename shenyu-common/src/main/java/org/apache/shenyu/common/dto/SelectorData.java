@@ -72,6 +72,11 @@ public class SelectorData {
      */
     private String namespaceId;
 
+    /**
+     * the handle parsed from {@link #handle} by the plugin data handler, not serialized.
+     */
+    private transient volatile Object cachedHandle;
+
     /**
      * no args constructor.
      */
@@ -309,6 +314,7 @@ public class SelectorData {
      */
     public void setHandle(final String handle) {
         this.handle = handle;
+        this.cachedHandle = null;
     }
 
     /**
@@ -383,6 +389,26 @@ public class SelectorData {
         this.namespaceId = namespaceId;
     }
 
+    /**
+     * obtain the handle parsed by the plugin data handler.
+     *
+     * @param <T> the handle type
+     * @return the cached handle, null if none has been bound
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obtainCachedHandle() {
+        return (T) cachedHandle;
+    }
+
+    /**
+     * bind the handle parsed by the plugin data handler, replacing the previous one atomically.
+     *
+     * @param cachedHandle the cached handle
+     */
+    public void bindCachedHandle(final Object cachedHandle) {
+        this.cachedHandle = cachedHandle;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.common.dto.convert.rule;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -53,6 +54,31 @@ public class RateLimiterHandle {
      * key resolver name.
      */
     private String keyResolverName;
+
+    /**
+     * mode, one of redis, hybrid and local, defaults to redis; hybrid and local apply the token bucket algorithm.
+     */
+    private String mode;
+
+    /**
+     * tokens leased from redis at once in hybrid mode, 0 leases a tenth of a second of the replenish rate.
+     */
+    private double leaseSize;
+
+    /**
+     * tokens a node may admit beyond its lease while the next lease is pending, in hybrid mode.
+     */
+    private double overAdmission;
+
+    /**
+     * quotas checked and debited together, in place of the replenish rate and burst capacity.
+     */
+    private List<RateLimiterQuota> quotas;
+
+    /**
+     * the quotas compiled by the plugin, not serialized.
+     */
+    private transient volatile Object compiledQuotas;
     
     /**
      * New default instance rate limiter handle.
@@ -177,6 +203,99 @@ public class RateLimiterHandle {
         this.keyResolverName = keyResolverName;
     }
 
+    /**
+     * get mode.
+     *
+     * @return mode
+     */
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * set mode.
+     *
+     * @param mode mode
+     */
+    public void setMode(final String mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * get leaseSize.
+     *
+     * @return leaseSize
+     */
+    public double getLeaseSize() {
+        return leaseSize;
+    }
+
+    /**
+     * set leaseSize.
+     *
+     * @param leaseSize leaseSize
+     */
+    public void setLeaseSize(final double leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
+    /**
+     * get overAdmission.
+     *
+     * @return overAdmission
+     */
+    public double getOverAdmission() {
+        return overAdmission;
+    }
+
+    /**
+     * set overAdmission.
+     *
+     * @param overAdmission overAdmission
+     */
+    public void setOverAdmission(final double overAdmission) {
+        this.overAdmission = overAdmission;
+    }
+
+    /**
+     * get quotas.
+     *
+     * @return quotas
+     */
+    public List<RateLimiterQuota> getQuotas() {
+        return quotas;
+    }
+
+    /**
+     * set quotas.
+     *
+     * @param quotas quotas
+     */
+    public void setQuotas(final List<RateLimiterQuota> quotas) {
+        this.quotas = quotas;
+        this.compiledQuotas = null;
+    }
+
+    /**
+     * obtain the quotas compiled by the plugin.
+     *
+     * @param <T> the compiled type
+     * @return the compiled quotas, or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obtainCompiledQuotas() {
+        return (T) compiledQuotas;
+    }
+
+    /**
+     * bind the quotas compiled by the plugin.
+     *
+     * @param compiledQuotas the compiled quotas
+     */
+    public void bindCompiledQuotas(final Object compiledQuotas) {
+        this.compiledQuotas = compiledQuotas;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -188,12 +307,14 @@ public class RateLimiterHandle {
         RateLimiterHandle that = (RateLimiterHandle) o;
         return Double.compare(that.replenishRate, replenishRate) == 0 && Double.compare(that.burstCapacity, burstCapacity) == 0
                 && Double.compare(that.requestCount, requestCount) == 0 && loged == that.loged
-                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName);
+                && Objects.equals(algorithmName, that.algorithmName) && Objects.equals(keyResolverName, that.keyResolverName)
+                && Objects.equals(mode, that.mode) && Double.compare(that.leaseSize, leaseSize) == 0
+                && Double.compare(that.overAdmission, overAdmission) == 0 && Objects.equals(quotas, that.quotas);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName);
+        return Objects.hash(algorithmName, replenishRate, burstCapacity, requestCount, loged, keyResolverName, mode, leaseSize, overAdmission, quotas);
     }
 
     @Override
@@ -213,6 +334,15 @@ public class RateLimiterHandle {
                 + ", keyResolverName='"
                 + keyResolverName
                 + '\''
+                + ", mode='"
+                + mode
+                + '\''
+                + ", leaseSize="
+                + leaseSize
+                + ", overAdmission="
+                + overAdmission
+                + ", quotas="
+                + quotas
                 + '}';
     }
 }
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.dto.convert.rule;
+
+import java.util.Objects;
+
+/**
+ * One level of a hierarchical rate limit, keyed by a dimension of the request.
+ */
+public class RateLimiterQuota {
+
+    /**
+     * dimension, one of route, ip, header, query and jwt.
+     */
+    private String dimension;
+
+    /**
+     * the header, query parameter or jwt claim name, unused by the route and ip dimensions.
+     */
+    private String name;
+
+    /**
+     * replenish rate.
+     */
+    private double replenishRate;
+
+    /**
+     * burst capacity.
+     */
+    private double burstCapacity;
+
+    /**
+     * get dimension.
+     *
+     * @return dimension
+     */
+    public String getDimension() {
+        return dimension;
+    }
+
+    /**
+     * set dimension.
+     *
+     * @param dimension dimension
+     */
+    public void setDimension(final String dimension) {
+        this.dimension = dimension;
+    }
+
+    /**
+     * get name.
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * set name.
+     *
+     * @param name name
+     */
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * get replenishRate.
+     *
+     * @return replenishRate
+     */
+    public double getReplenishRate() {
+        return replenishRate;
+    }
+
+    /**
+     * set replenishRate.
+     *
+     * @param replenishRate replenishRate
+     */
+    public void setReplenishRate(final double replenishRate) {
+        this.replenishRate = replenishRate;
+    }
+
+    /**
+     * get burstCapacity.
+     *
+     * @return burstCapacity
+     */
+    public double getBurstCapacity() {
+        return burstCapacity;
+    }
+
+    /**
+     * set burstCapacity.
+     *
+     * @param burstCapacity burstCapacity
+     */
+    public void setBurstCapacity(final double burstCapacity) {
+        this.burstCapacity = burstCapacity;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RateLimiterQuota that = (RateLimiterQuota) o;
+        return Double.compare(that.replenishRate, replenishRate) == 0 && Double.compare(that.burstCapacity, burstCapacity) == 0
+                && Objects.equals(dimension, that.dimension) && Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dimension, name, replenishRate, burstCapacity);
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiterQuota{"
+                + "dimension='"
+                + dimension
+                + '\''
+                + ", name='"
+                + name
+                + '\''
+                + ", replenishRate="
+                + replenishRate
+                + ", burstCapacity="
+                + burstCapacity
+                + '}';
+    }
+}
@@ -35,6 +35,21 @@ public class WafHandle {
      * statusCode.
      */
     private String statusCode;
+
+    /**
+     * scan query, headers and body of allowed requests against the waf signatures.
+     */
+    private Boolean inspect;
+
+    /**
+     * bytes of the body to scan, 0 or null only scans query and headers.
+     */
+    private Integer inspectBodyLimit;
+
+    /**
+     * only report signature hits instead of rejecting the request.
+     */
+    private Boolean inspectLogOnly;
     
     /**
      * New default instance waf handle.
@@ -84,6 +99,60 @@ public class WafHandle {
         this.statusCode = statusCode;
     }
 
+    /**
+     * get inspect.
+     *
+     * @return inspect
+     */
+    public Boolean getInspect() {
+        return inspect;
+    }
+
+    /**
+     * set inspect.
+     *
+     * @param inspect inspect
+     */
+    public void setInspect(final Boolean inspect) {
+        this.inspect = inspect;
+    }
+
+    /**
+     * get inspectBodyLimit.
+     *
+     * @return inspectBodyLimit
+     */
+    public Integer getInspectBodyLimit() {
+        return inspectBodyLimit;
+    }
+
+    /**
+     * set inspectBodyLimit.
+     *
+     * @param inspectBodyLimit inspectBodyLimit
+     */
+    public void setInspectBodyLimit(final Integer inspectBodyLimit) {
+        this.inspectBodyLimit = inspectBodyLimit;
+    }
+
+    /**
+     * get inspectLogOnly.
+     *
+     * @return inspectLogOnly
+     */
+    public Boolean getInspectLogOnly() {
+        return inspectLogOnly;
+    }
+
+    /**
+     * set inspectLogOnly.
+     *
+     * @param inspectLogOnly inspectLogOnly
+     */
+    public void setInspectLogOnly(final Boolean inspectLogOnly) {
+        this.inspectLogOnly = inspectLogOnly;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -93,12 +162,14 @@ public class WafHandle {
             return false;
         }
         WafHandle wafHandle = (WafHandle) o;
-        return Objects.equals(permission, wafHandle.permission) && Objects.equals(statusCode, wafHandle.statusCode);
+        return Objects.equals(permission, wafHandle.permission) && Objects.equals(statusCode, wafHandle.statusCode)
+                && Objects.equals(inspect, wafHandle.inspect) && Objects.equals(inspectBodyLimit, wafHandle.inspectBodyLimit)
+                && Objects.equals(inspectLogOnly, wafHandle.inspectLogOnly);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(permission, statusCode);
+        return Objects.hash(permission, statusCode, inspect, inspectBodyLimit, inspectLogOnly);
     }
 
     @Override
@@ -110,6 +181,12 @@ public class WafHandle {
                 + ", statusCode='"
                 + statusCode
                 + '\''
+                + ", inspect="
+                + inspect
+                + ", inspectBodyLimit="
+                + inspectBodyLimit
+                + ", inspectLogOnly="
+                + inspectLogOnly
                 + '}';
     }
 }
@@ -36,6 +36,11 @@ public class KeyAuthRuleHandle implements RuleHandle {
      */
     private String key;
 
+    /**
+     * The key hashed by the plugin when the rule arrives, never serialized.
+     */
+    private transient volatile Object hashedKey;
+
     /**
      * Get key attribute name.
      *
@@ -70,6 +75,27 @@ public class KeyAuthRuleHandle implements RuleHandle {
      */
     public void setKey(final String key) {
         this.key = key;
+        this.hashedKey = null;
+    }
+
+    /**
+     * Obtain the key hashed by the plugin.
+     *
+     * @param <T> the hashed type
+     * @return the hashed key, null if none has been bound
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obtainHashedKey() {
+        return (T) hashedKey;
+    }
+
+    /**
+     * Bind the key hashed by the plugin.
+     *
+     * @param hashedKey the hashed key
+     */
+    public void bindHashedKey(final Object hashedKey) {
+        this.hashedKey = hashedKey;
     }
 
     @Override
@@ -89,7 +89,12 @@ public enum OperatorEnum {
     /**
      * Is blank operator enum.
      */
-    IS_BLANK("isBlank", true);
+    IS_BLANK("isBlank", true),
+
+    /**
+     * Ip range operator enum, matching ip addresses against comma separated CIDRs.
+     */
+    IP_RANGE("ipRange", true);
 
     private final String alias;
 
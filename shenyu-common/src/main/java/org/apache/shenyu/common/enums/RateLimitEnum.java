@@ -28,7 +28,22 @@ public enum RateLimitEnum {
 
     CONCURRENT("concurrent_request_rate_limiter", "concurrent_request_rate_limiter.lua"),
 
-    TOKEN_BUCKET("request_rate_limiter", "request_rate_limiter.lua");
+    TOKEN_BUCKET("request_rate_limiter", "request_rate_limiter.lua"),
+
+    /**
+     * leases a batch of token bucket tokens to a hybrid node, or takes unused ones back.
+     */
+    TOKEN_BUCKET_LEASE("request_rate_limiter", "request_rate_limiter_lease.lua"),
+
+    /**
+     * checks the token buckets of several requests in one script call.
+     */
+    TOKEN_BUCKET_BATCH("request_rate_limiter", "request_rate_limiter_batch.lua"),
+
+    /**
+     * checks every quota level of a request and debits them only when all allow it.
+     */
+    QUOTA("request_rate_limiter_quota", "request_rate_limiter_quota.lua");
 
     private final String keyName;
 
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.common.latency;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A lock-free latency recorder reporting the percentiles of the last completed interval.
+ *
+ * <p>Writers record into the active half of a double-buffered {@link Recorder} without locks.
+ * Once the interval has elapsed, the first reader flips the halves and summarizes the
+ * inactive one into an immutable {@link LatencySnapshot}, which every reader shares until
+ * the next rotation.
+ */
+public final class LatencyRecorder {
+
+    /**
+     * the default interval of a snapshot.
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MILLIS, SIGNIFICANT_DIGITS);
+
+    private final long intervalMillis;
+
+    private Histogram interval;
+
+    private volatile long rotatedAt;
+
+    private volatile LatencySnapshot snapshot = LatencySnapshot.EMPTY;
+
+    /**
+     * Instantiates a new latency recorder with the default interval.
+     */
+    public LatencyRecorder() {
+        this(DEFAULT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Instantiates a new latency recorder.
+     *
+     * @param intervalMillis the interval of a snapshot
+     */
+    public LatencyRecorder(final long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+        this.rotatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param millis the latency millis
+     */
+    public void record(final long millis) {
+        recorder.recordValue(Math.min(Math.max(millis, 0), HIGHEST_TRACKABLE_MILLIS));
+    }
+
+    /**
+     * Get the snapshot of the last completed interval, rotating the interval if it has elapsed.
+     *
+     * @return the snapshot
+     */
+    public LatencySnapshot getSnapshot() {
+        final long now = System.currentTimeMillis();
+        if (now - rotatedAt >= intervalMillis) {
+            rotate(now);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Close the current interval now, whatever its length.
+     *
+     * @return the snapshot of the closed interval
+     */
+    public synchronized LatencySnapshot rotate() {
+        doRotate(System.currentTimeMillis());
+        return snapshot;
+    }
+
+    private synchronized void rotate(final long now) {
+        // another reader may have rotated while this one waited for the lock
+        if (now - rotatedAt >= intervalMillis) {
+            doRotate(now);
+        }
+    }
+
+    private void doRotate(final long now) {
+        interval = recorder.getIntervalHistogram(interval);
+        snapshot = LatencySnapshot.of(interval, now - rotatedAt);
+        rotatedAt = now;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.common.latency;
+
+import org.apache.shenyu.common.cache.CappedMap;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The per selector and per upstream latency recorders of the gateway.
+ *
+ * <p>Each map holds at most {@link #getMaxRecorders()} recorders; the latencies of any further
+ * selector or upstream are folded into the {@link #OTHER} recorder. A recorder keeps two
+ * HdrHistograms of about 15KB each, so every recorder costs about 30KB of heap: the default
+ * cap of {@link #DEFAULT_MAX_RECORDERS} bounds each map to about 30MB.
+ */
+public final class LatencyRecorders {
+
+    /**
+     * the default max number of recorders of each kind.
+     */
+    public static final int DEFAULT_MAX_RECORDERS = 1000;
+
+    /**
+     * key of the recorder the keys over the cap are folded into.
+     */
+    public static final String OTHER = "other";
+
+    private static final LatencyRecorders INSTANCE = new LatencyRecorders();
+
+    private final CappedMap<String, LatencyRecorder> selectors = new CappedMap<>(DEFAULT_MAX_RECORDERS, OTHER);
+
+    private final CappedMap<String, LatencyRecorder> upstreams = new CappedMap<>(DEFAULT_MAX_RECORDERS, OTHER);
+
+    private LatencyRecorders() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static LatencyRecorders getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtain the recorder of a selector.
+     *
+     * @param selectorId the selector id
+     * @return the recorder
+     */
+    public LatencyRecorder selector(final String selectorId) {
+        return obtain(selectors, selectorId);
+    }
+
+    /**
+     * Obtain the recorder of an upstream.
+     *
+     * @param upstream the upstream url
+     * @return the recorder
+     */
+    public LatencyRecorder upstream(final String upstream) {
+        return obtain(upstreams, upstream);
+    }
+
+    /**
+     * Get the snapshots of the selector recorders.
+     *
+     * @return the snapshots by selector id
+     */
+    public Map<String, LatencySnapshot> getSelectorSnapshots() {
+        return snapshots(selectors);
+    }
+
+    /**
+     * Get the snapshots of the upstream recorders.
+     *
+     * @return the snapshots by upstream url
+     */
+    public Map<String, LatencySnapshot> getUpstreamSnapshots() {
+        return snapshots(upstreams);
+    }
+
+    /**
+     * Get the max number of recorders of each kind.
+     *
+     * @return the max number of recorders
+     */
+    public int getMaxRecorders() {
+        return selectors.getMaxKeys();
+    }
+
+    /**
+     * Set the max number of recorders of each kind, recorders already created are kept.
+     *
+     * @param maxRecorders the max number of recorders, about 30KB of heap each
+     */
+    public void setMaxRecorders(final int maxRecorders) {
+        selectors.setMaxKeys(maxRecorders);
+        upstreams.setMaxKeys(maxRecorders);
+    }
+
+    /**
+     * Remove every recorder.
+     */
+    public void clear() {
+        selectors.clear();
+        upstreams.clear();
+    }
+
+    private static LatencyRecorder obtain(final CappedMap<String, LatencyRecorder> recorders, final String key) {
+        return recorders.computeIfAbsent(Objects.isNull(key) ? OTHER : key, k -> new LatencyRecorder());
+    }
+
+    private static Map<String, LatencySnapshot> snapshots(final CappedMap<String, LatencyRecorder> recorders) {
+        if (recorders.size() == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, LatencySnapshot> snapshots = new LinkedHashMap<>(recorders.size() << 1);
+        recorders.asMap().forEach((key, recorder) -> snapshots.put(key, recorder.getSnapshot()));
+        return snapshots;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.common.latency;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * The latency percentiles of one interval of a {@link LatencyRecorder}, in millis.
+ */
+public final class LatencySnapshot {
+
+    /**
+     * the snapshot of an interval without any record.
+     */
+    public static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, 0, 0, 0, 0, 0);
+
+    private final long count;
+
+    private final double mean;
+
+    private final long p50;
+
+    private final long p90;
+
+    private final long p99;
+
+    private final long p999;
+
+    private final long max;
+
+    private final long intervalMillis;
+
+    private LatencySnapshot(final long count, final double mean, final long p50, final long p90,
+                            final long p99, final long p999, final long max, final long intervalMillis) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Summarize an interval histogram.
+     *
+     * @param histogram the interval histogram
+     * @param intervalMillis the interval length
+     * @return the snapshot
+     */
+    static LatencySnapshot of(final Histogram histogram, final long intervalMillis) {
+        final long count = histogram.getTotalCount();
+        if (count == 0) {
+            return new LatencySnapshot(0, 0, 0, 0, 0, 0, 0, intervalMillis);
+        }
+        return new LatencySnapshot(count, histogram.getMean(), histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9), histogram.getMaxValue(), intervalMillis);
+    }
+
+    /**
+     * Gets the number of records.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean latency.
+     *
+     * @return the mean
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Gets the median latency.
+     *
+     * @return the p50
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Gets the 90th percentile latency.
+     *
+     * @return the p90
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * Gets the 99th percentile latency.
+     *
+     * @return the p99
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Gets the 99.9th percentile latency.
+     *
+     * @return the p999
+     */
+    public long getP999() {
+        return p999;
+    }
+
+    /**
+     * Gets the max latency.
+     *
+     * @return the max
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the interval length.
+     *
+     * @return the interval millis
+     */
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for CappedMap.
+ */
+public class CappedMapTest {
+
+    @Test
+    public void testKeysFoldedOverCap() {
+        CappedMap<String, AtomicInteger> map = new CappedMap<>(2, "other");
+        map.computeIfAbsent("a", key -> new AtomicInteger()).incrementAndGet();
+        map.computeIfAbsent("b", key -> new AtomicInteger()).incrementAndGet();
+        for (int i = 0; i < 5; i++) {
+            map.computeIfAbsent("c" + i, key -> new AtomicInteger()).incrementAndGet();
+        }
+        assertEquals(3, map.size());
+        assertEquals(5, map.get("other").get());
+        assertSame(map.get("a"), map.computeIfAbsent("a", key -> new AtomicInteger()));
+        assertEquals(1, map.get("b").get());
+        assertThrows(UnsupportedOperationException.class, () -> map.asMap().clear());
+    }
+
+    @Test
+    public void testRaisedCap() {
+        CappedMap<String, AtomicInteger> map = new CappedMap<>(1, "other");
+        map.computeIfAbsent("a", key -> new AtomicInteger());
+        AtomicInteger folded = map.computeIfAbsent("b", key -> new AtomicInteger());
+        assertSame(map.get("other"), folded);
+        map.setMaxKeys(10);
+        assertEquals(10, map.getMaxKeys());
+        map.computeIfAbsent("c", key -> new AtomicInteger());
+        assertEquals(3, map.size());
+        map.clear();
+        assertEquals(0, map.size());
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.shenyu.common.dto.convert.rule;
 import com.google.common.collect.ImmutableSet;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -39,6 +41,10 @@ public class RateLimiterHandleTest {
         handle.setRequestCount(2.0);
         handle.setLoged(true);
         handle.setKeyResolverName("resolverName");
+        handle.setMode("hybrid");
+        handle.setLeaseSize(50);
+        handle.setOverAdmission(10);
+        handle.setQuotas(Collections.singletonList(new RateLimiterQuota()));
         
         assertThat(handle.getAlgorithmName(), is("algorithmName"));
         assertThat(handle.getReplenishRate(), closeTo(500, 0.1));
@@ -46,6 +52,10 @@ public class RateLimiterHandleTest {
         assertThat(handle.getRequestCount(), closeTo(2.0, 0.1));
         assertThat(handle.isLoged(), is(true));
         assertThat(handle.getKeyResolverName(), is("resolverName"));
+        assertThat(handle.getMode(), is("hybrid"));
+        assertThat(handle.getLeaseSize(), closeTo(50, 0.1));
+        assertThat(handle.getOverAdmission(), closeTo(10, 0.1));
+        assertThat(handle.getQuotas(), hasSize(1));
     }
     
     @Test
@@ -34,9 +34,15 @@ public class WafHandleTest {
         WafHandle handle = new WafHandle();
         handle.setPermission("permission");
         handle.setStatusCode("status");
+        handle.setInspect(true);
+        handle.setInspectBodyLimit(1024);
+        handle.setInspectLogOnly(false);
         
         assertThat(handle.getPermission(), is("permission"));
         assertThat(handle.getStatusCode(), is("status"));
+        assertThat(handle.getInspect(), is(true));
+        assertThat(handle.getInspectBodyLimit(), is(1024));
+        assertThat(handle.getInspectLogOnly(), is(false));
     }
     
     @Test
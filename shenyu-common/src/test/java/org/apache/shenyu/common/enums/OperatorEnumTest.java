@@ -48,6 +48,7 @@ public final class OperatorEnumTest {
         assertTrue(enums.contains(OperatorEnum.STARTS_WITH));
         assertTrue(enums.contains(OperatorEnum.ENDS_WITH));
         assertTrue(enums.contains(OperatorEnum.EXCLUDE));
+        assertTrue(enums.contains(OperatorEnum.IP_RANGE));
         assertFalse(enums.contains(OperatorEnum.GT));
         assertFalse(enums.contains(OperatorEnum.LT));
     }
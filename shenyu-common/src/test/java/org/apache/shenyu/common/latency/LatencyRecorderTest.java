@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.common.latency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for LatencyRecorder.
+ */
+public class LatencyRecorderTest {
+
+    @Test
+    public void testPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 1; i <= 1000; i++) {
+            recorder.record(i);
+        }
+        LatencySnapshot snapshot = recorder.rotate();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500, snapshot.getP50(), 5);
+        assertEquals(990, snapshot.getP99(), 10);
+        assertEquals(999, snapshot.getP999(), 10);
+        assertEquals(1000, snapshot.getMax(), 10);
+        assertEquals(500.5, snapshot.getMean(), 5);
+    }
+
+    @Test
+    public void testIntervalRotation() {
+        LatencyRecorder recorder = new LatencyRecorder(TimeUnit.HOURS.toMillis(1));
+        recorder.record(10);
+        // the interval hasn't elapsed, readers keep the last completed interval
+        assertSame(LatencySnapshot.EMPTY, recorder.getSnapshot());
+        assertEquals(1, recorder.rotate().getCount());
+        recorder.record(20);
+        recorder.record(30);
+        LatencySnapshot snapshot = recorder.rotate();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(30, snapshot.getMax(), 1);
+        assertEquals(0, recorder.rotate().getCount());
+    }
+
+    @Test
+    public void testOutOfRangeValues() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(-1);
+        recorder.record(Long.MAX_VALUE);
+        LatencySnapshot snapshot = recorder.rotate();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getP50());
+        assertTrue(snapshot.getMax() >= TimeUnit.MINUTES.toMillis(10));
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch latch = new CountDownLatch(4);
+        long total = 0;
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    recorder.record(i % 100);
+                }
+                latch.countDown();
+            });
+        }
+        while (latch.getCount() > 0) {
+            // rotating while writers record must not lose any value
+            total += recorder.rotate().getCount();
+        }
+        latch.await();
+        executor.shutdown();
+        total += recorder.rotate().getCount();
+        assertEquals(40000, total);
+    }
+}
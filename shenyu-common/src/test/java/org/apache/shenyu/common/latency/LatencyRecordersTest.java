@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.common.latency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for LatencyRecorders.
+ */
+public class LatencyRecordersTest {
+
+    @AfterEach
+    public void tearDown() {
+        LatencyRecorders.getInstance().clear();
+        LatencyRecorders.getInstance().setMaxRecorders(LatencyRecorders.DEFAULT_MAX_RECORDERS);
+    }
+
+    @Test
+    public void testObtain() {
+        LatencyRecorders recorders = LatencyRecorders.getInstance();
+        assertSame(recorders.selector("1"), recorders.selector("1"));
+        assertNotSame(recorders.selector("1"), recorders.upstream("1"));
+        recorders.selector("1").record(5);
+        assertEquals(1, recorders.getSelectorSnapshots().size());
+        assertEquals(1, recorders.getUpstreamSnapshots().size());
+        assertSame(recorders.selector(LatencyRecorders.OTHER), recorders.selector(null));
+    }
+
+    @Test
+    public void testCardinalityCap() {
+        LatencyRecorders recorders = LatencyRecorders.getInstance();
+        recorders.setMaxRecorders(10);
+        for (int i = 0; i < 10; i++) {
+            recorders.upstream("http://127.0.0.1:" + i);
+        }
+        LatencyRecorder overflow = recorders.upstream("http://127.0.0.2:8080");
+        assertSame(recorders.upstream(LatencyRecorders.OTHER), overflow);
+        assertTrue(recorders.getUpstreamSnapshots().size() <= 11);
+    }
+}
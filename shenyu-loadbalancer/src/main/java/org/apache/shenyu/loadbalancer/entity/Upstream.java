@@ -18,6 +18,9 @@
 package org.apache.shenyu.loadbalancer.entity;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.latency.LatencyRecorder;
+import org.apache.shenyu.common.latency.LatencyRecorders;
+import org.apache.shenyu.common.latency.LatencySnapshot;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -107,6 +110,8 @@ public final class Upstream {
 
     private final AtomicLong succeededElapsed = new AtomicLong(0);
 
+    private volatile LatencyRecorder latencyRecorder;
+
     private Upstream(final Builder builder) {
         this.protocol = builder.protocol;
         this.url = builder.url;
@@ -376,6 +381,34 @@ public final class Upstream {
         return getSucceededElapsed().get() / succeeded;
     }
 
+    /**
+     * Gets the latency recorder of the succeeded requests, shared by the upstreams of the same domain.
+     *
+     * @return the latency recorder
+     */
+    public LatencyRecorder getLatencyRecorder() {
+        LatencyRecorder recorder = latencyRecorder;
+        if (Objects.isNull(recorder)) {
+            recorder = LatencyRecorders.getInstance().upstream(buildDomain());
+            latencyRecorder = recorder;
+        }
+        return recorder;
+    }
+
+    /**
+     * Gets the mean elapsed of the succeeded requests of the last latency interval,
+     * or the lifetime average until an interval with requests has completed.
+     *
+     * @return the recent average elapsed
+     */
+    public long getRecentAverageElapsed() {
+        LatencySnapshot snapshot = getLatencyRecorder().getSnapshot();
+        if (snapshot.getCount() == 0) {
+            return getSucceededAverageElapsed();
+        }
+        return Math.round(snapshot.getMean());
+    }
+
     /**
      * build request domain.
      *
@@ -44,8 +44,8 @@ public class ShortestResponseLoadBalancer extends AbstractLoadBalancer {
         for (int i = 0; i < upstreamList.size(); i++) {
             Upstream upstream = upstreamList.get(i);
             AtomicLong inflight = upstream.getInflight();
-            // Calculate the estimated response time from the product of active connections and succeeded average elapsed time.
-            long estimateResponse = upstream.getSucceededAverageElapsed() * inflight.get();
+            // Calculate the estimated response time from the product of active connections and recent succeeded average elapsed time.
+            long estimateResponse = upstream.getRecentAverageElapsed() * inflight.get();
             int afterWarmup = getWeight(upstream);
             weights[i] = afterWarmup;
             if (estimateResponse < shortestResponse) {
@@ -18,7 +18,11 @@
 package org.apache.shenyu.plugin.api.context;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * the shenyu context.
@@ -78,10 +82,20 @@ public class ShenyuContext implements Serializable {
     private String realUrl;
 
     /**
-     * startDateTime.
+     * startDateTime, lazily derived from {@link #startTimeMillis} when not set explicitly.
      */
     private LocalDateTime startDateTime;
 
+    /**
+     * startTimeMillis, the wall-clock start of the request.
+     */
+    private long startTimeMillis;
+
+    /**
+     * startNanoTime, the monotonic start of the request, only meaningful when {@link #startTimeMillis} is set.
+     */
+    private long startNanoTime;
+
     /**
      * Gets module.
      *
@@ -214,6 +228,9 @@ public class ShenyuContext implements Serializable {
      * @return the start date time
      */
     public LocalDateTime getStartDateTime() {
+        if (Objects.isNull(startDateTime) && startTimeMillis > 0) {
+            startDateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(startTimeMillis), ZoneId.systemDefault());
+        }
         return startDateTime;
     }
 
@@ -224,5 +241,52 @@ public class ShenyuContext implements Serializable {
      */
     public void setStartDateTime(final LocalDateTime startDateTime) {
         this.startDateTime = startDateTime;
+        this.startTimeMillis = 0L;
+    }
+
+    /**
+     * Gets start time millis.
+     *
+     * @return the start time millis
+     */
+    public long getStartTimeMillis() {
+        return startTimeMillis;
+    }
+
+    /**
+     * Gets start nano time.
+     *
+     * @return the start nano time
+     */
+    public long getStartNanoTime() {
+        return startNanoTime;
+    }
+
+    /**
+     * Mark the start of the request with both a wall-clock and a monotonic timestamp,
+     * the {@link LocalDateTime} is only built when someone asks for it.
+     *
+     * @param startTimeMillis the wall-clock start, see {@link System#currentTimeMillis()}
+     * @param startNanoTime the monotonic start, see {@link System#nanoTime()}
+     */
+    public void markStart(final long startTimeMillis, final long startNanoTime) {
+        this.startTimeMillis = startTimeMillis;
+        this.startNanoTime = startNanoTime;
+        this.startDateTime = null;
+    }
+
+    /**
+     * Acquire the millis elapsed since the request started.
+     *
+     * @return the elapsed millis
+     */
+    public long acquireElapsedMillis() {
+        if (startTimeMillis > 0) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanoTime);
+        }
+        if (Objects.nonNull(startDateTime)) {
+            return Math.max(0L, System.currentTimeMillis() - startDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        return 0L;
     }
 }
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.api.profile;
+
+/**
+ * The plugin timings of one profiled request.
+ *
+ * <p>A request runs its plugins one after the other, so the profile is filled without
+ * synchronization. The sync time of a plugin is the time spent in its {@code execute}; the
+ * async time is the time from its {@code execute} returning to the next plugin entering its own,
+ * which covers the work the plugin deferred to the subscription of its {@code Mono}.
+ */
+public final class PluginProfile {
+
+    private final String[] plugins;
+
+    private final long[] syncNanos;
+
+    private final long[] asyncNanos;
+
+    private final long[] exitNanos;
+
+    private int size;
+
+    /**
+     * Instantiates a new plugin profile.
+     *
+     * @param capacity the max number of plugins the request runs
+     */
+    public PluginProfile(final int capacity) {
+        this.plugins = new String[capacity];
+        this.syncNanos = new long[capacity];
+        this.asyncNanos = new long[capacity];
+        this.exitNanos = new long[capacity];
+    }
+
+    /**
+     * Mark a plugin entering its execute.
+     *
+     * @param plugin the plugin name
+     * @return the position of the plugin in the profile, -1 if the profile is full
+     */
+    public int enter(final String plugin) {
+        final long now = System.nanoTime();
+        // a plugin running the rest of the chain inside its own execute has not exited yet
+        if (size > 0 && exitNanos[size - 1] != 0) {
+            asyncNanos[size - 1] = now - exitNanos[size - 1];
+        }
+        if (size == plugins.length) {
+            return -1;
+        }
+        plugins[size] = plugin;
+        syncNanos[size] = now;
+        return size++;
+    }
+
+    /**
+     * Mark a plugin returning from its execute.
+     *
+     * @param position the position returned by {@link #enter(String)}
+     */
+    public void exit(final int position) {
+        if (position < 0) {
+            return;
+        }
+        final long now = System.nanoTime();
+        syncNanos[position] = now - syncNanos[position];
+        exitNanos[position] = now;
+    }
+
+    /**
+     * Get the number of plugins that ran.
+     *
+     * @return the number of plugins
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the name of the plugin at a position.
+     *
+     * @param position the position
+     * @return the plugin name
+     */
+    public String getPlugin(final int position) {
+        return plugins[position];
+    }
+
+    /**
+     * Get the sync time of the plugin at a position.
+     *
+     * @param position the position
+     * @return the sync nanos
+     */
+    public long getSyncNanos(final int position) {
+        return syncNanos[position];
+    }
+
+    /**
+     * Get the async time of the plugin at a position.
+     *
+     * @param position the position
+     * @return the async nanos, 0 for the last plugin
+     */
+    public long getAsyncNanos(final int position) {
+        return asyncNanos[position];
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.api.profile;
+
+import org.apache.shenyu.common.cache.CappedMap;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The plugin timings of the profiled requests, by route and plugin.
+ *
+ * <p>Routes beyond the configured cap are folded into {@link #OTHER}, and requests no
+ * selector matched into {@link #NONE}.
+ */
+public final class PluginProfiler {
+
+    /**
+     * route of the requests over the route cap.
+     */
+    public static final String OTHER = "other";
+
+    /**
+     * route of the requests no selector matched.
+     */
+    public static final String NONE = "none";
+
+    private static final PluginProfiler INSTANCE = new PluginProfiler();
+
+    private final CappedMap<String, Map<String, PluginTiming>> routes = new CappedMap<>(100, OTHER);
+
+    private PluginProfiler() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static PluginProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the max number of routes profiled separately.
+     *
+     * @param maxRoutes the max routes
+     */
+    public void setMaxRoutes(final int maxRoutes) {
+        routes.setMaxKeys(maxRoutes);
+    }
+
+    /**
+     * Accumulate the timings of a profiled request.
+     *
+     * @param route the selector id of the request, null if no selector matched
+     * @param profile the profile of the request
+     */
+    public void record(final String route, final PluginProfile profile) {
+        final Map<String, PluginTiming> timings = routes.computeIfAbsent(Objects.isNull(route) ? NONE : route, key -> new ConcurrentHashMap<>());
+        for (int i = 0; i < profile.size(); i++) {
+            String plugin = profile.getPlugin(i);
+            PluginTiming timing = timings.get(plugin);
+            if (Objects.isNull(timing)) {
+                timing = timings.computeIfAbsent(plugin, key -> new PluginTiming());
+            }
+            timing.add(profile.getSyncNanos(i), profile.getAsyncNanos(i));
+        }
+    }
+
+    /**
+     * Get the timings.
+     *
+     * @return the timings by route and plugin
+     */
+    public Map<String, Map<String, PluginTiming>> getTimings() {
+        return routes.asMap();
+    }
+
+    /**
+     * Drop every timing.
+     */
+    public void clear() {
+        routes.clear();
+    }
+}
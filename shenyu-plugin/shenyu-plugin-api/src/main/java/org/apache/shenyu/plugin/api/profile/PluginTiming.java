@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.api.profile;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The accumulated timings of a plugin on a route.
+ *
+ * <p>The accumulators are {@link LongAdder}s, which spread concurrent updates over per-thread
+ * cells, so recording never contends on a lock or a single cache line.
+ */
+public final class PluginTiming {
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder syncNanos = new LongAdder();
+
+    private final LongAdder asyncNanos = new LongAdder();
+
+    /**
+     * Add the timings of one execution.
+     *
+     * @param sync the sync nanos
+     * @param async the async nanos
+     */
+    public void add(final long sync, final long async) {
+        count.increment();
+        syncNanos.add(sync);
+        asyncNanos.add(async);
+    }
+
+    /**
+     * Gets the number of profiled executions.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the total sync time.
+     *
+     * @return the sync nanos
+     */
+    public long getSyncNanos() {
+        return syncNanos.sum();
+    }
+
+    /**
+     * Gets the total async time.
+     *
+     * @return the async nanos
+     */
+    public long getAsyncNanos() {
+        return asyncNanos.sum();
+    }
+
+    /**
+     * Gets the average sync time.
+     *
+     * @return the average sync micros
+     */
+    public double getAverageSyncMicros() {
+        return average(getSyncNanos());
+    }
+
+    /**
+     * Gets the average async time.
+     *
+     * @return the average async micros
+     */
+    public double getAverageAsyncMicros() {
+        return average(getAsyncNanos());
+    }
+
+    private double average(final long nanos) {
+        final long executions = getCount();
+        return executions == 0 ? 0 : (double) nanos / executions / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.api.profile;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The requests answered before the plugin chain because no selector can match their path.
+ */
+public final class UnroutableCounter {
+
+    private static final UnroutableCounter INSTANCE = new UnroutableCounter();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private UnroutableCounter() {
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static UnroutableCounter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Count a rejected request.
+     */
+    public void increment() {
+        rejected.increment();
+    }
+
+    /**
+     * Gets the count of rejected requests.
+     *
+     * @return the rejected count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.trace;
+
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.config.ShenyuConfig.TraceConfig;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.spi.Join;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A tracer exporting the ended spans in batches, as OTLP/HTTP JSON, from a single background thread.
+ *
+ * <p>Ending a span only offers it to a bounded queue; when the collector falls behind,
+ * spans are dropped rather than slowing the requests down.
+ */
+@Join
+public class OtlpHttpShenyuTracer implements ShenyuTracer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OtlpHttpShenyuTracer.class);
+
+    private static final long EPOCH_OFFSET_NANOS = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running;
+
+    private double sampleRate;
+
+    private int batchSize;
+
+    private long flushIntervalNanos;
+
+    private URI endpoint;
+
+    private String serviceName;
+
+    private BlockingQueue<Span> queue;
+
+    private HttpClient client;
+
+    private Thread worker;
+
+    @Override
+    public synchronized void start(final TraceConfig traceConfig) {
+        if (running) {
+            return;
+        }
+        this.sampleRate = traceConfig.getSampleRate();
+        this.batchSize = Math.max(1, traceConfig.getBatchSize());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, traceConfig.getFlushIntervalMillis()));
+        this.endpoint = URI.create(traceConfig.getEndpoint());
+        this.serviceName = traceConfig.getServiceName();
+        this.queue = new ArrayBlockingQueue<>(Math.max(batchSize, traceConfig.getQueueSize()));
+        this.client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+        this.running = true;
+        this.worker = ShenyuThreadFactory.create("shenyu-trace-exporter", true).newThread(this::exportLoop);
+        worker.start();
+        LOG.info("shenyu trace exporter started, endpoint:{}, sampleRate:{}", endpoint, sampleRate);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return running;
+    }
+
+    @Override
+    public ShenyuSpan startSpan(final String name, final SpanKind kind, final TraceContext parent) {
+        if (!running) {
+            return ShenyuSpan.NOOP;
+        }
+        TraceContext context;
+        if (Objects.isNull(parent)) {
+            if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                return ShenyuSpan.NOOP;
+            }
+            context = TraceContext.root(true);
+        } else if (parent.isSampled()) {
+            context = parent.child();
+        } else {
+            return ShenyuSpan.NOOP;
+        }
+        return new Span(name, kind, context, Objects.isNull(parent) ? null : parent.getSpanId());
+    }
+
+    /**
+     * Gets the number of the spans dropped because the queue was full.
+     *
+     * @return the dropped count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void exportLoop() {
+        List<Span> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                // stopping, export what is left without waiting
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(final List<Span> batch) throws InterruptedException {
+        final long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            long wait = deadline - System.nanoTime();
+            Span span = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+            if (Objects.isNull(span)) {
+                return;
+            }
+            batch.add(span);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void send(final List<Span> batch) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(encode(batch)))
+                .build();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                LOG.warn("shenyu trace exporter dropped {} spans, collector responded {}", batch.size(), response.statusCode());
+            }
+        } catch (IOException e) {
+            LOG.warn("shenyu trace exporter dropped {} spans: {}", batch.size(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Encode spans as an OTLP/JSON {@code ExportTraceServiceRequest}.
+     *
+     * @param spans the spans
+     * @return the json
+     */
+    String encode(final List<Span> spans) {
+        List<Map<String, Object>> encoded = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            encoded.add(span.encode());
+        }
+        Map<String, Object> resource = Collections.singletonMap("attributes",
+                Collections.singletonList(attribute("service.name", serviceName)));
+        Map<String, Object> scopeSpans = new LinkedHashMap<>();
+        scopeSpans.put("scope", Collections.singletonMap("name", "shenyu"));
+        scopeSpans.put("spans", encoded);
+        Map<String, Object> resourceSpans = new LinkedHashMap<>();
+        resourceSpans.put("resource", resource);
+        resourceSpans.put("scopeSpans", Collections.singletonList(scopeSpans));
+        return GsonUtils.getInstance().toJson(Collections.singletonMap("resourceSpans", Collections.singletonList(resourceSpans)));
+    }
+
+    private static Map<String, Object> attribute(final String key, final Object value) {
+        Map<String, Object> attribute = new LinkedHashMap<>();
+        attribute.put("key", key);
+        if (value instanceof Boolean) {
+            attribute.put("value", Collections.singletonMap("boolValue", value));
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            // int64 values are strings in OTLP/JSON
+            attribute.put("value", Collections.singletonMap("intValue", String.valueOf(value)));
+        } else if (value instanceof Number) {
+            attribute.put("value", Collections.singletonMap("doubleValue", value));
+        } else {
+            attribute.put("value", Collections.singletonMap("stringValue", String.valueOf(value)));
+        }
+        return attribute;
+    }
+
+    private static long epochNanos() {
+        return EPOCH_OFFSET_NANOS + System.nanoTime();
+    }
+
+    /**
+     * A span recorded in memory until it is exported.
+     */
+    final class Span implements ShenyuSpan {
+
+        private final String name;
+
+        private final SpanKind kind;
+
+        private final TraceContext context;
+
+        private final String parentSpanId;
+
+        private final long startNanos;
+
+        private final List<Map<String, Object>> attributes = new ArrayList<>(4);
+
+        private long endNanos;
+
+        private String error;
+
+        Span(final String name, final SpanKind kind, final TraceContext context, final String parentSpanId) {
+            this.name = name;
+            this.kind = kind;
+            this.context = context;
+            this.parentSpanId = parentSpanId;
+            this.startNanos = epochNanos();
+        }
+
+        @Override
+        public TraceContext getContext() {
+            return context;
+        }
+
+        @Override
+        public ShenyuSpan setAttribute(final String key, final Object value) {
+            if (Objects.nonNull(value)) {
+                attributes.add(attribute(key, value));
+            }
+            return this;
+        }
+
+        @Override
+        public void setError(final Throwable throwable) {
+            this.error = Objects.toString(throwable.getMessage(), throwable.getClass().getName());
+        }
+
+        @Override
+        public synchronized void end() {
+            if (endNanos != 0) {
+                return;
+            }
+            endNanos = epochNanos();
+            if (!queue.offer(this)) {
+                dropped.increment();
+            }
+        }
+
+        private Map<String, Object> encode() {
+            Map<String, Object> span = new LinkedHashMap<>();
+            span.put("traceId", context.getTraceId());
+            span.put("spanId", context.getSpanId());
+            if (Objects.nonNull(parentSpanId)) {
+                span.put("parentSpanId", parentSpanId);
+            }
+            span.put("name", name);
+            span.put("kind", kind.getCode());
+            span.put("startTimeUnixNano", String.valueOf(startNanos));
+            span.put("endTimeUnixNano", String.valueOf(endNanos));
+            span.put("attributes", attributes);
+            if (Objects.nonNull(error)) {
+                Map<String, Object> status = new LinkedHashMap<>();
+                status.put("code", STATUS_CODE_ERROR);
+                status.put("message", error);
+                span.put("status", status);
+            }
+            return span;
+        }
+    }
+}
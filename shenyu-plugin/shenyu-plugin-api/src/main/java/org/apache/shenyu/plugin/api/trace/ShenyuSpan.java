@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.trace;
+
+/**
+ * A timed operation of a trace, ended exactly once.
+ */
+public interface ShenyuSpan {
+
+    /**
+     * the span of an unsampled or untraced operation, which records nothing.
+     */
+    ShenyuSpan NOOP = new ShenyuSpan() {
+
+        @Override
+        public TraceContext getContext() {
+            return null;
+        }
+
+        @Override
+        public ShenyuSpan setAttribute(final String key, final Object value) {
+            return this;
+        }
+
+        @Override
+        public void setError(final Throwable error) {
+        }
+
+        @Override
+        public void end() {
+        }
+    };
+
+    /**
+     * Gets the context to propagate to the children of the span.
+     *
+     * @return the context, null if the span isn't recorded
+     */
+    TraceContext getContext();
+
+    /**
+     * Set an attribute, string, number or boolean.
+     *
+     * @param key the key
+     * @param value the value
+     * @return this span
+     */
+    ShenyuSpan setAttribute(String key, Object value);
+
+    /**
+     * Mark the span as failed.
+     *
+     * @param error the error
+     */
+    void setError(Throwable error);
+
+    /**
+     * End the span, later calls are ignored.
+     */
+    void end();
+}
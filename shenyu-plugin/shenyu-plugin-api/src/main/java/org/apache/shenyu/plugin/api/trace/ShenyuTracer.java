@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.trace;
+
+import org.apache.shenyu.common.config.ShenyuConfig.TraceConfig;
+import org.apache.shenyu.spi.SPI;
+
+/**
+ * Starts the spans of the gateway and exports them.
+ */
+@SPI
+public interface ShenyuTracer {
+
+    /**
+     * Start the tracer.
+     *
+     * @param traceConfig the trace config
+     */
+    void start(TraceConfig traceConfig);
+
+    /**
+     * Stop the tracer, exporting the spans already ended.
+     */
+    void stop();
+
+    /**
+     * Whether spans may be recorded, callers skip all tracing work otherwise.
+     *
+     * @return true if the tracer is running
+     */
+    boolean isEnabled();
+
+    /**
+     * Start a span.
+     *
+     * @param name the name
+     * @param kind the kind
+     * @param parent the parent context, null to start a new trace
+     * @return the span, {@link ShenyuSpan#NOOP} if the trace isn't sampled
+     */
+    ShenyuSpan startSpan(String name, SpanKind kind, TraceContext parent);
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.trace;
+
+/**
+ * The role of a span, with its OTLP code.
+ */
+public enum SpanKind {
+
+    /**
+     * an operation inside the gateway, such as a plugin.
+     */
+    INTERNAL(1),
+
+    /**
+     * the handling of an incoming request.
+     */
+    SERVER(2),
+
+    /**
+     * a call to an upstream.
+     */
+    CLIENT(3);
+
+    private final int code;
+
+    SpanKind(final int code) {
+        this.code = code;
+    }
+
+    /**
+     * Gets the OTLP code.
+     *
+     * @return the code
+     */
+    public int getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.trace;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The immutable identity of a span, propagated as a W3C trace context.
+ *
+ * @see <a href="https://www.w3.org/TR/trace-context/">Trace Context</a>
+ */
+public final class TraceContext {
+
+    /**
+     * the W3C trace context header.
+     */
+    public static final String TRACEPARENT = "traceparent";
+
+    private static final int TRACEPARENT_LENGTH = 55;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final boolean sampled;
+
+    private TraceContext(final String traceId, final String spanId, final boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * Create the context of a new trace.
+     *
+     * @param sampled whether the trace is recorded
+     * @return the root context
+     */
+    public static TraceContext root(final boolean sampled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TraceContext(hex(random.nextLong(), random.nextLong()), newSpanId(), sampled);
+    }
+
+    /**
+     * Create the context of a child span in the same trace.
+     *
+     * @return the child context
+     */
+    public TraceContext child() {
+        return new TraceContext(traceId, newSpanId(), sampled);
+    }
+
+    /**
+     * Parse a traceparent header of version 00 or of a later, compatible version.
+     *
+     * @param traceparent the header value
+     * @return the context, or null if the value is absent or invalid
+     */
+    public static TraceContext parse(final String traceparent) {
+        if (Objects.isNull(traceparent) || traceparent.length() < TRACEPARENT_LENGTH) {
+            return null;
+        }
+        // version-traceid-parentid-flags, later versions may only append fields
+        if (traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-'
+                || traceparent.length() > TRACEPARENT_LENGTH && traceparent.charAt(TRACEPARENT_LENGTH) != '-') {
+            return null;
+        }
+        String version = traceparent.substring(0, 2);
+        String traceId = traceparent.substring(3, 35);
+        String spanId = traceparent.substring(36, 52);
+        String flags = traceparent.substring(53, 55);
+        if (!isHex(version) || "ff".equals(version) || "00".equals(version) && traceparent.length() != TRACEPARENT_LENGTH
+                || !isHex(traceId) || isZero(traceId) || !isHex(spanId) || isZero(spanId) || !isHex(flags)) {
+            return null;
+        }
+        return new TraceContext(traceId, spanId, (Character.digit(flags.charAt(1), 16) & 1) == 1);
+    }
+
+    /**
+     * Format the context as a version 00 traceparent header.
+     *
+     * @return the header value
+     */
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    /**
+     * Gets the trace id, 32 lowercase hex digits.
+     *
+     * @return the trace id
+     */
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * Gets the span id, 16 lowercase hex digits.
+     *
+     * @return the span id
+     */
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * Whether the trace is recorded.
+     *
+     * @return the sampled flag
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    @Override
+    public String toString() {
+        return toTraceparent();
+    }
+
+    private static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return hex(id);
+    }
+
+    private static String hex(final long... values) {
+        char[] chars = new char[values.length * 16];
+        int position = 0;
+        for (long value : values) {
+            for (int shift = 60; shift >= 0; shift -= 4) {
+                chars[position++] = HEX[(int) (value >>> shift) & 0xf];
+            }
+        }
+        return new String(chars);
+    }
+
+    private static boolean isHex(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
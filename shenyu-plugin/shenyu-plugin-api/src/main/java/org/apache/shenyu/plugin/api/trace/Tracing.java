@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.trace;
+
+import org.apache.shenyu.common.config.ShenyuConfig.TraceConfig;
+import org.apache.shenyu.spi.ExtensionLoader;
+import reactor.util.context.ContextView;
+
+import java.util.Objects;
+
+/**
+ * Holds the tracer of the gateway; the context of the current span travels in the Reactor {@code Context}
+ * under {@link #CONTEXT_KEY}.
+ */
+public final class Tracing {
+
+    /**
+     * the Reactor context key of the current {@link TraceContext}.
+     */
+    public static final String CONTEXT_KEY = "shenyu.trace.context";
+
+    private static final ShenyuTracer NOOP = new NoopShenyuTracer();
+
+    private static volatile ShenyuTracer tracer = NOOP;
+
+    private Tracing() {
+    }
+
+    /**
+     * Start the tracer named in the config, when tracing is enabled.
+     *
+     * @param traceConfig the trace config
+     */
+    public static synchronized void init(final TraceConfig traceConfig) {
+        if (!traceConfig.getEnabled()) {
+            return;
+        }
+        ShenyuTracer join = ExtensionLoader.getExtensionLoader(ShenyuTracer.class).getJoin(traceConfig.getExporter());
+        if (join != tracer) {
+            join.start(traceConfig);
+            setTracer(join);
+        }
+    }
+
+    /**
+     * Replace the tracer, stopping the previous one.
+     *
+     * @param newTracer the tracer
+     */
+    public static synchronized void setTracer(final ShenyuTracer newTracer) {
+        ShenyuTracer previous = tracer;
+        tracer = Objects.isNull(newTracer) ? NOOP : newTracer;
+        if (previous != tracer) {
+            previous.stop();
+        }
+    }
+
+    /**
+     * Gets the tracer.
+     *
+     * @return the tracer, never null
+     */
+    public static ShenyuTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Gets the context of the current span.
+     *
+     * @param context the Reactor context
+     * @return the trace context, null if the request isn't traced
+     */
+    public static TraceContext current(final ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+}
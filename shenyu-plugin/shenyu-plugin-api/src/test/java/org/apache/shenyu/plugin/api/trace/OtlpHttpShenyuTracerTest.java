@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.trace;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.shenyu.common.config.ShenyuConfig.TraceConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for OtlpHttpShenyuTracer.
+ */
+public final class OtlpHttpShenyuTracerTest {
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+    private HttpServer server;
+
+    private OtlpHttpShenyuTracer tracer;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/traces", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                received.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        TraceConfig config = new TraceConfig();
+        config.setEndpoint("http://127.0.0.1:" + server.getAddress().getPort() + "/v1/traces");
+        config.setServiceName("test-gateway");
+        config.setBatchSize(2);
+        config.setFlushIntervalMillis(50);
+        tracer = new OtlpHttpShenyuTracer();
+        tracer.start(config);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tracer.stop();
+        server.stop(0);
+    }
+
+    @Test
+    public void exportTest() throws InterruptedException {
+        assertTrue(tracer.isEnabled());
+        ShenyuSpan root = tracer.startSpan("shenyu.chain", SpanKind.SERVER, null);
+        TraceContext context = root.getContext();
+        assertNotNull(context);
+        ShenyuSpan child = tracer.startSpan("upstream", SpanKind.CLIENT, context);
+        child.setAttribute("server.port", 8080).setAttribute("url.path", "/a\"b");
+        child.setError(new IllegalStateException("boom"));
+        child.end();
+        root.end();
+        // ending twice exports once
+        root.end();
+        String body = received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(body);
+        assertTrue(body.contains("\"stringValue\":\"test-gateway\""));
+        assertTrue(body.contains("\"traceId\":\"" + context.getTraceId() + "\""));
+        assertTrue(body.contains("\"parentSpanId\":\"" + context.getSpanId() + "\""));
+        assertTrue(body.contains("\"intValue\":\"8080\""));
+        assertTrue(body.contains("\"message\":\"boom\""));
+        assertEquals(2, body.split("\"spanId\"").length - 1);
+        assertEquals(0, tracer.getDropped());
+    }
+
+    @Test
+    public void samplingTest() {
+        TraceContext unsampled = TraceContext.root(false);
+        assertSame(ShenyuSpan.NOOP, tracer.startSpan("upstream", SpanKind.CLIENT, unsampled));
+        tracer.stop();
+        assertFalse(tracer.isEnabled());
+        assertSame(ShenyuSpan.NOOP, tracer.startSpan("shenyu.chain", SpanKind.SERVER, null));
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.SelectorTypeEnum;
 import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
 import org.apache.shenyu.common.utils.ListUtil;
@@ -50,6 +51,9 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -60,6 +64,10 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractShenyuPlugin.class);
 
     private static final String URI_CONDITION_TYPE = "uri";
+
+    private static final Set<String> ROUTING_PLUGINS = Set.of(PluginEnum.DIVIDE.getName(), PluginEnum.SPRING_CLOUD.getName(),
+            PluginEnum.WEB_SOCKET.getName(), PluginEnum.DUBBO.getName(), PluginEnum.SOFA.getName(), PluginEnum.TARS.getName(),
+            PluginEnum.GRPC.getName(), PluginEnum.MOTAN.getName());
     
     private ShenyuTrie selectorTrie;
     
@@ -119,7 +127,7 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         printLog(selectorData, pluginName);
         if (!selectorData.getContinued()) {
             // if continued， not match rules
-            return doExecute(exchange, chain, selectorData, defaultRuleData(selectorData));
+            return doExecuteMatched(exchange, chain, selectorData, defaultRuleData(selectorData));
         }
         List<RuleData> rules = BaseDataCache.getInstance().obtainRuleData(selectorData.getId());
         if (CollectionUtils.isEmpty(rules)) {
@@ -129,7 +137,7 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
             //get last
             RuleData rule = rules.get(rules.size() - 1);
             printLog(rule, pluginName);
-            return doExecute(exchange, chain, selectorData, rule);
+            return doExecuteMatched(exchange, chain, selectorData, rule);
         }
         // lru map as L1 cache,the cache is enabled by default.
         // if the L1 cache fails to hit, using L2 cache based on trie cache.
@@ -150,7 +158,17 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
             }
         }
         printLog(ruleData, pluginName);
-        return doExecute(exchange, chain, selectorData, ruleData);
+        return doExecuteMatched(exchange, chain, selectorData, ruleData);
+    }
+    
+    private Mono<Void> doExecuteMatched(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+        // only the routing plugin names the route, the rules of other plugins are not routes
+        if (ROUTING_PLUGINS.contains(named())) {
+            exchange.getAttributes().put(Constants.MATCHED_RULE, rule);
+            Consumer<RuleData> routed = exchange.getAttribute(Constants.METRICS_ROUTE);
+            Optional.ofNullable(routed).ifPresent(c -> c.accept(rule));
+        }
+        return doExecute(exchange, chain, selector, rule);
     }
     
     protected String getRawPath(final ServerWebExchange exchange) {
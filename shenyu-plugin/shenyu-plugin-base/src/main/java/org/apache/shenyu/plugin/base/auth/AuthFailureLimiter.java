@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.base.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-client counters of failed authentications that lock a client out for a while
+ * after too many consecutive failures.
+ *
+ * <p>Every client owns its counter, so concurrent requests only contend on the counter
+ * of the same client. Counters of clients that stayed quiet for a lockout period are evicted,
+ * and the number of tracked clients is bounded.
+ */
+public final class AuthFailureLimiter {
+
+    /**
+     * limiter that never locks a client out.
+     */
+    public static final AuthFailureLimiter DISABLED = new AuthFailureLimiter(0, 0);
+
+    private static final long MAX_CLIENTS = 100_000L;
+
+    private final int maxFailures;
+
+    private final long lockoutSeconds;
+
+    private final Ticker ticker;
+
+    private final Cache<String, Counter> counters;
+
+    /**
+     * Instantiates a new limiter.
+     *
+     * @param maxFailures consecutive failures that trigger a lockout, a non-positive value disables the limiter
+     * @param lockoutSeconds how long a client stays locked out
+     */
+    public AuthFailureLimiter(final int maxFailures, final long lockoutSeconds) {
+        this(maxFailures, lockoutSeconds, Ticker.systemTicker());
+    }
+
+    AuthFailureLimiter(final int maxFailures, final long lockoutSeconds, final Ticker ticker) {
+        this.maxFailures = maxFailures;
+        this.lockoutSeconds = lockoutSeconds;
+        this.ticker = ticker;
+        this.counters = isEnabled() ? Caffeine.newBuilder()
+                .maximumSize(MAX_CLIENTS)
+                .expireAfterAccess(lockoutSeconds, TimeUnit.SECONDS)
+                .ticker(ticker)
+                .build() : null;
+    }
+
+    /**
+     * Whether failures are counted at all.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return maxFailures > 0 && lockoutSeconds > 0;
+    }
+
+    /**
+     * Whether this limiter was built from the given settings.
+     *
+     * @param maxFailures consecutive failures that trigger a lockout
+     * @param lockoutSeconds how long a client stays locked out
+     * @return true if the settings are the same
+     */
+    public boolean hasSettings(final int maxFailures, final long lockoutSeconds) {
+        return this.maxFailures == maxFailures && this.lockoutSeconds == lockoutSeconds;
+    }
+
+    /**
+     * Whether the client is locked out.
+     *
+     * @param client the client key, e.g. its ip
+     * @return true if the client must be rejected without checking its credentials
+     */
+    public boolean isLocked(final String client) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Counter counter = counters.getIfPresent(client);
+        return Objects.nonNull(counter) && counter.lockedUntil - ticker.read() > 0;
+    }
+
+    /**
+     * Record a failed authentication.
+     *
+     * @param client the client key
+     */
+    public void onFailure(final String client) {
+        if (!isEnabled()) {
+            return;
+        }
+        final long now = ticker.read();
+        Counter counter = counters.get(client, key -> new Counter(now));
+        if (counter.failures.incrementAndGet() >= maxFailures) {
+            counter.failures.set(0);
+            counter.lockedUntil = now + TimeUnit.SECONDS.toNanos(lockoutSeconds);
+        }
+    }
+
+    /**
+     * Record a successful authentication, which resets the failures of the client.
+     *
+     * @param client the client key
+     */
+    public void onSuccess(final String client) {
+        if (isEnabled()) {
+            counters.invalidate(client);
+        }
+    }
+
+    private static final class Counter {
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private volatile long lockedUntil;
+
+        Counter(final long now) {
+            this.lockedUntil = now;
+        }
+    }
+}
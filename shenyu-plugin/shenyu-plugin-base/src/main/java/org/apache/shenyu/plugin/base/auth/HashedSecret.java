@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.base.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+/**
+ * A secret kept as its SHA-256 digest, compared in constant time.
+ *
+ * <p>Comparing fixed-length digests with {@link MessageDigest#isEqual(byte[], byte[])} leaks
+ * neither the content nor the length of the configured secret through timing.
+ */
+public final class HashedSecret {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private final byte[] digest;
+
+    private HashedSecret(final byte[] digest) {
+        this.digest = digest;
+    }
+
+    /**
+     * Hash a secret.
+     *
+     * @param secret the plain secret
+     * @return the hashed secret, null when the secret is null
+     */
+    public static HashedSecret of(final String secret) {
+        return Objects.isNull(secret) ? null : new HashedSecret(sha256(secret));
+    }
+
+    /**
+     * Whether the candidate equals the secret.
+     *
+     * @param candidate the presented credential
+     * @return true if the candidate matches
+     */
+    public boolean matches(final String candidate) {
+        return Objects.nonNull(candidate) && MessageDigest.isEqual(digest, sha256(candidate));
+    }
+
+    private static byte[] sha256(final String value) {
+        try {
+            return MessageDigest.getInstance(ALGORITHM).digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
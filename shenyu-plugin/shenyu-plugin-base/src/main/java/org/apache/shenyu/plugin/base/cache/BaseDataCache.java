@@ -22,11 +22,17 @@ import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.plugin.base.condition.judge.PredicateJudgeFactory;
 
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -51,6 +57,11 @@ public final class BaseDataCache {
      */
     private static final ConcurrentMap<String, List<RuleData>> RULE_MAP = Maps.newConcurrentMap();
 
+    /**
+     * bumped on every selector change, lets derived indexes know when to rebuild.
+     */
+    private static final AtomicLong SELECTOR_VERSION = new AtomicLong();
+
     private BaseDataCache() {
     }
     
@@ -122,7 +133,10 @@ public final class BaseDataCache {
      * @param selectorData the selector data
      */
     public void cacheSelectData(final SelectorData selectorData) {
-        Optional.ofNullable(selectorData).ifPresent(this::selectorAccept);
+        Optional.ofNullable(selectorData).ifPresent(data -> {
+            PredicateJudgeFactory.prepare(data.getConditionList());
+            selectorAccept(data);
+        });
     }
     
     /**
@@ -132,10 +146,12 @@ public final class BaseDataCache {
      */
     public void removeSelectData(final SelectorData selectorData) {
         Optional.ofNullable(selectorData).ifPresent(data -> {
-            final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
             synchronized (SELECTOR_MAP) {
-                Optional.ofNullable(selectorDataList).ifPresent(list -> list.removeIf(e -> e.getId().equals(data.getId())));
+                // copy on write, a published list is never modified in place
+                Optional.ofNullable(SELECTOR_MAP.get(data.getPluginName())).ifPresent(list -> SELECTOR_MAP.put(data.getPluginName(),
+                        list.stream().filter(e -> !e.getId().equals(data.getId())).collect(Collectors.toList())));
             }
+            SELECTOR_VERSION.incrementAndGet();
         });
     }
     
@@ -146,6 +162,7 @@ public final class BaseDataCache {
      */
     public void removeSelectDataByPluginName(final String pluginName) {
         SELECTOR_MAP.remove(pluginName);
+        SELECTOR_VERSION.incrementAndGet();
     }
     
     /**
@@ -153,6 +170,7 @@ public final class BaseDataCache {
      */
     public void cleanSelectorData() {
         SELECTOR_MAP.clear();
+        SELECTOR_VERSION.incrementAndGet();
     }
     
     /**
@@ -164,6 +182,37 @@ public final class BaseDataCache {
         selectorDataList.forEach(this::removeSelectData);
     }
     
+    /**
+     * Replace the selectors of all plugins with a full snapshot.
+     * The new lists are built first and then published, so a concurrent lookup sees either
+     * the previous or the next selectors of a plugin, never an empty or partial list.
+     *
+     * @param selectorDataList the selector data list
+     */
+    public void replaceSelectorData(final List<SelectorData> selectorDataList) {
+        publishSelectorGeneration(selectorGeneration(selectorDataList));
+    }
+    
+    /**
+     * Replace the selectors and rules of all plugins with one full snapshot.
+     * The new rules are published before the selectors that reference them, and stale rules are
+     * dropped only after the stale selectors are gone, so a lookup never finds a selector without its rules.
+     *
+     * @param selectorDataList the selector data list
+     * @param ruleDataList the rule data list
+     */
+    public void replaceSelectorAndRuleData(final List<SelectorData> selectorDataList, final List<RuleData> ruleDataList) {
+        Map<String, List<SelectorData>> selectorGeneration = selectorGeneration(selectorDataList);
+        Map<String, List<RuleData>> ruleGeneration = ruleGeneration(ruleDataList);
+        synchronized (RULE_MAP) {
+            RULE_MAP.putAll(ruleGeneration);
+        }
+        publishSelectorGeneration(selectorGeneration);
+        synchronized (RULE_MAP) {
+            RULE_MAP.keySet().retainAll(ruleGeneration.keySet());
+        }
+    }
+    
     /**
      * Obtain selector data list list.
      *
@@ -174,13 +223,36 @@ public final class BaseDataCache {
         return SELECTOR_MAP.get(pluginName);
     }
     
+    /**
+     * Obtain the selector version, which changes whenever any selector is cached or removed.
+     *
+     * @return the selector version
+     */
+    public long obtainSelectorVersion() {
+        return SELECTOR_VERSION.get();
+    }
+    
+    /**
+     * Obtain a snapshot of the selectors of all plugins.
+     *
+     * @return the selector data list
+     */
+    public List<SelectorData> obtainAllSelectorData() {
+        synchronized (SELECTOR_MAP) {
+            return SELECTOR_MAP.values().stream().flatMap(List::stream).collect(Collectors.toList());
+        }
+    }
+    
     /**
      * Cache rule data.
      *
      * @param ruleData the rule data
      */
     public void cacheRuleData(final RuleData ruleData) {
-        Optional.ofNullable(ruleData).ifPresent(this::ruleAccept);
+        Optional.ofNullable(ruleData).ifPresent(data -> {
+            PredicateJudgeFactory.prepare(data.getConditionDataList());
+            ruleAccept(data);
+        });
     }
     
     /**
@@ -190,9 +262,9 @@ public final class BaseDataCache {
      */
     public void removeRuleData(final RuleData ruleData) {
         Optional.ofNullable(ruleData).ifPresent(data -> {
-            final List<RuleData> ruleDataList = RULE_MAP.get(data.getSelectorId());
             synchronized (RULE_MAP) {
-                Optional.ofNullable(ruleDataList).ifPresent(list -> list.removeIf(rule -> rule.getId().equals(data.getId())));
+                Optional.ofNullable(RULE_MAP.get(data.getSelectorId())).ifPresent(list -> RULE_MAP.put(data.getSelectorId(),
+                        list.stream().filter(rule -> !rule.getId().equals(data.getId())).collect(Collectors.toList())));
             }
         });
     }
@@ -222,6 +294,19 @@ public final class BaseDataCache {
         ruleDataList.forEach(this::removeRuleData);
     }
     
+    /**
+     * Replace the rules of all selectors with a full snapshot, see {@link #replaceSelectorData(List)}.
+     *
+     * @param ruleDataList the rule data list
+     */
+    public void replaceRuleData(final List<RuleData> ruleDataList) {
+        Map<String, List<RuleData>> generation = ruleGeneration(ruleDataList);
+        synchronized (RULE_MAP) {
+            RULE_MAP.putAll(generation);
+            RULE_MAP.keySet().retainAll(generation.keySet());
+        }
+    }
+    
     /**
      * Obtain rule data list list.
      *
@@ -260,6 +345,45 @@ public final class BaseDataCache {
     }
     
 
+    private static Map<String, List<SelectorData>> selectorGeneration(final List<SelectorData> selectorDataList) {
+        selectorDataList.stream().filter(Objects::nonNull).forEach(data -> PredicateJudgeFactory.prepare(data.getConditionList()));
+        return selectorDataList.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(SelectorData::getPluginName, Collectors.collectingAndThen(Collectors.toList(),
+                    list -> sortedDistinct(list, SelectorData::getId, Comparator.comparing(SelectorData::getSort)))));
+    }
+    
+    private static Map<String, List<RuleData>> ruleGeneration(final List<RuleData> ruleDataList) {
+        ruleDataList.stream().filter(Objects::nonNull).forEach(data -> PredicateJudgeFactory.prepare(data.getConditionDataList()));
+        return ruleDataList.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(RuleData::getSelectorId, Collectors.collectingAndThen(Collectors.toList(),
+                    list -> sortedDistinct(list, RuleData::getId, Comparator.comparing(RuleData::getSort)))));
+    }
+    
+    private static void publishSelectorGeneration(final Map<String, List<SelectorData>> generation) {
+        synchronized (SELECTOR_MAP) {
+            SELECTOR_MAP.putAll(generation);
+            SELECTOR_MAP.keySet().retainAll(generation.keySet());
+        }
+        SELECTOR_VERSION.incrementAndGet();
+    }
+    
+    /**
+     * keep the last data of each id, sorted.
+     *
+     * @param list the data list
+     * @param id the id getter
+     * @param comparator the sort comparator
+     * @param <T> the data type
+     * @return the sorted list
+     */
+    private static <T> List<T> sortedDistinct(final List<T> list, final Function<T, String> id, final Comparator<T> comparator) {
+        Map<String, T> distinct = new LinkedHashMap<>(list.size());
+        list.forEach(data -> distinct.put(id.apply(data), data));
+        return distinct.values().stream().sorted(comparator).collect(Collectors.toList());
+    }
+
     /**
      *  cache rule data.
      *
@@ -298,5 +422,6 @@ public final class BaseDataCache {
                 SELECTOR_MAP.put(key, Lists.newArrayList(data));
             }
         }
+        SELECTOR_VERSION.incrementAndGet();
     }
 }
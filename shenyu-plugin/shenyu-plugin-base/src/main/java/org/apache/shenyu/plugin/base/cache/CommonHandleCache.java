@@ -17,8 +17,12 @@
 
 package org.apache.shenyu.plugin.base.cache;
 
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.plugin.api.HandleCache;
+import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
@@ -48,6 +52,55 @@ public class CommonHandleCache<K, V> implements HandleCache<K, V> {
         Optional.ofNullable(key).ifPresent(data_key -> Optional.ofNullable(value).ifPresent(data_value -> cached.put(data_key, data_value)));
     }
 
+    /**
+     * Obtain the handle of the rule, reading the handle bound to the rule data first
+     * so the request path needs neither key building nor map lookup.
+     *
+     * @param ruleData the rule data
+     * @return the handle
+     */
+    @SuppressWarnings("unchecked")
+    public V obtainRuleHandle(final RuleData ruleData) {
+        V handle = ruleData.obtainCachedHandle();
+        return Objects.nonNull(handle) ? handle : cached.get((K) CacheKeyUtils.INST.getKey(ruleData));
+    }
+
+    /**
+     * Cache the handle of the rule by selectorId_ruleId and bind it to the rule data.
+     *
+     * @param ruleData the rule data
+     * @param value the handle
+     */
+    @SuppressWarnings("unchecked")
+    public void cachedRuleHandle(final RuleData ruleData, final V value) {
+        cachedHandle((K) CacheKeyUtils.INST.getKey(ruleData), value);
+        ruleData.bindCachedHandle(value);
+    }
+
+    /**
+     * Obtain the handle of the selector, reading the handle bound to the selector data first.
+     *
+     * @param selectorData the selector data
+     * @return the handle
+     */
+    @SuppressWarnings("unchecked")
+    public V obtainSelectorHandle(final SelectorData selectorData) {
+        V handle = selectorData.obtainCachedHandle();
+        return Objects.nonNull(handle) ? handle : cached.get((K) selectorData.getId());
+    }
+
+    /**
+     * Cache the handle of the selector by selectorId and bind it to the selector data.
+     *
+     * @param selectorData the selector data
+     * @param value the handle
+     */
+    @SuppressWarnings("unchecked")
+    public void cachedSelectorHandle(final SelectorData selectorData, final V value) {
+        cachedHandle((K) selectorData.getId(), value);
+        selectorData.bindCachedHandle(value);
+    }
+
     @Override
     public void removeHandle(final K key) {
         Optional.ofNullable(key).ifPresent(cached::remove);
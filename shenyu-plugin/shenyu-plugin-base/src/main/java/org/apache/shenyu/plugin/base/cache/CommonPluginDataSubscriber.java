@@ -20,10 +20,12 @@ package org.apache.shenyu.plugin.base.cache;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.config.ShenyuConfig.RuleMatchCache;
 import org.apache.shenyu.common.config.ShenyuConfig.SelectorMatchCache;
+import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.DataEventTypeEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
 import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
 import org.apache.shenyu.common.enums.TrieEventEnum;
@@ -38,6 +40,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -165,6 +168,17 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanSelectorDataSelf(selectorDataList);
     }
     
+    @Override
+    public void replaceSelectorDataAll(final List<SelectorData> selectorDataList) {
+        LOG.info("start replace all selector data, size: {}", selectorDataList.size());
+        // prepare handlers and the trie before the new selectors become visible
+        selectorDataList.forEach(this::handlerSelector);
+        ShenyuTrie builtTrie = buildSelectorTrie(selectorDataList);
+        BaseDataCache.getInstance().replaceSelectorData(selectorDataList);
+        replaceTrieRoots(TrieCacheTypeEnum.SELECTOR, builtTrie);
+        MatchDataCache.getInstance().cleanSelectorData();
+    }
+    
     @Override
     public void onRuleSubscribe(final RuleData ruleData) {
         LOG.info("subscribe rule data for rule[id: {}, selectorId: {}, name: {}]", ruleData.getId(), ruleData.getSelectorId(), ruleData.getName());
@@ -194,6 +208,74 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanRuleDataSelf(ruleDataList);
     }
     
+    @Override
+    public void replaceRuleDataAll(final List<RuleData> ruleDataList) {
+        LOG.info("start replace all rule data, size: {}", ruleDataList.size());
+        ruleDataList.forEach(this::handlerRule);
+        ShenyuTrie builtTrie = buildRuleTrie(ruleDataList);
+        BaseDataCache.getInstance().replaceRuleData(ruleDataList);
+        replaceTrieRoots(TrieCacheTypeEnum.RULE, builtTrie);
+        MatchDataCache.getInstance().cleanRuleDataData();
+    }
+    
+    @Override
+    public void replaceSelectorAndRuleDataAll(final List<SelectorData> selectorDataList, final List<RuleData> ruleDataList) {
+        LOG.info("start replace all selector and rule data, selector size: {}, rule size: {}", selectorDataList.size(), ruleDataList.size());
+        selectorDataList.forEach(this::handlerSelector);
+        ruleDataList.forEach(this::handlerRule);
+        ShenyuTrie builtSelectorTrie = buildSelectorTrie(selectorDataList);
+        ShenyuTrie builtRuleTrie = buildRuleTrie(ruleDataList);
+        BaseDataCache.getInstance().replaceSelectorAndRuleData(selectorDataList, ruleDataList);
+        replaceTrieRoots(TrieCacheTypeEnum.RULE, builtRuleTrie);
+        replaceTrieRoots(TrieCacheTypeEnum.SELECTOR, builtSelectorTrie);
+        MatchDataCache.getInstance().cleanSelectorData();
+        MatchDataCache.getInstance().cleanRuleDataData();
+    }
+    
+    private void handlerSelector(final SelectorData selectorData) {
+        Optional.ofNullable(handlerMap.get(selectorData.getPluginName())).ifPresent(handler -> handler.handlerSelector(selectorData));
+    }
+    
+    private void handlerRule(final RuleData ruleData) {
+        Optional.ofNullable(handlerMap.get(ruleData.getPluginName())).ifPresent(handler -> handler.handlerRule(ruleData));
+    }
+    
+    private ShenyuTrie buildSelectorTrie(final List<SelectorData> selectorDataList) {
+        if (!selectorMatchConfig.getTrie().getEnabled()) {
+            return null;
+        }
+        ShenyuTrie selectorTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.SELECTOR.getTrieType());
+        ShenyuTrie builtTrie = selectorTrie.emptyCopy();
+        selectorDataList.stream().filter(selectorData -> Boolean.TRUE.equals(selectorData.getEnabled()))
+                .forEach(selectorData -> builtTrie.putNode(uriPaths(selectorData.getConditionList()), selectorData, TrieCacheTypeEnum.SELECTOR));
+        return builtTrie;
+    }
+    
+    private ShenyuTrie buildRuleTrie(final List<RuleData> ruleDataList) {
+        if (!ruleMatchCacheConfig.getTrie().getEnabled()) {
+            return null;
+        }
+        ShenyuTrie ruleTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.RULE.getTrieType());
+        ShenyuTrie builtTrie = ruleTrie.emptyCopy();
+        ruleDataList.stream().filter(ruleData -> Boolean.TRUE.equals(ruleData.getEnabled()))
+                .forEach(ruleData -> builtTrie.putNode(uriPaths(ruleData.getConditionDataList()), ruleData, TrieCacheTypeEnum.RULE));
+        return builtTrie;
+    }
+    
+    private void replaceTrieRoots(final TrieCacheTypeEnum cacheType, final ShenyuTrie builtTrie) {
+        if (Objects.nonNull(builtTrie)) {
+            ShenyuTrie trie = SpringBeanUtils.getInstance().getBean(cacheType.getTrieType());
+            trie.replaceRoots(builtTrie);
+        }
+    }
+    
+    private List<String> uriPaths(final List<ConditionData> conditionDataList) {
+        return Optional.ofNullable(conditionDataList).orElse(Collections.emptyList()).stream()
+                .filter(conditionData -> ParamTypeEnum.URI.getName().equals(conditionData.getParamType()))
+                .map(ConditionData::getParamValue)
+                .collect(Collectors.toList());
+    }
+    
     private <T> void subscribeDataHandler(final T classData, final DataEventTypeEnum dataType) {
         if (dataType == DataEventTypeEnum.UPDATE) {
             Optional.ofNullable(classData)
@@ -235,9 +317,10 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             }
         } else if (data instanceof SelectorData) {
             SelectorData selectorData = (SelectorData) data;
-            BaseDataCache.getInstance().cacheSelectData(selectorData);
+            // bind the handle before requests can see the selector
             Optional.ofNullable(handlerMap.get(selectorData.getPluginName()))
                     .ifPresent(handler -> handler.handlerSelector(selectorData));
+            BaseDataCache.getInstance().cacheSelectData(selectorData);
             // remove match cache
             if (selectorMatchConfig.getCache().getEnabled()) {
                 MatchDataCache.getInstance().removeSelectorData(selectorData.getPluginName(), selectorData.getId());
@@ -250,9 +333,10 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
             updateSelectorTrieCache(selectorData);
         } else if (data instanceof RuleData) {
             RuleData ruleData = (RuleData) data;
-            BaseDataCache.getInstance().cacheRuleData(ruleData);
+            // bind the handle before requests can see the rule
             Optional.ofNullable(handlerMap.get(ruleData.getPluginName()))
                     .ifPresent(handler -> handler.handlerRule(ruleData));
+            BaseDataCache.getInstance().cacheRuleData(ruleData);
             if (ruleMatchCacheConfig.getCache().getEnabled()) {
                 MatchDataCache.getInstance().removeRuleData(ruleData.getPluginName(), ruleData.getId());
                 MatchDataCache.getInstance().removeEmptyRuleData(ruleData.getPluginName());
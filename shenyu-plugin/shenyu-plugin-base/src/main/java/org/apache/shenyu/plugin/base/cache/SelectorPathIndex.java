@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * An immutable set of path prefixes, built from the union of all enabled selectors,
+ * that tells whether a request path can possibly be matched by any selector.
+ *
+ * <p>The index is conservative: any selector whose conditions don't bound the uri to a
+ * literal prefix (full flow, header/query conditions in or mode, regex, contains ...)
+ * makes every path routable.
+ */
+public final class SelectorPathIndex {
+
+    /**
+     * index accepting every path.
+     */
+    public static final SelectorPathIndex ALL = new SelectorPathIndex(null);
+
+    private static final String ROOT = "/";
+
+    /**
+     * sorted prefixes, none of them is a prefix of another; null means every path is routable.
+     */
+    private final String[] prefixes;
+
+    private SelectorPathIndex(final String[] prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * Build the index from selectors.
+     *
+     * @param selectors the selectors of all plugins
+     * @return the index
+     */
+    public static SelectorPathIndex build(final Collection<SelectorData> selectors) {
+        SortedSet<String> sorted = new TreeSet<>();
+        for (SelectorData selector : selectors) {
+            if (!Boolean.TRUE.equals(selector.getEnabled())) {
+                continue;
+            }
+            List<String> bounds = pathPrefixes(selector);
+            if (Objects.isNull(bounds)) {
+                return ALL;
+            }
+            sorted.addAll(bounds);
+        }
+        if (sorted.isEmpty()) {
+            return ALL;
+        }
+        List<String> minimal = new ArrayList<>(sorted.size());
+        String last = null;
+        for (String prefix : sorted) {
+            // in sorted order, a prefix's extensions directly follow it
+            if (Objects.isNull(last) || !prefix.startsWith(last)) {
+                minimal.add(prefix);
+                last = prefix;
+            }
+        }
+        return new SelectorPathIndex(minimal.toArray(new String[0]));
+    }
+
+    /**
+     * Whether some selector may match the path.
+     *
+     * @param path the raw request path
+     * @return false when no selector can match the path
+     */
+    public boolean mayRoute(final String path) {
+        if (Objects.isNull(prefixes)) {
+            return true;
+        }
+        int index = Arrays.binarySearch(prefixes, path);
+        if (index >= 0) {
+            return true;
+        }
+        // the only prefix that may match is the greatest one below the path
+        int floor = -index - 2;
+        return floor >= 0 && path.startsWith(prefixes[floor]);
+    }
+
+    /**
+     * Whether the index accepts every path.
+     *
+     * @return true if every path is routable
+     */
+    public boolean isUnbounded() {
+        return Objects.isNull(prefixes);
+    }
+
+    private static List<String> pathPrefixes(final SelectorData selector) {
+        if (Objects.equals(selector.getType(), SelectorTypeEnum.FULL_FLOW.getCode())
+                || CollectionUtils.isEmpty(selector.getConditionList())) {
+            return null;
+        }
+        boolean and = MatchModeEnum.match(selector.getMatchMode(), MatchModeEnum.AND);
+        List<String> bounds = new ArrayList<>();
+        for (ConditionData condition : selector.getConditionList()) {
+            String prefix = pathPrefix(condition);
+            if (Objects.nonNull(prefix)) {
+                if (and) {
+                    // one bounded uri condition is enough when all conditions must hold
+                    return Arrays.asList(prefix);
+                }
+                bounds.add(prefix);
+            } else if (!and) {
+                return null;
+            }
+        }
+        return and ? null : bounds;
+    }
+
+    private static String pathPrefix(final ConditionData condition) {
+        if (!ParamTypeEnum.URI.getName().equals(condition.getParamType()) || StringUtils.isEmpty(condition.getParamValue())) {
+            return null;
+        }
+        String operator = condition.getOperator();
+        String value = condition.getParamValue().trim();
+        if (!OperatorEnum.MATCH.getAlias().equals(operator) && !OperatorEnum.PATH_PATTERN.getAlias().equals(operator)
+                && !OperatorEnum.EQ.getAlias().equals(operator) && !OperatorEnum.STARTS_WITH.getAlias().equals(operator)) {
+            return null;
+        }
+        int end = 0;
+        while (end < value.length() && isLiteral(value.charAt(end))) {
+            end++;
+        }
+        // "/a/**" also matches "/a", so the trailing slash is not part of the bound
+        String prefix = StringUtils.removeEnd(value.substring(0, end), ROOT);
+        return prefix.isEmpty() ? null : prefix;
+    }
+
+    private static boolean isLiteral(final char c) {
+        // stop at pattern syntax and at anything that would be percent-encoded in the raw path
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                || c == '/' || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+}
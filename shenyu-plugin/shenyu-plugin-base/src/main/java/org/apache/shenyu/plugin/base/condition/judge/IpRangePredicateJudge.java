@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.base.condition.judge;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.plugin.base.trie.IpRangeTrie;
+import org.apache.shenyu.spi.Join;
+
+/**
+ * Ip range predicate judge, the param value holds comma separated IPv4 and IPv6 addresses or CIDRs.
+ *
+ * <p>The ranges are compiled into an {@link IpRangeTrie} when the condition is synced and bound to it.
+ */
+@Join
+public class IpRangePredicateJudge implements PredicateJudge {
+
+    @Override
+    public Boolean judge(final ConditionData conditionData, final String realData) {
+        Object compiled = conditionData.obtainCompiledValue();
+        IpRangeTrie trie = compiled instanceof IpRangeTrie ? (IpRangeTrie) compiled : compile(conditionData);
+        return trie.contains(realData.trim());
+    }
+
+    @Override
+    public void prepare(final ConditionData conditionData) {
+        compile(conditionData);
+    }
+
+    private static IpRangeTrie compile(final ConditionData conditionData) {
+        IpRangeTrie trie = IpRangeTrie.of(conditionData.getParamValue());
+        conditionData.bindCompiledValue(trie);
+        return trie;
+    }
+}
@@ -36,4 +36,12 @@ public interface PredicateJudge {
      */
     Boolean judge(ConditionData conditionData, String realData);
 
+    /**
+     * prepare the condition when it is synced, e.g. compile its param value.
+     *
+     * @param conditionData {@linkplain ConditionData}
+     */
+    default void prepare(final ConditionData conditionData) {
+    }
+
 }
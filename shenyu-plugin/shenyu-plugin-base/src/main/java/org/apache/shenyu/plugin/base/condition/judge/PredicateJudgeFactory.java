@@ -22,6 +22,7 @@ import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.enums.OperatorEnum;
 import org.apache.shenyu.spi.ExtensionLoader;
 
+import java.util.Collection;
 import java.util.Objects;
 
 /**
@@ -60,6 +61,22 @@ public final class PredicateJudgeFactory {
         return predicateJudge.judge(conditionData, realData);
     }
 
+    /**
+     * prepare synced conditions, so the request path doesn't compile their param values.
+     *
+     * @param conditionList the conditions, may be null
+     */
+    public static void prepare(final Collection<ConditionData> conditionList) {
+        if (Objects.isNull(conditionList)) {
+            return;
+        }
+        for (ConditionData conditionData : conditionList) {
+            if (Objects.nonNull(conditionData) && Objects.nonNull(OperatorEnum.getOperatorEnumByAlias(conditionData.getOperator()))) {
+                newInstance(conditionData.getOperator()).prepare(conditionData);
+            }
+        }
+    }
+
     /**
      * process special operator, like = need to change to equals.
      *
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.support;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.util.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request decorator that cuts off the body stream once it grows beyond a limit,
+ * so chunked uploads without a Content-Length are bounded as well.
+ */
+public class BodySizeLimitRequestDecorator extends ServerHttpRequestDecorator {
+
+    private final long maxSize;
+
+    /**
+     * Instantiates a new body size limit request decorator.
+     *
+     * @param delegate the delegate request
+     * @param maxSize  the max body size in bytes
+     */
+    public BodySizeLimitRequestDecorator(final ServerHttpRequest delegate, final long maxSize) {
+        super(delegate);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    @NonNull
+    public Flux<DataBuffer> getBody() {
+        return Flux.defer(() -> {
+            AtomicLong received = new AtomicLong();
+            return super.getBody().handle((dataBuffer, sink) -> {
+                if (received.addAndGet(dataBuffer.readableByteCount()) > maxSize) {
+                    DataBufferUtils.release(dataBuffer);
+                    sink.error(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE));
+                    return;
+                }
+                sink.next(dataBuffer);
+            });
+        });
+    }
+}
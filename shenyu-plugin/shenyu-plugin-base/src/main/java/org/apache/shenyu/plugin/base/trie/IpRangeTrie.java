@@ -0,0 +1,443 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Objects;
+
+/**
+ * An immutable set of IPv4 and IPv6 CIDR ranges, held in a compressed binary (patricia) trie.
+ *
+ * <p>IPv4 addresses are mapped into {@code ::ffff:0:0/96}, so both families share one 128 bit
+ * key space. Ranges covered by another range are dropped while building, so every range is a leaf
+ * and a lookup stops at the first range on its path: it costs at most one node per prefix bit,
+ * and parses the address without allocating.
+ */
+public final class IpRangeTrie {
+
+    /**
+     * trie containing no address.
+     */
+    public static final IpRangeTrie EMPTY = new IpRangeTrie(null, 0);
+
+    private static final long IPV4_MAPPED = 0xFFFF_0000_0000L;
+
+    private static final int IPV4_OFFSET = 96;
+
+    private static final int BITS = 128;
+
+    /**
+     * scratch of lookups: hi, lo and the 8 groups of an IPv6 address.
+     */
+    private static final ThreadLocal<long[]> SCRATCH = ThreadLocal.withInitial(() -> new long[10]);
+
+    private final Node root;
+
+    private final int size;
+
+    private IpRangeTrie(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Build a trie from comma, blank or line separated ranges, skipping invalid ones.
+     *
+     * @param ranges the ranges, e.g. "10.0.0.0/8, 192.168.1.1, 2001:db8::/32"
+     * @return the trie
+     */
+    public static IpRangeTrie of(final String ranges) {
+        Builder builder = builder();
+        if (StringUtils.isNotBlank(ranges)) {
+            for (String range : StringUtils.split(ranges, ", \t\r\n")) {
+                builder.add(range);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * New builder.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Whether an address falls into one of the ranges.
+     *
+     * @param ip the textual IPv4 or IPv6 address
+     * @return false when the address is not in any range or is not an ip literal
+     */
+    public boolean contains(final String ip) {
+        if (Objects.isNull(root) || Objects.isNull(ip)) {
+            return false;
+        }
+        long[] key = SCRATCH.get();
+        if (parse(ip, 0, ip.length(), key) < 0) {
+            return false;
+        }
+        final long hi = key[0];
+        final long lo = key[1];
+        Node node = root;
+        while (Objects.nonNull(node)) {
+            if (!node.covers(hi, lo)) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+            node = bit(hi, lo, node.length) == 0 ? node.zero : node.one;
+        }
+        return false;
+    }
+
+    /**
+     * The number of ranges kept, ranges covered by another one are not counted.
+     *
+     * @return the number of ranges
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the trie contains no address.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return Objects.isNull(root);
+    }
+
+    /**
+     * Parse an address into its 128 bit key.
+     *
+     * @param text the text
+     * @param start start index
+     * @param end end index, exclusive
+     * @param key receives hi and lo, and uses the following 8 slots as scratch
+     * @return the address length in bits (32 for IPv4), -1 if not an ip literal
+     */
+    private static int parse(final String text, final int start, final int end, final long[] key) {
+        int zone = text.indexOf('%', start);
+        int limit = zone >= 0 && zone < end ? zone : end;
+        int colon = text.indexOf(':', start);
+        if (colon < 0 || colon >= limit) {
+            long v4 = parseIpv4(text, start, limit);
+            if (v4 < 0) {
+                return -1;
+            }
+            key[0] = 0;
+            key[1] = IPV4_MAPPED | v4;
+            return 32;
+        }
+        return parseIpv6(text, start, limit, key) ? BITS : -1;
+    }
+
+    private static long parseIpv4(final String text, final int start, final int end) {
+        long address = 0;
+        int octets = 0;
+        int i = start;
+        while (i < end) {
+            int value = 0;
+            int digits = 0;
+            while (i < end && text.charAt(i) != '.') {
+                char c = text.charAt(i++);
+                if (c < '0' || c > '9' || ++digits > 3) {
+                    return -1;
+                }
+                value = value * 10 + c - '0';
+            }
+            if (digits == 0 || value > 255 || ++octets > 4) {
+                return -1;
+            }
+            address = address << 8 | value;
+            if (i < end && ++i == end) {
+                // trailing dot
+                return -1;
+            }
+        }
+        return octets == 4 ? address : -1;
+    }
+
+    private static boolean parseIpv6(final String text, final int start, final int end, final long[] key) {
+        int groups = 0;
+        int gap = -1;
+        int i = start;
+        if (end - i >= 2 && text.charAt(i) == ':' && text.charAt(i + 1) == ':') {
+            gap = 0;
+            i += 2;
+        }
+        while (i < end) {
+            int segmentEnd = i;
+            boolean dotted = false;
+            while (segmentEnd < end && text.charAt(segmentEnd) != ':') {
+                dotted |= text.charAt(segmentEnd) == '.';
+                segmentEnd++;
+            }
+            if (dotted) {
+                long v4 = segmentEnd == end && groups <= 6 ? parseIpv4(text, i, end) : -1;
+                if (v4 < 0) {
+                    return false;
+                }
+                key[2 + groups++] = v4 >>> 16;
+                key[2 + groups++] = v4 & 0xFFFF;
+                break;
+            }
+            int length = segmentEnd - i;
+            if (length == 0 || length > 4 || groups == 8) {
+                return false;
+            }
+            int value = 0;
+            for (int j = i; j < segmentEnd; j++) {
+                int digit = hexDigit(text.charAt(j));
+                if (digit < 0) {
+                    return false;
+                }
+                value = value << 4 | digit;
+            }
+            key[2 + groups++] = value;
+            if (segmentEnd == end) {
+                break;
+            }
+            if (segmentEnd + 1 < end && text.charAt(segmentEnd + 1) == ':') {
+                if (gap >= 0) {
+                    return false;
+                }
+                gap = groups;
+                i = segmentEnd + 2;
+            } else {
+                i = segmentEnd + 1;
+                if (i == end) {
+                    return false;
+                }
+            }
+        }
+        if (gap < 0 ? groups != 8 : groups > 7) {
+            return false;
+        }
+        long hi = 0;
+        long lo = 0;
+        int zeros = 8 - groups;
+        for (int index = 0, group = 0; index < 8; index++) {
+            long value = gap >= 0 && index >= gap && index < gap + zeros ? 0 : key[2 + group++];
+            if (index < 4) {
+                hi = hi << 16 | value;
+            } else {
+                lo = lo << 16 | value;
+            }
+        }
+        key[0] = hi;
+        key[1] = lo;
+        return true;
+    }
+
+    private static int hexDigit(final char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return c >= 'A' && c <= 'F' ? c - 'A' + 10 : -1;
+    }
+
+    private static int bit(final long hi, final long lo, final int index) {
+        return (int) (index < 64 ? hi >>> (63 - index) : lo >>> (127 - index)) & 1;
+    }
+
+    private static long mask(final int bits) {
+        if (bits <= 0) {
+            return 0L;
+        }
+        return bits >= 64 ? -1L : -1L << (64 - bits);
+    }
+
+    private static final class Node {
+
+        private final long hi;
+
+        private final long lo;
+
+        private final int length;
+
+        private Node zero;
+
+        private Node one;
+
+        private boolean terminal;
+
+        Node(final long hi, final long lo, final int length, final boolean terminal) {
+            this.hi = hi & mask(length);
+            this.lo = lo & mask(length - 64);
+            this.length = length;
+            this.terminal = terminal;
+        }
+
+        boolean covers(final long keyHi, final long keyLo) {
+            return ((keyHi ^ hi) & mask(length)) == 0 && ((keyLo ^ lo) & mask(length - 64)) == 0;
+        }
+
+        int commonLength(final long keyHi, final long keyLo, final int keyLength) {
+            long diff = keyHi ^ hi;
+            int common = diff != 0 ? Long.numberOfLeadingZeros(diff) : 64 + Long.numberOfLeadingZeros(keyLo ^ lo);
+            return Math.min(common, Math.min(length, keyLength));
+        }
+    }
+
+    /**
+     * Builder of {@link IpRangeTrie}, not thread safe.
+     */
+    public static final class Builder {
+
+        private Node root;
+
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * Add a range.
+         *
+         * @param range an address, or an address and a prefix length, e.g. "10.0.0.0/8"
+         * @return false if the range is invalid and was skipped
+         */
+        public boolean add(final String range) {
+            if (StringUtils.isBlank(range)) {
+                return false;
+            }
+            String text = range.trim();
+            int slash = text.indexOf('/');
+            long[] key = new long[10];
+            int bits = parse(text, 0, slash < 0 ? text.length() : slash, key);
+            if (bits < 0) {
+                return false;
+            }
+            int prefix = bits;
+            if (slash >= 0) {
+                prefix = parsePrefix(text, slash + 1);
+                if (prefix < 0 || prefix > bits) {
+                    return false;
+                }
+            }
+            insert(key[0], key[1], bits == BITS ? prefix : IPV4_OFFSET + prefix);
+            return true;
+        }
+
+        /**
+         * Build the trie.
+         *
+         * @return the trie
+         */
+        public IpRangeTrie build() {
+            return Objects.isNull(root) ? EMPTY : new IpRangeTrie(root, size);
+        }
+
+        private static int parsePrefix(final String text, final int start) {
+            if (start == text.length() || text.length() - start > 3) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = start; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                value = value * 10 + c - '0';
+            }
+            return value;
+        }
+
+        private void insert(final long hi, final long lo, final int length) {
+            Node parent = null;
+            Node node = root;
+            while (Objects.nonNull(node)) {
+                int common = node.commonLength(hi, lo, length);
+                if (common < node.length) {
+                    // the new range diverges from the node, or covers it
+                    Node leaf = new Node(hi, lo, length, true);
+                    if (common == length) {
+                        size -= countRanges(node);
+                        replace(parent, node, leaf);
+                    } else {
+                        Node branch = new Node(hi, lo, common, false);
+                        if (bit(node.hi, node.lo, common) == 0) {
+                            branch.zero = node;
+                            branch.one = leaf;
+                        } else {
+                            branch.zero = leaf;
+                            branch.one = node;
+                        }
+                        replace(parent, node, branch);
+                    }
+                    size++;
+                    return;
+                }
+                if (node.terminal) {
+                    // already covered
+                    return;
+                }
+                if (length == node.length) {
+                    size -= countRanges(node);
+                    node.terminal = true;
+                    node.zero = null;
+                    node.one = null;
+                    size++;
+                    return;
+                }
+                parent = node;
+                node = bit(hi, lo, node.length) == 0 ? node.zero : node.one;
+                if (Objects.isNull(node)) {
+                    Node leaf = new Node(hi, lo, length, true);
+                    if (bit(hi, lo, parent.length) == 0) {
+                        parent.zero = leaf;
+                    } else {
+                        parent.one = leaf;
+                    }
+                    size++;
+                    return;
+                }
+            }
+            root = new Node(hi, lo, length, true);
+            size++;
+        }
+
+        private void replace(final Node parent, final Node node, final Node replacement) {
+            if (Objects.isNull(parent)) {
+                root = replacement;
+            } else if (parent.zero == node) {
+                parent.zero = replacement;
+            } else {
+                parent.one = replacement;
+            }
+        }
+
+        private static int countRanges(final Node node) {
+            if (Objects.isNull(node)) {
+                return 0;
+            }
+            return node.terminal ? 1 : countRanges(node.zero) + countRanges(node.one);
+        }
+    }
+}
@@ -48,6 +48,11 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class ShenyuTrie {
     
+    /**
+     * guards every write to a trie, shared with {@link ShenyuTrieListener}.
+     */
+    static final Object WRITE_LOCK = new Object();
+    
     private static final Logger LOG = LoggerFactory.getLogger(ShenyuTrie.class);
     
     private static final String WILDCARD = "*";
@@ -57,18 +62,42 @@ public class ShenyuTrie {
     /**
      * when the trie is selector trie, the key is pluginName, when the trie is rule trie, the key is selectorId.
      */
-    private final Map<String, ShenyuTrieNode> keyRootMap;
+    private volatile Map<String, ShenyuTrieNode> keyRootMap;
     
     /**
      * the mode includes antPathMatch and pathPattern
      * antPathMatch means all full match, pathPattern is used in web.
      */
     private final TrieMatchModeEnum matchMode;
+    
+    private final Long cacheSize;
 
     public ShenyuTrie(final Long cacheSize, final String matchMode) {
         this.matchMode = TrieMatchModeEnum.acquireTrieMatch(matchMode);
+        this.cacheSize = cacheSize;
         this.keyRootMap = new WindowTinyLFUMap<>(cacheSize);
     }
+    
+    /**
+     * create an empty trie with the same cache size and match mode, to be filled off the request path.
+     *
+     * @return the empty trie
+     */
+    public ShenyuTrie emptyCopy() {
+        return new ShenyuTrie(cacheSize, matchMode.getMatchMode());
+    }
+    
+    /**
+     * publish the roots of a trie built by {@link #emptyCopy()} with a single reference swap,
+     * so a concurrent match sees either the previous or the built roots.
+     *
+     * @param trie the built trie
+     */
+    public void replaceRoots(final ShenyuTrie trie) {
+        synchronized (WRITE_LOCK) {
+            this.keyRootMap = trie.keyRootMap;
+        }
+    }
 
     /**
      * clear the trie.
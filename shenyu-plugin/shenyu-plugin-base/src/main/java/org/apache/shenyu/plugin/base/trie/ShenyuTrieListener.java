@@ -38,8 +38,6 @@ import java.util.stream.Collectors;
  */
 public class ShenyuTrieListener implements ApplicationListener<TrieEvent> {
     
-    private static final Object LOCK = new Object();
-
     @Override
     public void onApplicationEvent(final TrieEvent event) {
         TrieEventEnum eventEnum = event.getTrieEventEnum();
@@ -85,7 +83,7 @@ public class ShenyuTrieListener implements ApplicationListener<TrieEvent> {
     }
     
     private <T> void insertTrieNode(final List<String> uriPaths, final T data, final TrieCacheTypeEnum cacheTypeEnum, final ShenyuTrie trie) {
-        synchronized (LOCK) {
+        synchronized (ShenyuTrie.WRITE_LOCK) {
             trie.remove(uriPaths, data, cacheTypeEnum);
             trie.putNode(uriPaths, data, cacheTypeEnum);
         }
@@ -107,13 +105,15 @@ public class ShenyuTrieListener implements ApplicationListener<TrieEvent> {
                 .collect(Collectors.toList());
         
         // old condition remove
-        synchronized (LOCK) {
+        synchronized (ShenyuTrie.WRITE_LOCK) {
             trie.remove(beforeUriPaths, data, cacheTypeEnum);
             trie.putNode(uriPaths, data, cacheTypeEnum);
         }
     }
     
     private <T> void removeTrieNode(final List<String> uriPaths, final T data, final TrieCacheTypeEnum cacheTypeEnum, final ShenyuTrie trie) {
-        trie.remove(uriPaths, data, cacheTypeEnum);
+        synchronized (ShenyuTrie.WRITE_LOCK) {
+            trie.remove(uriPaths, data, cacheTypeEnum);
+        }
     }
 }
@@ -23,6 +23,7 @@ import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.SelectorTypeEnum;
 import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
 import org.apache.shenyu.common.enums.TrieMatchModeEnum;
@@ -42,8 +43,14 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -251,6 +258,39 @@ public final class AbstractShenyuPluginTest {
         verify(testShenyuPlugin).doExecute(exchange, shenyuPluginChain, selectorData, ruleData);
     }
 
+    /**
+     * Only the routing plugin records its rule as the route of the request.
+     */
+    @Test
+    public void executeMatchedRuleOfRoutingPlugin() {
+        List<ConditionData> conditionDataList = Collections.singletonList(conditionData);
+        this.ruleData.setConditionDataList(conditionDataList);
+        this.ruleData.setMatchMode(0);
+        this.selectorData.setMatchMode(0);
+        this.selectorData.setLogged(true);
+        this.selectorData.setConditionList(conditionDataList);
+        BaseDataCache.getInstance().cachePluginData(pluginData);
+        BaseDataCache.getInstance().cacheSelectData(selectorData);
+        BaseDataCache.getInstance().cacheRuleData(ruleData);
+        List<RuleData> routed = new ArrayList<>();
+        exchange.getAttributes().put(Constants.METRICS_ROUTE, (Consumer<RuleData>) routed::add);
+        StepVerifier.create(testShenyuPlugin.execute(exchange, shenyuPluginChain)).expectSubscription().verifyComplete();
+        assertNull(exchange.getAttribute(Constants.MATCHED_RULE));
+        assertTrue(routed.isEmpty());
+
+        String divide = PluginEnum.DIVIDE.getName();
+        clearCache();
+        this.pluginData.setName(divide);
+        this.selectorData.setPluginName(divide);
+        this.ruleData.setPluginName(divide);
+        BaseDataCache.getInstance().cachePluginData(pluginData);
+        BaseDataCache.getInstance().cacheSelectData(selectorData);
+        BaseDataCache.getInstance().cacheRuleData(ruleData);
+        StepVerifier.create(new RoutingTestShenyuPlugin().execute(exchange, shenyuPluginChain)).expectSubscription().verifyComplete();
+        assertEquals(ruleData, exchange.getAttribute(Constants.MATCHED_RULE));
+        assertEquals(Collections.singletonList(ruleData), routed);
+    }
+
     private void mockShenyuConfig() {
         ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
         when(context.getBean(ShenyuConfig.class)).thenReturn(new ShenyuConfig());
@@ -288,4 +328,12 @@ public final class AbstractShenyuPluginTest {
             return "SHENYU";
         }
     }
+
+    static class RoutingTestShenyuPlugin extends TestShenyuPlugin {
+
+        @Override
+        public String named() {
+            return PluginEnum.DIVIDE.getName();
+        }
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.base.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link AuthFailureLimiter} and {@link HashedSecret}.
+ */
+public final class AuthFailureLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    public void testLockoutAfterMaxFailures() {
+        AuthFailureLimiter limiter = new AuthFailureLimiter(3, 60, nanos::get);
+        limiter.onFailure("1.1.1.1");
+        limiter.onFailure("1.1.1.1");
+        assertFalse(limiter.isLocked("1.1.1.1"));
+        limiter.onFailure("1.1.1.1");
+        assertTrue(limiter.isLocked("1.1.1.1"));
+        assertFalse(limiter.isLocked("2.2.2.2"));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertFalse(limiter.isLocked("1.1.1.1"));
+    }
+
+    @Test
+    public void testSuccessResetsFailures() {
+        AuthFailureLimiter limiter = new AuthFailureLimiter(2, 60, nanos::get);
+        limiter.onFailure("1.1.1.1");
+        limiter.onSuccess("1.1.1.1");
+        limiter.onFailure("1.1.1.1");
+        assertFalse(limiter.isLocked("1.1.1.1"));
+    }
+
+    @Test
+    public void testDisabled() {
+        AuthFailureLimiter limiter = AuthFailureLimiter.DISABLED;
+        for (int i = 0; i < 10; i++) {
+            limiter.onFailure("1.1.1.1");
+        }
+        assertFalse(limiter.isEnabled());
+        assertFalse(limiter.isLocked("1.1.1.1"));
+        assertTrue(limiter.hasSettings(0, 0));
+    }
+
+    @Test
+    public void testHashedSecret() {
+        HashedSecret secret = HashedSecret.of("test:test123");
+        assertTrue(secret.matches("test:test123"));
+        assertFalse(secret.matches("test:test12"));
+        assertFalse(secret.matches(null));
+        assertNull(HashedSecret.of(null));
+    }
+}
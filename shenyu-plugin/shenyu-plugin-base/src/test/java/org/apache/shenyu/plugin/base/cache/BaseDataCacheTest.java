@@ -18,14 +18,21 @@
 package org.apache.shenyu.plugin.base.cache;
 
 import com.google.common.collect.Lists;
+import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -239,6 +246,71 @@ public final class BaseDataCacheTest {
         assertEquals(Lists.newArrayList(ruleData), ruleDataList);
     }
 
+    @Test
+    public void testReplaceSelectorData() {
+        BaseDataCache.getInstance().cleanSelectorData();
+        SelectorData stale = SelectorData.builder().id("1").pluginName(mockPluginName2).sort(1).build();
+        BaseDataCache.getInstance().cacheSelectData(stale);
+        SelectorData first = SelectorData.builder().id("1").pluginName(mockPluginName1).sort(2).build();
+        SelectorData second = SelectorData.builder().id("2").pluginName(mockPluginName1).sort(1).build();
+        SelectorData secondUpdated = SelectorData.builder().id("2").pluginName(mockPluginName1).sort(3).build();
+
+        BaseDataCache.getInstance().replaceSelectorData(Lists.newArrayList(first, second, secondUpdated));
+        assertEquals(Lists.newArrayList(first, secondUpdated), BaseDataCache.getInstance().obtainSelectorData(mockPluginName1));
+        assertNull(BaseDataCache.getInstance().obtainSelectorData(mockPluginName2));
+        BaseDataCache.getInstance().cleanSelectorData();
+    }
+
+    @Test
+    public void testReplaceRuleDataWithoutEmptyWindow() throws InterruptedException {
+        BaseDataCache.getInstance().cleanRuleData();
+        List<RuleData> rules = new ArrayList<>(50_000);
+        for (int i = 0; i < 50_000; i++) {
+            rules.add(RuleData.builder().id(String.valueOf(i)).selectorId("selector-" + i % 500).sort(i).build());
+        }
+        BaseDataCache.getInstance().replaceRuleData(rules);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger misses = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            int i = 0;
+            while (running.get()) {
+                List<RuleData> list = BaseDataCache.getInstance().obtainRuleData("selector-" + i++ % 500);
+                if (Objects.isNull(list) || list.size() != 100) {
+                    misses.incrementAndGet();
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 5; i++) {
+            BaseDataCache.getInstance().replaceRuleData(rules);
+        }
+        running.set(false);
+        reader.join();
+        assertEquals(0, misses.get());
+        BaseDataCache.getInstance().cleanRuleData();
+    }
+
+    @Test
+    public void testReplacePreparesConditions() {
+        ConditionData selectorCondition = ipRangeCondition();
+        ConditionData ruleCondition = ipRangeCondition();
+        BaseDataCache.getInstance().replaceSelectorAndRuleData(
+                Lists.newArrayList(SelectorData.builder().id("1").pluginName(mockPluginName1).sort(1).conditionList(Lists.newArrayList(selectorCondition)).build()),
+                Lists.newArrayList(RuleData.builder().id("1").selectorId("1").sort(1).conditionDataList(Lists.newArrayList(ruleCondition)).build()));
+        assertNotNull(selectorCondition.obtainCompiledValue());
+        assertNotNull(ruleCondition.obtainCompiledValue());
+        BaseDataCache.getInstance().cleanSelectorData();
+        BaseDataCache.getInstance().cleanRuleData();
+    }
+
+    private ConditionData ipRangeCondition() {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(ParamTypeEnum.IP.getName());
+        conditionData.setOperator(OperatorEnum.IP_RANGE.getAlias());
+        conditionData.setParamValue("10.0.0.0/8");
+        return conditionData;
+    }
+
     @SuppressWarnings("rawtypes")
     private ConcurrentHashMap getFieldByName(final String name) throws NoSuchFieldException, IllegalAccessException {
         BaseDataCache baseDataCache = BaseDataCache.getInstance();
@@ -20,6 +20,8 @@ package org.apache.shenyu.plugin.base.cache;
 import java.lang.reflect.Field;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -68,4 +70,29 @@ public final class CommonHandleCacheTest {
         commonHandleCache.removeHandle(MOCK_KEY);
         assert cachedMockMap.isEmpty();
     }
+
+    @Test
+    public void cachedRuleHandle() {
+        RuleData ruleData = RuleData.builder().id("ruleId").selectorId("selectorId").build();
+        assert null == commonHandleCache.obtainRuleHandle(ruleData);
+        commonHandleCache.cachedRuleHandle(ruleData, MOCK_VALUE);
+        assert MOCK_VALUE.equals(ruleData.obtainCachedHandle());
+        assert MOCK_VALUE.equals(cachedMockMap.get("selectorId_ruleId"));
+        assert MOCK_VALUE.equals(commonHandleCache.obtainRuleHandle(ruleData));
+        // a rule without bound handle falls back to the keyed cache
+        RuleData sameRule = RuleData.builder().id("ruleId").selectorId("selectorId").build();
+        assert MOCK_VALUE.equals(commonHandleCache.obtainRuleHandle(sameRule));
+        // changing the raw handle drops the parsed one
+        ruleData.setHandle("{}");
+        assert null == ruleData.obtainCachedHandle();
+    }
+
+    @Test
+    public void cachedSelectorHandle() {
+        SelectorData selectorData = SelectorData.builder().id("selectorId").build();
+        assert null == commonHandleCache.obtainSelectorHandle(selectorData);
+        commonHandleCache.cachedSelectorHandle(selectorData, MOCK_VALUE);
+        assert MOCK_VALUE.equals(selectorData.obtainCachedHandle());
+        assert MOCK_VALUE.equals(commonHandleCache.obtainSelectorHandle(selectorData));
+    }
 }
@@ -20,15 +20,19 @@ package org.apache.shenyu.plugin.base.cache;
 import com.google.common.collect.Lists;
 import org.apache.shenyu.common.config.ShenyuConfig.RuleMatchCache;
 import org.apache.shenyu.common.config.ShenyuConfig.SelectorMatchCache;
+import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
 import org.apache.shenyu.common.enums.TrieCacheTypeEnum;
 import org.apache.shenyu.common.enums.TrieMatchModeEnum;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.base.trie.ShenyuTrie;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +49,7 @@ import org.springframework.context.ConfigurableApplicationContext;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Test cases for CommonPluginDataSubscriber.
@@ -167,6 +172,57 @@ public final class CommonPluginDataSubscriberTest {
         assertNull(baseDataCache.obtainSelectorData(secondCachedSelectorData.getPluginName()));
     }
 
+    @Test
+    public void testReplaceSelectorDataAll() {
+        SelectorMatchCache selectorMatchCache = new SelectorMatchCache();
+        selectorMatchCache.getTrie().setEnabled(true);
+        final CommonPluginDataSubscriber subscriber = new CommonPluginDataSubscriber(Lists.newArrayList(), eventPublisher, selectorMatchCache, new RuleMatchCache());
+        ShenyuTrie selectorTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.SELECTOR.getTrieType());
+        baseDataCache.cleanSelectorData();
+        SelectorData staleSelectorData = SelectorData.builder().id("2").enabled(true).pluginName(mockPluginName2).sort(1)
+                .conditionList(Lists.newArrayList(uriCondition("/stale/**"))).build();
+        baseDataCache.cacheSelectData(staleSelectorData);
+        selectorTrie.putNode("/stale/**", staleSelectorData, TrieCacheTypeEnum.SELECTOR);
+
+        SelectorData selectorData = SelectorData.builder().id("1").enabled(true).pluginName(mockPluginName1).sort(1)
+                .conditionList(Lists.newArrayList(uriCondition("/http/**"))).build();
+        subscriber.replaceSelectorDataAll(Lists.newArrayList(selectorData));
+        assertEquals(Lists.newArrayList(selectorData), baseDataCache.obtainSelectorData(mockPluginName1));
+        assertNull(baseDataCache.obtainSelectorData(mockPluginName2));
+        assertNotNull(selectorTrie.match("/http/order", mockPluginName1));
+        assertFalse(selectorTrie.getKeyRootKeys().contains(mockPluginName2));
+        selectorTrie.clear();
+    }
+
+    @Test
+    public void testReplaceSelectorAndRuleDataAll() {
+        SelectorMatchCache selectorMatchCache = new SelectorMatchCache();
+        selectorMatchCache.getTrie().setEnabled(true);
+        RuleMatchCache ruleMatchCache = new RuleMatchCache();
+        ruleMatchCache.getTrie().setEnabled(true);
+        final CommonPluginDataSubscriber subscriber = new CommonPluginDataSubscriber(Lists.newArrayList(), eventPublisher, selectorMatchCache, ruleMatchCache);
+        final ShenyuTrie ruleTrie = SpringBeanUtils.getInstance().getBean(TrieCacheTypeEnum.RULE.getTrieType());
+        baseDataCache.cleanSelectorData();
+        baseDataCache.cleanRuleData();
+        RuleData staleRuleData = RuleData.builder().id("2").selectorId(mockSelectorId2).enabled(true).pluginName(mockPluginName2).sort(1)
+                .conditionDataList(Lists.newArrayList(uriCondition("/stale/**"))).build();
+        baseDataCache.cacheRuleData(staleRuleData);
+        ruleTrie.putNode("/stale/**", staleRuleData, TrieCacheTypeEnum.RULE);
+
+        SelectorData selectorData = SelectorData.builder().id(mockSelectorId1).enabled(true).pluginName(mockPluginName1).sort(1)
+                .conditionList(Lists.newArrayList(uriCondition("/http/**"))).build();
+        RuleData ruleData = RuleData.builder().id("1").selectorId(mockSelectorId1).enabled(true).pluginName(mockPluginName1).sort(1)
+                .conditionDataList(Lists.newArrayList(uriCondition("/http/order"))).build();
+        subscriber.replaceSelectorAndRuleDataAll(Lists.newArrayList(selectorData), Lists.newArrayList(ruleData));
+        assertEquals(Lists.newArrayList(selectorData), baseDataCache.obtainSelectorData(mockPluginName1));
+        assertEquals(Lists.newArrayList(ruleData), baseDataCache.obtainRuleData(mockSelectorId1));
+        assertNull(baseDataCache.obtainRuleData(mockSelectorId2));
+        assertNotNull(ruleTrie.match("/http/order", mockSelectorId1));
+        assertFalse(ruleTrie.getKeyRootKeys().contains(mockSelectorId2));
+        ruleTrie.clear();
+        SpringBeanUtils.getInstance().<ShenyuTrie>getBean(TrieCacheTypeEnum.SELECTOR.getTrieType()).clear();
+    }
+
     @Test
     public void testRefreshSelectorDataSelf() {
         baseDataCache.cleanSelectorData();
@@ -192,6 +248,38 @@ public final class CommonPluginDataSubscriberTest {
         assertEquals(Lists.newArrayList(ruleData), baseDataCache.obtainRuleData(ruleData.getSelectorId()));
     }
 
+    @Test
+    public void testHandlerRunsBeforeDataIsCached() {
+        baseDataCache.cleanSelectorData();
+        baseDataCache.cleanRuleData();
+        List<Boolean> cachedWhenHandled = new ArrayList<>();
+        PluginDataHandler handler = new PluginDataHandler() {
+            @Override
+            public void handlerSelector(final SelectorData selectorData) {
+                cachedWhenHandled.add(Objects.nonNull(baseDataCache.obtainSelectorData(selectorData.getPluginName())));
+            }
+
+            @Override
+            public void handlerRule(final RuleData ruleData) {
+                cachedWhenHandled.add(Objects.nonNull(baseDataCache.obtainRuleData(ruleData.getSelectorId())));
+            }
+
+            @Override
+            public String pluginNamed() {
+                return mockPluginName1;
+            }
+        };
+        CommonPluginDataSubscriber subscriber = new CommonPluginDataSubscriber(Lists.newArrayList(handler), eventPublisher,
+                new SelectorMatchCache(), new RuleMatchCache());
+        SelectorData selectorData = SelectorData.builder().id(mockSelectorId1).pluginName(mockPluginName1).enabled(true).sort(1).build();
+        RuleData ruleData = RuleData.builder().id("1").selectorId(mockSelectorId1).enabled(true).pluginName(mockPluginName1).sort(1).build();
+        subscriber.onSelectorSubscribe(selectorData);
+        subscriber.onRuleSubscribe(ruleData);
+        assertEquals(Lists.newArrayList(false, false), cachedWhenHandled);
+        assertEquals(Lists.newArrayList(selectorData), baseDataCache.obtainSelectorData(mockPluginName1));
+        assertEquals(Lists.newArrayList(ruleData), baseDataCache.obtainRuleData(mockSelectorId1));
+    }
+
     @Test
     public void testUnRuleSubscribe() {
         baseDataCache.cleanRuleData();
@@ -233,6 +321,14 @@ public final class CommonPluginDataSubscriberTest {
         assertEquals(Lists.newArrayList(secondCachedRuleData), baseDataCache.obtainRuleData(secondCachedRuleData.getSelectorId()));
     }
 
+    private ConditionData uriCondition(final String path) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(ParamTypeEnum.URI.getName());
+        conditionData.setOperator(OperatorEnum.MATCH.getAlias());
+        conditionData.setParamValue(path);
+        return conditionData;
+    }
+
     private void mockShenyuTrieConfig() {
         ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
         when(context.getBean(TrieCacheTypeEnum.RULE.getTrieType())).thenReturn(new ShenyuTrie(100L, TrieMatchModeEnum.ANT_PATH_MATCH.getMatchMode()));
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for SelectorPathIndex.
+ */
+public final class SelectorPathIndexTest {
+
+    @Test
+    public void testMayRoute() {
+        SelectorPathIndex index = SelectorPathIndex.build(Arrays.asList(
+                selector(MatchModeEnum.AND, condition(ParamTypeEnum.URI, OperatorEnum.PATH_PATTERN, "/http/**")),
+                selector(MatchModeEnum.AND, condition(ParamTypeEnum.URI, OperatorEnum.MATCH, "/http/order/**")),
+                selector(MatchModeEnum.AND, condition(ParamTypeEnum.URI, OperatorEnum.EQ, "/dubbo/findById"))));
+        assertFalse(index.isUnbounded());
+        assertTrue(index.mayRoute("/http"));
+        assertTrue(index.mayRoute("/http/order/save"));
+        assertTrue(index.mayRoute("/dubbo/findById"));
+        assertFalse(index.mayRoute("/"));
+        assertFalse(index.mayRoute("/grpc/echo"));
+        assertFalse(index.mayRoute("/dubbo/findAll"));
+    }
+
+    @Test
+    public void testPatternSyntaxStopsPrefix() {
+        SelectorPathIndex index = SelectorPathIndex.build(Collections.singletonList(
+                selector(MatchModeEnum.AND, condition(ParamTypeEnum.URI, OperatorEnum.PATH_PATTERN, "/api/{id}/detail"))));
+        assertTrue(index.mayRoute("/api/1/detail"));
+        assertFalse(index.mayRoute("/other"));
+    }
+
+    @Test
+    public void testOrModeNeedsEveryConditionBounded() {
+        SelectorPathIndex bounded = SelectorPathIndex.build(Collections.singletonList(selector(MatchModeEnum.OR,
+                condition(ParamTypeEnum.URI, OperatorEnum.PATH_PATTERN, "/a/**"),
+                condition(ParamTypeEnum.URI, OperatorEnum.PATH_PATTERN, "/b/**"))));
+        assertTrue(bounded.mayRoute("/b/c"));
+        assertFalse(bounded.mayRoute("/c"));
+        SelectorPathIndex unbounded = SelectorPathIndex.build(Collections.singletonList(selector(MatchModeEnum.OR,
+                condition(ParamTypeEnum.URI, OperatorEnum.PATH_PATTERN, "/a/**"),
+                condition(ParamTypeEnum.HEADER, OperatorEnum.EQ, "x"))));
+        assertTrue(unbounded.isUnbounded());
+    }
+
+    @Test
+    public void testUnbounded() {
+        SelectorData fullFlow = selector(MatchModeEnum.AND);
+        fullFlow.setType(SelectorTypeEnum.FULL_FLOW.getCode());
+        assertSame(SelectorPathIndex.ALL, SelectorPathIndex.build(Collections.singletonList(fullFlow)));
+        assertSame(SelectorPathIndex.ALL, SelectorPathIndex.build(Collections.singletonList(
+                selector(MatchModeEnum.AND, condition(ParamTypeEnum.URI, OperatorEnum.REGEX, "/a/.*")))));
+        assertSame(SelectorPathIndex.ALL, SelectorPathIndex.build(Collections.emptyList()));
+        assertTrue(SelectorPathIndex.ALL.mayRoute("/anything"));
+    }
+
+    @Test
+    public void testDisabledSelectorIgnored() {
+        SelectorData disabled = selector(MatchModeEnum.AND, condition(ParamTypeEnum.URI, OperatorEnum.PATH_PATTERN, "/b/**"));
+        disabled.setEnabled(false);
+        SelectorPathIndex index = SelectorPathIndex.build(Arrays.asList(disabled,
+                selector(MatchModeEnum.AND, condition(ParamTypeEnum.URI, OperatorEnum.PATH_PATTERN, "/a/**"))));
+        assertFalse(index.mayRoute("/b/c"));
+    }
+
+    private SelectorData selector(final MatchModeEnum matchMode, final ConditionData... conditions) {
+        return SelectorData.builder()
+                .enabled(true)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode())
+                .matchMode(matchMode.getCode())
+                .conditionList(Arrays.asList(conditions))
+                .build();
+    }
+
+    private ConditionData condition(final ParamTypeEnum paramType, final OperatorEnum operator, final String value) {
+        ConditionData condition = new ConditionData();
+        condition.setParamType(paramType.getName());
+        condition.setOperator(operator.getAlias());
+        condition.setParamValue(value);
+        return condition;
+    }
+}
@@ -23,6 +23,8 @@ import org.apache.shenyu.common.enums.ParamTypeEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -87,6 +89,23 @@ public final class PredicateJudgeFactoryTest {
         assertFalse(PredicateJudgeFactory.judge(conditionData, "/http1/**"));
     }
 
+    @Test
+    public void testIpRangeJudge() {
+        conditionData.setParamType(ParamTypeEnum.IP.getName());
+        conditionData.setOperator(OperatorEnum.IP_RANGE.getAlias());
+        conditionData.setParamValue("10.0.0.0/8, 192.168.1.1, 2001:db8::/32");
+        PredicateJudgeFactory.prepare(Collections.singletonList(conditionData));
+        assertTrue(PredicateJudgeFactory.judge(conditionData, "10.1.2.3"));
+        assertTrue(PredicateJudgeFactory.judge(conditionData, "192.168.1.1"));
+        assertTrue(PredicateJudgeFactory.judge(conditionData, "2001:db8::1"));
+        assertFalse(PredicateJudgeFactory.judge(conditionData, "192.168.1.2"));
+        assertFalse(PredicateJudgeFactory.judge(conditionData, "not-an-ip"));
+
+        conditionData.setParamValue("172.16.0.0/12");
+        assertTrue(PredicateJudgeFactory.judge(conditionData, "172.31.255.255"));
+        assertFalse(PredicateJudgeFactory.judge(conditionData, "10.1.2.3"));
+    }
+
     @Test
     public void testRegexJudge() {
         conditionData.setOperator(OperatorEnum.REGEX.getAlias());
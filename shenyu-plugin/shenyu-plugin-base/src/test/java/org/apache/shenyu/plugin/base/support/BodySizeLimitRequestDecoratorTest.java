@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test case for {@link BodySizeLimitRequestDecorator}.
+ */
+public final class BodySizeLimitRequestDecoratorTest {
+
+    @Test
+    public void testBodyWithinLimit() {
+        BodySizeLimitRequestDecorator request = new BodySizeLimitRequestDecorator(chunkedRequest("01234", "56789"), 10);
+        StepVerifier.create(DataBufferUtils.join(request.getBody()).map(dataBuffer -> dataBuffer.toString(StandardCharsets.UTF_8)))
+                .expectNext("0123456789")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testBodyBeyondLimit() {
+        BodySizeLimitRequestDecorator request = new BodySizeLimitRequestDecorator(chunkedRequest("01234", "56789"), 5);
+        StepVerifier.create(request.getBody())
+                .expectNextCount(1)
+                .expectErrorMatches(throwable -> throwable instanceof ResponseStatusException
+                        && HttpStatus.PAYLOAD_TOO_LARGE.equals(((ResponseStatusException) throwable).getStatusCode()))
+                .verify();
+    }
+
+    private static MockServerHttpRequest chunkedRequest(final String... chunks) {
+        return MockServerHttpRequest.post("localhost")
+                .body(Flux.fromArray(chunks).map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+    }
+}
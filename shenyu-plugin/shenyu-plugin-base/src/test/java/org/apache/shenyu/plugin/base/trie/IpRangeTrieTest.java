@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.base.trie;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link IpRangeTrie}.
+ */
+public final class IpRangeTrieTest {
+
+    @Test
+    public void testIpv4() {
+        IpRangeTrie trie = IpRangeTrie.of("10.0.0.0/8,192.168.0.0/16\n172.16.5.4 0.0.0.0/32");
+        assertTrue(trie.contains("10.0.0.0"));
+        assertTrue(trie.contains("10.255.255.255"));
+        assertTrue(trie.contains("192.168.200.1"));
+        assertTrue(trie.contains("172.16.5.4"));
+        assertTrue(trie.contains("0.0.0.0"));
+        assertFalse(trie.contains("11.0.0.0"));
+        assertFalse(trie.contains("172.16.5.5"));
+        assertFalse(trie.contains("192.169.0.1"));
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    public void testIpv6() {
+        IpRangeTrie trie = IpRangeTrie.of("2001:db8::/32, ::1, fe80::/10, 2001:0db9:0:0:0:0:0:1/128");
+        assertTrue(trie.contains("2001:db8:ffff::1"));
+        assertTrue(trie.contains("2001:DB8::"));
+        assertTrue(trie.contains("::1"));
+        assertTrue(trie.contains("0:0:0:0:0:0:0:1"));
+        assertTrue(trie.contains("fe80::1%eth0"));
+        assertTrue(trie.contains("2001:db9::1"));
+        assertFalse(trie.contains("2001:db9::2"));
+        assertFalse(trie.contains("::2"));
+        assertFalse(trie.contains("10.0.0.1"));
+    }
+
+    @Test
+    public void testIpv4MappedAddresses() {
+        IpRangeTrie trie = IpRangeTrie.of("10.0.0.0/8");
+        assertTrue(trie.contains("::ffff:10.1.2.3"));
+        assertFalse(trie.contains("::10.1.2.3"));
+        assertTrue(IpRangeTrie.of("::ffff:0:0/96").contains("1.2.3.4"));
+        assertTrue(IpRangeTrie.of("0.0.0.0/0").contains("255.255.255.255"));
+        assertFalse(IpRangeTrie.of("0.0.0.0/0").contains("2001:db8::1"));
+    }
+
+    @Test
+    public void testCoveredRangesCollapse() {
+        IpRangeTrie.Builder builder = IpRangeTrie.builder();
+        assertTrue(builder.add("10.1.0.0/16"));
+        assertTrue(builder.add("10.2.3.4"));
+        assertTrue(builder.add("10.0.0.0/8"));
+        assertTrue(builder.add("10.3.0.0/16"));
+        IpRangeTrie trie = builder.build();
+        assertEquals(1, trie.size());
+        assertTrue(trie.contains("10.200.0.1"));
+    }
+
+    @Test
+    public void testSiblingsAndBranches() {
+        IpRangeTrie trie = IpRangeTrie.of("128.0.0.0/1, 0.0.0.0/2, 96.0.0.0/3");
+        assertTrue(trie.contains("200.0.0.1"));
+        assertTrue(trie.contains("63.255.255.255"));
+        assertTrue(trie.contains("100.0.0.1"));
+        assertFalse(trie.contains("64.0.0.1"));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    public void testInvalid() {
+        IpRangeTrie.Builder builder = IpRangeTrie.builder();
+        assertFalse(builder.add("256.0.0.1"));
+        assertFalse(builder.add("1.2.3"));
+        assertFalse(builder.add("1.2.3.4/33"));
+        assertFalse(builder.add("1.2.3.4/"));
+        assertFalse(builder.add("1:2:3"));
+        assertFalse(builder.add("1::2::3"));
+        assertFalse(builder.add("12345::"));
+        assertFalse(builder.add("example.com"));
+        assertFalse(builder.add(" "));
+        assertTrue(builder.build().isEmpty());
+        IpRangeTrie trie = IpRangeTrie.of("1.2.3.0/24");
+        assertFalse(trie.contains("1.2.3."));
+        assertFalse(trie.contains("1.2.3.4.5"));
+        assertFalse(trie.contains(""));
+        assertFalse(trie.contains(null));
+        assertFalse(IpRangeTrie.EMPTY.contains("1.2.3.4"));
+    }
+}
@@ -24,7 +24,6 @@ import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.cache.handler.CachePluginDataHandler;
 import org.apache.shenyu.plugin.cache.utils.CacheUtils;
 import org.reactivestreams.Publisher;
@@ -81,7 +80,7 @@ public class CachePlugin extends AbstractShenyuPlugin {
     }
     
     private CacheRuleHandle buildRuleHandle(final RuleData rule) {
-        return CachePluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        return CachePluginDataHandler.CACHED_HANDLE.get().obtainRuleHandle(rule);
     }
 
     static class CacheHttpResponse extends ServerHttpResponseDecorator {
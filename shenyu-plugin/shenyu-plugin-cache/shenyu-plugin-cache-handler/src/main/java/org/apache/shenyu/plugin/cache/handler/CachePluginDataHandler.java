@@ -101,7 +101,7 @@ public class CachePluginDataHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(json -> {
             CacheRuleHandle cacheRuleHandle = GsonUtils.getInstance().fromJson(json, CacheRuleHandle.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), cacheRuleHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, cacheRuleHandle);
         });
     }
 
@@ -54,7 +54,7 @@ public class ContextPathPluginDataHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             ContextMappingRuleHandle contextMappingRuleHandle = GsonUtils.getInstance().fromJson(s, ContextMappingRuleHandle.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), contextMappingRuleHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, contextMappingRuleHandle);
         });
     }
 
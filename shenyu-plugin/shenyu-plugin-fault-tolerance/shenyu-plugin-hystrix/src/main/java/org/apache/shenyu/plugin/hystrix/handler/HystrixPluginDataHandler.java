@@ -78,7 +78,7 @@ public class HystrixPluginDataHandler implements PluginDataHandler {
                     }
                 }
             });
-            CACHED_HANDLE.get().cachedHandle(key, hystrixHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, hystrixHandle);
         });
     }
 
@@ -17,21 +17,24 @@
 
 package org.apache.shenyu.plugin.ratelimiter;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RateLimitModeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
+import org.apache.shenyu.plugin.ratelimiter.quota.RateLimiterQuotas;
 import org.apache.shenyu.plugin.ratelimiter.resolver.RateLimiterKeyResolverFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -44,17 +47,38 @@ import java.util.function.Consumer;
 /**
  * RateLimiter Plugin.
  */
-public class RateLimiterPlugin extends AbstractShenyuPlugin {
+public class RateLimiterPlugin extends AbstractShenyuPlugin implements AutoCloseable {
 
     private final RedisRateLimiter redisRateLimiter;
 
+    private final LocalRateLimiter localRateLimiter;
+
     /**
      * Instantiates a new Rate limiter plugin.
      *
      * @param redisRateLimiter  the redis rate limiter
      */
     public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter) {
+        this(redisRateLimiter, new LocalRateLimiter());
+    }
+
+    /**
+     * Instantiates a new Rate limiter plugin.
+     *
+     * @param redisRateLimiter  the redis rate limiter
+     * @param localRateLimiter  the rate limiter of the local and hybrid modes
+     */
+    public RateLimiterPlugin(final RedisRateLimiter redisRateLimiter, final LocalRateLimiter localRateLimiter) {
         this.redisRateLimiter = redisRateLimiter;
+        this.localRateLimiter = localRateLimiter;
+    }
+
+    /**
+     * Stop the background sync of the local rate limiter.
+     */
+    @Override
+    public void close() {
+        localRateLimiter.close();
     }
 
     @Override
@@ -70,18 +94,25 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
         RateLimiterHandle limiterHandle = RateLimiterPluginDataHandler.CACHED_HANDLE.get()
-                .obtainHandle(CacheKeyUtils.INST.getKey(rule));
+                .obtainRuleHandle(rule);
+        RateLimitModeEnum mode = RateLimitModeEnum.acquireByName(limiterHandle.getMode());
+        if (CollectionUtils.isNotEmpty(limiterHandle.getQuotas())) {
+            return quotas(exchange, chain, rule, limiterHandle, mode);
+        }
+        if (mode != RateLimitModeEnum.REDIS) {
+            String resolvedKey = Optional.ofNullable(limiterHandle.getKeyResolverName())
+                    .map(name -> RateLimiterKeyResolverFactory.newInstance(name).resolve(exchange))
+                    .orElse(null);
+            return localRateLimiter.isAllowed(mode, rule.getId(), resolvedKey, limiterHandle)
+                    .flatMap(allowed -> allowed ? chain.execute(exchange) : tooManyRequests(exchange));
+        }
         String resolverKey = Optional.ofNullable(limiterHandle.getKeyResolverName())
                 .flatMap(name -> Optional.of("-" + RateLimiterKeyResolverFactory.newInstance(name).resolve(exchange)))
                 .orElse("");
         return redisRateLimiter.isAllowed(rule.getId() + resolverKey, limiterHandle)
                 .flatMap(response -> {
                     if (!response.isAllowed()) {
-                        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-                        final Consumer<HttpStatusCode> consumer = exchange.getAttribute(Constants.METRICS_RATE_LIMITER);
-                        Optional.ofNullable(consumer).ifPresent(c -> c.accept(exchange.getResponse().getStatusCode()));
-                        Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.TOO_MANY_REQUESTS);
-                        return WebFluxResultUtils.result(exchange, error);
+                        return tooManyRequests(exchange);
                     }
                     return chain.execute(exchange).doFinally(signalType -> {
                         RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
@@ -89,4 +120,26 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
                     });
                 });
     }
+
+    private Mono<Void> quotas(final ServerWebExchange exchange, final ShenyuPluginChain chain, final RuleData rule,
+                              final RateLimiterHandle limiterHandle, final RateLimitModeEnum mode) {
+        RateLimiterQuotas quotas = RateLimiterQuotas.obtain(limiterHandle);
+        if (quotas.isEmpty()) {
+            return chain.execute(exchange);
+        }
+        String[] levelKeys = quotas.resolve(exchange);
+        // leasing does not span levels, hybrid quotas are evaluated in redis
+        Mono<Boolean> allowed = mode == RateLimitModeEnum.LOCAL
+                ? localRateLimiter.isAllowed(rule.getId(), quotas, levelKeys, limiterHandle.getRequestCount())
+                : redisRateLimiter.isAllowed(rule.getId(), quotas, levelKeys, limiterHandle.getRequestCount());
+        return allowed.flatMap(result -> result ? chain.execute(exchange) : tooManyRequests(exchange));
+    }
+
+    private Mono<Void> tooManyRequests(final ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        final Consumer<HttpStatusCode> consumer = exchange.getAttribute(Constants.METRICS_RATE_LIMITER);
+        Optional.ofNullable(consumer).ifPresent(c -> c.accept(exchange.getResponse().getStatusCode()));
+        Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.TOO_MANY_REQUESTS);
+        return WebFluxResultUtils.result(exchange, error);
+    }
 }
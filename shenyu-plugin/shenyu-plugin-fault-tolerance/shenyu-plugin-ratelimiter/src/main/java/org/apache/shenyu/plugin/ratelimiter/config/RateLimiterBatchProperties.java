@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.config;
+
+/**
+ * Configuration properties for batching redis token bucket checks, off by default.
+ */
+public class RateLimiterBatchProperties {
+
+    /**
+     * whether token bucket checks are batched into one script invocation.
+     */
+    private boolean enabled;
+
+    /**
+     * the max checks of a batch.
+     */
+    private int maxBatchSize = 64;
+
+    /**
+     * how long a check waits for others to join its batch, in microseconds.
+     */
+    private long windowMicros = 100L;
+
+    /**
+     * the max batches sent concurrently.
+     */
+    private int maxInFlight = 8;
+
+    /**
+     * the max queued checks, further checks are denied.
+     */
+    private int maxPending = 10000;
+
+    /**
+     * Gets enabled.
+     *
+     * @return the enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets enabled.
+     *
+     * @param enabled the enabled
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets max batch size.
+     *
+     * @return the max batch size
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Sets max batch size.
+     *
+     * @param maxBatchSize the max batch size
+     */
+    public void setMaxBatchSize(final int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Gets window micros.
+     *
+     * @return the window micros
+     */
+    public long getWindowMicros() {
+        return windowMicros;
+    }
+
+    /**
+     * Sets window micros.
+     *
+     * @param windowMicros the window micros
+     */
+    public void setWindowMicros(final long windowMicros) {
+        this.windowMicros = windowMicros;
+    }
+
+    /**
+     * Gets max in flight.
+     *
+     * @return the max in flight
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets max in flight.
+     *
+     * @param maxInFlight the max in flight
+     */
+    public void setMaxInFlight(final int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Gets max pending.
+     *
+     * @return the max pending
+     */
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    /**
+     * Sets max pending.
+     *
+     * @param maxPending the max pending
+     */
+    public void setMaxPending(final int maxPending) {
+        this.maxPending = maxPending;
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.common.enums.RateLimitModeEnum;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.quota.RateLimiterQuotas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.apache.shenyu.common.constant.Constants.SCRIPT_PATH;
+
+/**
+ * Rate limiter admitting requests from token buckets held by the gateway node.
+ *
+ * <p>In local mode a bucket refills itself at the replenish rate, so limits apply per node.
+ * In hybrid mode a bucket only holds tokens leased in batches from the redis token bucket the redis
+ * mode uses, so both modes share one limit. A lease is requested in the background once half of
+ * the previous one is spent, requests only wait for it when the bucket runs dry. While it is pending
+ * a node may admit up to {@link RateLimiterHandle#getOverAdmission()} tokens on credit, which the next
+ * lease pays back. When redis fails, hybrid buckets fall back to refilling locally.
+ *
+ * <p>Buckets are keyed by the mode, the rule id and the resolved key themselves, so keys chosen by
+ * clients can not make two buckets collide. A periodic sync settles the credit of buckets without
+ * traffic, and drops buckets idle for a minute, returning their unused tokens to redis.
+ */
+public class LocalRateLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalRateLimiter.class);
+
+    private static final String TOKEN_BUCKET = "tokenBucket";
+
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000L;
+
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private static final int ADMITTED = 1;
+
+    private static final int REJECTED = 0;
+
+    private static final int RETIRED = -1;
+
+    private static final Mono<Boolean> ALLOWED = Mono.just(Boolean.TRUE);
+
+    private static final Mono<Boolean> NOT_ALLOWED = Mono.just(Boolean.FALSE);
+
+    private final Map<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final Map<String, Object> ruleLocks = new ConcurrentHashMap<>();
+
+    private final RedisScript<List<Long>> leaseScript;
+
+    private final long syncIntervalMillis;
+
+    private final LongSupplier clock;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new local rate limiter.
+     */
+    public LocalRateLimiter() {
+        this(DEFAULT_SYNC_INTERVAL_MILLIS, System::nanoTime);
+    }
+
+    /**
+     * Instantiates a new local rate limiter.
+     *
+     * @param syncIntervalMillis the sync interval, the sync is not scheduled when not positive
+     * @param clock the nano time clock
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    LocalRateLimiter(final long syncIntervalMillis, final LongSupplier clock) {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(SCRIPT_PATH + RateLimitEnum.TOKEN_BUCKET_LEASE.getScriptName())));
+        redisScript.setResultType(List.class);
+        this.leaseScript = redisScript;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether local and hybrid buckets run the algorithm, they only run a token bucket.
+     *
+     * @param algorithmName the algorithm name of a rule, blank for the default token bucket
+     * @return true or false
+     */
+    public static boolean supports(final String algorithmName) {
+        return StringUtils.isBlank(algorithmName) || TOKEN_BUCKET.equals(algorithmName);
+    }
+
+    /**
+     * Take the tokens of a request from the bucket of its key.
+     *
+     * @param mode local or hybrid
+     * @param ruleId the rule id
+     * @param resolvedKey the resolved key, or null when the rule has no key resolver
+     * @param limiterHandle the limiter handle
+     * @return whether the request is allowed
+     */
+    public Mono<Boolean> isAllowed(final RateLimitModeEnum mode, final String ruleId, final String resolvedKey, final RateLimiterHandle limiterHandle) {
+        startSync();
+        boolean hybrid = mode == RateLimitModeEnum.HYBRID;
+        BucketKey key = new BucketKey(mode, ruleId, resolvedKey);
+        Bucket bucket;
+        int taken;
+        do {
+            bucket = buckets.computeIfAbsent(key, k -> newBucket(hybrid, ruleId, resolvedKey, limiterHandle));
+            taken = bucket.take(limiterHandle, clock.getAsLong());
+        } while (taken == RETIRED);
+        if (!hybrid) {
+            return taken == ADMITTED ? ALLOWED : NOT_ALLOWED;
+        }
+        Mono<Void> lease = lease(bucket, limiterHandle, taken == REJECTED);
+        if (taken == ADMITTED) {
+            return ALLOWED;
+        }
+        final Bucket dry = bucket;
+        return lease.then(Mono.fromSupplier(() -> dry.take(limiterHandle, clock.getAsLong()) == ADMITTED));
+    }
+
+    /**
+     * Check every quota level of a request and debit them only when all allow it, in local buckets.
+     *
+     * <p>The levels of a rule are checked and debited under one lock per rule, so the route level
+     * is the only counter requests of a rule contend on anyway.
+     *
+     * @param ruleId the rule id
+     * @param quotas the compiled quotas
+     * @param levelKeys the resolved key of each level
+     * @param requestCount the requested tokens
+     * @return whether every level allowed the request
+     */
+    public Mono<Boolean> isAllowed(final String ruleId, final RateLimiterQuotas quotas, final String[] levelKeys, final double requestCount) {
+        startSync();
+        long now = clock.getAsLong();
+        Bucket[] levels = new Bucket[quotas.size()];
+        synchronized (ruleLocks.computeIfAbsent(ruleId, k -> new Object())) {
+            for (int i = 0; i < levels.length; i++) {
+                double burstCapacity = quotas.burstCapacity(i);
+                BucketKey key = new BucketKey(quotas.tag(i), ruleId, levelKeys[i]);
+                // a bucket retired by the sync meanwhile only loses this request's debit
+                Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(null, burstCapacity, null, now));
+                if (!bucket.available(quotas.replenishRate(i), burstCapacity, requestCount, now)) {
+                    return NOT_ALLOWED;
+                }
+                levels[i] = bucket;
+            }
+            for (Bucket level : levels) {
+                level.debit(requestCount);
+            }
+        }
+        return ALLOWED;
+    }
+
+    /**
+     * Settle the credit of hybrid buckets and drop idle buckets.
+     */
+    void sync() {
+        long idleSince = clock.getAsLong() - IDLE_NANOS;
+        try {
+            buckets.values().removeIf(bucket -> bucket.retireIfIdle(idleSince, this));
+            buckets.values().forEach(bucket -> {
+                if (bucket.isLeased()) {
+                    lease(bucket, bucket.handle(), false);
+                }
+            });
+        } catch (RuntimeException e) {
+            LOG.error("rate limiter sync failed", e);
+        }
+    }
+
+    /**
+     * The number of buckets.
+     *
+     * @return size
+     */
+    int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Stop the sync, buckets are no longer settled or dropped in the background afterwards.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (Objects.nonNull(scheduler)) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void startSync() {
+        if (syncIntervalMillis <= 0 || Objects.nonNull(scheduler) || closed) {
+            return;
+        }
+        synchronized (this) {
+            if (Objects.isNull(scheduler) && !closed) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(ShenyuThreadFactory.create("shenyu-ratelimiter-sync", true));
+                scheduler.scheduleWithFixedDelay(this::sync, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private Bucket newBucket(final boolean hybrid, final String ruleId, final String resolvedKey, final RateLimiterHandle limiterHandle) {
+        long now = clock.getAsLong();
+        if (!hybrid) {
+            return new Bucket(null, limiterHandle.getBurstCapacity(), limiterHandle, now);
+        }
+        String id = Objects.isNull(resolvedKey) ? ruleId : ruleId + "-" + resolvedKey;
+        // the token bucket keys, so that hybrid and redis nodes share one limit
+        return new Bucket(RateLimiterAlgorithmFactory.newInstance(TOKEN_BUCKET).getKeys(id), 0, limiterHandle, now);
+    }
+
+    private Mono<Void> lease(final Bucket bucket, final RateLimiterHandle limiterHandle, final boolean dry) {
+        final long requested;
+        final Mono<Void> lease;
+        synchronized (bucket) {
+            if (Objects.nonNull(bucket.lease)) {
+                return bucket.lease;
+            }
+            double size = leaseSize(limiterHandle);
+            if (!dry && bucket.overdraft <= 0 && bucket.tokens >= size / 2) {
+                return Mono.empty();
+            }
+            requested = (long) Math.ceil(size + bucket.overdraft);
+            lease = redis(bucket.keys, limiterHandle, requested, 0)
+                    .doOnNext(granted -> bucket.credit(granted, clock.getAsLong()))
+                    .onErrorResume(throwable -> {
+                        LOG.error("Error occurred while leasing tokens by LocalRateLimiter:{}", throwable.getMessage());
+                        bucket.refill(limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity(), clock.getAsLong());
+                        return Mono.empty();
+                    })
+                    .doFinally(signalType -> bucket.leased())
+                    .then()
+                    .cache();
+            bucket.lease = lease;
+        }
+        lease.subscribe();
+        return lease;
+    }
+
+    private void release(final Bucket bucket, final long returned) {
+        redis(bucket.keys, bucket.handle(), 0, returned)
+                .subscribe(granted -> { }, throwable -> LOG.error("Error occurred while releasing tokens by LocalRateLimiter:{}", throwable.getMessage()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Long> redis(final List<String> keys, final RateLimiterHandle limiterHandle, final long requested, final long returned) {
+        ReactiveRedisTemplate<String, String> template = Singleton.INST.get(ReactiveRedisTemplate.class);
+        if (Objects.isNull(template)) {
+            return Mono.error(new IllegalStateException("redis is not initialized"));
+        }
+        List<String> scriptArgs = Arrays.asList(String.valueOf(limiterHandle.getReplenishRate()), String.valueOf(limiterHandle.getBurstCapacity()),
+                String.valueOf(Instant.now().getEpochSecond()), String.valueOf(requested), String.valueOf(returned));
+        return template.execute(leaseScript, keys, scriptArgs).next().map(result -> result.get(0));
+    }
+
+    private static double leaseSize(final RateLimiterHandle limiterHandle) {
+        double size = limiterHandle.getLeaseSize() > 0 ? limiterHandle.getLeaseSize() : Math.ceil(limiterHandle.getReplenishRate() / 10);
+        return Math.min(limiterHandle.getBurstCapacity(), Math.max(limiterHandle.getRequestCount(), size));
+    }
+
+    /**
+     * the key of a bucket, the scope is the mode of a rule bucket or the tag string of a quota level.
+     */
+    private static final class BucketKey {
+
+        private final Object scope;
+
+        private final String ruleId;
+
+        private final String key;
+
+        private final int hash;
+
+        BucketKey(final Object scope, final String ruleId, final String key) {
+            this.scope = scope;
+            this.ruleId = ruleId;
+            this.key = key;
+            this.hash = Objects.hash(scope, ruleId, key);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BucketKey)) {
+                return false;
+            }
+            BucketKey that = (BucketKey) o;
+            return Objects.equals(scope, that.scope) && Objects.equals(ruleId, that.ruleId) && Objects.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Bucket {
+
+        /**
+         * the redis keys, null for a local bucket.
+         */
+        private final List<String> keys;
+
+        private RateLimiterHandle handle;
+
+        private double tokens;
+
+        private double overdraft;
+
+        private long refilledNanos;
+
+        private long touchedNanos;
+
+        private boolean retired;
+
+        private Mono<Void> lease;
+
+        Bucket(final List<String> keys, final double tokens, final RateLimiterHandle handle, final long now) {
+            this.keys = keys;
+            this.tokens = tokens;
+            this.handle = handle;
+            this.refilledNanos = now;
+            this.touchedNanos = now;
+        }
+
+        boolean isLeased() {
+            return Objects.nonNull(keys);
+        }
+
+        synchronized RateLimiterHandle handle() {
+            return handle;
+        }
+
+        synchronized int take(final RateLimiterHandle limiterHandle, final long now) {
+            if (retired) {
+                return RETIRED;
+            }
+            handle = limiterHandle;
+            touchedNanos = now;
+            if (!isLeased()) {
+                refill(limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity(), now);
+            }
+            double requested = limiterHandle.getRequestCount();
+            if (tokens >= requested) {
+                tokens -= requested;
+                return ADMITTED;
+            }
+            if (isLeased() && overdraft + requested <= limiterHandle.getOverAdmission()) {
+                overdraft += requested;
+                return ADMITTED;
+            }
+            return REJECTED;
+        }
+
+        synchronized void refill(final double replenishRate, final double burstCapacity, final long now) {
+            double filled = (now - refilledNanos) / NANOS_PER_SECOND * replenishRate;
+            tokens = Math.min(burstCapacity, tokens + filled);
+            refilledNanos = now;
+            payBack();
+        }
+
+        synchronized boolean available(final double replenishRate, final double burstCapacity, final double requested, final long now) {
+            touchedNanos = now;
+            refill(replenishRate, burstCapacity, now);
+            return tokens >= requested;
+        }
+
+        synchronized void debit(final double requested) {
+            tokens -= requested;
+        }
+
+        synchronized void credit(final long granted, final long now) {
+            tokens += granted;
+            refilledNanos = now;
+            payBack();
+        }
+
+        synchronized void leased() {
+            lease = null;
+        }
+
+        synchronized boolean retireIfIdle(final long idleSince, final LocalRateLimiter limiter) {
+            if (!retired && Objects.isNull(lease) && touchedNanos - idleSince < 0) {
+                retired = true;
+                long unused = (long) tokens;
+                if (isLeased() && unused > 0) {
+                    limiter.release(this, unused);
+                }
+            }
+            return retired;
+        }
+
+        private void payBack() {
+            double paid = Math.min(overdraft, tokens);
+            overdraft -= paid;
+            tokens -= paid;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.common.utils.Singleton;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.shenyu.common.constant.Constants.SCRIPT_PATH;
+
+/**
+ * Micro-batches token bucket checks into single invocations of a multi-key script.
+ *
+ * <p>A check waits at most the batch window for others to join it, and a full batch is sent at once.
+ * At most {@code maxInFlight} batches are sent concurrently; while they are, checks keep queueing and
+ * go out as one batch as soon as a batch returns, so batches grow with redis latency. Once
+ * {@code maxPending} checks are queued new checks fail with {@link RateLimitOverloadException}, which
+ * the rate limiter turns into a denial.
+ */
+final class RedisRateLimitBatcher {
+
+    private final RedisScript<List<Long>> script;
+
+    private final int maxBatchSize;
+
+    private final long windowNanos;
+
+    private final int maxInFlight;
+
+    private final int maxPending;
+
+    private final Queue<Check> pending = new ArrayDeque<>();
+
+    private int inFlight;
+
+    private boolean armed;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    RedisRateLimitBatcher(final int maxBatchSize, final long windowNanos, final int maxInFlight, final int maxPending) {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(SCRIPT_PATH + RateLimitEnum.TOKEN_BUCKET_BATCH.getScriptName())));
+        redisScript.setResultType(List.class);
+        this.script = redisScript;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = windowNanos;
+        this.maxInFlight = maxInFlight;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Queue a token bucket check.
+     *
+     * @param keys the tokens and timestamp keys
+     * @param replenishRate the replenish rate
+     * @param burstCapacity the burst capacity
+     * @param requestCount the requested tokens
+     * @return the allowed flag and the tokens left, as the token bucket script returns them
+     */
+    Mono<List<Long>> submit(final List<String> keys, final String replenishRate, final String burstCapacity, final String requestCount) {
+        return Mono.create(sink -> enqueue(new Check(keys, replenishRate, burstCapacity, requestCount, sink)));
+    }
+
+    private void enqueue(final Check check) {
+        List<Check> batch = null;
+        boolean arm = false;
+        synchronized (this) {
+            if (pending.size() >= maxPending) {
+                check.sink.error(new RateLimitOverloadException(pending.size()));
+                return;
+            }
+            pending.add(check);
+            if (inFlight < maxInFlight) {
+                if (pending.size() >= maxBatchSize || windowNanos <= 0) {
+                    batch = drain();
+                } else if (!armed) {
+                    armed = true;
+                    arm = true;
+                }
+            }
+        }
+        if (arm) {
+            Schedulers.parallel().schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+        }
+        send(batch);
+    }
+
+    private void flush() {
+        List<Check> batch = null;
+        synchronized (this) {
+            armed = false;
+            if (inFlight < maxInFlight && !pending.isEmpty()) {
+                batch = drain();
+            }
+        }
+        send(batch);
+    }
+
+    private void complete() {
+        List<Check> batch = null;
+        synchronized (this) {
+            inFlight--;
+            // checks queued behind a full pipeline already waited, send them without a window
+            if (!pending.isEmpty()) {
+                batch = drain();
+            }
+        }
+        send(batch);
+    }
+
+    private List<Check> drain() {
+        int size = Math.min(pending.size(), maxBatchSize);
+        List<Check> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(pending.poll());
+        }
+        inFlight++;
+        return batch;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void send(final List<Check> batch) {
+        if (Objects.isNull(batch)) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(batch.size() * 2);
+        List<String> args = new ArrayList<>(batch.size() * 3 + 1);
+        args.add(String.valueOf(System.currentTimeMillis() / 1000));
+        for (Check check : batch) {
+            keys.addAll(check.keys);
+            args.add(check.replenishRate);
+            args.add(check.burstCapacity);
+            args.add(check.requestCount);
+        }
+        ReactiveRedisTemplate<String, String> template = Singleton.INST.get(ReactiveRedisTemplate.class);
+        Mono.defer(() -> template.execute(script, keys, args).next())
+                .doFinally(signalType -> complete())
+                .subscribe(results -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).sink.success(Arrays.asList(results.get(2 * i), results.get(2 * i + 1)));
+                    }
+                }, throwable -> batch.forEach(check -> check.sink.error(throwable)),
+                    () -> batch.forEach(check -> check.sink.success()));
+    }
+
+    /**
+     * Thrown when more checks are queued than the batcher accepts.
+     */
+    static final class RateLimitOverloadException extends RuntimeException {
+
+        private static final long serialVersionUID = 6143526932367041254L;
+
+        RateLimitOverloadException(final int pending) {
+            super("rate limit batcher overloaded, " + pending + " checks pending");
+        }
+    }
+
+    private static final class Check {
+
+        private final List<String> keys;
+
+        private final String replenishRate;
+
+        private final String burstCapacity;
+
+        private final String requestCount;
+
+        private final MonoSink<List<Long>> sink;
+
+        Check(final List<String> keys, final String replenishRate, final String burstCapacity, final String requestCount, final MonoSink<List<Long>> sink) {
+            this.keys = keys;
+            this.replenishRate = replenishRate;
+            this.burstCapacity = burstCapacity;
+            this.requestCount = requestCount;
+            this.sink = sink;
+        }
+    }
+}
@@ -17,24 +17,33 @@
 
 package org.apache.shenyu.plugin.ratelimiter.executor;
 
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.common.enums.RedisModeEnum;
 import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.cache.redis.RedisConfigProperties;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterBatchProperties;
+import org.apache.shenyu.plugin.ratelimiter.quota.RateLimiterQuotas;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.shenyu.common.constant.Constants.SCRIPT_PATH;
 
 /**
  * RedisRateLimiter.
@@ -43,6 +52,49 @@ public class RedisRateLimiter {
 
     private static final Logger LOG = LoggerFactory.getLogger(RedisRateLimiter.class);
 
+    private final RedisRateLimitBatcher batcher;
+
+    private final RedisScript<List<Long>> quotaScript;
+
+    /**
+     * Instantiates a new redis rate limiter sending every check on its own.
+     */
+    public RedisRateLimiter() {
+        this(1, 0, 1, 1);
+    }
+
+    /**
+     * Instantiates a new redis rate limiter batching token bucket checks when the properties enable it.
+     *
+     * @param properties the batch properties
+     */
+    public RedisRateLimiter(final RateLimiterBatchProperties properties) {
+        this(properties.isEnabled() ? properties.getMaxBatchSize() : 1, properties.getWindowMicros(),
+                properties.getMaxInFlight(), properties.getMaxPending());
+    }
+
+    /**
+     * Instantiates a new redis rate limiter.
+     *
+     * <p>Token bucket checks are batched into one script invocation, except against a redis cluster
+     * where the keys of a batch would span slots.
+     *
+     * @param maxBatchSize the max checks of a batch, batching is disabled below 2
+     * @param batchWindowMicros how long a check waits for others to join its batch
+     * @param maxInFlight the max batches sent concurrently
+     * @param maxPending the max queued checks, further checks are denied
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RedisRateLimiter(final int maxBatchSize, final long batchWindowMicros, final int maxInFlight, final int maxPending) {
+        this.batcher = maxBatchSize > 1
+                ? new RedisRateLimitBatcher(maxBatchSize, TimeUnit.MICROSECONDS.toNanos(batchWindowMicros), maxInFlight, maxPending)
+                : null;
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(SCRIPT_PATH + RateLimitEnum.QUOTA.getScriptName())));
+        redisScript.setResultType(List.class);
+        this.quotaScript = redisScript;
+    }
+
     /**
      * Verify using different current limiting algorithm scripts.
      *
@@ -58,9 +110,14 @@ public class RedisRateLimiter {
         RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
         RedisScript<?> script = rateLimiterAlgorithm.getScript();
         List<String> keys = rateLimiterAlgorithm.getKeys(id);
-        List<String> scriptArgs = Stream.of(replenishRate, burstCapacity, Instant.now().getEpochSecond(), requestCount).map(String::valueOf).collect(Collectors.toList());
-        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
-        return resultFlux.onErrorResume(throwable -> Flux.just(Arrays.asList(1L, -1L)))
+        List<String> scriptArgs = Arrays.asList(String.valueOf(replenishRate), String.valueOf(burstCapacity),
+                String.valueOf(System.currentTimeMillis() / 1000), String.valueOf(requestCount));
+        Flux<List<Long>> resultFlux = batched(rateLimiterAlgorithm)
+                ? batcher.submit(keys, scriptArgs.get(0), scriptArgs.get(1), scriptArgs.get(3)).flux()
+                : Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
+        // an overloaded batcher sheds checks rather than letting them all through
+        return resultFlux.onErrorResume(RedisRateLimitBatcher.RateLimitOverloadException.class, throwable -> Flux.just(Arrays.asList(0L, -1L)))
+                .onErrorResume(throwable -> Flux.just(Arrays.asList(1L, -1L)))
                 .reduce(new ArrayList<Long>(), (longs, l) -> {
                     longs.addAll(l);
                     return longs;
@@ -75,5 +132,46 @@ public class RedisRateLimiter {
                 });
     }
 
+    /**
+     * Check and debit every quota level of a request in one script invocation.
+     *
+     * <p>All the keys of a rule share the rule id as hash tag, so they live in one cluster slot.
+     *
+     * @param ruleId the rule id
+     * @param quotas the compiled quotas
+     * @param levelKeys the resolved key of each level
+     * @param requestCount the requested tokens
+     * @return whether every level allowed the request
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<Boolean> isAllowed(final String ruleId, final RateLimiterQuotas quotas, final String[] levelKeys, final double requestCount) {
+        List<String> keys = new ArrayList<>(quotas.size() * 2);
+        List<String> scriptArgs = new ArrayList<>(quotas.size() * 2 + 2);
+        scriptArgs.add(String.valueOf(System.currentTimeMillis() / 1000));
+        scriptArgs.add(String.valueOf(requestCount));
+        String prefix = RateLimitEnum.QUOTA.getKeyName() + ".{" + ruleId + "}.";
+        for (int i = 0; i < quotas.size(); i++) {
+            String key = prefix + quotas.tag(i) + levelKeys[i];
+            keys.add(key + ".tokens");
+            keys.add(key + ".timestamp");
+            scriptArgs.add(String.valueOf(quotas.replenishRate(i)));
+            scriptArgs.add(String.valueOf(quotas.burstCapacity(i)));
+        }
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(quotaScript, keys, scriptArgs);
+        return resultFlux.next()
+                .map(results -> results.get(0) == 1L)
+                .onErrorResume(throwable -> {
+                    LOG.error("Error occurred while judging if user is allowed by RedisRateLimiter quotas:{}", throwable.getMessage());
+                    return Mono.just(Boolean.TRUE);
+                });
+    }
+
+    private boolean batched(final RateLimiterAlgorithm<?> rateLimiterAlgorithm) {
+        if (Objects.isNull(batcher) || !RateLimitEnum.TOKEN_BUCKET.getScriptName().equals(rateLimiterAlgorithm.getScriptName())) {
+            return false;
+        }
+        RedisConfigProperties config = Singleton.INST.get(RedisConfigProperties.class);
+        return Objects.isNull(config) || !RedisModeEnum.CLUSTER.getName().equals(config.getMode());
+    }
 }
 
@@ -17,12 +17,14 @@
 
 package org.apache.shenyu.plugin.ratelimiter.handler;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.enums.RateLimitModeEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.base.cache.CommonHandleCache;
@@ -32,6 +34,10 @@ import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.cache.redis.RedisConfigProperties;
 import org.apache.shenyu.plugin.cache.redis.RedisConnectionFactory;
 import org.apache.shenyu.plugin.cache.redis.serializer.ShenyuRedisSerializationContext;
+import org.apache.shenyu.plugin.ratelimiter.executor.LocalRateLimiter;
+import org.apache.shenyu.plugin.ratelimiter.quota.RateLimiterQuotas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 
 import java.util.Objects;
@@ -45,6 +51,8 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
 
     public static final Supplier<CommonHandleCache<String, RateLimiterHandle>> CACHED_HANDLE = new BeanHolder<>(CommonHandleCache::new);
 
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimiterPluginDataHandler.class);
+
     @Override
     public void handlerPlugin(final PluginData pluginData) {
         if (Objects.nonNull(pluginData) && Boolean.TRUE.equals(pluginData.getEnabled())) {
@@ -80,7 +88,17 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             final RateLimiterHandle rateLimiterHandle = GsonUtils.getInstance().fromJson(s, RateLimiterHandle.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), rateLimiterHandle);
+            RateLimitModeEnum mode = RateLimitModeEnum.acquireByName(rateLimiterHandle.getMode());
+            if ((mode != RateLimitModeEnum.REDIS || CollectionUtils.isNotEmpty(rateLimiterHandle.getQuotas()))
+                    && !LocalRateLimiter.supports(rateLimiterHandle.getAlgorithmName())) {
+                LOG.warn("rate limiter rule {} asks for the {} algorithm, but the {} mode and quotas only run a token bucket",
+                        ruleData.getName(), rateLimiterHandle.getAlgorithmName(), mode.getName());
+            }
+            if (CollectionUtils.isNotEmpty(rateLimiterHandle.getQuotas())) {
+                // compile the key extractors once, not on the request path
+                rateLimiterHandle.bindCompiledQuotas(RateLimiterQuotas.compile(rateLimiterHandle.getQuotas()));
+            }
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, rateLimiterHandle);
         });
     }
 
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.quota;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterQuota;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The quotas of a rate limiter handle, compiled once per handle.
+ *
+ * <p>Each level resolves its key from the request with an extractor chosen at compile time. A request
+ * missing the header, query parameter or claim of a level shares that level's empty key bucket,
+ * so omitting it does not escape the level.
+ */
+public final class RateLimiterQuotas {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimiterQuotas.class);
+
+    private static final String ROUTE = "route";
+
+    private static final String IP = "ip";
+
+    private static final String HEADER = "header";
+
+    private static final String QUERY = "query";
+
+    private static final String JWT = "jwt";
+
+    private static final String TOKEN = "token";
+
+    private static final String BEARER = "Bearer ";
+
+    private final String[] tags;
+
+    private final double[] replenishRates;
+
+    private final double[] burstCapacities;
+
+    private final List<Function<ServerWebExchange, String>> extractors;
+
+    private RateLimiterQuotas(final List<RateLimiterQuota> quotas, final List<Function<ServerWebExchange, String>> extractors) {
+        int size = quotas.size();
+        this.tags = new String[size];
+        this.replenishRates = new double[size];
+        this.burstCapacities = new double[size];
+        for (int i = 0; i < size; i++) {
+            RateLimiterQuota quota = quotas.get(i);
+            tags[i] = quota.getDimension() + ":" + StringUtils.defaultString(quota.getName()) + ":";
+            replenishRates[i] = quota.getReplenishRate();
+            burstCapacities[i] = quota.getBurstCapacity();
+        }
+        this.extractors = extractors;
+    }
+
+    /**
+     * Obtain the quotas bound to a handle, compiling and binding them on first use.
+     *
+     * @param limiterHandle the limiter handle
+     * @return the compiled quotas, empty when the handle has none
+     */
+    public static RateLimiterQuotas obtain(final RateLimiterHandle limiterHandle) {
+        RateLimiterQuotas quotas = limiterHandle.obtainCompiledQuotas();
+        if (Objects.isNull(quotas)) {
+            quotas = compile(limiterHandle.getQuotas());
+            limiterHandle.bindCompiledQuotas(quotas);
+        }
+        return quotas;
+    }
+
+    /**
+     * Compile quotas, skipping levels of unknown dimensions.
+     *
+     * @param quotas the quotas
+     * @return the compiled quotas
+     */
+    public static RateLimiterQuotas compile(final List<RateLimiterQuota> quotas) {
+        List<RateLimiterQuota> valid = new ArrayList<>();
+        List<Function<ServerWebExchange, String>> extractors = new ArrayList<>();
+        if (CollectionUtils.isNotEmpty(quotas)) {
+            for (RateLimiterQuota quota : quotas) {
+                Function<ServerWebExchange, String> extractor = extractor(quota);
+                if (Objects.isNull(extractor) || quota.getReplenishRate() <= 0 || quota.getBurstCapacity() <= 0) {
+                    LOG.warn("ignore invalid rate limiter quota {}", quota);
+                    continue;
+                }
+                valid.add(quota);
+                extractors.add(extractor);
+            }
+        }
+        return new RateLimiterQuotas(valid, extractors);
+    }
+
+    /**
+     * The number of levels.
+     *
+     * @return size
+     */
+    public int size() {
+        return tags.length;
+    }
+
+    /**
+     * Whether there is no level.
+     *
+     * @return true when empty
+     */
+    public boolean isEmpty() {
+        return tags.length == 0;
+    }
+
+    /**
+     * The tag of a level, its dimension and name.
+     *
+     * @param level the level
+     * @return the tag
+     */
+    public String tag(final int level) {
+        return tags[level];
+    }
+
+    /**
+     * The replenish rate of a level.
+     *
+     * @param level the level
+     * @return the replenish rate
+     */
+    public double replenishRate(final int level) {
+        return replenishRates[level];
+    }
+
+    /**
+     * The burst capacity of a level.
+     *
+     * @param level the level
+     * @return the burst capacity
+     */
+    public double burstCapacity(final int level) {
+        return burstCapacities[level];
+    }
+
+    /**
+     * Resolve the key of every level.
+     *
+     * @param exchange the exchange
+     * @return the keys, by level
+     */
+    public String[] resolve(final ServerWebExchange exchange) {
+        String[] keys = new String[tags.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = StringUtils.defaultString(extractors.get(i).apply(exchange));
+        }
+        return keys;
+    }
+
+    private static Function<ServerWebExchange, String> extractor(final RateLimiterQuota quota) {
+        String dimension = quota.getDimension();
+        String name = quota.getName();
+        if (ROUTE.equals(dimension)) {
+            return exchange -> "";
+        }
+        if (IP.equals(dimension)) {
+            return RateLimiterQuotas::remoteAddress;
+        }
+        if (StringUtils.isBlank(name)) {
+            return null;
+        }
+        switch (StringUtils.defaultString(dimension)) {
+            case HEADER:
+                return exchange -> exchange.getRequest().getHeaders().getFirst(name);
+            case QUERY:
+                return exchange -> exchange.getRequest().getQueryParams().getFirst(name);
+            case JWT:
+                return exchange -> claim(exchange, name);
+            default:
+                return null;
+        }
+    }
+
+    private static String remoteAddress(final ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        return Objects.isNull(address) || Objects.isNull(address.getAddress()) ? null : address.getAddress().getHostAddress();
+    }
+
+    private static String claim(final ServerWebExchange exchange, final String name) {
+        // the claims are read, not verified, verifying the token is the job of the jwt plugin running before
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String token = headers.getFirst(TOKEN);
+        if (StringUtils.isEmpty(token)) {
+            token = StringUtils.removeStart(headers.getFirst(HttpHeaders.AUTHORIZATION), BEARER);
+        }
+        if (StringUtils.isEmpty(token)) {
+            return null;
+        }
+        int start = token.indexOf('.');
+        int end = token.indexOf('.', start + 1);
+        if (start < 0 || end < 0) {
+            return null;
+        }
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(token.substring(start + 1, end));
+            JsonElement claims = JsonParser.parseString(new String(payload, StandardCharsets.UTF_8));
+            JsonElement claim = claims.isJsonObject() ? ((JsonObject) claims).get(name) : null;
+            if (Objects.isNull(claim) || claim.isJsonNull()) {
+                return null;
+            }
+            return claim.isJsonPrimitive() ? claim.getAsString() : claim.toString();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one or more
+-- contributor license agreements.  See the NOTICE file distributed with
+-- this work for additional information regarding copyright ownership.
+-- The ASF licenses this file to You under the Apache License, Version 2.0
+-- (the "License"); you may not use this file except in compliance with
+-- the License.  You may obtain a copy of the License at
+--
+--    http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- evaluates the token buckets of every quota level of a request at once,
+-- debiting them only when all of them hold the requested tokens.
+-- KEYS holds the tokens and timestamp keys of each level, ARGV the now and
+-- requested tokens followed by the rate and capacity of each level.
+
+local now = tonumber(ARGV[1])
+local requested = tonumber(ARGV[2])
+local levels = #KEYS / 2
+local filled = {}
+local ttls = {}
+local denied = 0
+
+for i = 1, levels do
+  local rate = tonumber(ARGV[2 * i + 1])
+  local capacity = tonumber(ARGV[2 * i + 2])
+  -- setex rejects a 0 expire, which would fail the check of every level
+  ttls[i] = math.max(1, math.floor(capacity / rate * 2))
+
+  local last_tokens = tonumber(redis.call("get", KEYS[2 * i - 1]))
+  if last_tokens == nil then
+    last_tokens = capacity
+  end
+
+  local last_refreshed = tonumber(redis.call("get", KEYS[2 * i]))
+  if last_refreshed == nil then
+    last_refreshed = 0
+  end
+
+  local delta = math.max(0, now-last_refreshed)
+  filled[i] = math.min(capacity, last_tokens+(delta*rate))
+  if denied == 0 and filled[i] < requested then
+    denied = i
+  end
+end
+
+for i = 1, levels do
+  local new_tokens = filled[i]
+  if denied == 0 then
+    new_tokens = new_tokens - requested
+  end
+  redis.call("setex", KEYS[2 * i - 1], ttls[i], new_tokens)
+  redis.call("setex", KEYS[2 * i], ttls[i], now)
+end
+
+if denied == 0 then
+  return { 1, 0 }
+end
+return { 0, denied }
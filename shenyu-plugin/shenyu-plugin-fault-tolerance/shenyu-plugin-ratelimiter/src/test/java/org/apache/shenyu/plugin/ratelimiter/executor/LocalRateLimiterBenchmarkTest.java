@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.enums.RateLimitModeEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.cache.redis.RedisConfigProperties;
+import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import redis.embedded.RedisServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the redis, batched redis and hybrid modes against an embedded redis.
+ */
+public final class LocalRateLimiterBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalRateLimiterBenchmarkTest.class);
+
+    private static final int REQUESTS = 3000;
+
+    private static final double CAPACITY = 1000;
+
+    private static final double OVER_ADMISSION = 20;
+
+    private static RedisServer redisServer;
+
+    @BeforeAll
+    public static void startup() {
+        redisServer = RedisServer.builder()
+                .port(63793)
+                .setting("maxmemory 64m")
+                .build();
+        redisServer.start();
+        RedisConfigProperties config = new RedisConfigProperties();
+        config.setUrl("127.0.0.1:63793");
+        new RateLimiterPluginDataHandler().handlerPlugin(PluginData.builder()
+                .enabled(true)
+                .config(GsonUtils.getInstance().toJson(config))
+                .build());
+    }
+
+    @AfterAll
+    public static void end() {
+        redisServer.stop();
+    }
+
+    @Test
+    public void testRedisAndHybridModes() {
+        RedisRateLimiter redisRateLimiter = new RedisRateLimiter();
+        RateLimiterHandle redisHandle = handle(RateLimitModeEnum.REDIS);
+        // warm up the connection and the script cache
+        redisRateLimiter.isAllowed("warmup", redisHandle).block();
+        long start = System.nanoTime();
+        int redisAdmitted = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            if (redisRateLimiter.isAllowed("redis", redisHandle).block().isAllowed()) {
+                redisAdmitted++;
+            }
+        }
+        final long redisNanos = System.nanoTime() - start;
+
+        LocalRateLimiter localRateLimiter = new LocalRateLimiter();
+        RateLimiterHandle hybridHandle = handle(RateLimitModeEnum.HYBRID);
+        localRateLimiter.isAllowed(RateLimitModeEnum.HYBRID, "warmup", null, hybridHandle).block();
+        start = System.nanoTime();
+        int hybridAdmitted = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            if (localRateLimiter.isAllowed(RateLimitModeEnum.HYBRID, "hybrid", null, hybridHandle).block()) {
+                hybridAdmitted++;
+            }
+        }
+        long hybridNanos = System.nanoTime() - start;
+        LOG.info("{} requests, redis mode admitted {} in {} ms, hybrid mode admitted {} in {} ms",
+                REQUESTS, redisAdmitted, redisNanos / 1_000_000, hybridAdmitted, hybridNanos / 1_000_000);
+
+        // the refill over the run may add a few tokens
+        assertTrue(redisAdmitted >= CAPACITY && redisAdmitted < CAPACITY + 50);
+        assertTrue(hybridAdmitted >= CAPACITY && hybridAdmitted <= redisAdmitted + OVER_ADMISSION + 50);
+    }
+
+    @Test
+    public void testBatchedRedisMode() {
+        RateLimiterHandle redisHandle = handle(RateLimitModeEnum.REDIS);
+        RedisRateLimiter unbatched = new RedisRateLimiter();
+        RedisRateLimiter batched = new RedisRateLimiter(64, 100, 8, 10000);
+        unbatched.isAllowed("warmup", redisHandle).block();
+        batched.isAllowed("warmup", redisHandle).block();
+        long start = System.nanoTime();
+        long unbatchedAllowed = concurrentChecks(unbatched, "unbatched-", redisHandle);
+        final long unbatchedNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        long batchedAllowed = concurrentChecks(batched, "batched-", redisHandle);
+        LOG.info("{} concurrent checks on distinct keys, unbatched in {} ms, batched in {} ms",
+                REQUESTS, unbatchedNanos / 1_000_000, (System.nanoTime() - start) / 1_000_000);
+        assertEquals(REQUESTS, unbatchedAllowed);
+        assertEquals(REQUESTS, batchedAllowed);
+    }
+
+    @Test
+    public void testLocalMode() {
+        LocalRateLimiter localRateLimiter = new LocalRateLimiter();
+        RateLimiterHandle localHandle = handle(RateLimitModeEnum.LOCAL);
+        localHandle.setReplenishRate(1);
+        long start = System.nanoTime();
+        int admitted = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            if (localRateLimiter.isAllowed(RateLimitModeEnum.LOCAL, "local", null, localHandle).block()) {
+                admitted++;
+            }
+        }
+        LOG.info("{} requests, local mode admitted {} in {} ms", REQUESTS, admitted, (System.nanoTime() - start) / 1_000_000);
+        assertEquals(CAPACITY, admitted, 5);
+    }
+
+    private static long concurrentChecks(final RedisRateLimiter limiter, final String prefix, final RateLimiterHandle handle) {
+        return Flux.range(0, REQUESTS)
+                .flatMap(i -> limiter.isAllowed(prefix + i, handle), 256)
+                .filter(RateLimiterResponse::isAllowed)
+                .count()
+                .block();
+    }
+
+    private static RateLimiterHandle handle(final RateLimitModeEnum mode) {
+        RateLimiterHandle handle = new RateLimiterHandle();
+        handle.setAlgorithmName("tokenBucket");
+        handle.setMode(mode.getName());
+        handle.setReplenishRate(1);
+        handle.setBurstCapacity(CAPACITY);
+        handle.setLeaseSize(50);
+        handle.setOverAdmission(OVER_ADMISSION);
+        return handle;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterQuota;
+import org.apache.shenyu.common.enums.RateLimitModeEnum;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.quota.RateLimiterQuotas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for {@link LocalRateLimiter}.
+ */
+public final class LocalRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1L);
+
+    private LocalRateLimiter limiter;
+
+    private RateLimiterHandle handle;
+
+    @BeforeEach
+    public void setUp() {
+        limiter = new LocalRateLimiter(0, clock::get);
+        handle = new RateLimiterHandle();
+        handle.setReplenishRate(10);
+        handle.setBurstCapacity(5);
+    }
+
+    @Test
+    public void testLocalBurstAndRefill() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(allowed(RateLimitModeEnum.LOCAL, "1.1.1.1"));
+        }
+        assertFalse(allowed(RateLimitModeEnum.LOCAL, "1.1.1.1"));
+        // other keys have buckets of their own
+        assertTrue(allowed(RateLimitModeEnum.LOCAL, "2.2.2.2"));
+        assertTrue(allowed(RateLimitModeEnum.LOCAL, null));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(allowed(RateLimitModeEnum.LOCAL, "1.1.1.1"));
+        assertTrue(allowed(RateLimitModeEnum.LOCAL, "1.1.1.1"));
+        assertFalse(allowed(RateLimitModeEnum.LOCAL, "1.1.1.1"));
+        assertEquals(3, limiter.size());
+    }
+
+    @Test
+    public void testIdleBucketsAreDropped() {
+        assertTrue(allowed(RateLimitModeEnum.LOCAL, "1.1.1.1"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertTrue(allowed(RateLimitModeEnum.LOCAL, "2.2.2.2"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        limiter.sync();
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    public void testKeysDoNotCollide() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.isAllowed(RateLimitModeEnum.LOCAL, "rule", "a-b", handle).block());
+        }
+        assertFalse(limiter.isAllowed(RateLimitModeEnum.LOCAL, "rule", "a-b", handle).block());
+        // the same characters split differently between the rule id and the key are another bucket
+        assertTrue(limiter.isAllowed(RateLimitModeEnum.LOCAL, "rule-a", "b", handle).block());
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    public void testSupportsOnlyTokenBucket() {
+        assertTrue(LocalRateLimiter.supports(null));
+        assertTrue(LocalRateLimiter.supports("tokenBucket"));
+        assertFalse(LocalRateLimiter.supports("slidingWindow"));
+        assertFalse(LocalRateLimiter.supports("leakyBucket"));
+    }
+
+    @Test
+    public void testCloseStopsSync() throws InterruptedException {
+        final LocalRateLimiter syncing = new LocalRateLimiter(10, clock::get);
+        assertTrue(syncing.isAllowed(RateLimitModeEnum.LOCAL, "rule", "1.1.1.1", handle).block());
+        syncing.close();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertEquals(1, syncing.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHybridLeases() {
+        final ReactiveRedisTemplate<String, String> template = mockRedis(3L);
+        handle.setLeaseSize(3);
+        // the first request waits for the lease, the next one takes from it and prefetches the next lease
+        assertTrue(allowed(RateLimitModeEnum.HYBRID, "1.1.1.1"));
+        assertTrue(allowed(RateLimitModeEnum.HYBRID, "1.1.1.1"));
+        verify(template, times(2)).execute(any(RedisScript.class), eq(Arrays.asList("request_rate_limiter.{rule-1.1.1.1}.tokens",
+                "request_rate_limiter.{rule-1.1.1.1}.timestamp")), argThat((List<String> args) -> "3".equals(args.get(3)) && "0".equals(args.get(4))));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(allowed(RateLimitModeEnum.HYBRID, "1.1.1.1"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHybridOverAdmission() {
+        final ReactiveRedisTemplate<String, String> template = mockRedis(0L);
+        handle.setLeaseSize(3);
+        handle.setOverAdmission(2);
+        assertTrue(allowed(RateLimitModeEnum.HYBRID, "1.1.1.1"));
+        assertTrue(allowed(RateLimitModeEnum.HYBRID, "1.1.1.1"));
+        assertFalse(allowed(RateLimitModeEnum.HYBRID, "1.1.1.1"));
+        // the credit is asked back with the next leases
+        verify(template, times(2)).execute(any(RedisScript.class), anyList(), argThat((List<String> args) -> "5".equals(args.get(3))));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testHybridFallsBackToLocalWhenRedisFails() {
+        ReactiveRedisTemplate template = mock(ReactiveRedisTemplate.class);
+        when(template.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.error(new IllegalStateException("down")));
+        Singleton.INST.single(ReactiveRedisTemplate.class, template);
+        handle.setLeaseSize(3);
+        assertFalse(allowed(RateLimitModeEnum.HYBRID, "1.1.1.1"));
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(allowed(RateLimitModeEnum.HYBRID, "1.1.1.1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIdleHybridBucketReturnsTokens() {
+        final ReactiveRedisTemplate<String, String> template = mockRedis(5L);
+        handle.setLeaseSize(5);
+        assertTrue(allowed(RateLimitModeEnum.HYBRID, "1.1.1.1"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        limiter.sync();
+        assertEquals(0, limiter.size());
+        verify(template).execute(any(RedisScript.class), anyList(), argThat((List<String> args) -> "0".equals(args.get(3)) && "4".equals(args.get(4))));
+    }
+
+    @Test
+    public void testLocalQuotas() {
+        RateLimiterQuota route = new RateLimiterQuota();
+        route.setDimension("route");
+        route.setReplenishRate(1);
+        route.setBurstCapacity(3);
+        RateLimiterQuota app = new RateLimiterQuota();
+        app.setDimension("header");
+        app.setName("X-App-Key");
+        app.setReplenishRate(1);
+        app.setBurstCapacity(2);
+        RateLimiterQuotas quotas = RateLimiterQuotas.compile(Arrays.asList(route, app));
+        assertTrue(quotaAllowed(quotas, "a"));
+        assertTrue(quotaAllowed(quotas, "a"));
+        // the app level denies, and the route level is not debited for it
+        assertFalse(quotaAllowed(quotas, "a"));
+        assertTrue(quotaAllowed(quotas, "b"));
+        assertFalse(quotaAllowed(quotas, "b"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(quotaAllowed(quotas, "b"));
+    }
+
+    private boolean quotaAllowed(final RateLimiterQuotas quotas, final String app) {
+        return limiter.isAllowed("rule", quotas, new String[]{"", app}, 1.0).block();
+    }
+
+    private boolean allowed(final RateLimitModeEnum mode, final String resolvedKey) {
+        Boolean[] allowed = new Boolean[1];
+        StepVerifier.create(limiter.isAllowed(mode, "rule", resolvedKey, handle))
+                .consumeNextWith(result -> allowed[0] = result)
+                .verifyComplete();
+        return allowed[0];
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ReactiveRedisTemplate<String, String> mockRedis(final long granted) {
+        ReactiveRedisTemplate template = mock(ReactiveRedisTemplate.class);
+        when(template.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenAnswer(invocation -> Flux.just(Arrays.asList(granted, 0L)));
+        Singleton.INST.single(ReactiveRedisTemplate.class, template);
+        return template;
+    }
+}
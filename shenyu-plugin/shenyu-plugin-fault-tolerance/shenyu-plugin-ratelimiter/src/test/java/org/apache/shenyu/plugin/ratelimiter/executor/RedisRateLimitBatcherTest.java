@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.common.utils.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test case for {@link RedisRateLimitBatcher}.
+ */
+public final class RedisRateLimitBatcherTest {
+
+    private static final List<String> KEYS_A = Arrays.asList("a.tokens", "a.timestamp");
+
+    private static final List<String> KEYS_B = Arrays.asList("b.tokens", "b.timestamp");
+
+    @SuppressWarnings("rawtypes")
+    private ReactiveRedisTemplate template;
+
+    @BeforeEach
+    public void setUp() {
+        template = mock(ReactiveRedisTemplate.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, template);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWindowBatchesChecks() {
+        when(template.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(Arrays.asList(1L, 9L, 0L, 0L)));
+        RedisRateLimitBatcher batcher = new RedisRateLimitBatcher(64, TimeUnit.MILLISECONDS.toNanos(20), 1, 100);
+        Mono<List<Long>> first = batcher.submit(KEYS_A, "1", "10", "1").cache();
+        first.subscribe();
+        StepVerifier.create(batcher.submit(KEYS_B, "2", "20", "3"))
+                .expectNext(Arrays.asList(0L, 0L))
+                .verifyComplete();
+        StepVerifier.create(first).expectNext(Arrays.asList(1L, 9L)).verifyComplete();
+        verify(template).execute(any(RedisScript.class), eq(Arrays.asList("a.tokens", "a.timestamp", "b.tokens", "b.timestamp")),
+                argThat((List<String> args) -> args.size() == 7 && args.subList(1, 7).equals(Arrays.asList("1", "10", "1", "2", "20", "3"))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testQueuedBehindInFlight() {
+        Sinks.One<List<Long>> slow = Sinks.one();
+        when(template.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(slow.asMono().flux())
+                .thenReturn(Flux.just(Arrays.asList(1L, 8L, 1L, 7L)));
+        RedisRateLimitBatcher batcher = new RedisRateLimitBatcher(64, 0, 1, 2);
+        Mono<List<Long>> first = batcher.submit(KEYS_A, "1", "10", "1").cache();
+        first.subscribe();
+        Mono<List<Long>> second = batcher.submit(KEYS_A, "1", "10", "1").cache();
+        second.subscribe();
+        Mono<List<Long>> third = batcher.submit(KEYS_A, "1", "10", "1").cache();
+        third.subscribe();
+        // the pending queue is full while the first batch is in flight
+        StepVerifier.create(batcher.submit(KEYS_A, "1", "10", "1"))
+                .expectError(RedisRateLimitBatcher.RateLimitOverloadException.class)
+                .verify();
+        slow.tryEmitValue(Arrays.asList(1L, 9L));
+        StepVerifier.create(first).expectNext(Arrays.asList(1L, 9L)).verifyComplete();
+        StepVerifier.create(second).expectNext(Arrays.asList(1L, 8L)).verifyComplete();
+        StepVerifier.create(third).expectNext(Arrays.asList(1L, 7L)).verifyComplete();
+        verify(template, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testErrorReachesEveryCheck() {
+        when(template.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.error(new IllegalStateException("down")));
+        RedisRateLimitBatcher batcher = new RedisRateLimitBatcher(2, TimeUnit.SECONDS.toNanos(10), 1, 100);
+        Mono<List<Long>> first = batcher.submit(KEYS_A, "1", "10", "1").cache();
+        first.subscribe(list -> { }, throwable -> { });
+        StepVerifier.create(batcher.submit(KEYS_B, "1", "10", "1")).expectError(IllegalStateException.class).verify(Duration.ofSeconds(5));
+        StepVerifier.create(first).expectError(IllegalStateException.class).verify(Duration.ofSeconds(5));
+        verify(template).execute(any(RedisScript.class), anyList(), anyList());
+    }
+}
@@ -18,12 +18,14 @@
 package org.apache.shenyu.plugin.ratelimiter.executor;
 
 import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterQuota;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.cache.redis.RedisConfigProperties;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
+import org.apache.shenyu.plugin.ratelimiter.quota.RateLimiterQuotas;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -32,12 +34,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import redis.embedded.RedisServer;
 
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -135,4 +139,56 @@ public class RedisRateLimiterScriptsTest {
                 .expectComplete()
                 .verify();
     }
+
+    @Test
+    public void tokenBucketBatchLuaTest() {
+        RedisRateLimitBatcher batcher = new RedisRateLimitBatcher(3, TimeUnit.SECONDS.toNanos(10), 1, 10);
+        List<String> keys = RateLimiterAlgorithmFactory.newInstance("tokenBucket").getKeys("test-tokenBucketBatch");
+        List<String> otherKeys = RateLimiterAlgorithmFactory.newInstance("tokenBucket").getKeys("test-tokenBucketBatch-other");
+        // the third check fills the batch, all three go out in one invocation
+        Mono<List<Long>> first = batcher.submit(keys, "10", "100", "1").cache();
+        first.subscribe();
+        Mono<List<Long>> second = batcher.submit(keys, "10", "100", "1").cache();
+        second.subscribe();
+        StepVerifier.create(batcher.submit(otherKeys, "10", "100", "100"))
+                .expectNext(Arrays.asList(1L, 0L))
+                .verifyComplete();
+        StepVerifier.create(first).expectNext(Arrays.asList(1L, 99L)).verifyComplete();
+        StepVerifier.create(second).expectNext(Arrays.asList(1L, 98L)).verifyComplete();
+    }
+
+    @Test
+    public void tokenBucketBatchShortTtlLuaTest() {
+        RedisRateLimitBatcher batcher = new RedisRateLimitBatcher(2, TimeUnit.SECONDS.toNanos(10), 1, 10);
+        List<String> keys = RateLimiterAlgorithmFactory.newInstance("tokenBucket").getKeys("test-tokenBucketBatch-short");
+        List<String> otherKeys = RateLimiterAlgorithmFactory.newInstance("tokenBucket").getKeys("test-tokenBucketBatch-healthy");
+        // a capacity below half the rate fills in under half a second, its keys still get a one second ttl
+        Mono<List<Long>> shortTtl = batcher.submit(keys, "10", "1", "1").cache();
+        shortTtl.subscribe();
+        StepVerifier.create(batcher.submit(otherKeys, "10", "100", "1"))
+                .expectNext(Arrays.asList(1L, 99L))
+                .verifyComplete();
+        StepVerifier.create(shortTtl).expectNext(Arrays.asList(1L, 0L)).verifyComplete();
+    }
+
+    @Test
+    public void quotaLuaTest() {
+        RateLimiterQuota route = new RateLimiterQuota();
+        route.setDimension("route");
+        route.setReplenishRate(1);
+        route.setBurstCapacity(3);
+        RateLimiterQuota ip = new RateLimiterQuota();
+        ip.setDimension("ip");
+        ip.setReplenishRate(1);
+        ip.setBurstCapacity(2);
+        RateLimiterQuotas quotas = RateLimiterQuotas.compile(Arrays.asList(route, ip));
+        RedisRateLimiter redisRateLimiter = new RedisRateLimiter();
+        String[] first = new String[]{"", "1.1.1.1"};
+        String[] second = new String[]{"", "2.2.2.2"};
+        StepVerifier.create(redisRateLimiter.isAllowed("test-quota", quotas, first, 1.0)).expectNext(true).verifyComplete();
+        StepVerifier.create(redisRateLimiter.isAllowed("test-quota", quotas, first, 1.0)).expectNext(true).verifyComplete();
+        StepVerifier.create(redisRateLimiter.isAllowed("test-quota", quotas, first, 1.0)).expectNext(false).verifyComplete();
+        StepVerifier.create(redisRateLimiter.isAllowed("test-quota", quotas, second, 1.0)).expectNext(true).verifyComplete();
+        StepVerifier.create(redisRateLimiter.isAllowed("test-quota", quotas, second, 1.0)).expectNext(false).verifyComplete();
+    }
 }
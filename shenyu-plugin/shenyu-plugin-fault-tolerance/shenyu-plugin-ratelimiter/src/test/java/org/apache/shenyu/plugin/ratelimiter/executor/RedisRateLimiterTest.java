@@ -29,8 +29,11 @@ import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -163,6 +166,30 @@ public final class RedisRateLimiterTest {
         }).verifyComplete();
     }
 
+    /**
+     * redisRateLimiter.isAllowed denies checks a full batcher sheds.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void batcherOverloadDeniedTest() {
+        ReactiveRedisTemplate reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
+        Sinks.One<List<Long>> slow = Sinks.one();
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(slow.asMono().flux());
+        RedisRateLimiter batched = new RedisRateLimiter(64, 0, 1, 1);
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        Mono<RateLimiterResponse> inFlight = batched.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).cache();
+        inFlight.subscribe();
+        Mono<RateLimiterResponse> queued = batched.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle).cache();
+        queued.subscribe();
+        StepVerifier.create(batched.isAllowed(DEFAULT_TEST_ID, rateLimiterHandle)).assertNext(r -> {
+            assertEquals(-1, r.getTokensRemaining());
+            assertFalse(r.isAllowed());
+        }).verifyComplete();
+        slow.tryEmitValue(Lists.newArrayList(1L, 5L));
+        StepVerifier.create(inFlight).assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+    }
+
     /**
      * redisRateLimiter.isAllowed test pre init.
      *
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.quota;
+
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterHandle;
+import org.apache.shenyu.common.dto.convert.rule.RateLimiterQuota;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link RateLimiterQuotas}.
+ */
+public final class RateLimiterQuotasTest {
+
+    @Test
+    public void testResolve() throws UnknownHostException {
+        RateLimiterQuotas quotas = RateLimiterQuotas.compile(Arrays.asList(quota("route", null), quota("ip", null),
+                quota("header", "X-App-Key"), quota("query", "tenant"), quota("jwt", "tenant")));
+        assertEquals(5, quotas.size());
+        assertEquals("header:X-App-Key:", quotas.tag(2));
+        assertEquals(10, quotas.replenishRate(0));
+        assertEquals(20, quotas.burstCapacity(0));
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString("{\"tenant\":\"t-1\"}".getBytes(StandardCharsets.UTF_8));
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test?tenant=t-2")
+                .remoteAddress(new InetSocketAddress(InetAddress.getByAddress(new byte[]{1, 1, 1, 1}), 8080))
+                .header("x-app-key", "app")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer e30." + payload + ".signature")
+                .build());
+        assertArrayEquals(new String[]{"", "1.1.1.1", "app", "t-2", "t-1"}, quotas.resolve(exchange));
+        // requests missing a dimension share the empty key
+        ServerWebExchange anonymous = MockServerWebExchange.from(MockServerHttpRequest.get("/test")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer garbage")
+                .build());
+        assertArrayEquals(new String[]{"", "", "", "", ""}, quotas.resolve(anonymous));
+    }
+
+    @Test
+    public void testCompileSkipsInvalidQuotas() {
+        RateLimiterQuota zeroRate = quota("route", null);
+        zeroRate.setReplenishRate(0);
+        RateLimiterQuotas quotas = RateLimiterQuotas.compile(Arrays.asList(quota("cookie", "id"), quota("header", null), zeroRate, quota("ip", null)));
+        assertEquals(1, quotas.size());
+        assertEquals("ip::", quotas.tag(0));
+        assertTrue(RateLimiterQuotas.compile(null).isEmpty());
+    }
+
+    @Test
+    public void testObtainBindsToHandle() {
+        RateLimiterHandle handle = new RateLimiterHandle();
+        handle.setQuotas(Collections.singletonList(quota("route", null)));
+        RateLimiterQuotas quotas = RateLimiterQuotas.obtain(handle);
+        assertSame(quotas, RateLimiterQuotas.obtain(handle));
+        handle.setQuotas(Collections.singletonList(quota("ip", null)));
+        assertNull(handle.obtainCompiledQuotas());
+        assertEquals("ip::", RateLimiterQuotas.obtain(handle).tag(0));
+    }
+
+    private static RateLimiterQuota quota(final String dimension, final String name) {
+        RateLimiterQuota quota = new RateLimiterQuota();
+        quota.setDimension(dimension);
+        quota.setName(name);
+        quota.setReplenishRate(10);
+        quota.setBurstCapacity(20);
+        return quota;
+    }
+}
@@ -57,7 +57,7 @@ public class Resilience4JHandler implements PluginDataHandler {
         Resilience4JRegistryFactory.remove(key);
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             final Resilience4JHandle resilience4JHandle = GsonUtils.getInstance().fromJson(s, Resilience4JHandle.class);
-            CACHED_HANDLE.get().cachedHandle(key, resilience4JHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, resilience4JHandle);
         });
     }
 
@@ -18,7 +18,6 @@
 package org.apache.shenyu.plugin.global;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
@@ -30,8 +29,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
 
-import java.net.URI;
-import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -45,6 +42,11 @@ public class DefaultShenyuContextBuilder implements ShenyuContextBuilder {
 
     private static final String UPGRADE = "Upgrade";
 
+    /**
+     * decorators only read the meta data, so requests without registered meta data share this one.
+     */
+    private static final MetaData EMPTY_META_DATA = new MetaData();
+
     private final Map<String, ShenyuContextDecorator> decoratorMap;
 
     /**
@@ -58,35 +60,39 @@ public class DefaultShenyuContextBuilder implements ShenyuContextBuilder {
 
     @Override
     public ShenyuContext build(final ServerWebExchange exchange) {
-        Pair<String, MetaData> buildData = buildData(exchange);
-        return decoratorMap.get(buildData.getLeft()).decorator(buildDefaultContext(exchange.getRequest()), buildData.getRight());
-    }
-    
-    private Pair<String, MetaData> buildData(final ServerWebExchange exchange) {
         ServerHttpRequest request = exchange.getRequest();
-        HttpHeaders headers = request.getHeaders();
-        String rpcType = headers.getFirst(RPC_TYPE);
-        if (StringUtils.isNotEmpty(rpcType)) {
-            return Pair.of(rpcType, new MetaData());
+        String path = request.getURI().getRawPath();
+        ShenyuContext shenyuContext = buildDefaultContext(request, path);
+        String rpcType = headerRpcType(request.getHeaders());
+        if (Objects.nonNull(rpcType)) {
+            return decoratorMap.get(rpcType).decorator(shenyuContext, EMPTY_META_DATA);
         }
-        String upgrade = headers.getFirst(UPGRADE);
-        if (StringUtils.isNotEmpty(upgrade) && RpcTypeEnum.WEB_SOCKET.getName().equals(upgrade)) {
-            return Pair.of(RpcTypeEnum.WEB_SOCKET.getName(), new MetaData());
-        }
-        MetaData metaData = MetaDataCache.getInstance().obtain(request.getURI().getRawPath());
+        MetaData metaData = MetaDataCache.getInstance().obtain(path);
         if (Objects.nonNull(metaData) && Boolean.TRUE.equals(metaData.getEnabled())) {
             exchange.getAttributes().put(Constants.META_DATA, metaData);
-            return Pair.of(metaData.getRpcType(), metaData);
-        } else {
-            return Pair.of(RpcTypeEnum.HTTP.getName(), new MetaData());
+            return decoratorMap.get(metaData.getRpcType()).decorator(shenyuContext, metaData);
+        }
+        return decoratorMap.get(RpcTypeEnum.HTTP.getName()).decorator(shenyuContext, EMPTY_META_DATA);
+    }
+
+    /**
+     * The rpc type given by the request headers, read once per request.
+     *
+     * @param headers the request headers
+     * @return the rpc type, or null when the headers do not name one
+     */
+    private static String headerRpcType(final HttpHeaders headers) {
+        String rpcType = headers.getFirst(RPC_TYPE);
+        if (StringUtils.isNotEmpty(rpcType)) {
+            return rpcType;
         }
+        return RpcTypeEnum.WEB_SOCKET.getName().equals(headers.getFirst(UPGRADE)) ? RpcTypeEnum.WEB_SOCKET.getName() : null;
     }
 
-    private ShenyuContext buildDefaultContext(final ServerHttpRequest request) {
+    private ShenyuContext buildDefaultContext(final ServerHttpRequest request, final String path) {
         ShenyuContext shenyuContext = new ShenyuContext();
-        URI requestURI = request.getURI();
-        shenyuContext.setPath(requestURI.getRawPath());
-        shenyuContext.setStartDateTime(LocalDateTime.now());
+        shenyuContext.setPath(path);
+        shenyuContext.markStart(System.currentTimeMillis(), System.nanoTime());
         Optional.ofNullable(request.getMethod()).ifPresent(httpMethod -> shenyuContext.setHttpMethod(httpMethod.name()));
         return shenyuContext;
     }
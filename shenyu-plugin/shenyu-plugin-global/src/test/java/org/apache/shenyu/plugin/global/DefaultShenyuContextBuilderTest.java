@@ -32,6 +32,7 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * The Test Case For DefaultShenyuContextBuilder.
@@ -44,6 +45,8 @@ public final class DefaultShenyuContextBuilderTest {
     public void setUp() {
         Map<String, ShenyuContextDecorator> decoratorMap = new HashMap<>();
         decoratorMap.put("http", new FixtureHttpShenyuContextDecorator());
+        decoratorMap.put(RpcTypeEnum.WEB_SOCKET.getName(), rpcTypeDecorator(RpcTypeEnum.WEB_SOCKET.getName()));
+        decoratorMap.put(RpcTypeEnum.DUBBO.getName(), rpcTypeDecorator(RpcTypeEnum.DUBBO.getName()));
         defaultShenyuContextBuilder = new DefaultShenyuContextBuilder(decoratorMap);
     }
 
@@ -56,5 +59,34 @@ public final class DefaultShenyuContextBuilderTest {
         ShenyuContext shenyuContext = defaultShenyuContextBuilder.build(exchange);
         assertNotNull(shenyuContext);
         assertEquals(RpcTypeEnum.HTTP.getName(), shenyuContext.getRpcType());
+        assertTrue(shenyuContext.getStartTimeMillis() > 0);
+        assertNotNull(shenyuContext.getStartDateTime());
+        assertTrue(shenyuContext.acquireElapsedMillis() >= 0);
+    }
+
+    @Test
+    public void testBuildFromHeaders() {
+        MockServerWebExchange rpcTypeExchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:8080/dubbo")
+                .header("rpc_type", RpcTypeEnum.DUBBO.getName())
+                .header("Upgrade", RpcTypeEnum.WEB_SOCKET.getName())
+                .build());
+        assertEquals(RpcTypeEnum.DUBBO.getName(), defaultShenyuContextBuilder.build(rpcTypeExchange).getRpcType());
+        MockServerWebExchange upgradeExchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:8080/ws")
+                .header("Upgrade", RpcTypeEnum.WEB_SOCKET.getName())
+                .build());
+        ShenyuContext shenyuContext = defaultShenyuContextBuilder.build(upgradeExchange);
+        assertEquals(RpcTypeEnum.WEB_SOCKET.getName(), shenyuContext.getRpcType());
+        assertEquals("/ws", shenyuContext.getPath());
+        MockServerWebExchange otherUpgradeExchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:8080/h2c")
+                .header("Upgrade", "h2c")
+                .build());
+        assertEquals(RpcTypeEnum.HTTP.getName(), defaultShenyuContextBuilder.build(otherUpgradeExchange).getRpcType());
+    }
+
+    private static ShenyuContextDecorator rpcTypeDecorator(final String rpcType) {
+        return (shenyuContext, metaData) -> {
+            shenyuContext.setRpcType(rpcType);
+            return shenyuContext;
+        };
     }
 }
@@ -33,6 +33,11 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
+import org.apache.shenyu.plugin.api.trace.ShenyuSpan;
+import org.apache.shenyu.plugin.api.trace.ShenyuTracer;
+import org.apache.shenyu.plugin.api.trace.SpanKind;
+import org.apache.shenyu.plugin.api.trace.TraceContext;
+import org.apache.shenyu.plugin.api.trace.Tracing;
 import org.apache.shenyu.plugin.api.utils.RequestUrlUtils;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.httpclient.config.DuplicateResponseHeaderProperties.DuplicateResponseHeaderStrategy;
@@ -42,6 +47,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
@@ -58,6 +64,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -82,9 +89,9 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
         final int retryTimes = (int) Optional.ofNullable(exchange.getAttribute(Constants.HTTP_RETRY)).orElse(0);
         final String retryStrategy = (String) Optional.ofNullable(exchange.getAttribute(Constants.RETRY_STRATEGY)).orElseGet(RetryEnum.CURRENT::getName);
         LogUtils.debug(LOG, () -> String.format("The request urlPath is: %s, retryTimes is : %s, retryStrategy is : %s", uri, retryTimes, retryStrategy));
-        final Mono<R> response = doRequest(exchange, exchange.getRequest().getMethod().name(), uri, exchange.getRequest().getBody())
-                .timeout(duration, Mono.error(() -> new TimeoutException("Response took longer than timeout: " + duration)))
-                .doOnError(e -> LOG.error(e.getMessage(), e));
+        // counts the attempts of a traced request, so that each one gets its own span
+        final AtomicInteger attempts = Tracing.getTracer().isEnabled() ? new AtomicInteger() : null;
+        final Mono<R> response = request(exchange, uri, duration, attempts);
         if (RetryEnum.CURRENT.getName().equals(retryStrategy)) {
             //old version of DividePlugin and SpringCloudPlugin will run on this
             RetryBackoffSpec retryBackoffSpec = Retry.backoff(retryTimes, Duration.ofMillis(20L))
@@ -102,7 +109,7 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                     .flatMap((Function<Object, Mono<? extends Void>>) o -> chain.execute(exchange));
         }
         final Set<URI> exclude = Sets.newHashSet(uri);
-        return resend(response, exchange, duration, exclude, retryTimes)
+        return resend(response, exchange, duration, exclude, retryTimes, attempts)
                 .onErrorMap(ShenyuException.class, th -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
                         ShenyuResultEnum.CANNOT_FIND_HEALTHY_UPSTREAM_URL_AFTER_FAILOVER.getMsg(), th))
                 .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th))
@@ -113,10 +120,11 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
                            final ServerWebExchange exchange,
                            final Duration duration,
                            final Set<URI> exclude,
-                           final int retryTimes) {
+                           final int retryTimes,
+                           final AtomicInteger attempts) {
         Mono<R> result = clientResponse;
         for (int i = 0; i < retryTimes; i++) {
-            result = resend(result, exchange, duration, exclude);
+            result = resend(result, exchange, duration, exclude, attempts);
         }
         return result;
     }
@@ -124,7 +132,8 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
     private Mono<R> resend(final Mono<R> response,
                            final ServerWebExchange exchange,
                            final Duration duration,
-                           final Set<URI> exclude) {
+                           final Set<URI> exclude,
+                           final AtomicInteger attempts) {
         // does it necessary to add backoff interval time ?
         return response.onErrorResume(th -> {
             final String selectorId = exchange.getAttribute(Constants.DIVIDE_SELECTOR_ID);
@@ -154,11 +163,59 @@ public abstract class AbstractHttpClientPlugin<R> implements ShenyuPlugin {
             final URI newUri = RequestUrlUtils.buildRequestUri(exchange, upstream.buildDomain());
             // in order not to affect the next retry call, newUri needs to be excluded
             exclude.add(newUri);
-            return doRequest(exchange, exchange.getRequest().getMethod().name(), newUri, exchange.getRequest().getBody())
-                    .timeout(duration, Mono.error(() -> new TimeoutException("Response took longer than timeout: " + duration)))
-                    .doOnError(e -> LOG.error(e.getMessage(), e));
+            return request(exchange, newUri, duration, attempts);
         });
     }
+    
+    private Mono<R> request(final ServerWebExchange exchange, final URI uri, final Duration duration, final AtomicInteger attempts) {
+        final Mono<R> request = Objects.isNull(attempts) ? timedRequest(exchange, uri, duration) : tracedRequest(exchange, uri, duration, attempts);
+        return request.doOnError(e -> LOG.error(e.getMessage(), e));
+    }
+    
+    private Mono<R> timedRequest(final ServerWebExchange exchange, final URI uri, final Duration duration) {
+        return doRequest(exchange, exchange.getRequest().getMethod().name(), uri, exchange.getRequest().getBody())
+                .timeout(duration, Mono.error(() -> new TimeoutException("Response took longer than timeout: " + duration)));
+    }
+    
+    private Mono<R> tracedRequest(final ServerWebExchange exchange, final URI uri, final Duration duration, final AtomicInteger attempts) {
+        // deferred, so that every resubscription of a retry is a new attempt
+        return Mono.deferContextual(context -> {
+            final TraceContext parent = Tracing.current(context);
+            if (Objects.isNull(parent)) {
+                return timedRequest(exchange, uri, duration);
+            }
+            final ShenyuTracer tracer = Tracing.getTracer();
+            final int attempt = attempts.getAndIncrement();
+            final ShenyuSpan span = tracer.startSpan(attempt == 0 ? "upstream" : "upstream retry", SpanKind.CLIENT, parent)
+                    .setAttribute("http.request.method", exchange.getRequest().getMethod().name())
+                    .setAttribute("server.address", uri.getHost())
+                    .setAttribute("server.port", uri.getPort())
+                    .setAttribute("url.path", uri.getRawPath())
+                    .setAttribute("shenyu.retry.attempt", attempt);
+            final TraceContext trace = span.getContext();
+            if (Objects.isNull(trace)) {
+                return timedRequest(exchange, uri, duration);
+            }
+            return timedRequest(withTraceparent(exchange, trace), uri, duration)
+                    .doOnError(span::setError)
+                    .doOnCancel(() -> span.setAttribute("shenyu.cancelled", true))
+                    .doFinally(signal -> span.end());
+        });
+    }
+    
+    private static ServerWebExchange withTraceparent(final ServerWebExchange exchange, final TraceContext trace) {
+        // the client plugins copy the headers of the request, so the upstream receives the attempt span as parent;
+        // the builder of exchange.mutate() would write through to the headers of the original request
+        final HttpHeaders headers = new HttpHeaders();
+        headers.putAll(exchange.getRequest().getHeaders());
+        headers.set(TraceContext.TRACEPARENT, trace.toTraceparent());
+        return exchange.mutate().request(new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        }).build();
+    }
 
     /**
      * Process the Web request.
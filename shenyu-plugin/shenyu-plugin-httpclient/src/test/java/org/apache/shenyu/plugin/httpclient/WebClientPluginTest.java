@@ -23,6 +23,11 @@ import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
+import org.apache.shenyu.plugin.api.trace.ShenyuSpan;
+import org.apache.shenyu.plugin.api.trace.ShenyuTracer;
+import org.apache.shenyu.plugin.api.trace.SpanKind;
+import org.apache.shenyu.plugin.api.trace.TraceContext;
+import org.apache.shenyu.plugin.api.trace.Tracing;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.httpclient.config.DuplicateResponseHeaderProperties;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,14 +51,21 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.context.Context;
 
 import java.net.URI;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -118,6 +130,36 @@ public final class WebClientPluginTest {
         StepVerifier.create(monoErrorTest).expectSubscription().verifyError();
     }
 
+    /**
+     * test case for the propagation of the upstream attempt span.
+     */
+    @Test
+    public void testTraceparent() {
+        final TraceContext chain = TraceContext.root(true);
+        final TraceContext attempt = chain.child();
+        final ShenyuSpan span = mock(ShenyuSpan.class);
+        when(span.getContext()).thenReturn(attempt);
+        when(span.setAttribute(anyString(), any())).thenReturn(span);
+        final ShenyuTracer tracer = mock(ShenyuTracer.class);
+        when(tracer.isEnabled()).thenReturn(true);
+        when(tracer.startSpan(eq("upstream"), eq(SpanKind.CLIENT), eq(chain))).thenReturn(span);
+        final ServerWebExchange exchange = generateServerWebExchange();
+        Tracing.setTracer(tracer);
+        try {
+            Mono<Void> mono = webClientPlugin.execute(exchange, mock(ShenyuPluginChain.class))
+                    .contextWrite(Context.of(Tracing.CONTEXT_KEY, chain));
+            StepVerifier.create(mono).expectSubscription().verifyError();
+        } finally {
+            Tracing.setTracer(null);
+        }
+        final ClientRequest request = captor.getValue();
+        assertEquals(attempt.toTraceparent(), request.headers().getFirst(TraceContext.TRACEPARENT));
+        assertNotEquals(chain.getSpanId(), TraceContext.parse(request.headers().getFirst(TraceContext.TRACEPARENT)).getSpanId());
+        // the incoming request is left untouched
+        assertNull(exchange.getRequest().getHeaders().getFirst(TraceContext.TRACEPARENT));
+        verify(span).end();
+    }
+
     /**
      * test case for WebClientPlugin {@link WebClientPlugin#skip(ServerWebExchange)}.
      */
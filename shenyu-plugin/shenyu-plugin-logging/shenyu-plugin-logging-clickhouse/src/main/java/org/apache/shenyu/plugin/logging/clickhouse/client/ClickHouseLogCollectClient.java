@@ -23,12 +23,10 @@ import com.clickhouse.client.ClickHouseNode;
 import com.clickhouse.client.ClickHouseRequest;
 import com.clickhouse.client.ClickHouseFormat;
 import com.clickhouse.client.ClickHouseProtocol;
-import com.clickhouse.client.ClickHouseValue;
-import com.clickhouse.client.data.ClickHouseIntegerValue;
-import com.clickhouse.client.data.ClickHouseLongValue;
-import com.clickhouse.client.data.ClickHouseOffsetDateTimeValue;
-import com.clickhouse.client.data.ClickHouseStringValue;
+import com.clickhouse.client.ClickHouseResponse;
+import com.clickhouse.client.data.BinaryStreamUtils;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.utils.DateUtils;
 import org.apache.shenyu.plugin.logging.clickhouse.config.ClickHouseLogCollectConfig;
 import org.apache.shenyu.plugin.logging.clickhouse.constant.ClickHouseLoggingConstant;
@@ -36,6 +34,10 @@ import org.apache.shenyu.plugin.logging.common.client.AbstractLogConsumeClient;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
 import org.springframework.lang.NonNull;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.TimeZone;
@@ -45,70 +47,84 @@ import java.util.TimeZone;
  */
 public class ClickHouseLogCollectClient extends AbstractLogConsumeClient<ClickHouseLogCollectConfig.ClickHouseLogConfig, ShenyuRequestLog> {
 
+    private static final int DATETIME_SCALE = 3;
+
+    private static final TimeZone TIME_ZONE = TimeZone.getTimeZone("Asia/Shanghai");
+
+    private static final int ROW_BUFFER_INITIAL_BYTES = 64 * 1024;
+
+    /**
+     * a row buffer grown past this size by an unusually large batch is not kept for the next one.
+     */
+    private static final int ROW_BUFFER_MAX_RETAINED_BYTES = 4 * 1024 * 1024;
+
+    private final ThreadLocal<ByteArrayOutputStream> rowBuffer = ThreadLocal.withInitial(() -> new ByteArrayOutputStream(ROW_BUFFER_INITIAL_BYTES));
+
     private ClickHouseClient client;
 
     private ClickHouseNode endpoint;
 
-    private String database;
+    private String insertSql;
 
     /**
-     * consume logs.
+     * consume logs, the whole batch is encoded into the reused row buffer and written as one RowBinary insert.
      * @param logs logs
      * @throws Exception exception
      */
     @Override
     public void consume0(@NonNull final List<ShenyuRequestLog> logs) throws Exception {
         if (CollectionUtils.isNotEmpty(logs)) {
-            Object[][] datas = new Object[logs.size()][];
-            for (int i = 0; i < logs.size(); i++) {
-                Object[] data = new Object[] {
-                    DateUtils.parseLocalDateTime(logs.get(i).getTimeLocal(), DateUtils.DATE_FORMAT_DATETIME_MILLISECOND),
-                    logs.get(i).getClientIp(),
-                    logs.get(i).getMethod(),
-                    logs.get(i).getRequestHeader(),
-                    logs.get(i).getResponseHeader(),
-                    logs.get(i).getQueryParams(),
-                    logs.get(i).getRequestBody(),
-                    logs.get(i).getRequestUri(),
-                    logs.get(i).getResponseBody(),
-                    logs.get(i).getResponseContentLength(),
-                    logs.get(i).getRpcType(),
-                    logs.get(i).getStatus(),
-                    logs.get(i).getUpstreamIp(),
-                    logs.get(i).getUpstreamResponseTime(),
-                    logs.get(i).getUserAgent(),
-                    logs.get(i).getHost(),
-                    logs.get(i).getModule(),
-                    logs.get(i).getTraceId(),
-                    logs.get(i).getPath(),
-                };
-                datas[i] = data;
+            ByteArrayOutputStream buffer = rowBuffer.get();
+            buffer.reset();
+            try {
+                writeRows(buffer, logs);
+                try (ClickHouseResponse response = client.connect(endpoint).write()
+                        .query(insertSql)
+                        .format(ClickHouseFormat.RowBinary)
+                        .data(buffer::writeTo)
+                        .execute().get()) {
+                    LOG.debug("clickhouse insert {} logs, written rows: {}", logs.size(), response.getSummary().getWrittenRows());
+                }
+            } finally {
+                if (buffer.size() > ROW_BUFFER_MAX_RETAINED_BYTES) {
+                    rowBuffer.remove();
+                }
             }
-            ClickHouseClient.send(endpoint, String.format(ClickHouseLoggingConstant.PRE_INSERT_SQL, database),
-                    new ClickHouseValue[]{
-                            ClickHouseOffsetDateTimeValue.ofNull(3, TimeZone.getTimeZone("Asia/Shanghai")),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseIntegerValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseIntegerValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseLongValue.ofNull(false),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                            ClickHouseStringValue.ofNull(),
-                    }, datas).get();
         }
     }
 
+    private static void writeRows(final OutputStream output, final List<ShenyuRequestLog> logs) throws IOException {
+        for (ShenyuRequestLog log : logs) {
+            // column order and types follow ClickHouseLoggingConstant.CREATE_TABLE_SQL
+            BinaryStreamUtils.writeDateTime64(output, DateUtils.parseLocalDateTime(log.getTimeLocal(), DateUtils.DATE_FORMAT_DATETIME_MILLISECOND),
+                    DATETIME_SCALE, TIME_ZONE);
+            writeString(output, log.getClientIp());
+            writeString(output, log.getMethod());
+            writeString(output, log.getRequestHeader());
+            writeString(output, log.getResponseHeader());
+            writeString(output, log.getQueryParams());
+            writeString(output, log.getRequestBody());
+            writeString(output, log.getRequestUri());
+            writeString(output, log.getResponseBody());
+            BinaryStreamUtils.writeUnsignedInt64(output, Objects.isNull(log.getResponseContentLength()) ? 0L : log.getResponseContentLength());
+            writeString(output, log.getRpcType());
+            BinaryStreamUtils.writeUnsignedInt16(output, Objects.isNull(log.getStatus()) ? 0 : log.getStatus());
+            writeString(output, log.getUpstreamIp());
+            // UInt128 is little endian, a non-negative long only fills the low half
+            BinaryStreamUtils.writeInt64(output, Objects.isNull(log.getUpstreamResponseTime()) ? 0L : Math.max(0L, log.getUpstreamResponseTime()));
+            BinaryStreamUtils.writeInt64(output, 0L);
+            writeString(output, log.getUserAgent());
+            writeString(output, log.getHost());
+            writeString(output, log.getModule());
+            writeString(output, log.getTraceId());
+            writeString(output, log.getPath());
+        }
+    }
+
+    private static void writeString(final OutputStream output, final String value) throws IOException {
+        BinaryStreamUtils.writeString(output, StringUtils.defaultString(value), StandardCharsets.UTF_8);
+    }
+
     @Override
     public void close0() {
         if (Objects.nonNull(client)) {
@@ -126,7 +142,8 @@ public class ClickHouseLogCollectClient extends AbstractLogConsumeClient<ClickHo
         final String username = config.getUsername();
         final String password = config.getPassword();
         final String ttl = config.getTtl().isEmpty() ? "30" : config.getTtl();
-        database = config.getDatabase();
+        final String database = config.getDatabase();
+        insertSql = String.format(ClickHouseLoggingConstant.ROW_BINARY_INSERT_SQL, database);
         endpoint = ClickHouseNode.builder()
             .host(config.getHost())
             .port(ClickHouseProtocol.HTTP, Integer.valueOf(config.getPort()))
@@ -63,13 +63,10 @@ public class ClickHouseLoggingConstant {
             + " AS `%s`.request_log ENGINE = Distributed('%s', '%s', 'request_log', rand());";
 
     /**
-     * The constant PRE_INSERT_SQL.
+     * The constant ROW_BINARY_INSERT_SQL.
      */
-    public static final String PRE_INSERT_SQL = "INSERT INTO `%s`.request_log_distributed"
+    public static final String ROW_BINARY_INSERT_SQL = "INSERT INTO `%s`.request_log_distributed"
             + "(timeLocal, clientIp, method, requestHeader, responseHeader, queryParams, "
             + "requestBody, requestUri, responseBody, responseContentLength, rpcType, status, upstreamIp, upstreamResponseTime, userAgent, host, module, traceId, path) "
-            + "VALUES "
-            + "(:timeLocal, :clientIp,:method, :requestHeader, :responseHeader, :queryParams,"
-            + " :requestBody, :requestUri, :responseBody, :responseContentLength, :rpcType, :status, :upstreamIp, :upstreamResponseTime, :userAgent, :host, :module, :traceId, :path);";
-
+            + "FORMAT RowBinary";
 }
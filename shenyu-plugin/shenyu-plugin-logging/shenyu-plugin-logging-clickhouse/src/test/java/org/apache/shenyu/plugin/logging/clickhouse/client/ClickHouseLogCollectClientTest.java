@@ -17,11 +17,24 @@
 
 package org.apache.shenyu.plugin.logging.clickhouse.client;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.plugin.logging.clickhouse.config.ClickHouseLogCollectConfig;
+import org.apache.shenyu.plugin.logging.clickhouse.constant.ClickHouseLoggingConstant;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
 import org.junit.After;
 import org.junit.jupiter.api.Assertions;
@@ -86,6 +99,104 @@ public class ClickHouseLogCollectClientTest {
         Assertions.assertEquals(msg, "false");
     }
 
+    @Test
+    public void testWriteRows() throws Exception {
+        shenyuRequestLog.setResponseBody("神禹 gateway");
+        ShenyuRequestLog emptyLog = new ShenyuRequestLog();
+        emptyLog.setTimeLocal("2022-08-10 16:21:05.508");
+        logs.add(emptyLog);
+        Method writeRows = ClickHouseLogCollectClient.class.getDeclaredMethod("writeRows", OutputStream.class, List.class);
+        writeRows.setAccessible(true);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeRows.invoke(null, output, logs);
+
+        Map<String, String> columns = tableColumns();
+        // the insert lists the columns in table order, so the rows are decoded in that order too
+        Assertions.assertTrue(ClickHouseLoggingConstant.ROW_BINARY_INSERT_SQL.contains("(" + String.join(", ", columns.keySet()) + ")"));
+        ByteBuffer input = ByteBuffer.wrap(output.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        Map<String, Object> row = readRow(input, columns);
+        long timeLocal = LocalDateTime.of(2022, 8, 10, 16, 21, 5, 508_000_000).atZone(ZoneId.of("Asia/Shanghai")).toInstant().toEpochMilli();
+        Assertions.assertEquals(timeLocal, row.get("timeLocal"));
+        Assertions.assertEquals(shenyuRequestLog.getClientIp(), row.get("clientIp"));
+        Assertions.assertEquals(shenyuRequestLog.getMethod(), row.get("method"));
+        Assertions.assertEquals(shenyuRequestLog.getRequestHeader(), row.get("requestHeader"));
+        Assertions.assertEquals(shenyuRequestLog.getResponseHeader(), row.get("responseHeader"));
+        Assertions.assertEquals(shenyuRequestLog.getQueryParams(), row.get("queryParams"));
+        Assertions.assertEquals(shenyuRequestLog.getRequestBody(), row.get("requestBody"));
+        Assertions.assertEquals(shenyuRequestLog.getRequestUri(), row.get("requestUri"));
+        Assertions.assertEquals(shenyuRequestLog.getResponseBody(), row.get("responseBody"));
+        Assertions.assertEquals(65L, row.get("responseContentLength"));
+        Assertions.assertEquals(shenyuRequestLog.getRpcType(), row.get("rpcType"));
+        Assertions.assertEquals(200, row.get("status"));
+        Assertions.assertEquals(shenyuRequestLog.getUpstreamIp(), row.get("upstreamIp"));
+        Assertions.assertEquals(302L, row.get("upstreamResponseTime"));
+        Assertions.assertEquals(shenyuRequestLog.getUserAgent(), row.get("userAgent"));
+        Assertions.assertEquals(shenyuRequestLog.getHost(), row.get("host"));
+        Assertions.assertEquals(shenyuRequestLog.getModule(), row.get("module"));
+        Assertions.assertEquals(shenyuRequestLog.getTraceId(), row.get("traceId"));
+        Assertions.assertEquals(shenyuRequestLog.getPath(), row.get("path"));
+
+        // no column is Nullable or LowCardinality, so missing values are written as plain defaults
+        Map<String, Object> emptyRow = readRow(input, columns);
+        Assertions.assertEquals(timeLocal, emptyRow.get("timeLocal"));
+        Assertions.assertEquals(0L, emptyRow.get("responseContentLength"));
+        Assertions.assertEquals(0, emptyRow.get("status"));
+        Assertions.assertEquals(0L, emptyRow.get("upstreamResponseTime"));
+        Assertions.assertEquals("", emptyRow.get("clientIp"));
+        Assertions.assertEquals("", emptyRow.get("path"));
+        Assertions.assertFalse(input.hasRemaining());
+    }
+
+    private static Map<String, String> tableColumns() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        Matcher matcher = Pattern.compile("^\\s+(\\w+)\\s+(\\w+),?$", Pattern.MULTILINE).matcher(ClickHouseLoggingConstant.CREATE_TABLE_SQL);
+        while (matcher.find()) {
+            columns.put(matcher.group(1), matcher.group(2));
+        }
+        Assertions.assertEquals(19, columns.size());
+        return columns;
+    }
+
+    private static Map<String, Object> readRow(final ByteBuffer input, final Map<String, String> columns) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        columns.forEach((name, type) -> {
+            switch (type) {
+                case "DateTime64":
+                case "UInt64":
+                    row.put(name, input.getLong());
+                    break;
+                case "UInt16":
+                    row.put(name, Short.toUnsignedInt(input.getShort()));
+                    break;
+                case "UInt128":
+                    long low = input.getLong();
+                    Assertions.assertEquals(0L, input.getLong());
+                    row.put(name, low);
+                    break;
+                case "String":
+                    byte[] value = new byte[readVarInt(input)];
+                    input.get(value);
+                    row.put(name, new String(value, StandardCharsets.UTF_8));
+                    break;
+                default:
+                    Assertions.fail("unexpected column type " + type);
+            }
+        });
+        return row;
+    }
+
+    private static int readVarInt(final ByteBuffer input) {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = input.get();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while (current < 0);
+        return value;
+    }
+
     @After
     public void clean() {
         clickHouseLogCollectClient.close();
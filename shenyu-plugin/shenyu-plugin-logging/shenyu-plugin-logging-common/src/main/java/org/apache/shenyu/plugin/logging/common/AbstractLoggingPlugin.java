@@ -17,14 +17,13 @@
 
 package org.apache.shenyu.plugin.logging.common;
 
-import com.google.common.collect.Sets;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.base.utils.HostAddressUtils;
 import org.apache.shenyu.plugin.logging.common.body.LoggingServerHttpRequest;
 import org.apache.shenyu.plugin.logging.common.body.LoggingServerHttpResponse;
@@ -33,19 +32,21 @@ import org.apache.shenyu.plugin.logging.common.constant.GenericLoggingConstant;
 import org.apache.shenyu.plugin.logging.common.entity.CommonLoggingRuleHandle;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
 import org.apache.shenyu.plugin.logging.common.handler.AbstractLogPluginDataHandler;
+import org.apache.shenyu.plugin.logging.common.sampler.TailSampler;
 import org.apache.shenyu.plugin.logging.common.utils.LogCollectConfigUtils;
 import org.apache.shenyu.plugin.logging.common.utils.LogCollectUtils;
 import org.apache.shenyu.plugin.logging.desensitize.api.enums.DataDesensitizeEnum;
+import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * abstract logging plugin.
@@ -81,22 +82,28 @@ public abstract class AbstractLoggingPlugin<L extends ShenyuRequestLog> extends
     @Override
     public Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain,
                                 final SelectorData selector, final RuleData rule) {
-        CommonLoggingRuleHandle commonLoggingRuleHandle = AbstractLogPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        CommonLoggingRuleHandle commonLoggingRuleHandle = AbstractLogPluginDataHandler.CACHED_HANDLE.get().obtainRuleHandle(rule);
         boolean desensitized = Boolean.FALSE;
-        Set<String> keywordSets = Sets.newHashSet();
+        KeyWordMatch keyWordMatch = null;
         String dataDesensitizeAlg = DataDesensitizeEnum.MD5_ENCRYPT.getDataDesensitizeAlg();
         if (Objects.nonNull(commonLoggingRuleHandle)) {
             String keywords = commonLoggingRuleHandle.getKeyword();
             desensitized = StringUtils.isNotBlank(keywords) && commonLoggingRuleHandle.getMaskStatus();
             if (desensitized) {
-                Collections.addAll(keywordSets, keywords.split(";"));
+                keyWordMatch = commonLoggingRuleHandle.obtainKeyWordMatch();
                 dataDesensitizeAlg = Optional.ofNullable(commonLoggingRuleHandle.getMaskType()).orElse(DataDesensitizeEnum.MD5_ENCRYPT.getDataDesensitizeAlg());
-                LOG.info("current plugin:{}, keyword:{}, dataDesensitizeAlg:{}", pluginEnum().getName(), keywords, dataDesensitizeAlg);
+                LOG.debug("current plugin:{}, keyword:{}, dataDesensitizeAlg:{}", pluginEnum().getName(), keywords, dataDesensitizeAlg);
             }
         }
+        BiConsumer<String, Map<String, Long>> metrics = exchange.getAttribute(Constants.METRICS_LOGGING);
+        if (Objects.nonNull(metrics)) {
+            logCollector().reportMetrics(named(), metrics);
+        }
         ServerHttpRequest request = exchange.getRequest();
-        // control sampling
-        if (!LogCollectConfigUtils.isSampled(exchange, selector)) {
+        // control sampling, with tail sampling every request is followed and decided after the response
+        boolean sampled = LogCollectConfigUtils.isSampled(exchange, selector);
+        TailSampler tailSampler = LogCollectConfigUtils.getTailSampler(selector);
+        if (!sampled && Objects.isNull(tailSampler)) {
             return chain.execute(exchange);
         }
 
@@ -112,12 +119,16 @@ public abstract class AbstractLoggingPlugin<L extends ShenyuRequestLog> extends
         requestInfo.setPath(request.getURI().getRawPath());
         requestInfo.setSelectorId(selector.getId());
         requestInfo.setRuleId(rule.getId());
-        LoggingServerHttpRequest<L> loggingServerHttpRequest = new LoggingServerHttpRequest<>(request, requestInfo);
+        boolean captureStreaming = Objects.nonNull(commonLoggingRuleHandle) && Boolean.TRUE.equals(commonLoggingRuleHandle.getCaptureStreamingBody());
+        LoggingServerHttpRequest<L> loggingServerHttpRequest = new LoggingServerHttpRequest<>(request, requestInfo,
+                LogCollectConfigUtils.getMaxRequestBody(selector, commonLoggingRuleHandle), captureStreaming);
         LoggingServerHttpResponse<L> loggingServerHttpResponse = new LoggingServerHttpResponse<>(exchange.getResponse(),
-                requestInfo, this.logCollector(), desensitized, keywordSets, dataDesensitizeAlg);
+                requestInfo, this.logCollector(), desensitized, keyWordMatch, dataDesensitizeAlg,
+                LogCollectConfigUtils.getMaxResponseBody(selector, commonLoggingRuleHandle), captureStreaming);
         ServerWebExchange webExchange = exchange.mutate().request(loggingServerHttpRequest)
                 .response(loggingServerHttpResponse).build();
         loggingServerHttpResponse.setExchange(webExchange);
+        loggingServerHttpResponse.setSampling(sampled, tailSampler);
         return chain.execute(webExchange).doOnError(loggingServerHttpResponse::logError);
     }
 
@@ -17,44 +17,88 @@
 
 package org.apache.shenyu.plugin.logging.common.body;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * bodyWriter is used to read Body.
+ *
+ * <p>At most {@code maxCapture} bytes are copied into pooled chunks, the rest is only counted
+ * and marks the body as truncated. The bytes are decoded by {@link #output()}, which the log
+ * collector calls on its consumer thread.
  */
 public class BodyWriter {
 
-    private static final Logger LOG = LoggerFactory.getLogger(BodyWriter.class);
+    /**
+     * default max capture size, 512KB.
+     */
+    public static final int DEFAULT_MAX_CAPTURE = 524288;
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private static final int MAX_POOLED_CHUNKS = 2048;
+
+    private static final Queue<byte[]> CHUNK_POOL = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger POOLED_CHUNKS = new AtomicInteger();
+
+    private final int maxCapture;
 
-    private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    private final List<byte[]> chunks = new ArrayList<>();
 
-    private final WritableByteChannel channel = Channels.newChannel(stream);
+    private int captured;
 
-    private final AtomicBoolean isClosed = new AtomicBoolean(false);
+    private long size;
 
+    private boolean truncated;
+
+    private boolean closed;
+
+    /**
+     * Instantiates a body writer capturing at most {@link #DEFAULT_MAX_CAPTURE} bytes.
+     */
+    public BodyWriter() {
+        this(DEFAULT_MAX_CAPTURE);
+    }
+
+    /**
+     * Instantiates a body writer.
+     *
+     * @param maxCapture the max bytes captured, longer bodies are truncated
+     */
+    public BodyWriter(final int maxCapture) {
+        this.maxCapture = Math.max(0, maxCapture);
+    }
 
     /**
      * write ByteBuffer.
      *
      * @param buffer byte buffer
      */
-    public void write(final ByteBuffer buffer) {
-        if (!isClosed.get()) {
-            try {
-                channel.write(buffer);
-            } catch (IOException e) {
-                isClosed.compareAndSet(false, true);
-                LOG.error("write buffer Failed.", e);
+    public synchronized void write(final ByteBuffer buffer) {
+        int remaining = buffer.remaining();
+        size += remaining;
+        if (closed) {
+            return;
+        }
+        int length = Math.min(remaining, maxCapture - captured);
+        if (length < remaining) {
+            truncated = true;
+        }
+        while (length > 0) {
+            int offset = captured % CHUNK_SIZE;
+            if (offset == 0) {
+                chunks.add(acquire());
             }
+            int copy = Math.min(length, CHUNK_SIZE - offset);
+            buffer.get(chunks.get(chunks.size() - 1), offset, copy);
+            captured += copy;
+            length -= copy;
         }
     }
 
@@ -63,45 +107,73 @@ public class BodyWriter {
      *
      * @return true: stream is empty
      */
-    public boolean isEmpty() {
-        return stream.size() == 0;
+    public synchronized boolean isEmpty() {
+        return captured == 0;
     }
 
     /**
-     * get stream size.
+     * get the size of all written bytes, including the ones not captured.
      *
      * @return size of stream
      */
-    public int size() {
-        return stream.size();
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * whether some written bytes were not captured.
+     *
+     * @return true if the body is truncated
+     */
+    public synchronized boolean isTruncated() {
+        return truncated;
     }
 
     /**
-     * output stream value.
+     * output stream value and give the chunks back to the pool.
      *
      * @return string of stream
      */
-    public String output() {
-        if (isEmpty()) {
+    public synchronized String output() {
+        if (closed || captured == 0) {
+            release();
             return "";
         }
-        try {
-            isClosed.compareAndSet(false, true);
-            return new String(stream.toByteArray(), StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            LOG.error("Write failed: ", e);
-            return "Write failed: " + e.getMessage();
-        } finally {
-            try {
-                stream.close();
-            } catch (IOException e) {
-                LOG.error("Close stream error: ", e);
+        String body;
+        if (chunks.size() == 1) {
+            body = new String(chunks.get(0), 0, captured, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[captured];
+            for (int i = 0, offset = 0; i < chunks.size(); i++, offset += CHUNK_SIZE) {
+                System.arraycopy(chunks.get(i), 0, bytes, offset, Math.min(CHUNK_SIZE, captured - offset));
             }
-            try {
-                channel.close();
-            } catch (IOException e) {
-                LOG.error("Close channel error: ", e);
+            body = new String(bytes, StandardCharsets.UTF_8);
+        }
+        release();
+        return body;
+    }
+
+    /**
+     * give the chunks back to the pool without decoding them, later writes are only counted.
+     */
+    public synchronized void release() {
+        closed = true;
+        for (byte[] chunk : chunks) {
+            if (POOLED_CHUNKS.incrementAndGet() <= MAX_POOLED_CHUNKS) {
+                CHUNK_POOL.offer(chunk);
+            } else {
+                POOLED_CHUNKS.decrementAndGet();
             }
         }
+        chunks.clear();
+    }
+
+    private static byte[] acquire() {
+        byte[] chunk = CHUNK_POOL.poll();
+        if (chunk == null) {
+            return new byte[CHUNK_SIZE];
+        }
+        POOLED_CHUNKS.decrementAndGet();
+        return chunk;
     }
 }
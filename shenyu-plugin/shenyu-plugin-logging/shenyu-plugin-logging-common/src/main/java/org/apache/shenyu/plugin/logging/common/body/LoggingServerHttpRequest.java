@@ -18,7 +18,6 @@
 package org.apache.shenyu.plugin.logging.common.body;
 
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
-import org.apache.shenyu.plugin.logging.common.utils.LogCollectConfigUtils;
 import org.apache.shenyu.plugin.logging.common.utils.LogCollectUtils;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -33,9 +32,28 @@ public class LoggingServerHttpRequest<L extends ShenyuRequestLog> extends Server
 
     private final L logInfo;
 
+    private final int maxCapture;
+
+    private final boolean captureStreaming;
+
     public LoggingServerHttpRequest(final ServerHttpRequest delegate, final L logInfo) {
+        this(delegate, logInfo, BodyWriter.DEFAULT_MAX_CAPTURE, false);
+    }
+
+    /**
+     * Instantiates a logging request.
+     *
+     * @param delegate the request
+     * @param logInfo the log the body is captured into
+     * @param maxCapture the max body bytes captured
+     * @param captureStreaming whether streaming bodies are captured too
+     */
+    public LoggingServerHttpRequest(final ServerHttpRequest delegate, final L logInfo,
+                                    final int maxCapture, final boolean captureStreaming) {
         super(delegate);
         this.logInfo = logInfo;
+        this.maxCapture = maxCapture;
+        this.captureStreaming = captureStreaming;
     }
 
     /**
@@ -46,22 +64,17 @@ public class LoggingServerHttpRequest<L extends ShenyuRequestLog> extends Server
     @Override
     @NonNull
     public Flux<DataBuffer> getBody() {
-        BodyWriter writer = new BodyWriter();
+        if (!LogCollectUtils.isNotBinaryType(getHeaders())
+                || !captureStreaming && LogCollectUtils.isStreamingType(getHeaders())) {
+            return super.getBody();
+        }
+        BodyWriter writer = new BodyWriter(maxCapture);
+        // the body is decoded by the log collector, only the captured bytes are kept until then
+        logInfo.deferRequestBody(writer);
         return super.getBody().doOnNext(dataBuffer -> {
-            if (LogCollectUtils.isNotBinaryType(getHeaders())) {
-                try (DataBuffer.ByteBufferIterator bufferIterator = dataBuffer.readableByteBuffers()) {
-                    bufferIterator.forEachRemaining(byteBuffer -> writer.write(byteBuffer.asReadOnlyBuffer()));
-                }
-
-            }
-        }).doFinally(signal -> {
-            int size = writer.size();
-            String body = writer.output();
-            boolean requestBodyTooLarge = LogCollectConfigUtils.isRequestBodyTooLarge(size);
-            if (size == 0 || requestBodyTooLarge) {
-                return;
+            try (DataBuffer.ByteBufferIterator bufferIterator = dataBuffer.readableByteBuffers()) {
+                bufferIterator.forEachRemaining(byteBuffer -> writer.write(byteBuffer.asReadOnlyBuffer()));
             }
-            logInfo.setRequestBody(body);
         });
     }
 }
@@ -20,7 +20,6 @@ package org.apache.shenyu.plugin.logging.common.body;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
-import org.apache.shenyu.common.utils.DateUtils;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
@@ -28,7 +27,7 @@ import org.apache.shenyu.plugin.base.utils.MediaTypeUtils;
 import org.apache.shenyu.plugin.logging.common.collector.LogCollector;
 import org.apache.shenyu.plugin.logging.common.constant.GenericLoggingConstant;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
-import org.apache.shenyu.plugin.logging.common.utils.LogCollectConfigUtils;
+import org.apache.shenyu.plugin.logging.common.sampler.TailSampler;
 import org.apache.shenyu.plugin.logging.common.utils.LogCollectUtils;
 import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
 import org.reactivestreams.Publisher;
@@ -50,7 +49,6 @@ import reactor.util.annotation.NonNull;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 import java.util.Set;
@@ -76,6 +74,14 @@ public class LoggingServerHttpResponse<L extends ShenyuRequestLog> extends Serve
 
     private final KeyWordMatch keyWordMatch;
 
+    private final int maxCapture;
+
+    private final boolean captureStreaming;
+
+    private boolean sampled = true;
+
+    private TailSampler tailSampler;
+
     /**
      * Constructor LoggingServerHttpResponse.
      *
@@ -89,12 +95,52 @@ public class LoggingServerHttpResponse<L extends ShenyuRequestLog> extends Serve
     public LoggingServerHttpResponse(final ServerHttpResponse delegate, final L logInfo,
                                      final LogCollector<L> logCollector, final boolean desensitized,
                                      final Set<String> keyWordSet, final String dataDesensitizeAlg) {
+        this(delegate, logInfo, logCollector, desensitized, keyWordSet, dataDesensitizeAlg, BodyWriter.DEFAULT_MAX_CAPTURE, false);
+    }
+
+    /**
+     * Constructor LoggingServerHttpResponse with bounded body capture.
+     *
+     * @param delegate delegate ServerHttpResponse
+     * @param logInfo access log
+     * @param logCollector LogCollector instance
+     * @param desensitized desensitize flag
+     * @param keyWordSet user keyWord set
+     * @param dataDesensitizeAlg desensitize function
+     * @param maxCapture max captured response body bytes
+     * @param captureStreaming whether streaming bodies such as sse and grpc-web are captured
+     */
+    public LoggingServerHttpResponse(final ServerHttpResponse delegate, final L logInfo,
+                                     final LogCollector<L> logCollector, final boolean desensitized,
+                                     final Set<String> keyWordSet, final String dataDesensitizeAlg,
+                                     final int maxCapture, final boolean captureStreaming) {
+        this(delegate, logInfo, logCollector, desensitized, new KeyWordMatch(keyWordSet), dataDesensitizeAlg, maxCapture, captureStreaming);
+    }
+
+    /**
+     * Constructor LoggingServerHttpResponse with precompiled keywords.
+     *
+     * @param delegate delegate ServerHttpResponse
+     * @param logInfo access log
+     * @param logCollector LogCollector instance
+     * @param desensitized desensitize flag
+     * @param keyWordMatch compiled keywords, may be null when not desensitized
+     * @param dataDesensitizeAlg desensitize function
+     * @param maxCapture max captured response body bytes
+     * @param captureStreaming whether streaming bodies such as sse and grpc-web are captured
+     */
+    public LoggingServerHttpResponse(final ServerHttpResponse delegate, final L logInfo,
+                                     final LogCollector<L> logCollector, final boolean desensitized,
+                                     final KeyWordMatch keyWordMatch, final String dataDesensitizeAlg,
+                                     final int maxCapture, final boolean captureStreaming) {
         super(delegate);
         this.logInfo = logInfo;
         this.logCollector = logCollector;
         this.desensitized = desensitized;
         this.dataDesensitizeAlg = dataDesensitizeAlg;
-        this.keyWordMatch = new KeyWordMatch(keyWordSet);
+        this.keyWordMatch = keyWordMatch;
+        this.maxCapture = maxCapture;
+        this.captureStreaming = captureStreaming;
     }
 
     /**
@@ -106,6 +152,17 @@ public class LoggingServerHttpResponse<L extends ShenyuRequestLog> extends Serve
         this.exchange = exchange;
     }
 
+    /**
+     * set the sampling decisions.
+     *
+     * @param sampled whether the sampler kept the request
+     * @param tailSampler tail sampler deciding after the response, may be null
+     */
+    public void setSampling(final boolean sampled, final TailSampler tailSampler) {
+        this.sampled = sampled;
+        this.tailSampler = tailSampler;
+    }
+
     /**
      * write with a publisher.
      *
@@ -137,12 +194,13 @@ public class LoggingServerHttpResponse<L extends ShenyuRequestLog> extends Serve
         if (MediaTypeUtils.isByteType(mediaType)) {
             return Flux.from(body).doFinally(signal -> logResponse(shenyuContext, null));
         }
-        BodyWriter writer = new BodyWriter();
+        // skipped bodies are still counted for the content length, nothing is copied
+        boolean capture = LogCollectUtils.isNotBinaryType(getHeaders())
+                && (captureStreaming || !LogCollectUtils.isStreamingType(getHeaders()));
+        BodyWriter writer = new BodyWriter(capture ? maxCapture : 0);
         return Flux.from(body).doOnNext(buffer -> {
-            if (LogCollectUtils.isNotBinaryType(getHeaders())) {
-                try (DataBuffer.ByteBufferIterator bufferIterator = buffer.readableByteBuffers()) {
-                    bufferIterator.forEachRemaining(byteBuffer -> writer.write(byteBuffer.asReadOnlyBuffer()));
-                }
+            try (DataBuffer.ByteBufferIterator bufferIterator = buffer.readableByteBuffers()) {
+                bufferIterator.forEachRemaining(byteBuffer -> writer.write(byteBuffer.asReadOnlyBuffer()));
             }
         }).doFinally(signal -> logResponse(shenyuContext, writer));
     }
@@ -158,35 +216,25 @@ public class LoggingServerHttpResponse<L extends ShenyuRequestLog> extends Serve
             String size = StringUtils.defaultIfEmpty(getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH), "0");
             logInfo.setResponseContentLength(Integer.parseInt(size));
         } else if (Objects.nonNull(writer)) {
-            logInfo.setResponseContentLength(writer.size());
+            logInfo.setResponseContentLength((int) Math.min(writer.size(), Integer.MAX_VALUE));
         }
         logInfo.setTimeLocal(shenyuContext.getStartDateTime().format(DATE_TIME_FORMATTER));
         logInfo.setModule(shenyuContext.getModule());
-        long costTime = DateUtils.acquireMillisBetween(shenyuContext.getStartDateTime(), LocalDateTime.now());
-        logInfo.setUpstreamResponseTime(costTime);
+        logInfo.setUpstreamResponseTime(shenyuContext.acquireElapsedMillis());
         logInfo.setMethod(shenyuContext.getMethod());
         logInfo.setRpcType(shenyuContext.getRpcType());
         if (StringUtils.isNotBlank(shenyuContext.getRpcType())) {
             logInfo.setUpstreamIp(getUpstreamIp());
         }
+        logInfo.setWafHits(exchange.getAttribute(Constants.WAF_INSPECTION_HITS));
         if (Objects.nonNull(writer)) {
-            int size = writer.size();
-            String body = writer.output();
-            if (size > 0 && !LogCollectConfigUtils.isResponseBodyTooLarge(size)) {
-                logInfo.setResponseBody(body);
-            }
+            // decoded by the log collector off the event loop
+            logInfo.deferResponseBody(writer);
         } else {
             logInfo.setResponseBody("[bytes]");
         }
 
-        // collect log
-        if (Objects.nonNull(logCollector)) {
-            // desensitize log
-            if (desensitized) {
-                logCollector.desensitize(logInfo, keyWordMatch, dataDesensitizeAlg);
-            }
-            logCollector.collect(logInfo);
-        }
+        collectLog();
     }
 
     /**
@@ -251,28 +299,37 @@ public class LoggingServerHttpResponse<L extends ShenyuRequestLog> extends Serve
         assert shenyuContext != null;
         logInfo.setTimeLocal(shenyuContext.getStartDateTime().format(DATE_TIME_FORMATTER));
         logInfo.setModule(shenyuContext.getModule());
-        long costTime = DateUtils.acquireMillisBetween(shenyuContext.getStartDateTime(), LocalDateTime.now());
-        logInfo.setUpstreamResponseTime(costTime);
+        logInfo.setUpstreamResponseTime(shenyuContext.acquireElapsedMillis());
         logInfo.setResponseHeader(LogCollectUtils.getHeaders(exchange.getResponse().getHeaders()));
         logInfo.setRpcType(shenyuContext.getRpcType());
         logInfo.setMethod(shenyuContext.getMethod());
         if (StringUtils.isNotBlank(shenyuContext.getRpcType())) {
             logInfo.setUpstreamIp(getUpstreamIp());
         }
+        logInfo.setWafHits(exchange.getAttribute(Constants.WAF_INSPECTION_HITS));
 
         int size = bytes.length;
         String body = new String(bytes, StandardCharsets.UTF_8);
-        if (size > 0 && !LogCollectConfigUtils.isResponseBodyTooLarge(size)) {
+        if (size > 0 && size <= maxCapture) {
             logInfo.setResponseBody(body);
         }
-        // collect log
-        if (Objects.nonNull(logCollector)) {
-            // desensitize log
-            if (desensitized) {
-                logCollector.desensitize(logInfo, keyWordMatch, dataDesensitizeAlg);
-            }
-            logCollector.collect(logInfo);
+        collectLog();
+    }
+
+    private void collectLog() {
+        if (Objects.isNull(logCollector)) {
+            return;
+        }
+        boolean kept = Objects.nonNull(tailSampler) && tailSampler.isSampled(logInfo);
+        if (!sampled && !kept) {
+            logInfo.releaseBody();
+            return;
+        }
+        // desensitized by the collector consumer, off the event loop
+        if (desensitized) {
+            logInfo.deferDesensitize(keyWordMatch, dataDesensitizeAlg);
         }
+        logCollector.collect(logInfo, kept);
     }
 
     private String getUpstreamIpFromHttpDomain() {
@@ -26,6 +26,9 @@ import org.springframework.lang.NonNull;
 import org.springframework.util.ObjectUtils;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -49,7 +52,7 @@ public abstract class AbstractLogConsumeClient<T extends GenericGlobalConfig, L
     public abstract void initClient0(@NonNull T config);
 
     /**
-     * consume0.
+     * consume0, returns once the logs are delivered and throws when any of them is not.
      *
      * @param logs logs
      * @throws Exception error
@@ -93,6 +96,15 @@ public abstract class AbstractLogConsumeClient<T extends GenericGlobalConfig, L
         }
     }
 
+    /**
+     * whether the client is started.
+     *
+     * @return true if started
+     */
+    public boolean isStarted() {
+        return isStarted.get();
+    }
+
     @Override
     public void consume(final List<L> logs) throws Exception {
         if (CollectionUtils.isEmpty(logs) || !isStarted.get()) {
@@ -100,4 +112,24 @@ public abstract class AbstractLogConsumeClient<T extends GenericGlobalConfig, L
         }
         this.consume0(logs);
     }
+
+    /**
+     * wait for the asynchronous sends of a batch, so that a failed send fails the batch and a spooled batch is kept.
+     *
+     * @param sends the send futures
+     * @throws Exception the first send error, thrown once every send completed
+     */
+    protected static void awaitSends(final List<? extends Future<?>> sends) throws Exception {
+        Exception error = null;
+        for (Future<?> send : sends) {
+            try {
+                send.get();
+            } catch (ExecutionException e) {
+                error = Objects.isNull(error) ? e : error;
+            }
+        }
+        if (Objects.nonNull(error)) {
+            throw error;
+        }
+    }
 }
@@ -17,30 +17,47 @@
 
 package org.apache.shenyu.plugin.logging.common.collector;
 
+import com.lmax.disruptor.EventPoller;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
 import org.apache.shenyu.common.concurrent.MemorySafeTaskQueue;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.concurrent.ShenyuThreadPoolExecutor;
 import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.utils.JsonUtils;
 import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.common.utils.ThreadUtils;
 import org.apache.shenyu.plugin.logging.common.client.AbstractLogConsumeClient;
 import org.apache.shenyu.plugin.logging.common.config.GenericGlobalConfig;
 import org.apache.shenyu.plugin.logging.common.constant.GenericLoggingConstant;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
+import org.apache.shenyu.plugin.logging.common.spool.DiskLogSpool;
 import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
 
 import static org.apache.shenyu.plugin.logging.desensitize.api.utils.DataDesensitizeUtils.desensitizeForBody;
 import static org.apache.shenyu.plugin.logging.desensitize.api.utils.DataDesensitizeUtils.desensitizeForSingleWord;
@@ -51,74 +68,238 @@ import static org.apache.shenyu.plugin.logging.desensitize.api.utils.DataDesensi
 public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?, L>, L extends ShenyuRequestLog, C extends GenericGlobalConfig>
         implements LogCollector<L> {
 
+    /**
+     * metric name of the logs dropped since the last report.
+     */
+    public static final String DROPPED = "dropped";
+
+    /**
+     * metric name of the logs waiting in the buffer.
+     */
+    public static final String PENDING = "pending";
+
+    /**
+     * metric name of the logs waiting in the disk spool.
+     */
+    public static final String SPOOL_DEPTH = "spoolDepth";
+
+    /**
+     * metric name of the bytes waiting in the disk spool.
+     */
+    public static final String SPOOL_BYTES = "spoolBytes";
+
     private static final Logger LOG = LoggerFactory.getLogger(AbstractLogCollector.class);
 
-    private int bufferSize;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final long DRAIN_TIMEOUT_MS = 5000;
+
+    private static final int PRIORITY_RESERVE_SHIFT = 3;
+
+    private static final long SPOOL_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SPOOL_MIN_BACKOFF_MS = 100;
+
+    private static final long SPOOL_MAX_BACKOFF_MS = 5000;
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final EventTranslatorOneArg<LogEvent<L>, L> translator = (event, sequence, log) -> event.setLog(log);
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final AtomicLong reportedDroppedCount = new AtomicLong();
 
-    private BlockingQueue<L> bufferQueue;
+    private final AtomicLong nextReportNanos = new AtomicLong(System.nanoTime());
 
-    private long lastPushTime;
+    private final AtomicBoolean started = new AtomicBoolean();
 
-    private final AtomicBoolean started = new AtomicBoolean(true);
+    private volatile RingBuffer<LogEvent<L>> ringBuffer;
+
+    private volatile BatchConsumer consumer;
+
+    private volatile SpoolDelivery delivery;
+
+    private ShenyuThreadPoolExecutor threadExecutor;
 
     @Override
-    public void start() {
-        bufferSize = getLogCollectConfig().getBufferQueueSize();
-        bufferQueue = new LinkedBlockingDeque<>(bufferSize);
-        ShenyuConfig config = Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class)).orElse(new ShenyuConfig());
-        final ShenyuConfig.SharedPool sharedPool = config.getSharedPool();
-        ShenyuThreadPoolExecutor threadExecutor = new ShenyuThreadPoolExecutor(sharedPool.getCorePoolSize(),
-                sharedPool.getMaximumPoolSize(), sharedPool.getKeepAliveTime(), TimeUnit.MILLISECONDS,
-                new MemorySafeTaskQueue<>(Constants.THE_256_MB),
-                ShenyuThreadFactory.create(config.getSharedPool().getPrefix(), true),
-                new ThreadPoolExecutor.AbortPolicy());
-        started.set(true);
-        threadExecutor.execute(this::consume);
+    public synchronized void start() {
+        if (!started.compareAndSet(false, true)) {
+            // a restart with a new config drains the previous buffer first
+            stopConsumer();
+        }
+        C collectConfig = getLogCollectConfig();
+        // producers never wait on the strategy, tryPublishEvent fails fast when the ring is full
+        RingBuffer<LogEvent<L>> ring = RingBuffer.createMultiProducer(LogEvent::new, ringSize(collectConfig.getBufferQueueSize()), new SleepingWaitStrategy());
+        EventPoller<LogEvent<L>> poller = ring.newPoller();
+        ring.addGatingSequences(poller.getSequence());
+        DiskLogSpool spool = collectConfig.isSpoolEnabled() ? openSpool(collectConfig) : null;
+        BatchConsumer batchConsumer = new BatchConsumer(poller, Math.max(1, collectConfig.getBufferBatchSize()),
+                TimeUnit.MILLISECONDS.toNanos(Math.max(0, collectConfig.getBufferLingerMs())), spool);
+        if (Objects.isNull(threadExecutor)) {
+            // the stopped consumers have left the pool, so a restart reuses its threads
+            threadExecutor = createExecutor();
+        }
+        ringBuffer = ring;
+        consumer = batchConsumer;
+        threadExecutor.execute(batchConsumer);
+        if (Objects.nonNull(spool)) {
+            SpoolDelivery spoolDelivery = new SpoolDelivery(spool, Math.max(1, collectConfig.getBufferBatchSize()));
+            delivery = spoolDelivery;
+            threadExecutor.execute(spoolDelivery);
+        }
     }
 
     @Override
     public void collect(final L log) {
-        if (Objects.isNull(log) || Objects.isNull(getLogConsumeClient())) {
+        collect(log, false);
+    }
+
+    @Override
+    public void collect(final L log, final boolean priority) {
+        RingBuffer<LogEvent<L>> ring = ringBuffer;
+        if (Objects.isNull(log) || Objects.isNull(ring) || Objects.isNull(getLogConsumeClient())) {
             return;
         }
-        if (bufferQueue.size() < bufferSize) {
-            bufferQueue.add(log);
+        // the last part of the ring is kept for priority logs, so pressure drops ordinary logs first
+        if (!priority && ring.remainingCapacity() <= ring.getBufferSize() >> PRIORITY_RESERVE_SHIFT
+                || !ring.tryPublishEvent(translator, log)) {
+            droppedCount.increment();
         }
     }
 
     @Override
     public void desensitize(final L logInfo, final KeyWordMatch keyWordMatch, final String desensitizeAlg) {
+        logInfo.decodeBody();
         this.desensitizeShenyuRequestLog(logInfo, keyWordMatch, desensitizeAlg);
         this.desensitizeLog(logInfo, keyWordMatch, desensitizeAlg);
     }
 
     /**
-     * batch and async consume.
+     * report the collector metrics at most once per second, dropped is the count since the last report.
+     *
+     * @param pluginName plugin name
+     * @param metrics metrics callback
      */
-    private void consume() {
-        while (started.get()) {
-            int diffTimeMSForPush = 100;
-            try {
-                List<L> logs = new ArrayList<>();
-                int size = bufferQueue.size();
-                long time = System.currentTimeMillis();
-                long timeDiffMs = time - lastPushTime;
-                int batchSize = 100;
-                if (size >= batchSize || timeDiffMs > diffTimeMSForPush) {
-                    bufferQueue.drainTo(logs, batchSize);
-                    AbstractLogConsumeClient<?, L> logCollectClient = getLogConsumeClient();
-                    if (Objects.nonNull(logCollectClient)) {
-                        logCollectClient.consume(logs);
-                    }
-                    lastPushTime = time;
-                } else {
-                    ThreadUtils.sleep(TimeUnit.MILLISECONDS, diffTimeMSForPush);
-                }
-            } catch (Exception e) {
-                LOG.error("DefaultLogCollector collect log error", e);
-                ThreadUtils.sleep(TimeUnit.MILLISECONDS, diffTimeMSForPush);
+    @Override
+    public void reportMetrics(final String pluginName, final BiConsumer<String, Map<String, Long>> metrics) {
+        long now = System.nanoTime();
+        long next = nextReportNanos.get();
+        if (now - next < 0 || !nextReportNanos.compareAndSet(next, now + REPORT_INTERVAL_NANOS)) {
+            return;
+        }
+        long dropped = droppedCount.sum();
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put(DROPPED, dropped - reportedDroppedCount.getAndSet(dropped));
+        stats.put(PENDING, getPendingCount());
+        stats.put(SPOOL_DEPTH, getSpoolDepth());
+        stats.put(SPOOL_BYTES, getSpoolBytes());
+        metrics.accept(pluginName, stats);
+    }
+
+    /**
+     * get the count of logs dropped because the buffer was full.
+     *
+     * @return dropped count
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * get the count of logs waiting in the buffer.
+     *
+     * @return pending count
+     */
+    public long getPendingCount() {
+        RingBuffer<LogEvent<L>> ring = ringBuffer;
+        return Objects.isNull(ring) ? 0 : ring.getBufferSize() - ring.remainingCapacity();
+    }
+
+    /**
+     * get the count of logs waiting in the disk spool.
+     *
+     * @return spool depth, 0 when the spool is disabled
+     */
+    public long getSpoolDepth() {
+        SpoolDelivery current = delivery;
+        return Objects.isNull(current) ? 0 : current.spool.getPendingRecords();
+    }
+
+    /**
+     * get the bytes of logs waiting in the disk spool.
+     *
+     * @return spool bytes, 0 when the spool is disabled
+     */
+    public long getSpoolBytes() {
+        SpoolDelivery current = delivery;
+        return Objects.isNull(current) ? 0 : current.spool.getPendingBytes();
+    }
+
+    private static ShenyuThreadPoolExecutor createExecutor() {
+        ShenyuConfig config = Optional.ofNullable(Singleton.INST.get(ShenyuConfig.class)).orElse(new ShenyuConfig());
+        final ShenyuConfig.SharedPool sharedPool = config.getSharedPool();
+        return new ShenyuThreadPoolExecutor(sharedPool.getCorePoolSize(),
+                sharedPool.getMaximumPoolSize(), sharedPool.getKeepAliveTime(), TimeUnit.MILLISECONDS,
+                new MemorySafeTaskQueue<>(Constants.THE_256_MB),
+                ShenyuThreadFactory.create(sharedPool.getPrefix(), true),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private void stopConsumer() {
+        BatchConsumer current = consumer;
+        if (Objects.isNull(current)) {
+            return;
+        }
+        current.running = false;
+        await(current.drained, "log collector did not drain its buffer in {}ms");
+        SpoolDelivery currentDelivery = delivery;
+        if (Objects.nonNull(currentDelivery)) {
+            // undelivered logs stay on disk and are replayed by the next start
+            currentDelivery.running = false;
+            await(currentDelivery.stopped, "log spool delivery did not stop in {}ms");
+            currentDelivery.spool.close();
+            delivery = null;
+        }
+    }
+
+    private static void await(final CountDownLatch latch, final String timeoutMessage) {
+        try {
+            if (!latch.await(DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                LOG.warn(timeoutMessage, DRAIN_TIMEOUT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private DiskLogSpool openSpool(final C collectConfig) {
+        Path dir = Objects.nonNull(collectConfig.getSpoolDir())
+                ? Paths.get(collectConfig.getSpoolDir())
+                : Paths.get(System.getProperty("java.io.tmpdir"), "shenyu-log-spool", getClass().getSimpleName());
+        try {
+            return new DiskLogSpool(dir, collectConfig.getSpoolSegmentBytes(), collectConfig.getSpoolMaxBytes());
+        } catch (IOException e) {
+            LOG.error("open log spool {} error, logs are sent without spooling", dir, e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<L> logClass() {
+        Type type = getClass().getGenericSuperclass();
+        if (type instanceof ParameterizedType) {
+            Type logType = ((ParameterizedType) type).getActualTypeArguments()[1];
+            if (logType instanceof Class) {
+                return (Class<L>) logType;
             }
         }
+        return (Class<L>) ShenyuRequestLog.class;
+    }
+
+    private static int ringSize(final int bufferQueueSize) {
+        int size = Math.max(2, Math.min(bufferQueueSize, 1 << 30));
+        return Integer.highestOneBit(size - 1) << 1;
     }
 
     private void desensitizeShenyuRequestLog(final L logInfo, final KeyWordMatch keyWordMatch, final String desensitizedAlg) {
@@ -175,11 +356,218 @@ public abstract class AbstractLogCollector<T extends AbstractLogConsumeClient<?,
     protected abstract void desensitizeLog(L log, KeyWordMatch keyWordMatch, String desensitizeAlg);
 
     @Override
-    public void close() throws Exception {
-        started.set(false);
+    public synchronized void close() throws Exception {
+        if (started.compareAndSet(true, false)) {
+            stopConsumer();
+            ringBuffer = null;
+            consumer = null;
+            threadExecutor.shutdown();
+            threadExecutor = null;
+        }
         AbstractLogConsumeClient<?, ?> logCollectClient = getLogConsumeClient();
         if (logCollectClient != null) {
             logCollectClient.close();
         }
     }
+
+    /**
+     * single consumer of the ring buffer, hands logs to the client in batches.
+     */
+    private final class BatchConsumer implements Runnable {
+
+        private final EventPoller<LogEvent<L>> poller;
+
+        private final int batchSize;
+
+        private final long lingerNanos;
+
+        private final DiskLogSpool spool;
+
+        private final CountDownLatch drained = new CountDownLatch(1);
+
+        private volatile boolean running = true;
+
+        private List<L> batch;
+
+        private long batchStartNanos;
+
+        private BatchConsumer(final EventPoller<LogEvent<L>> poller, final int batchSize, final long lingerNanos, final DiskLogSpool spool) {
+            this.poller = poller;
+            this.batchSize = batchSize;
+            this.lingerNanos = lingerNanos;
+            this.spool = spool;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    consume();
+                }
+                drain();
+            } finally {
+                drained.countDown();
+            }
+        }
+
+        /**
+         * batch and async consume.
+         */
+        private void consume() {
+            try {
+                EventPoller.PollState state = poller.poll(this::onLog);
+                if (batch.size() >= batchSize || !batch.isEmpty() && System.nanoTime() - batchStartNanos >= lingerNanos) {
+                    flush();
+                } else if (state != EventPoller.PollState.PROCESSING) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (Exception e) {
+                LOG.error("DefaultLogCollector collect log error", e);
+                ThreadUtils.sleep(TimeUnit.MILLISECONDS, 100);
+            }
+        }
+
+        private void drain() {
+            try {
+                EventPoller.PollState state;
+                do {
+                    state = poller.poll(this::onLog);
+                    flush();
+                } while (state == EventPoller.PollState.PROCESSING);
+            } catch (Exception e) {
+                LOG.error("DefaultLogCollector drain log error", e);
+            }
+        }
+
+        private void spool(final List<L> logs) {
+            for (L log : logs) {
+                try {
+                    if (!spool.append(JsonUtils.toJson(log).getBytes(StandardCharsets.UTF_8))) {
+                        droppedCount.increment();
+                    }
+                } catch (IOException e) {
+                    droppedCount.increment();
+                    LOG.error("spool log error", e);
+                }
+            }
+        }
+
+        private boolean onLog(final LogEvent<L> event, final long sequence, final boolean endOfBatch) {
+            if (batch.isEmpty()) {
+                batchStartNanos = System.nanoTime();
+            }
+            L log = event.takeLog();
+            KeyWordMatch keyWordMatch = log.takeKeyWordMatch();
+            if (Objects.isNull(keyWordMatch)) {
+                log.decodeBody();
+            } else {
+                try {
+                    desensitize(log, keyWordMatch, log.deferredDesensitizeAlg());
+                } catch (RuntimeException e) {
+                    // never ship a log that may still hold sensitive data
+                    droppedCount.increment();
+                    LOG.error("desensitize log error, the log is dropped", e);
+                    return true;
+                }
+            }
+            batch.add(log);
+            return batch.size() < batchSize;
+        }
+
+        private void flush() throws Exception {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<L> logs = batch;
+            batch = new ArrayList<>(batchSize);
+            if (Objects.nonNull(spool)) {
+                spool(logs);
+                return;
+            }
+            AbstractLogConsumeClient<?, L> logCollectClient = getLogConsumeClient();
+            if (Objects.nonNull(logCollectClient)) {
+                logCollectClient.consume(logs);
+            }
+        }
+    }
+
+    /**
+     * replays the disk spool to the client in order, a failed batch is retried until it is delivered.
+     */
+    private final class SpoolDelivery implements Runnable {
+
+        private final DiskLogSpool spool;
+
+        private final int batchSize;
+
+        private final Class<L> logClass = logClass();
+
+        private final CountDownLatch stopped = new CountDownLatch(1);
+
+        private volatile boolean running = true;
+
+        private SpoolDelivery(final DiskLogSpool spool, final int batchSize) {
+            this.spool = spool;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void run() {
+            long backoffMs = 0;
+            try {
+                while (running) {
+                    AbstractLogConsumeClient<?, L> logCollectClient = getLogConsumeClient();
+                    DiskLogSpool.Batch spooled = spool.peek(batchSize);
+                    if (spooled.getRecords().isEmpty() || Objects.isNull(logCollectClient) || !logCollectClient.isStarted()) {
+                        LockSupport.parkNanos(SPOOL_IDLE_PARK_NANOS);
+                        continue;
+                    }
+                    try {
+                        logCollectClient.consume(decode(spooled));
+                        spool.commit(spooled);
+                        backoffMs = 0;
+                    } catch (Exception e) {
+                        backoffMs = Math.min(Math.max(SPOOL_MIN_BACKOFF_MS, backoffMs * 2), SPOOL_MAX_BACKOFF_MS);
+                        LOG.warn("deliver spooled logs error, {} logs spooled, retry in {}ms", spool.getPendingRecords(), backoffMs, e);
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+                    }
+                }
+            } finally {
+                stopped.countDown();
+            }
+        }
+
+        private List<L> decode(final DiskLogSpool.Batch spooled) {
+            List<L> logs = new ArrayList<>(spooled.getRecords().size());
+            for (byte[] record : spooled.getRecords()) {
+                L log = JsonUtils.jsonToObject(new String(record, StandardCharsets.UTF_8), logClass);
+                if (Objects.nonNull(log)) {
+                    logs.add(log);
+                }
+            }
+            return logs;
+        }
+    }
+
+    /**
+     * preallocated ring buffer slot.
+     *
+     * @param <L> log type
+     */
+    private static final class LogEvent<L> {
+
+        private L log;
+
+        private void setLog(final L log) {
+            this.log = log;
+        }
+
+        private L takeLog() {
+            L taken = log;
+            // release the reference so the slot does not pin the log until it is reused
+            log = null;
+            return taken;
+        }
+    }
 }
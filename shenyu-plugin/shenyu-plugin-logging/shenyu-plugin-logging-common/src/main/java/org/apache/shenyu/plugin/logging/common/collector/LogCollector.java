@@ -20,6 +20,9 @@ package org.apache.shenyu.plugin.logging.common.collector;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
 import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
 
+import java.util.Map;
+import java.util.function.BiConsumer;
+
 /**
  * Collect logs and put into buffer queue.
  */
@@ -45,4 +48,23 @@ public interface LogCollector<L extends ShenyuRequestLog> extends AutoCloseable
      * @param log access log
      */
     void collect(L log);
+
+    /**
+     * collect log, priority logs may use the buffer capacity kept back from other logs.
+     *
+     * @param log access log
+     * @param priority whether the log is important
+     */
+    default void collect(L log, boolean priority) {
+        collect(log);
+    }
+
+    /**
+     * report collector metrics, such as dropped and pending logs.
+     *
+     * @param pluginName plugin name
+     * @param metrics metrics callback, receives the plugin name and the metric values
+     */
+    default void reportMetrics(String pluginName, BiConsumer<String, Map<String, Long>> metrics) {
+    }
 }
@@ -18,6 +18,7 @@
 package org.apache.shenyu.plugin.logging.common.config;
 
 import org.apache.shenyu.plugin.logging.common.sampler.Sampler;
+import org.apache.shenyu.plugin.logging.common.sampler.TailSampler;
 
 /**
  * generic global config.
@@ -43,6 +44,60 @@ public class GenericGlobalConfig {
      */
     private int bufferQueueSize = 50000;
 
+    /**
+     * max logs handed to the client at once, default 100.
+     */
+    private int bufferBatchSize = 100;
+
+    /**
+     * max time a partial batch waits for more logs, default 100ms.
+     */
+    private int bufferLingerMs = 100;
+
+    /**
+     * max sampled logs per second of each selector, default 0 means unlimited.
+     */
+    private int maxLogsPerSecond;
+
+    private Sampler rateLimitingSampler;
+
+    /**
+     * keep errors, slow requests and tailSampleStatus logs the sampler dropped, default false.
+     */
+    private boolean tailSampling;
+
+    /**
+     * comma separated status codes always kept by tail sampling.
+     */
+    private String tailSampleStatus;
+
+    /**
+     * per route latency percentile above which tail sampling keeps logs, default 0.99.
+     */
+    private double tailSampleLatencyPercentile = 0.99;
+
+    private TailSampler tailSampler;
+
+    /**
+     * spool logs on local disk before handing them to the client, default false.
+     */
+    private boolean spoolEnabled;
+
+    /**
+     * spool directory, default ${java.io.tmpdir}/shenyu-log-spool/{collector}.
+     */
+    private String spoolDir;
+
+    /**
+     * max size of the spool, default 1GB.
+     */
+    private long spoolMaxBytes = 1L << 30;
+
+    /**
+     * size of one spool segment file, default 64MB.
+     */
+    private int spoolSegmentBytes = 64 << 20;
+
     /**
      * get sampler.
      *
@@ -132,4 +187,220 @@ public class GenericGlobalConfig {
     public void setBufferQueueSize(final int bufferQueueSize) {
         this.bufferQueueSize = bufferQueueSize;
     }
+
+    /**
+     * get buffer batch size.
+     *
+     * @return buffer batch size
+     */
+    public int getBufferBatchSize() {
+        return bufferBatchSize;
+    }
+
+    /**
+     * set buffer batch size.
+     *
+     * @param bufferBatchSize buffer batch size
+     */
+    public void setBufferBatchSize(final int bufferBatchSize) {
+        this.bufferBatchSize = bufferBatchSize;
+    }
+
+    /**
+     * get buffer linger ms.
+     *
+     * @return buffer linger ms
+     */
+    public int getBufferLingerMs() {
+        return bufferLingerMs;
+    }
+
+    /**
+     * set buffer linger ms.
+     *
+     * @param bufferLingerMs buffer linger ms
+     */
+    public void setBufferLingerMs(final int bufferLingerMs) {
+        this.bufferLingerMs = bufferLingerMs;
+    }
+
+    /**
+     * get max logs per second.
+     *
+     * @return max logs per second
+     */
+    public int getMaxLogsPerSecond() {
+        return maxLogsPerSecond;
+    }
+
+    /**
+     * set max logs per second.
+     *
+     * @param maxLogsPerSecond max logs per second
+     */
+    public void setMaxLogsPerSecond(final int maxLogsPerSecond) {
+        this.maxLogsPerSecond = maxLogsPerSecond;
+    }
+
+    /**
+     * get rate limiting sampler.
+     *
+     * @return rate limiting sampler
+     */
+    public Sampler getRateLimitingSampler() {
+        return rateLimitingSampler;
+    }
+
+    /**
+     * set rate limiting sampler.
+     *
+     * @param rateLimitingSampler rate limiting sampler
+     */
+    public void setRateLimitingSampler(final Sampler rateLimitingSampler) {
+        this.rateLimitingSampler = rateLimitingSampler;
+    }
+
+    /**
+     * get tail sampling.
+     *
+     * @return tail sampling
+     */
+    public boolean isTailSampling() {
+        return tailSampling;
+    }
+
+    /**
+     * set tail sampling.
+     *
+     * @param tailSampling tail sampling
+     */
+    public void setTailSampling(final boolean tailSampling) {
+        this.tailSampling = tailSampling;
+    }
+
+    /**
+     * get tail sample status.
+     *
+     * @return tail sample status
+     */
+    public String getTailSampleStatus() {
+        return tailSampleStatus;
+    }
+
+    /**
+     * set tail sample status.
+     *
+     * @param tailSampleStatus tail sample status
+     */
+    public void setTailSampleStatus(final String tailSampleStatus) {
+        this.tailSampleStatus = tailSampleStatus;
+    }
+
+    /**
+     * get tail sample latency percentile.
+     *
+     * @return tail sample latency percentile
+     */
+    public double getTailSampleLatencyPercentile() {
+        return tailSampleLatencyPercentile;
+    }
+
+    /**
+     * set tail sample latency percentile.
+     *
+     * @param tailSampleLatencyPercentile tail sample latency percentile
+     */
+    public void setTailSampleLatencyPercentile(final double tailSampleLatencyPercentile) {
+        this.tailSampleLatencyPercentile = tailSampleLatencyPercentile;
+    }
+
+    /**
+     * get tail sampler.
+     *
+     * @return tail sampler
+     */
+    public TailSampler getTailSampler() {
+        return tailSampler;
+    }
+
+    /**
+     * set tail sampler.
+     *
+     * @param tailSampler tail sampler
+     */
+    public void setTailSampler(final TailSampler tailSampler) {
+        this.tailSampler = tailSampler;
+    }
+
+    /**
+     * get spool enabled.
+     *
+     * @return spool enabled
+     */
+    public boolean isSpoolEnabled() {
+        return spoolEnabled;
+    }
+
+    /**
+     * set spool enabled.
+     *
+     * @param spoolEnabled spool enabled
+     */
+    public void setSpoolEnabled(final boolean spoolEnabled) {
+        this.spoolEnabled = spoolEnabled;
+    }
+
+    /**
+     * get spool dir.
+     *
+     * @return spool dir
+     */
+    public String getSpoolDir() {
+        return spoolDir;
+    }
+
+    /**
+     * set spool dir.
+     *
+     * @param spoolDir spool dir
+     */
+    public void setSpoolDir(final String spoolDir) {
+        this.spoolDir = spoolDir;
+    }
+
+    /**
+     * get spool max bytes.
+     *
+     * @return spool max bytes
+     */
+    public long getSpoolMaxBytes() {
+        return spoolMaxBytes;
+    }
+
+    /**
+     * set spool max bytes.
+     *
+     * @param spoolMaxBytes spool max bytes
+     */
+    public void setSpoolMaxBytes(final long spoolMaxBytes) {
+        this.spoolMaxBytes = spoolMaxBytes;
+    }
+
+    /**
+     * get spool segment bytes.
+     *
+     * @return spool segment bytes
+     */
+    public int getSpoolSegmentBytes() {
+        return spoolSegmentBytes;
+    }
+
+    /**
+     * set spool segment bytes.
+     *
+     * @param spoolSegmentBytes spool segment bytes
+     */
+    public void setSpoolSegmentBytes(final int spoolSegmentBytes) {
+        this.spoolSegmentBytes = spoolSegmentBytes;
+    }
 }
@@ -17,7 +17,13 @@
 
 package org.apache.shenyu.plugin.logging.common.entity;
 
+import com.google.common.collect.Sets;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.convert.rule.RuleHandle;
+import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
+
+import java.util.Collections;
+import java.util.Objects;
 
 /**
  * common logging rule handle.
@@ -39,6 +45,26 @@ public class CommonLoggingRuleHandle implements RuleHandle {
      */
     private Boolean maskStatus;
 
+    /**
+     * max captured request body bytes of this rule, the plugin config is used when absent.
+     */
+    private Integer maxRequestBody;
+
+    /**
+     * max captured response body bytes of this rule, the plugin config is used when absent.
+     */
+    private Integer maxResponseBody;
+
+    /**
+     * whether streaming bodies such as sse and grpc-web are captured, default false.
+     */
+    private Boolean captureStreamingBody;
+
+    /**
+     * the keywords compiled once for the rule, instead of for every request.
+     */
+    private transient volatile KeyWordMatch keyWordMatch;
+
     /**
      * get keyword.
      *
@@ -54,6 +80,21 @@ public class CommonLoggingRuleHandle implements RuleHandle {
      */
     public void setKeyword(final String keyword) {
         this.keyword = keyword;
+        this.keyWordMatch = null;
+    }
+
+    /**
+     * get the compiled keywords, separated by semicolons in {@link #getKeyword()}.
+     *
+     * @return keyword match
+     */
+    public KeyWordMatch obtainKeyWordMatch() {
+        KeyWordMatch match = keyWordMatch;
+        if (Objects.isNull(match)) {
+            match = new KeyWordMatch(StringUtils.isBlank(keyword) ? Collections.emptySet() : Sets.newHashSet(keyword.split(";")));
+            keyWordMatch = match;
+        }
+        return match;
     }
 
     /**
@@ -91,4 +132,58 @@ public class CommonLoggingRuleHandle implements RuleHandle {
     public void setMaskStatus(final Boolean desensitizeStatus) {
         this.maskStatus = desensitizeStatus;
     }
+
+    /**
+     * get max request body.
+     *
+     * @return max request body
+     */
+    public Integer getMaxRequestBody() {
+        return maxRequestBody;
+    }
+
+    /**
+     * set max request body.
+     *
+     * @param maxRequestBody max request body
+     */
+    public void setMaxRequestBody(final Integer maxRequestBody) {
+        this.maxRequestBody = maxRequestBody;
+    }
+
+    /**
+     * get max response body.
+     *
+     * @return max response body
+     */
+    public Integer getMaxResponseBody() {
+        return maxResponseBody;
+    }
+
+    /**
+     * set max response body.
+     *
+     * @param maxResponseBody max response body
+     */
+    public void setMaxResponseBody(final Integer maxResponseBody) {
+        this.maxResponseBody = maxResponseBody;
+    }
+
+    /**
+     * get capture streaming body.
+     *
+     * @return capture streaming body
+     */
+    public Boolean getCaptureStreamingBody() {
+        return captureStreamingBody;
+    }
+
+    /**
+     * set capture streaming body.
+     *
+     * @param captureStreamingBody capture streaming body
+     */
+    public void setCaptureStreamingBody(final Boolean captureStreamingBody) {
+        this.captureStreamingBody = captureStreamingBody;
+    }
 }
@@ -17,6 +17,11 @@
 
 package org.apache.shenyu.plugin.logging.common.entity;
 
+import org.apache.shenyu.plugin.logging.common.body.BodyWriter;
+import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
+
+import java.util.Objects;
+
 /**
  * shenyu gateway access log.
  */
@@ -69,6 +74,32 @@ public class ShenyuRequestLog {
      */
     private String path;
 
+    private Boolean requestBodyTruncated;
+
+    private Boolean responseBodyTruncated;
+
+    /**
+     * signatures found by the waf payload inspection.
+     */
+    private String wafHits;
+
+    /**
+     * captured request body, decoded by {@link #decodeBody()}.
+     */
+    private transient BodyWriter requestBodyWriter;
+
+    /**
+     * captured response body, decoded by {@link #decodeBody()}.
+     */
+    private transient BodyWriter responseBodyWriter;
+
+    /**
+     * keywords to desensitize the log with, applied by the collector with {@link #takeKeyWordMatch()}.
+     */
+    private transient KeyWordMatch keyWordMatch;
+
+    private transient String desensitizeAlg;
+
     /**
      * get module.
      *
@@ -467,6 +498,149 @@ public class ShenyuRequestLog {
         this.ruleId = ruleId;
     }
 
+    /**
+     * whether the request body was cut at the max capture size.
+     *
+     * @return request body truncated
+     */
+    public Boolean getRequestBodyTruncated() {
+        return requestBodyTruncated;
+    }
+
+    /**
+     * set request body truncated.
+     *
+     * @param requestBodyTruncated request body truncated
+     */
+    public void setRequestBodyTruncated(final Boolean requestBodyTruncated) {
+        this.requestBodyTruncated = requestBodyTruncated;
+    }
+
+    /**
+     * whether the response body was cut at the max capture size.
+     *
+     * @return response body truncated
+     */
+    public Boolean getResponseBodyTruncated() {
+        return responseBodyTruncated;
+    }
+
+    /**
+     * set response body truncated.
+     *
+     * @param responseBodyTruncated response body truncated
+     */
+    public void setResponseBodyTruncated(final Boolean responseBodyTruncated) {
+        this.responseBodyTruncated = responseBodyTruncated;
+    }
+
+    /**
+     * signatures found by the waf payload inspection.
+     *
+     * @return waf hits
+     */
+    public String getWafHits() {
+        return wafHits;
+    }
+
+    /**
+     * set waf hits.
+     *
+     * @param wafHits waf hits
+     */
+    public void setWafHits(final String wafHits) {
+        this.wafHits = wafHits;
+    }
+
+    /**
+     * keep the captured request body undecoded until {@link #decodeBody()}.
+     *
+     * @param writer captured request body
+     */
+    public void deferRequestBody(final BodyWriter writer) {
+        this.requestBodyWriter = writer;
+    }
+
+    /**
+     * keep the captured response body undecoded until {@link #decodeBody()}.
+     *
+     * @param writer captured response body
+     */
+    public void deferResponseBody(final BodyWriter writer) {
+        this.responseBodyWriter = writer;
+    }
+
+    /**
+     * give the deferred bodies back without decoding them, when the log is not collected.
+     */
+    public void releaseBody() {
+        if (Objects.nonNull(requestBodyWriter)) {
+            requestBodyWriter.release();
+            requestBodyWriter = null;
+        }
+        if (Objects.nonNull(responseBodyWriter)) {
+            responseBodyWriter.release();
+            responseBodyWriter = null;
+        }
+    }
+
+    /**
+     * keep the log undesensitized until the collector consumes it.
+     *
+     * @param keyWordMatch keywords to desensitize
+     * @param desensitizeAlg data desensitize algorithm
+     */
+    public void deferDesensitize(final KeyWordMatch keyWordMatch, final String desensitizeAlg) {
+        this.keyWordMatch = keyWordMatch;
+        this.desensitizeAlg = desensitizeAlg;
+    }
+
+    /**
+     * take the deferred keywords, so that the log is desensitized once.
+     *
+     * @return the keywords, null if the log isn't to be desensitized
+     */
+    public KeyWordMatch takeKeyWordMatch() {
+        KeyWordMatch match = keyWordMatch;
+        keyWordMatch = null;
+        return match;
+    }
+
+    /**
+     * the deferred desensitize algorithm.
+     *
+     * @return data desensitize algorithm
+     */
+    public String deferredDesensitizeAlg() {
+        return desensitizeAlg;
+    }
+
+    /**
+     * decode the deferred bodies, the collector calls it off the event loop.
+     */
+    public void decodeBody() {
+        BodyWriter writer = requestBodyWriter;
+        if (Objects.nonNull(writer)) {
+            requestBodyWriter = null;
+            if (!writer.isEmpty()) {
+                requestBodyTruncated = writer.isTruncated();
+                requestBody = writer.output();
+            } else {
+                writer.release();
+            }
+        }
+        writer = responseBodyWriter;
+        if (Objects.nonNull(writer)) {
+            responseBodyWriter = null;
+            if (!writer.isEmpty()) {
+                responseBodyTruncated = writer.isTruncated();
+                responseBody = writer.output();
+            } else {
+                writer.release();
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return "ShenyuRequestLog{"
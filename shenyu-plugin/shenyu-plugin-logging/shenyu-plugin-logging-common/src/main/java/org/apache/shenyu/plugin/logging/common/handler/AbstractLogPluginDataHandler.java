@@ -31,6 +31,8 @@ import org.apache.shenyu.plugin.logging.common.collector.LogCollector;
 import org.apache.shenyu.plugin.logging.common.config.GenericApiConfig;
 import org.apache.shenyu.plugin.logging.common.config.GenericGlobalConfig;
 import org.apache.shenyu.plugin.logging.common.entity.CommonLoggingRuleHandle;
+import org.apache.shenyu.plugin.logging.common.sampler.RateLimitingSampler;
+import org.apache.shenyu.plugin.logging.common.sampler.TailSampler;
 import org.apache.shenyu.plugin.logging.common.utils.LogCollectConfigUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -109,6 +111,9 @@ public abstract class AbstractLogPluginDataHandler<T extends GenericGlobalConfig
             }
             Singleton.INST.single(globalLogConfigClass, globalLogConfig);
             globalLogConfig.setSampler(LogCollectConfigUtils.setSampler(globalLogConfig.getSampleRate()));
+            globalLogConfig.setRateLimitingSampler(RateLimitingSampler.create(globalLogConfig.getMaxLogsPerSecond()));
+            globalLogConfig.setTailSampler(TailSampler.create(globalLogConfig.isTailSampling(),
+                    globalLogConfig.getTailSampleStatus(), globalLogConfig.getTailSampleLatencyPercentile()));
             PLUGIN_GLOBAL_CONFIG_MAP.put(pluginData.getId(), globalLogConfig);
         } else {
             try {
@@ -147,7 +152,7 @@ public abstract class AbstractLogPluginDataHandler<T extends GenericGlobalConfig
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             CommonLoggingRuleHandle commonLoggingRuleHandle = GsonUtils.getInstance().fromJson(s, CommonLoggingRuleHandle.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), commonLoggingRuleHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, commonLoggingRuleHandle);
         });
     }
 
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.sampler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * a lock free, decaying latency histogram of one route, used to find latency outliers.
+ *
+ * <p>Buckets keep 3 significant bits (about 12% precision). Every {@link #RECOMPUTE_INTERVAL}
+ * records, the recording thread recomputes the threshold and halves all counts, so the
+ * percentile follows recent traffic.
+ */
+public final class LatencyPercentile {
+
+    /**
+     * records between two threshold computations.
+     */
+    static final int RECOMPUTE_INTERVAL = 256;
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final long MAX_VALUE = Integer.MAX_VALUE;
+
+    private static final int BUCKETS = index(MAX_VALUE) + 1;
+
+    private final double percentile;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong records = new AtomicLong();
+
+    private volatile long threshold = Long.MAX_VALUE;
+
+    /**
+     * Instantiates a latency percentile.
+     *
+     * @param percentile the tracked percentile as a fraction, such as 0.99
+     */
+    public LatencyPercentile(final double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * record a latency.
+     *
+     * @param latency latency in millis
+     */
+    public void record(final long latency) {
+        counts.incrementAndGet(index(Math.max(0, Math.min(latency, MAX_VALUE))));
+        if (records.incrementAndGet() % RECOMPUTE_INTERVAL == 0) {
+            recompute();
+        }
+    }
+
+    /**
+     * whether the latency is above the percentile, always false until enough latencies are recorded.
+     *
+     * @param latency latency in millis
+     * @return true if the latency is an outlier
+     */
+    public boolean isOutlier(final long latency) {
+        return latency > threshold;
+    }
+
+    /**
+     * get the current threshold.
+     *
+     * @return latency at the percentile, Long.MAX_VALUE before the first computation
+     */
+    public long getThreshold() {
+        return threshold;
+    }
+
+    private void recompute() {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        long target = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                threshold = upperBound(i);
+                break;
+            }
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.addAndGet(i, -(snapshot[i] >> 1));
+        }
+    }
+
+    private static int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long upperBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return ((long) (SUB_BUCKETS + index % SUB_BUCKETS + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.sampler;
+
+import org.apache.shenyu.common.dto.SelectorData;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * caps the sampled logs of each selector to a number per second.
+ */
+public class RateLimitingSampler implements Sampler {
+
+    private final int maxPerSecond;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a rate limiting sampler.
+     *
+     * @param maxPerSecond max logs per second of each selector
+     */
+    public RateLimitingSampler(final int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Override
+    public boolean isSampled(final ServerWebExchange exchange, final SelectorData selectorData) {
+        Window window = windows.computeIfAbsent(selectorData.getId(), id -> new Window());
+        return window.tryAcquire(System.currentTimeMillis() / 1000, maxPerSecond);
+    }
+
+    /**
+     * create a sampler instance.
+     *
+     * @param maxPerSecond max logs per second of each selector
+     * @return sampler instance, always sample when the limit is not positive
+     */
+    public static Sampler create(final int maxPerSecond) {
+        return maxPerSecond > 0 ? new RateLimitingSampler(maxPerSecond) : ALWAYS_SAMPLE;
+    }
+
+    /**
+     * fixed one second window of one selector.
+     */
+    private static final class Window {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private volatile long second;
+
+        private boolean tryAcquire(final long now, final int limit) {
+            if (second != now) {
+                synchronized (this) {
+                    if (second != now) {
+                        count.set(0);
+                        second = now;
+                    }
+                }
+            }
+            // a window that is already full is not incremented any further
+            return count.get() < limit && count.incrementAndGet() <= limit;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.sampler;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * decides after the response whether a log must be kept, whatever the head sampler decided.
+ *
+ * <p>Server errors, the configured status codes and requests slower than the route's latency
+ * percentile are kept. Those logs are also collected with priority.
+ */
+public class TailSampler {
+
+    private final boolean[] statuses = new boolean[600];
+
+    private final double latencyPercentile;
+
+    private final Map<String, LatencyPercentile> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a tail sampler.
+     *
+     * @param statusCodes the comma separated status codes always kept
+     * @param latencyPercentile the latency percentile of a route above which logs are kept, not positive to disable
+     */
+    public TailSampler(final String statusCodes, final double latencyPercentile) {
+        this.latencyPercentile = latencyPercentile;
+        if (StringUtils.isNotBlank(statusCodes)) {
+            Arrays.stream(statusCodes.split(","))
+                    .mapToInt(code -> NumberUtils.toInt(code.trim(), -1))
+                    .filter(code -> code >= 0 && code < statuses.length)
+                    .forEach(code -> statuses[code] = true);
+        }
+    }
+
+    /**
+     * record the log's latency and tell whether it must be kept.
+     *
+     * @param log the finished request log
+     * @return true if the log must be kept
+     */
+    public boolean isSampled(final ShenyuRequestLog log) {
+        boolean outlier = false;
+        if (latencyPercentile > 0 && Objects.nonNull(log.getUpstreamResponseTime())) {
+            String route = StringUtils.defaultString(log.getRuleId(), log.getSelectorId());
+            if (Objects.nonNull(route)) {
+                LatencyPercentile percentile = routes.computeIfAbsent(route, key -> new LatencyPercentile(latencyPercentile));
+                long latency = log.getUpstreamResponseTime();
+                outlier = percentile.isOutlier(latency);
+                percentile.record(latency);
+            }
+        }
+        Integer status = log.getStatus();
+        return outlier || Objects.nonNull(status)
+                && (status >= 500 || status >= 0 && status < statuses.length && statuses[status]);
+    }
+
+    /**
+     * create a tail sampler.
+     *
+     * @param enabled           whether tail sampling is enabled
+     * @param statusCodes       comma separated status codes always kept
+     * @param latencyPercentile per route latency percentile above which logs are kept, not positive to disable
+     * @return tail sampler, null when disabled
+     */
+    public static TailSampler create(final boolean enabled, final String statusCodes, final double latencyPercentile) {
+        return enabled ? new TailSampler(statusCodes, latencyPercentile) : null;
+    }
+}
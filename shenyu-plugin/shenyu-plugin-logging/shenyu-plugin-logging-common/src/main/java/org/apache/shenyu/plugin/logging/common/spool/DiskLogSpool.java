@@ -0,0 +1,405 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.spool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * a memory mapped, segment rotated spool of log records, written by the collector and
+ * replayed in order to the log consume client.
+ *
+ * <p>Each segment file holds records of {@code [length][crc32c][payload]}, a zero length
+ * ends the written part. The read position is kept in a checkpoint file, so records that were
+ * not committed are replayed after a restart, records torn by a crash fail the crc and are cut.
+ * Delivery is at least once.
+ */
+public final class DiskLogSpool implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DiskLogSpool.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final String CHECKPOINT = "checkpoint";
+
+    private static final int HEADER_BYTES = 8;
+
+    private static final int CHECKPOINT_BYTES = 12;
+
+    private static final Object UNSAFE;
+
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.warn("mapped log spool segments are released by the garbage collector", e);
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final Path dir;
+
+    private final int segmentBytes;
+
+    private final long maxBytes;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private final FileChannel checkpointChannel;
+
+    private final MappedByteBuffer checkpoint;
+
+    private long nextSegmentId;
+
+    private int readPosition;
+
+    private long pendingRecords;
+
+    private long pendingBytes;
+
+    private boolean closed;
+
+    /**
+     * open the spool, recovering the records left by a previous run.
+     *
+     * @param dir          spool directory
+     * @param segmentBytes size of one segment file
+     * @param maxBytes     max size of all segment files
+     * @throws IOException when the directory cannot be used
+     */
+    public DiskLogSpool(final Path dir, final int segmentBytes, final long maxBytes) throws IOException {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = Math.max(maxBytes, segmentBytes);
+        Files.createDirectories(dir);
+        this.checkpointChannel = FileChannel.open(dir.resolve(CHECKPOINT), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.checkpoint = checkpointChannel.map(FileChannel.MapMode.READ_WRITE, 0, CHECKPOINT_BYTES);
+        recover();
+    }
+
+    /**
+     * append a record.
+     *
+     * @param payload record payload
+     * @return false when the spool is full or the record is larger than a segment
+     * @throws IOException when a new segment cannot be created
+     */
+    public synchronized boolean append(final byte[] payload) throws IOException {
+        int length = HEADER_BYTES + payload.length;
+        if (closed || length + HEADER_BYTES > segmentBytes) {
+            return false;
+        }
+        Segment tail = segments.peekLast();
+        // a record never spans two segments, the header after the last record stays zero
+        if (Objects.isNull(tail) || tail.limit + length + HEADER_BYTES > segmentBytes) {
+            if ((long) (segments.size() + 1) * segmentBytes > maxBytes) {
+                return false;
+            }
+            if (Objects.nonNull(tail)) {
+                tail.buffer.force();
+            }
+            tail = openSegment(nextSegmentId++);
+            segments.addLast(tail);
+            if (segments.size() == 1) {
+                readPosition = 0;
+                writeCheckpoint();
+            }
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        tail.buffer.put(tail.limit + HEADER_BYTES, payload);
+        tail.buffer.putInt(tail.limit + 4, (int) crc.getValue());
+        tail.buffer.putInt(tail.limit + length, 0);
+        // the length is written last, recovery never sees a record before its payload
+        tail.buffer.putInt(tail.limit, payload.length);
+        tail.limit += length;
+        pendingRecords++;
+        pendingBytes += length;
+        return true;
+    }
+
+    /**
+     * read the oldest records without removing them.
+     *
+     * @param max max records
+     * @return the records, to be passed to {@link #commit(Batch)} once delivered
+     */
+    public synchronized Batch peek(final int max) {
+        List<byte[]> records = new ArrayList<>();
+        long segmentId = -1;
+        int position = readPosition;
+        int bytes = 0;
+        for (Segment segment : segments) {
+            if (segmentId >= 0) {
+                position = 0;
+            }
+            segmentId = segment.id;
+            while (records.size() < max && position + HEADER_BYTES <= segment.limit) {
+                int length = segment.buffer.getInt(position);
+                byte[] payload = new byte[length];
+                segment.buffer.get(position + HEADER_BYTES, payload);
+                records.add(payload);
+                position += HEADER_BYTES + length;
+                bytes += HEADER_BYTES + length;
+            }
+            if (records.size() >= max) {
+                break;
+            }
+        }
+        return new Batch(records, segmentId, position, bytes);
+    }
+
+    /**
+     * remove delivered records, segments read to the end are deleted.
+     *
+     * @param batch the delivered batch
+     */
+    public synchronized void commit(final Batch batch) {
+        if (batch.records.isEmpty() || closed) {
+            return;
+        }
+        while (!segments.isEmpty() && segments.peekFirst().id < batch.segmentId) {
+            deleteSegment(segments.pollFirst());
+        }
+        readPosition = batch.position;
+        pendingRecords -= batch.records.size();
+        pendingBytes -= batch.bytes;
+        Segment head = segments.peekFirst();
+        // a read to the end of a sealed segment frees it right away
+        if (Objects.nonNull(head) && segments.size() > 1 && readPosition >= head.limit) {
+            deleteSegment(segments.pollFirst());
+            readPosition = 0;
+        }
+        writeCheckpoint();
+    }
+
+    /**
+     * get the count of records not delivered yet.
+     *
+     * @return pending records
+     */
+    public synchronized long getPendingRecords() {
+        return pendingRecords;
+    }
+
+    /**
+     * get the bytes of records not delivered yet.
+     *
+     * @return pending bytes
+     */
+    public synchronized long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments) {
+            segment.buffer.force();
+            closeQuietly(segment.channel);
+            unmap(segment.buffer);
+        }
+        segments.clear();
+        checkpoint.force();
+        closeQuietly(checkpointChannel);
+        unmap(checkpoint);
+    }
+
+    private void recover() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> ids.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        Collections.sort(ids);
+        long checkpointId = checkpoint.getLong(0);
+        int checkpointPosition = checkpoint.getInt(8);
+        for (long id : ids) {
+            if (id < checkpointId) {
+                Files.deleteIfExists(segmentPath(id));
+                continue;
+            }
+            Segment segment = openSegment(id);
+            int start = id == checkpointId ? checkpointPosition : 0;
+            segment.limit = scan(segment, start);
+            segments.addLast(segment);
+        }
+        Segment head = segments.peekFirst();
+        readPosition = Objects.nonNull(head) && head.id == checkpointId ? Math.min(checkpointPosition, head.limit) : 0;
+        nextSegmentId = Objects.isNull(segments.peekLast()) ? checkpointId : segments.peekLast().id + 1;
+        if (pendingRecords > 0) {
+            LOG.info("log spool {} recovered {} records", dir, pendingRecords);
+        }
+    }
+
+    private int scan(final Segment segment, final int start) {
+        int position = 0;
+        CRC32C crc = new CRC32C();
+        while (position + HEADER_BYTES <= segmentBytes) {
+            int length = segment.buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > segmentBytes) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.buffer.get(position + HEADER_BYTES, payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != segment.buffer.getInt(position + 4)) {
+                LOG.warn("log spool segment {} is corrupted at {}, the rest is discarded", segment.id, position);
+                break;
+            }
+            if (position >= start) {
+                pendingRecords++;
+                pendingBytes += HEADER_BYTES + length;
+            }
+            position += HEADER_BYTES + length;
+        }
+        // clear what follows, so the next record's header is not mistaken for old data
+        if (position + HEADER_BYTES <= segmentBytes) {
+            segment.buffer.putInt(position, 0);
+        }
+        return position;
+    }
+
+    private Segment openSegment(final long id) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(id), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(id, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+    }
+
+    private void deleteSegment(final Segment segment) {
+        closeQuietly(segment.channel);
+        unmap(segment.buffer);
+        try {
+            Files.deleteIfExists(segmentPath(segment.id));
+        } catch (IOException e) {
+            LOG.warn("delete log spool segment {} error", segment.id, e);
+        }
+    }
+
+    private void writeCheckpoint() {
+        Segment head = segments.peekFirst();
+        checkpoint.putLong(0, Objects.isNull(head) ? 0 : head.id);
+        checkpoint.putInt(8, readPosition);
+    }
+
+    private Path segmentPath(final long id) {
+        return dir.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * release a mapped buffer now instead of when it is collected, the buffer must not be used afterwards.
+     *
+     * @param buffer mapped buffer
+     */
+    private static void unmap(final MappedByteBuffer buffer) {
+        if (Objects.isNull(INVOKE_CLEANER)) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            LOG.warn("unmap log spool file error", e);
+        }
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.warn("close log spool file error", e);
+        }
+    }
+
+    /**
+     * records read by {@link #peek(int)}.
+     */
+    public static final class Batch {
+
+        private final List<byte[]> records;
+
+        private final long segmentId;
+
+        private final int position;
+
+        private final int bytes;
+
+        private Batch(final List<byte[]> records, final long segmentId, final int position, final int bytes) {
+            this.records = records;
+            this.segmentId = segmentId;
+            this.position = position;
+            this.bytes = bytes;
+        }
+
+        /**
+         * get records.
+         *
+         * @return records
+         */
+        public List<byte[]> getRecords() {
+            return records;
+        }
+    }
+
+    private static final class Segment {
+
+        private final long id;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        private int limit;
+
+        private Segment(final long id, final FileChannel channel, final MappedByteBuffer buffer) {
+            this.id = id;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -21,9 +21,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.plugin.logging.common.config.GenericApiConfig;
 import org.apache.shenyu.plugin.logging.common.config.GenericGlobalConfig;
+import org.apache.shenyu.plugin.logging.common.entity.CommonLoggingRuleHandle;
 import org.apache.shenyu.plugin.logging.common.handler.AbstractLogPluginDataHandler;
 import org.apache.shenyu.plugin.logging.common.sampler.CountSampler;
 import org.apache.shenyu.plugin.logging.common.sampler.Sampler;
+import org.apache.shenyu.plugin.logging.common.sampler.TailSampler;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.util.Objects;
@@ -97,19 +99,65 @@ public final class LogCollectConfigUtils {
     }
 
     /**
-     * judge whether sample.
+     * get the max captured request body bytes, the rule handle overrides the plugin config.
+     *
+     * @param selectorData selectorData
+     * @param ruleHandle   rule handle, may be null
+     * @return max captured request body bytes
+     */
+    public static int getMaxRequestBody(final SelectorData selectorData, final CommonLoggingRuleHandle ruleHandle) {
+        return Optional.ofNullable(ruleHandle).map(CommonLoggingRuleHandle::getMaxRequestBody)
+                .orElseGet(() -> globalConfig(selectorData).getMaxRequestBody());
+    }
+
+    /**
+     * get the max captured response body bytes, the rule handle overrides the plugin config.
+     *
+     * @param selectorData selectorData
+     * @param ruleHandle   rule handle, may be null
+     * @return max captured response body bytes
+     */
+    public static int getMaxResponseBody(final SelectorData selectorData, final CommonLoggingRuleHandle ruleHandle) {
+        return Optional.ofNullable(ruleHandle).map(CommonLoggingRuleHandle::getMaxResponseBody)
+                .orElseGet(() -> globalConfig(selectorData).getMaxResponseBody());
+    }
+
+    private static GenericGlobalConfig globalConfig(final SelectorData selectorData) {
+        return Optional.ofNullable(AbstractLogPluginDataHandler.getPluginGlobalConfigMap().get(selectorData.getPluginId()))
+                .orElse(genericGlobalConfig);
+    }
+
+    /**
+     * judge whether sample, sampled logs are then capped by the plugin's max logs per second.
      *
      * @param exchange     exchange
      * @param selectorData selectorData
      * @return whether sample
      */
     public static boolean isSampled(final ServerWebExchange exchange, final SelectorData selectorData) {
-        return Optional.ofNullable(AbstractLogPluginDataHandler.getSelectApiConfigMap().get(selectorData.getId()))
+        GenericGlobalConfig pluginConfig = AbstractLogPluginDataHandler.getPluginGlobalConfigMap().get(selectorData.getPluginId());
+        boolean sampled = Optional.ofNullable(AbstractLogPluginDataHandler.getSelectApiConfigMap().get(selectorData.getId()))
                 .map(GenericApiConfig::getSampler)
                 .map(sampler -> sampler.isSampled(exchange, selectorData))
-                .orElseGet(() -> Optional.ofNullable(AbstractLogPluginDataHandler.getPluginGlobalConfigMap().get(selectorData.getPluginId()))
+                .orElseGet(() -> Optional.ofNullable(pluginConfig)
                         .map(GenericGlobalConfig::getSampler)
                         .map(sampler -> sampler.isSampled(exchange, selectorData))
                         .orElse(true));
+        if (!sampled || Objects.isNull(pluginConfig) || Objects.isNull(pluginConfig.getRateLimitingSampler())) {
+            return sampled;
+        }
+        return pluginConfig.getRateLimitingSampler().isSampled(exchange, selectorData);
+    }
+
+    /**
+     * get the plugin's tail sampler.
+     *
+     * @param selectorData selectorData
+     * @return tail sampler, null when tail sampling is disabled
+     */
+    public static TailSampler getTailSampler(final SelectorData selectorData) {
+        return Optional.ofNullable(AbstractLogPluginDataHandler.getPluginGlobalConfigMap().get(selectorData.getPluginId()))
+                .map(GenericGlobalConfig::getTailSampler)
+                .orElse(null);
     }
 }
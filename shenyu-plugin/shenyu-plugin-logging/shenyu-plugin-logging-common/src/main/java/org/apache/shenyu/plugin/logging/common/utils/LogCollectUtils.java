@@ -34,6 +34,8 @@ public class LogCollectUtils {
     private static final List<String> BINARY_TYPE_LIST = Arrays.asList("image", "multipart", "cbor",
             "octet-stream", "pdf", "javascript", "css", "html");
 
+    private static final List<String> STREAMING_SUBTYPE_LIST = Arrays.asList("event-stream", "grpc", "x-ndjson", "stream+json");
+
     /**
      * judge whether is binary type.
      *
@@ -47,6 +49,19 @@ public class LogCollectUtils {
                 .orElse(true);
     }
 
+    /**
+     * judge whether is streaming type, such as sse and grpc-web.
+     *
+     * @param headers request or response header
+     * @return whether streaming type
+     */
+    public static boolean isStreamingType(final HttpHeaders headers) {
+        return Optional.ofNullable(headers).map(HttpHeaders::getContentType)
+                .map(contentType -> STREAMING_SUBTYPE_LIST.contains(contentType.getSubtype())
+                        || contentType.getSubtype().startsWith("grpc-web"))
+                .orElse(false);
+    }
+
     /**
      * get request header string.
      *
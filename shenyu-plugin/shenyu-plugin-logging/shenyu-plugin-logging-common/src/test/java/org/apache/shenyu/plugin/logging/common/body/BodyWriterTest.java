@@ -59,8 +59,8 @@ public class BodyWriterTest {
     @Test
     public void testSize() {
         writer.write(byteBuffer.asReadOnlyBuffer());
-        int size = writer.size();
-        Assertions.assertEquals(size, 13);
+        long size = writer.size();
+        Assertions.assertEquals(size, 13L);
     }
 
     @Test
@@ -69,4 +69,47 @@ public class BodyWriterTest {
         String res = writer.output();
         Assertions.assertEquals(res, "hello, shenyu");
     }
+
+    @Test
+    public void testTruncate() {
+        BodyWriter bounded = new BodyWriter(5);
+        bounded.write(byteBuffer.asReadOnlyBuffer());
+        Assertions.assertEquals(bounded.size(), 13L);
+        Assertions.assertTrue(bounded.isTruncated());
+        Assertions.assertEquals(bounded.output(), "hello");
+    }
+
+    @Test
+    public void testWriteAcrossChunks() {
+        StringBuilder expected = new StringBuilder();
+        BodyWriter large = new BodyWriter(10000);
+        for (int i = 0; i < 1000; i++) {
+            expected.append(sendString);
+            large.write(ByteBuffer.wrap(sendString.getBytes(StandardCharsets.UTF_8)));
+        }
+        Assertions.assertEquals(large.size(), 13000L);
+        Assertions.assertTrue(large.isTruncated());
+        Assertions.assertEquals(large.output(), expected.substring(0, 10000));
+    }
+
+    @Test
+    public void testWriteAfterOutput() {
+        writer.write(byteBuffer.asReadOnlyBuffer());
+        Assertions.assertEquals(writer.output(), "hello, shenyu");
+        writer.write(ByteBuffer.wrap(sendString.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(writer.size(), 26L);
+        Assertions.assertEquals(writer.output(), "");
+    }
+
+    @Test
+    public void testSizeBeyondIntRange() {
+        ByteBuffer megabyte = ByteBuffer.allocate(1024 * 1024);
+        writer.release();
+        // released writers only count, so the same buffer can be written again
+        for (int i = 0; i < 2049; i++) {
+            writer.write(megabyte);
+        }
+        Assertions.assertEquals(writer.size(), 2049L * 1024 * 1024);
+        Assertions.assertTrue(writer.size() > Integer.MAX_VALUE);
+    }
 }
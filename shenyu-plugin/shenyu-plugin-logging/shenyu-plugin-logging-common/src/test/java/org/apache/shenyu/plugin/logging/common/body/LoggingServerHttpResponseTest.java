@@ -196,7 +196,10 @@ public class LoggingServerHttpResponseTest {
         Field field1 = loggingServerHttpResponse.getClass().getDeclaredField("logInfo");
         field1.setAccessible(true);
         ShenyuRequestLog log1 = (ShenyuRequestLog) field1.get(loggingServerHttpResponse);
+        Assertions.assertNull(log1.getResponseBody());
+        log1.decodeBody();
         Assertions.assertEquals(log1.getResponseBody(), "hello, shenyu");
+        Assertions.assertFalse(log1.getResponseBodyTruncated());
         ShenyuContext shenyuContext2 = new ShenyuContext();
         shenyuContext2.setRpcType("http");
         shenyuContext2.setStartDateTime(startDateTime);
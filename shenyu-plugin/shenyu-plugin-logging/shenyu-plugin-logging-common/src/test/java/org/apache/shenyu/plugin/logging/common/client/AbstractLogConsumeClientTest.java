@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.client;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The Test Case For AbstractLogConsumeClient.
+ */
+public class AbstractLogConsumeClientTest {
+
+    @Test
+    public void testAwaitSends() throws Exception {
+        AbstractLogConsumeClient.awaitSends(Arrays.asList(CompletableFuture.completedFuture(1), CompletableFuture.completedFuture(2)));
+        final CompletableFuture<Integer> pending = new CompletableFuture<>();
+        final CompletableFuture<Integer> failed = CompletableFuture.failedFuture(new IllegalStateException("sink is down"));
+        CompletableFuture.runAsync(() -> pending.complete(3));
+        ExecutionException error = Assertions.assertThrows(ExecutionException.class,
+            () -> AbstractLogConsumeClient.awaitSends(Arrays.asList(failed, pending)));
+        Assertions.assertEquals("sink is down", error.getCause().getMessage());
+        Assertions.assertTrue(pending.isDone());
+    }
+}
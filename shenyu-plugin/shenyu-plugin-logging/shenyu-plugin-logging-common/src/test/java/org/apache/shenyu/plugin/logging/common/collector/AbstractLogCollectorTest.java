@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.collector;
+
+import org.apache.shenyu.plugin.logging.common.client.AbstractLogConsumeClient;
+import org.apache.shenyu.plugin.logging.common.config.GenericGlobalConfig;
+import org.apache.shenyu.common.utils.DigestUtils;
+import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
+import org.apache.shenyu.plugin.logging.desensitize.api.enums.DataDesensitizeEnum;
+import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.lang.NonNull;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Test Case For AbstractLogCollector.
+ */
+public class AbstractLogCollectorTest {
+
+    @Test
+    public void testBatchAndDrainOnClose() throws Exception {
+        GenericGlobalConfig config = new GenericGlobalConfig();
+        config.setBufferQueueSize(1024);
+        config.setBufferBatchSize(10);
+        config.setBufferLingerMs(60_000);
+        TestLogConsumeClient client = new TestLogConsumeClient(null);
+        client.initClient(config);
+        TestLogCollector collector = new TestLogCollector(client, config);
+        collector.start();
+        for (int i = 0; i < 25; i++) {
+            collector.collect(new ShenyuRequestLog());
+        }
+        collector.close();
+        Assertions.assertEquals(25, client.consumed.get());
+        Assertions.assertTrue(client.batchSizes.stream().allMatch(size -> size <= 10));
+        Assertions.assertEquals(0, collector.getDroppedCount());
+    }
+
+    @Test
+    public void testDesensitizeOnConsume() throws Exception {
+        GenericGlobalConfig config = new GenericGlobalConfig();
+        config.setBufferBatchSize(10);
+        TestLogConsumeClient client = new TestLogConsumeClient(null);
+        client.initClient(config);
+        TestLogCollector collector = new TestLogCollector(client, config);
+        collector.start();
+        ShenyuRequestLog log = new ShenyuRequestLog();
+        log.setPath("/secret");
+        log.setResponseContentLength(0);
+        log.setStatus(200);
+        log.setUpstreamResponseTime(1L);
+        log.deferDesensitize(new KeyWordMatch(Collections.singleton("path")), DataDesensitizeEnum.MD5_ENCRYPT.getDataDesensitizeAlg());
+        collector.collect(log);
+        ShenyuRequestLog broken = new ShenyuRequestLog();
+        broken.deferDesensitize(new KeyWordMatch(Collections.singleton("path")), DataDesensitizeEnum.MD5_ENCRYPT.getDataDesensitizeAlg());
+        collector.collect(broken);
+        collector.close();
+        Assertions.assertEquals(1, client.consumed.get());
+        Assertions.assertEquals(DigestUtils.md5Hex("/secret"), client.paths.get(0));
+        Assertions.assertEquals(1, collector.getDroppedCount());
+    }
+
+    @Test
+    public void testDropWhenFull() throws Exception {
+        GenericGlobalConfig config = new GenericGlobalConfig();
+        config.setBufferQueueSize(4);
+        config.setBufferBatchSize(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TestLogConsumeClient client = new TestLogConsumeClient(release);
+        client.initClient(config);
+        TestLogCollector collector = new TestLogCollector(client, config);
+        collector.start();
+        Thread[] producers = new Thread[8];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    collector.collect(new ShenyuRequestLog());
+                }
+            });
+            producers[i].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        Assertions.assertTrue(collector.getDroppedCount() > 0);
+        release.countDown();
+        collector.close();
+        Assertions.assertEquals(800, client.consumed.get() + collector.getDroppedCount());
+    }
+
+    @Test
+    public void testPriorityReserve() throws Exception {
+        GenericGlobalConfig config = new GenericGlobalConfig();
+        config.setBufferQueueSize(16);
+        config.setBufferBatchSize(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TestLogConsumeClient client = new TestLogConsumeClient(release);
+        client.initClient(config);
+        TestLogCollector collector = new TestLogCollector(client, config);
+        collector.start();
+        for (int i = 0; i < 32; i++) {
+            collector.collect(new ShenyuRequestLog());
+        }
+        long dropped = collector.getDroppedCount();
+        Assertions.assertTrue(dropped > 0);
+        collector.collect(new ShenyuRequestLog(), true);
+        collector.collect(new ShenyuRequestLog(), true);
+        Assertions.assertEquals(dropped, collector.getDroppedCount());
+        release.countDown();
+        collector.close();
+        Assertions.assertEquals(34, client.consumed.get() + collector.getDroppedCount());
+    }
+
+    @Test
+    public void testRestartDrainsPreviousBuffer() throws Exception {
+        GenericGlobalConfig config = new GenericGlobalConfig();
+        config.setBufferBatchSize(10);
+        config.setBufferLingerMs(60_000);
+        TestLogConsumeClient client = new TestLogConsumeClient(null);
+        client.initClient(config);
+        TestLogCollector collector = new TestLogCollector(client, config);
+        collector.start();
+        for (int i = 0; i < 3; i++) {
+            collector.collect(new ShenyuRequestLog());
+        }
+        collector.start();
+        Assertions.assertEquals(3, client.consumed.get());
+        collector.collect(new ShenyuRequestLog());
+        collector.close();
+        collector.close();
+        Assertions.assertEquals(4, client.consumed.get());
+    }
+
+    @Test
+    public void testReportMetrics() throws Exception {
+        GenericGlobalConfig config = new GenericGlobalConfig();
+        config.setBufferQueueSize(4);
+        config.setBufferBatchSize(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TestLogConsumeClient client = new TestLogConsumeClient(release);
+        client.initClient(config);
+        TestLogCollector collector = new TestLogCollector(client, config);
+        collector.start();
+        for (int i = 0; i < 20; i++) {
+            collector.collect(new ShenyuRequestLog());
+        }
+        Map<String, Long> reported = new HashMap<>();
+        collector.reportMetrics("loggingConsole", (plugin, stats) -> reported.putAll(stats));
+        Assertions.assertEquals(collector.getDroppedCount(), reported.get(AbstractLogCollector.DROPPED));
+        Assertions.assertTrue(reported.get(AbstractLogCollector.PENDING) > 0);
+        Assertions.assertEquals(0L, reported.get(AbstractLogCollector.SPOOL_DEPTH));
+        Assertions.assertEquals(0L, reported.get(AbstractLogCollector.SPOOL_BYTES));
+        reported.clear();
+        collector.reportMetrics("loggingConsole", (plugin, stats) -> reported.putAll(stats));
+        Assertions.assertTrue(reported.isEmpty());
+        release.countDown();
+        collector.close();
+    }
+
+    @Test
+    public void testSpoolReplayInOrder(@TempDir final Path dir) throws Exception {
+        GenericGlobalConfig config = new GenericGlobalConfig();
+        config.setBufferBatchSize(10);
+        config.setBufferLingerMs(1);
+        config.setSpoolEnabled(true);
+        config.setSpoolDir(dir.toString());
+        config.setSpoolSegmentBytes(4096);
+        TestLogConsumeClient client = new TestLogConsumeClient(null);
+        client.initClient(config);
+        client.failures.set(3);
+        TestLogCollector collector = new TestLogCollector(client, config);
+        collector.start();
+        for (int i = 0; i < 50; i++) {
+            ShenyuRequestLog log = new ShenyuRequestLog();
+            log.setPath("/log/" + i);
+            collector.collect(log);
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (client.consumed.get() < 50 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assertions.assertEquals(50, client.consumed.get());
+        Assertions.assertEquals(0, collector.getSpoolDepth());
+        for (int i = 0; i < 50; i++) {
+            Assertions.assertEquals("/log/" + i, client.paths.get(i));
+        }
+        collector.close();
+    }
+
+    @Test
+    public void testSpoolKeptWhileSinkFails(@TempDir final Path dir) throws Exception {
+        GenericGlobalConfig config = new GenericGlobalConfig();
+        config.setBufferBatchSize(10);
+        config.setBufferLingerMs(1);
+        config.setSpoolEnabled(true);
+        config.setSpoolDir(dir.toString());
+        config.setSpoolSegmentBytes(4096);
+        TestLogConsumeClient client = new TestLogConsumeClient(null);
+        client.initClient(config);
+        client.failures.set(Integer.MAX_VALUE);
+        TestLogCollector collector = new TestLogCollector(client, config);
+        collector.start();
+        for (int i = 0; i < 20; i++) {
+            collector.collect(new ShenyuRequestLog());
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (collector.getSpoolDepth() < 20 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        // every delivery attempt fails, so nothing is committed out of the spool
+        Thread.sleep(300);
+        Assertions.assertEquals(20, collector.getSpoolDepth());
+        Assertions.assertEquals(0, client.consumed.get());
+        collector.close();
+    }
+
+    private static final class TestLogCollector extends AbstractLogCollector<TestLogConsumeClient, ShenyuRequestLog, GenericGlobalConfig> {
+
+        private final TestLogConsumeClient client;
+
+        private final GenericGlobalConfig config;
+
+        private TestLogCollector(final TestLogConsumeClient client, final GenericGlobalConfig config) {
+            this.client = client;
+            this.config = config;
+        }
+
+        @Override
+        protected TestLogConsumeClient getLogConsumeClient() {
+            return client;
+        }
+
+        @Override
+        protected GenericGlobalConfig getLogCollectConfig() {
+            return config;
+        }
+
+        @Override
+        protected void desensitizeLog(final ShenyuRequestLog log, final KeyWordMatch keyWordMatch, final String desensitizeAlg) {
+        }
+    }
+
+    private static final class TestLogConsumeClient extends AbstractLogConsumeClient<GenericGlobalConfig, ShenyuRequestLog> {
+
+        private final AtomicInteger consumed = new AtomicInteger();
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        private final List<String> paths = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private final CountDownLatch release;
+
+        private TestLogConsumeClient(final CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void initClient0(@NonNull final GenericGlobalConfig config) {
+        }
+
+        @Override
+        public void consume0(@NonNull final List<ShenyuRequestLog> logs) throws Exception {
+            if (release != null) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("sink is down");
+            }
+            batchSizes.add(logs.size());
+            logs.forEach(log -> paths.add(String.valueOf(log.getPath())));
+            consumed.addAndGet(logs.size());
+        }
+
+        @Override
+        public void close0() {
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.sampler;
+
+import org.apache.shenyu.common.dto.SelectorData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * The Test Case For RateLimitingSampler.
+ */
+public class RateLimitingSamplerTest {
+
+    private final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build());
+
+    @Test
+    public void testCapPerSelector() {
+        Sampler sampler = RateLimitingSampler.create(10);
+        SelectorData first = SelectorData.builder().id("1").build();
+        SelectorData second = SelectorData.builder().id("2").build();
+        int firstSampled = 0;
+        int secondSampled = 0;
+        for (int i = 0; i < 100; i++) {
+            firstSampled += sampler.isSampled(exchange, first) ? 1 : 0;
+            secondSampled += sampler.isSampled(exchange, second) ? 1 : 0;
+        }
+        // the loop may cross one second boundary
+        Assertions.assertTrue(firstSampled >= 10 && firstSampled <= 20);
+        Assertions.assertTrue(secondSampled >= 10 && secondSampled <= 20);
+    }
+
+    @Test
+    public void testCreate() {
+        Assertions.assertEquals(RateLimitingSampler.create(0), Sampler.ALWAYS_SAMPLE);
+        Assertions.assertTrue(RateLimitingSampler.create(1) instanceof RateLimitingSampler);
+    }
+}
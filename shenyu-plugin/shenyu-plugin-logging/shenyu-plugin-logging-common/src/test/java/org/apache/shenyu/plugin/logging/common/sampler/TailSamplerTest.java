@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.sampler;
+
+import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Test Case For TailSampler.
+ */
+public class TailSamplerTest {
+
+    @Test
+    public void testKeepStatus() {
+        TailSampler sampler = TailSampler.create(true, "429, 404", 0);
+        Assertions.assertTrue(sampler.isSampled(log(500, 1)));
+        Assertions.assertTrue(sampler.isSampled(log(429, 1)));
+        Assertions.assertTrue(sampler.isSampled(log(404, 1)));
+        Assertions.assertFalse(sampler.isSampled(log(200, 1)));
+        Assertions.assertNull(TailSampler.create(false, "429", 0.99));
+    }
+
+    @Test
+    public void testKeepLatencyOutlier() {
+        TailSampler sampler = TailSampler.create(true, "", 0.9);
+        // no outlier before the percentile is known
+        Assertions.assertFalse(sampler.isSampled(log(200, 5000)));
+        for (int i = 0; i < LatencyPercentile.RECOMPUTE_INTERVAL; i++) {
+            sampler.isSampled(log(200, i % 100));
+        }
+        Assertions.assertFalse(sampler.isSampled(log(200, 50)));
+        Assertions.assertTrue(sampler.isSampled(log(200, 5000)));
+    }
+
+    @Test
+    public void testLatencyPercentile() {
+        LatencyPercentile percentile = new LatencyPercentile(0.99);
+        Assertions.assertEquals(Long.MAX_VALUE, percentile.getThreshold());
+        for (int i = 0; i < LatencyPercentile.RECOMPUTE_INTERVAL * 4; i++) {
+            percentile.record(i % 1000);
+        }
+        // 3 significant bits, the threshold is the upper bound of the p99 bucket
+        Assertions.assertTrue(percentile.getThreshold() >= 990 && percentile.getThreshold() < 1130);
+        Assertions.assertTrue(percentile.isOutlier(2000));
+        Assertions.assertFalse(percentile.isOutlier(500));
+    }
+
+    private static ShenyuRequestLog log(final int status, final long latency) {
+        ShenyuRequestLog log = new ShenyuRequestLog();
+        log.setStatus(status);
+        log.setUpstreamResponseTime(latency);
+        log.setSelectorId("selector");
+        log.setRuleId("rule");
+        return log;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.common.spool;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The Test Case For DiskLogSpool.
+ */
+public class DiskLogSpoolTest {
+
+    private static final int SEGMENT_BYTES = 1024;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    public void testAppendPeekCommit() throws IOException {
+        try (DiskLogSpool spool = new DiskLogSpool(dir, SEGMENT_BYTES, SEGMENT_BYTES * 4)) {
+            for (int i = 0; i < 5; i++) {
+                Assertions.assertTrue(spool.append(bytes("log-" + i)));
+            }
+            Assertions.assertEquals(5, spool.getPendingRecords());
+            DiskLogSpool.Batch batch = spool.peek(3);
+            Assertions.assertEquals(List.of("log-0", "log-1", "log-2"), strings(batch));
+            // nothing is removed before the commit
+            Assertions.assertEquals(List.of("log-0", "log-1", "log-2"), strings(spool.peek(3)));
+            spool.commit(batch);
+            Assertions.assertEquals(2, spool.getPendingRecords());
+            Assertions.assertEquals(List.of("log-3", "log-4"), strings(spool.peek(10)));
+        }
+    }
+
+    @Test
+    public void testRotateAndCap() throws IOException {
+        try (DiskLogSpool spool = new DiskLogSpool(dir, SEGMENT_BYTES, SEGMENT_BYTES * 2)) {
+            byte[] payload = new byte[200];
+            int appended = 0;
+            while (spool.append(payload)) {
+                appended++;
+            }
+            // two segments of four 208 bytes records, the header after the last record is kept free
+            Assertions.assertEquals(8, appended);
+            Assertions.assertEquals(2, segmentCount());
+            Assertions.assertFalse(spool.append(new byte[SEGMENT_BYTES]));
+            spool.commit(spool.peek(4));
+            Assertions.assertEquals(1, segmentCount());
+            Assertions.assertTrue(spool.append(payload));
+            Assertions.assertEquals(5, spool.getPendingRecords());
+            // the unmapped segment is gone, reads only touch the live ones
+            Assertions.assertEquals(5, spool.peek(8).getRecords().size());
+        }
+    }
+
+    @Test
+    public void testReplayAfterRestart() throws IOException {
+        try (DiskLogSpool spool = new DiskLogSpool(dir, SEGMENT_BYTES, SEGMENT_BYTES * 8)) {
+            for (int i = 0; i < 100; i++) {
+                spool.append(bytes("log-" + i));
+            }
+            spool.commit(spool.peek(40));
+        }
+        try (DiskLogSpool spool = new DiskLogSpool(dir, SEGMENT_BYTES, SEGMENT_BYTES * 8)) {
+            Assertions.assertEquals(60, spool.getPendingRecords());
+            List<String> replayed = strings(spool.peek(100));
+            Assertions.assertEquals(60, replayed.size());
+            Assertions.assertEquals("log-40", replayed.get(0));
+            Assertions.assertEquals("log-99", replayed.get(59));
+            spool.append(bytes("log-100"));
+            Assertions.assertEquals("log-100", strings(spool.peek(100)).get(60));
+        }
+    }
+
+    @Test
+    public void testCorruptedRecordIsCut() throws IOException {
+        try (DiskLogSpool spool = new DiskLogSpool(dir, SEGMENT_BYTES, SEGMENT_BYTES * 4)) {
+            spool.append(bytes("log-0"));
+            spool.append(bytes("log-1"));
+            spool.append(bytes("log-2"));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(path -> path.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // flip one payload byte of the second record
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), 13 + 8);
+        }
+        try (DiskLogSpool spool = new DiskLogSpool(dir, SEGMENT_BYTES, SEGMENT_BYTES * 4)) {
+            Assertions.assertEquals(List.of("log-0"), strings(spool.peek(10)));
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).count();
+        }
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(final DiskLogSpool.Batch batch) {
+        return batch.getRecords().stream().map(record -> new String(record, StandardCharsets.UTF_8)).collect(Collectors.toList());
+    }
+}
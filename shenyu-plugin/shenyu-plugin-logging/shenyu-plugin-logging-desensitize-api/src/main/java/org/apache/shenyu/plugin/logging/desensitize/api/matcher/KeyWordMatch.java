@@ -17,42 +17,149 @@
 
 package org.apache.shenyu.plugin.logging.desensitize.api.matcher;
 
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 /**
- * according input keyWord generate regex.
+ * Matches keys against the configured keywords, case insensitively: a keyword of up to 6 characters
+ * matches the whole key, a longer one matches keys with its first and last 3 characters.
+ *
+ * <p>The keywords are compiled once into a trie, so a key is matched in a single pass over its
+ * characters, and a region of a larger text can be matched without extracting it.
  */
 public class KeyWordMatch {
 
-    private final Pattern p;
+    private static final int EXACT_MAX_LENGTH = 6;
+
+    private static final int AFFIX_LENGTH = 3;
+
+    private final Node root = new Node();
 
     /**
-     * generate regex.
+     * compile the keywords.
      *
      * @param keyWordSet keyWord set
      */
     public KeyWordMatch(final Set<String> keyWordSet) {
-        StringBuilder sb = new StringBuilder();
-        keyWordSet.forEach(tempKeyWord -> {
-            sb.append("(?i)");
-            if (tempKeyWord.length() <= 6) {
-                sb.append(tempKeyWord);
+        keyWordSet.stream().filter(Objects::nonNull).filter(keyWord -> !keyWord.isEmpty()).forEach(keyWord -> {
+            if (keyWord.length() <= EXACT_MAX_LENGTH) {
+                insert(keyWord, keyWord.length()).exact = true;
             } else {
-                sb.append("^").append(tempKeyWord.substring(0, 3)).append("(.*?)").append(tempKeyWord.substring(tempKeyWord.length() - 3)).append("$");
+                insert(keyWord, AFFIX_LENGTH).addSuffix(lowerCase(keyWord.substring(keyWord.length() - AFFIX_LENGTH)));
             }
-            sb.append("||");
         });
-        p = Pattern.compile(sb.toString());
     }
 
     /**
-     * according regex match keyWord.
+     * according keywords match keyWord.
      *
      * @param keyWord keyWord
      * @return isMatch
      */
     public boolean matches(final String keyWord) {
-        return p.matcher(keyWord).matches();
+        return matches(keyWord, 0, keyWord.length());
+    }
+
+    /**
+     * according keywords match a region of a text.
+     *
+     * @param text the text
+     * @param start the start of the key, inclusive
+     * @param end the end of the key, exclusive
+     * @return isMatch
+     */
+    public boolean matches(final CharSequence text, final int start, final int end) {
+        final int length = end - start;
+        Node node = root;
+        for (int i = start; i < end; i++) {
+            if (i - start == AFFIX_LENGTH && Objects.nonNull(node.suffixes) && length >= AFFIX_LENGTH * 2
+                    && endsWithAny(text, end, node.suffixes)) {
+                return true;
+            }
+            node = node.next(lower(text.charAt(i)));
+            if (Objects.isNull(node)) {
+                return false;
+            }
+        }
+        return length > 0 && node.exact;
+    }
+
+    private Node insert(final String keyWord, final int length) {
+        Node node = root;
+        for (int i = 0; i < length; i++) {
+            node = node.child(lower(keyWord.charAt(i)));
+        }
+        return node;
+    }
+
+    private static boolean endsWithAny(final CharSequence text, final int end, final char[][] suffixes) {
+        for (char[] suffix : suffixes) {
+            int offset = end - suffix.length;
+            int i = 0;
+            while (i < suffix.length && lower(text.charAt(offset + i)) == suffix[i]) {
+                i++;
+            }
+            if (i == suffix.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String lowerCase(final String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = lower(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static char lower(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * a trie node, its children sorted by label.
+     */
+    private static final class Node {
+
+        private char[] labels = new char[0];
+
+        private Node[] children = new Node[0];
+
+        private boolean exact;
+
+        private char[][] suffixes;
+
+        private Node next(final char c) {
+            int index = Arrays.binarySearch(labels, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node child(final char c) {
+            int index = Arrays.binarySearch(labels, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertion = -index - 1;
+            char[] grownLabels = new char[labels.length + 1];
+            System.arraycopy(labels, 0, grownLabels, 0, insertion);
+            System.arraycopy(labels, insertion, grownLabels, insertion + 1, labels.length - insertion);
+            grownLabels[insertion] = c;
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertion);
+            System.arraycopy(children, insertion, grown, insertion + 1, children.length - insertion);
+            grown[insertion] = new Node();
+            labels = grownLabels;
+            children = grown;
+            return grown[insertion];
+        }
+
+        private void addSuffix(final String suffix) {
+            char[][] grown = Objects.isNull(suffixes) ? new char[1][] : Arrays.copyOf(suffixes, suffixes.length + 1);
+            grown[grown.length - 1] = suffix.toCharArray();
+            suffixes = grown;
+        }
     }
 }
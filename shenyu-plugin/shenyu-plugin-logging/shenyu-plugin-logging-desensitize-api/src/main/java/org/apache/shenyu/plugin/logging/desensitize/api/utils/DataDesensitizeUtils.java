@@ -17,19 +17,32 @@
 
 package org.apache.shenyu.plugin.logging.desensitize.api.utils;
 
-import org.apache.shenyu.common.utils.JsonUtils;
 import org.apache.shenyu.plugin.logging.desensitize.api.factory.DataDesensitizeFactory;
 import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
 import org.springframework.util.StringUtils;
 
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 
 /**
  * data desensitize utils.
  */
 public final class DataDesensitizeUtils {
 
+    private static final String NULL = "null";
+
+    private static final String EMPTY_JSON = "{}";
+
+    /**
+     * characters other than letters and digits that may appear in an url-encoded form.
+     */
+    private static final String FORM_CHARS = "-._~%+=&*!'(),;:/?@$[]|^`";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
     /**
      * desensitize for single key word.
      *
@@ -78,6 +91,11 @@ public final class DataDesensitizeUtils {
     /**
      * mask for body.
      *
+     * <p>The json is masked in a single pass, without parsing it into objects: the value of every key matching
+     * a keyword, at any depth, is replaced by its desensitized text; the rest of the body is kept as it is.
+     * An url-encoded form, such as a query string, has the values of its matching keys masked; any other body
+     * can't be masked by key and is replaced by an empty json object.
+     *
      * @param desensitized desensitized flag
      * @param source source data
      * @param keyWordMatch keyword match strategy
@@ -86,17 +104,43 @@ public final class DataDesensitizeUtils {
      */
     public static String desensitizeBody(final boolean desensitized, final String source,
                                      final KeyWordMatch keyWordMatch, final String dataDesensitizeAlg) {
-        if (StringUtils.hasLength(source) && desensitized) {
-            Map<String, String> bodyMap = JsonUtils.jsonToMap(source, String.class);
-            bodyMap.forEach((key, value) -> {
-                if (keyWordMatch.matches(key)) {
-                    bodyMap.put(key, DataDesensitizeFactory.selectDesensitize(value, dataDesensitizeAlg));
-                }
-            });
-            return JsonUtils.toJson(bodyMap);
-        } else {
+        if (!StringUtils.hasLength(source) || !desensitized) {
             return source;
         }
+        final int length = source.length();
+        int index = skipWhitespace(source, 0);
+        if (index == length || source.charAt(index) != '{' && source.charAt(index) != '[') {
+            return isForm(source) ? desensitizeForm(source, keyWordMatch, dataDesensitizeAlg) : EMPTY_JSON;
+        }
+        StringBuilder masked = null;
+        int copied = 0;
+        while (index < length) {
+            if (source.charAt(index) != '"') {
+                index++;
+                continue;
+            }
+            int stringEnd = skipString(source, index);
+            int colon = skipWhitespace(source, stringEnd);
+            // only the strings followed by a colon are keys
+            if (colon == length || source.charAt(colon) != ':' || !keyWordMatch.matches(source, index + 1, stringEnd - 1)) {
+                index = stringEnd;
+                continue;
+            }
+            int valueStart = skipWhitespace(source, colon + 1);
+            int valueEnd = skipValue(source, valueStart);
+            index = valueEnd;
+            if (valueEnd == valueStart || valueEnd - valueStart == NULL.length() && source.startsWith(NULL, valueStart)) {
+                continue;
+            }
+            if (Objects.isNull(masked)) {
+                masked = new StringBuilder(length + 16);
+            }
+            masked.append(source, copied, valueStart).append('"');
+            appendEscaped(masked, DataDesensitizeFactory.selectDesensitize(valueOf(source, valueStart, valueEnd), dataDesensitizeAlg));
+            masked.append('"');
+            copied = valueEnd;
+        }
+        return Objects.isNull(masked) ? source : masked.append(source, copied, length).toString();
     }
 
     /**
@@ -117,4 +161,168 @@ public final class DataDesensitizeUtils {
             }
         }
     }
+
+    private static boolean isForm(final String source) {
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (!Character.isLetterOrDigit(c) && FORM_CHARS.indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return source.indexOf('=') > 0;
+    }
+
+    private static String desensitizeForm(final String source, final KeyWordMatch keyWordMatch, final String dataDesensitizeAlg) {
+        StringBuilder masked = null;
+        int copied = 0;
+        int start = 0;
+        while (start < source.length()) {
+            int end = source.indexOf('&', start);
+            end = end < 0 ? source.length() : end;
+            int equals = source.indexOf('=', start);
+            if (equals > start && equals < end && keyWordMatch.matches(decode(source.substring(start, equals)))) {
+                if (Objects.isNull(masked)) {
+                    masked = new StringBuilder(source.length() + 16);
+                }
+                String value = DataDesensitizeFactory.selectDesensitize(decode(source.substring(equals + 1, end)), dataDesensitizeAlg);
+                masked.append(source, copied, equals + 1).append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                copied = end;
+            }
+            start = end + 1;
+        }
+        return Objects.isNull(masked) ? source : masked.append(source, copied, source.length()).toString();
+    }
+
+    private static String decode(final String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // a malformed escape, match it as it was sent
+            return value;
+        }
+    }
+
+    private static int skipWhitespace(final String source, final int from) {
+        int index = from;
+        while (index < source.length() && Character.isWhitespace(source.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int skipString(final String source, final int quote) {
+        int index = quote + 1;
+        while (index < source.length()) {
+            char c = source.charAt(index);
+            if (c == '"') {
+                return index + 1;
+            }
+            index += c == '\\' ? 2 : 1;
+        }
+        return source.length();
+    }
+
+    private static int skipValue(final String source, final int start) {
+        if (start == source.length()) {
+            return start;
+        }
+        char first = source.charAt(start);
+        if (first == '"') {
+            return skipString(source, start);
+        }
+        int index = start;
+        if (first == '{' || first == '[') {
+            int depth = 0;
+            while (index < source.length()) {
+                char c = source.charAt(index);
+                if (c == '"') {
+                    index = skipString(source, index);
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if ((c == '}' || c == ']') && --depth == 0) {
+                    return index + 1;
+                }
+                index++;
+            }
+            return index;
+        }
+        while (index < source.length() && ",}] \t\r\n".indexOf(source.charAt(index)) < 0) {
+            index++;
+        }
+        return index;
+    }
+
+    private static String valueOf(final String source, final int start, final int end) {
+        if (source.charAt(start) != '"' || end - start < 2 || source.charAt(end - 1) != '"') {
+            return source.substring(start, end);
+        }
+        int escape = source.indexOf('\\', start + 1);
+        if (escape < 0 || escape >= end - 1) {
+            return source.substring(start + 1, end - 1);
+        }
+        StringBuilder value = new StringBuilder(end - start);
+        int index = start + 1;
+        while (index < end - 1) {
+            char c = source.charAt(index++);
+            if (c != '\\' || index >= end - 1) {
+                value.append(c);
+                continue;
+            }
+            char escaped = source.charAt(index);
+            switch (escaped) {
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    index = appendUnicode(value, source, index, end - 1);
+                    break;
+                default:
+                    value.append(escaped);
+            }
+            index++;
+        }
+        return value.toString();
+    }
+
+    private static int appendUnicode(final StringBuilder value, final String source, final int u, final int end) {
+        int code = 0;
+        for (int index = u + 1; index <= u + 4; index++) {
+            int digit = index < end ? Character.digit(source.charAt(index), 16) : -1;
+            if (digit < 0) {
+                // not an escape, keep it as it is
+                value.append('u');
+                return u;
+            }
+            code = code << 4 | digit;
+        }
+        value.append((char) code);
+        return u + 4;
+    }
+
+    private static void appendEscaped(final StringBuilder builder, final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+            } else {
+                builder.append(c);
+            }
+        }
+    }
 }
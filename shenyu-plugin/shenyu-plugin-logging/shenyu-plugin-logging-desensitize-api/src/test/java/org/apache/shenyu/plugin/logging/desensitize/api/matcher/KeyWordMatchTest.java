@@ -45,5 +45,18 @@ class KeyWordMatchTest {
         Assertions.assertTrue(keyWordMatch.matches("name"));
         Assertions.assertTrue(keyWordMatch.matches("test"));
         Assertions.assertFalse(keyWordMatch.matches("dsaer"));
+        Assertions.assertTrue(keyWordMatch.matches("DSAxxxDER"));
+        Assertions.assertTrue(keyWordMatch.matches("dsader"));
+        Assertions.assertFalse(keyWordMatch.matches("dsadsade"));
+        Assertions.assertFalse(keyWordMatch.matches("names"));
+        Assertions.assertFalse(keyWordMatch.matches("nam"));
+        Assertions.assertFalse(keyWordMatch.matches(""));
+    }
+
+    @Test
+    public void matchesRegion() {
+        String text = "{\"Name\":1,\"te\":2}";
+        Assertions.assertTrue(keyWordMatch.matches(text, 2, 6));
+        Assertions.assertFalse(keyWordMatch.matches(text, 11, 13));
     }
 }
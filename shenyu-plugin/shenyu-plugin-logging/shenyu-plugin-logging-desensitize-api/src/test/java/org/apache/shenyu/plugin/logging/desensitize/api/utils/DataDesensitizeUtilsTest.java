@@ -19,7 +19,6 @@ package org.apache.shenyu.plugin.logging.desensitize.api.utils;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.shenyu.common.utils.DigestUtils;
-import org.apache.shenyu.common.utils.JsonUtils;
 import org.apache.shenyu.plugin.logging.desensitize.api.enums.DataDesensitizeEnum;
 import org.apache.shenyu.plugin.logging.desensitize.api.matcher.KeyWordMatch;
 import org.junit.jupiter.api.Assertions;
@@ -31,7 +30,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
@@ -65,13 +63,32 @@ public class DataDesensitizeUtilsTest {
         Assertions.assertEquals(JSON_TEXT, noDesensitizedData);
 
         String desensitizedData = DataDesensitizeUtils.desensitizeBody(true, JSON_TEXT, keyWordMatch, DataDesensitizeEnum.MD5_ENCRYPT.getDataDesensitizeAlg());
-        Map<String, String> jsonMap = JsonUtils.jsonToMap(JSON_TEXT, String.class);
-        jsonMap.put("name", DigestUtils.md5Hex(jsonMap.get("name")));
-        String jsonRet = JsonUtils.toJson(jsonMap);
-        Assertions.assertEquals(jsonRet, desensitizedData);
+        // the body keeps its layout, only the matched value is replaced
+        Assertions.assertEquals("{\"id\":\"123\",\"name\":\"" + DigestUtils.md5Hex("jack") + "\"}", desensitizedData);
 
     }
 
+    @Test
+    public void desensitizeNestedBodyTest() {
+        String alg = DataDesensitizeEnum.MD5_ENCRYPT.getDataDesensitizeAlg();
+        String body = "{\"user\": {\"name\" : \"j\\\"ack\", \"age\":3}, \"list\":[{\"NAME\":12}], \"id\":\"name\", \"name\":null}";
+        String expected = "{\"user\": {\"name\" : \"" + DigestUtils.md5Hex("j\"ack") + "\", \"age\":3}, \"list\":[{\"NAME\":\""
+                + DigestUtils.md5Hex("12") + "\"}], \"id\":\"name\", \"name\":null}";
+        Assertions.assertEquals(expected, DataDesensitizeUtils.desensitizeBody(true, body, keyWordMatch, alg));
+        String noMatch = "{\"id\":\"123\"}";
+        Assertions.assertSame(noMatch, DataDesensitizeUtils.desensitizeBody(true, noMatch, keyWordMatch, alg));
+    }
+
+    @Test
+    public void desensitizeNonJsonBodyTest() {
+        String alg = DataDesensitizeEnum.MD5_ENCRYPT.getDataDesensitizeAlg();
+        Assertions.assertEquals("name=" + DigestUtils.md5Hex("jack") + "&id=1", DataDesensitizeUtils.desensitizeBody(true, "name=jack&id=1", keyWordMatch, alg));
+        Assertions.assertEquals("id=1&na%6De=" + DigestUtils.md5Hex("j ack"), DataDesensitizeUtils.desensitizeBody(true, "id=1&na%6De=j+ack", keyWordMatch, alg));
+        Assertions.assertEquals("id=1&flag", DataDesensitizeUtils.desensitizeBody(true, "id=1&flag", keyWordMatch, alg));
+        Assertions.assertEquals("{}", DataDesensitizeUtils.desensitizeBody(true, "<user><name>jack</name></user>", keyWordMatch, alg));
+        Assertions.assertEquals("{}", DataDesensitizeUtils.desensitizeBody(true, "name is jack", keyWordMatch, alg));
+    }
+
     @Test
     public void desensitizeListTest() {
         List<String> list = Arrays.asList("name", "test");
@@ -18,6 +18,7 @@
 package org.apache.shenyu.plugin.logging.elasticsearch.client;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
@@ -98,9 +99,10 @@ public class ElasticSearchLogCollectClient extends AbstractLogConsumeClient<Elas
     /**
      * consume logs.
      * @param logs logs
+     * @throws IOException when the bulk request or any of its items fails
      */
     @Override
-    public void consume0(@NonNull final List<ShenyuRequestLog> logs) {
+    public void consume0(@NonNull final List<ShenyuRequestLog> logs) throws IOException {
         List<BulkOperation> bulkOperations = new ArrayList<>();
         logs.forEach(log -> {
             try {
@@ -110,10 +112,10 @@ public class ElasticSearchLogCollectClient extends AbstractLogConsumeClient<Elas
             }
         });
         // Bulk storage
-        try {
-            client.bulk(e -> e.index(indexName).operations(bulkOperations));
-        } catch (Exception e) {
-            LogUtils.error(LOG, "elasticsearch store logs error: ", e);
+        BulkResponse response = client.bulk(e -> e.index(indexName).operations(bulkOperations));
+        if (response.errors()) {
+            throw new IOException("elasticsearch store logs error, " + response.items().stream()
+                    .filter(item -> Objects.nonNull(item.error())).count() + " of " + bulkOperations.size() + " logs failed");
         }
     }
 
@@ -66,7 +66,7 @@ public class ElasticSearchLogCollectClientTest {
         } catch (Exception e) {
             msg = "false";
         }
-        Assertions.assertEquals(msg, "");
+        Assertions.assertEquals(msg, "false");
         elasticSearchLogCollectClient.close();
     }
 
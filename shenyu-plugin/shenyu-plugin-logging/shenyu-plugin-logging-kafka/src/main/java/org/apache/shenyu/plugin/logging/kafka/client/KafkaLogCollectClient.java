@@ -24,40 +24,62 @@ import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.config.SaslConfigs;
 import org.apache.kafka.common.errors.AuthorizationException;
 import org.apache.kafka.common.errors.OutOfOrderSequenceException;
 import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.apache.shenyu.common.utils.JsonUtils;
 import org.apache.shenyu.plugin.logging.common.client.AbstractLogConsumeClient;
 import org.apache.shenyu.plugin.logging.common.entity.LZ4CompressData;
 import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
+import org.apache.shenyu.plugin.logging.kafka.codec.ProtobufLogEncoder;
 import org.apache.shenyu.plugin.logging.kafka.config.KafkaLogCollectConfig;
 import org.apache.shenyu.plugin.logging.kafka.handler.LoggingKafkaPluginDataHandler;
 import org.springframework.lang.NonNull;
 
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.Future;
 
 /**
  * queue-based logging collector.
  */
 public class KafkaLogCollectClient extends AbstractLogConsumeClient<KafkaLogCollectConfig.KafkaLogConfig, ShenyuRequestLog> {
 
+    /**
+     * record header telling consumers how the value is encoded.
+     */
+    public static final String ENCODING_HEADER = "shenyu-log-encoding";
+
+    /**
+     * protobuf encoding, see shenyu-request-log.proto.
+     */
+    public static final String PROTOBUF_ENCODING = "protobuf";
+
+    private static final String LZ4 = "LZ4";
+
     private static Map<String, String> apiTopicMap = new HashMap<>();
 
-    private KafkaProducer<String, String> producer;
+    private KafkaProducer<String, byte[]> producer;
 
     private String topic;
 
+    private boolean protobuf;
+
+    private int recordBatchSize;
+
     /**
      * init producer.
      *
@@ -79,11 +101,17 @@ public class KafkaLogCollectClient extends AbstractLogConsumeClient<KafkaLogColl
             return;
         }
         this.topic = topic;
+        this.protobuf = PROTOBUF_ENCODING.equalsIgnoreCase(StringUtils.trim(config.getEncoding()));
+        this.recordBatchSize = Math.max(1, config.getRecordBatchSize());
 
         Properties props = new Properties();
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
         props.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, config.getNamesrvAddr());
+        if (protobuf && LZ4.equalsIgnoreCase(StringUtils.trim(config.getCompressAlg()))) {
+            // binary batches are compressed by the producer instead of the json lz4 wrapper
+            props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        }
         if (!StringUtils.isBlank(config.getSecurityProtocol())
                 && !StringUtils.isBlank(config.getSaslMechanism())) {
             props.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, config.getSecurityProtocol());
@@ -94,7 +122,8 @@ public class KafkaLogCollectClient extends AbstractLogConsumeClient<KafkaLogColl
                                     config.getUserName(), config.getPassWord()));
         }
         producer = new KafkaProducer<>(props);
-        ProducerRecord<String, String> record = new ProducerRecord<>(this.topic, StringSerializer.class.getName(), StringSerializer.class.getName());
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(this.topic, StringSerializer.class.getName(),
+                StringSerializer.class.getName().getBytes(StandardCharsets.UTF_8));
         try {
             producer.send(record);
             LOG.info("init kafkaLogCollectClient success");
@@ -111,34 +140,53 @@ public class KafkaLogCollectClient extends AbstractLogConsumeClient<KafkaLogColl
     }
 
     /**
-     * store logs.
+     * store logs, returns once every record is acknowledged.
      *
      * @param logs list of log
+     * @throws Exception the first send error
      */
     @Override
-    public void consume0(@NonNull final List<ShenyuRequestLog> logs) {
-        logs.forEach(log -> {
-            String logTopic = Optional.ofNullable(LoggingKafkaPluginDataHandler.getSelectApiConfigMap().get(log.getSelectorId()))
-                    .map(apiConfig -> StringUtils.defaultIfBlank(apiConfig.getTopic(), topic)
-                    ).orElse(topic);
-            try {
-                producer.send(toProducerRecord(logTopic, log));
-            } catch (Exception e) {
-                LOG.error("kafka push logs error", e);
+    public void consume0(@NonNull final List<ShenyuRequestLog> logs) throws Exception {
+        List<Future<RecordMetadata>> sends = new ArrayList<>();
+        if (protobuf) {
+            consumeBatches(logs, sends);
+        } else {
+            for (ShenyuRequestLog log : logs) {
+                sends.add(producer.send(toProducerRecord(logTopic(log), log)));
+            }
+        }
+        awaitSends(sends);
+    }
+
+    private void consumeBatches(final List<ShenyuRequestLog> logs, final List<Future<RecordMetadata>> sends) {
+        Map<String, List<ShenyuRequestLog>> topicLogs = new HashMap<>();
+        for (ShenyuRequestLog log : logs) {
+            topicLogs.computeIfAbsent(logTopic(log), key -> new ArrayList<>()).add(log);
+        }
+        topicLogs.forEach((logTopic, list) -> {
+            for (int from = 0; from < list.size(); from += recordBatchSize) {
+                List<ShenyuRequestLog> batch = list.subList(from, Math.min(from + recordBatchSize, list.size()));
+                ProducerRecord<String, byte[]> record = new ProducerRecord<>(logTopic, ProtobufLogEncoder.encode(batch));
+                record.headers().add(new RecordHeader(ENCODING_HEADER, PROTOBUF_ENCODING.getBytes(StandardCharsets.UTF_8)));
+                sends.add(producer.send(record));
             }
         });
     }
 
-    private ProducerRecord<String, String> toProducerRecord(final String logTopic, final ShenyuRequestLog log) {
+    private String logTopic(final ShenyuRequestLog log) {
+        return Optional.ofNullable(LoggingKafkaPluginDataHandler.getSelectApiConfigMap().get(log.getSelectorId()))
+                .map(apiConfig -> StringUtils.defaultIfBlank(apiConfig.getTopic(), topic))
+                .orElse(topic);
+    }
+
+    private ProducerRecord<String, byte[]> toProducerRecord(final String logTopic, final ShenyuRequestLog log) {
         byte[] bytes = JsonUtils.toJson(log).getBytes(StandardCharsets.UTF_8);
         String compressAlg = StringUtils.defaultIfBlank(KafkaLogCollectConfig.INSTANCE.getKafkaLogConfig().getCompressAlg(), "");
-        if ("LZ4".equalsIgnoreCase(compressAlg.trim())) {
+        if (LZ4.equalsIgnoreCase(compressAlg.trim())) {
             LZ4CompressData lz4CompressData = new LZ4CompressData(bytes.length, compressedByte(bytes));
-            return new ProducerRecord<>(logTopic, JsonUtils.toJson(lz4CompressData));
-
-        } else {
-            return new ProducerRecord<>(logTopic, JsonUtils.toJson(log));
+            return new ProducerRecord<>(logTopic, JsonUtils.toJson(lz4CompressData).getBytes(StandardCharsets.UTF_8));
         }
+        return new ProducerRecord<>(logTopic, bytes);
     }
 
     private byte[] compressedByte(final byte[] srcByte) {
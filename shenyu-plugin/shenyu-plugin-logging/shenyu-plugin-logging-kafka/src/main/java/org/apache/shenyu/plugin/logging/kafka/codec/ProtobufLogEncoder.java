@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.kafka.codec;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encodes request logs as a {@code ShenyuRequestLogBatch} protobuf message, see shenyu-request-log.proto.
+ *
+ * <p>The message size is computed first, so each batch is written into one exactly sized array
+ * without building any intermediate string.
+ */
+public final class ProtobufLogEncoder {
+
+    private static final int BATCH_LOGS = 1;
+
+    private ProtobufLogEncoder() {
+    }
+
+    /**
+     * Encode the logs into one batch message.
+     *
+     * @param logs the logs
+     * @return the encoded batch
+     */
+    public static byte[] encode(final List<ShenyuRequestLog> logs) {
+        int[] sizes = new int[logs.size()];
+        int total = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = computeLogSize(logs.get(i));
+            total += CodedOutputStream.computeTagSize(BATCH_LOGS) + CodedOutputStream.computeUInt32SizeNoTag(sizes[i]) + sizes[i];
+        }
+        byte[] bytes = new byte[total];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        try {
+            for (int i = 0; i < sizes.length; i++) {
+                output.writeTag(BATCH_LOGS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(sizes[i]);
+                writeLog(output, logs.get(i));
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            // the array is sized exactly, running out of space means the size computation is wrong
+            throw new IllegalStateException("encode request logs error", e);
+        }
+        return bytes;
+    }
+
+    private static int computeLogSize(final ShenyuRequestLog log) {
+        return stringSize(1, log.getClientIp())
+                + stringSize(2, log.getTimeLocal())
+                + stringSize(3, log.getMethod())
+                + stringSize(4, log.getRequestHeader())
+                + stringSize(5, log.getResponseHeader())
+                + stringSize(6, log.getQueryParams())
+                + stringSize(7, log.getRequestBody())
+                + stringSize(8, log.getRequestUri())
+                + stringSize(9, log.getResponseBody())
+                + int32Size(10, log.getResponseContentLength())
+                + stringSize(11, log.getRpcType())
+                + int32Size(12, log.getStatus())
+                + stringSize(13, log.getUpstreamIp())
+                + int64Size(14, log.getUpstreamResponseTime())
+                + stringSize(15, log.getUserAgent())
+                + stringSize(16, log.getHost())
+                + stringSize(17, log.getModule())
+                + stringSize(18, log.getTraceId())
+                + stringSize(19, log.getPath())
+                + stringSize(20, log.getSelectorId())
+                + stringSize(21, log.getRuleId())
+                + stringSize(22, log.getRequestMethod())
+                + boolSize(23, log.getRequestBodyTruncated())
+                + boolSize(24, log.getResponseBodyTruncated())
+                + stringSize(25, log.getWafHits());
+    }
+
+    private static void writeLog(final CodedOutputStream output, final ShenyuRequestLog log) throws IOException {
+        writeString(output, 1, log.getClientIp());
+        writeString(output, 2, log.getTimeLocal());
+        writeString(output, 3, log.getMethod());
+        writeString(output, 4, log.getRequestHeader());
+        writeString(output, 5, log.getResponseHeader());
+        writeString(output, 6, log.getQueryParams());
+        writeString(output, 7, log.getRequestBody());
+        writeString(output, 8, log.getRequestUri());
+        writeString(output, 9, log.getResponseBody());
+        writeInt32(output, 10, log.getResponseContentLength());
+        writeString(output, 11, log.getRpcType());
+        writeInt32(output, 12, log.getStatus());
+        writeString(output, 13, log.getUpstreamIp());
+        writeInt64(output, 14, log.getUpstreamResponseTime());
+        writeString(output, 15, log.getUserAgent());
+        writeString(output, 16, log.getHost());
+        writeString(output, 17, log.getModule());
+        writeString(output, 18, log.getTraceId());
+        writeString(output, 19, log.getPath());
+        writeString(output, 20, log.getSelectorId());
+        writeString(output, 21, log.getRuleId());
+        writeString(output, 22, log.getRequestMethod());
+        writeBool(output, 23, log.getRequestBodyTruncated());
+        writeBool(output, 24, log.getResponseBodyTruncated());
+        writeString(output, 25, log.getWafHits());
+    }
+
+    // proto3 leaves out default values, so null, empty and zero fields cost nothing
+
+    private static int stringSize(final int field, final String value) {
+        return StringUtils.isEmpty(value) ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static int int32Size(final int field, final Integer value) {
+        return Objects.isNull(value) || value == 0 ? 0 : CodedOutputStream.computeInt32Size(field, value);
+    }
+
+    private static int int64Size(final int field, final Long value) {
+        return Objects.isNull(value) || value == 0 ? 0 : CodedOutputStream.computeInt64Size(field, value);
+    }
+
+    private static int boolSize(final int field, final Boolean value) {
+        return Boolean.TRUE.equals(value) ? CodedOutputStream.computeBoolSize(field, true) : 0;
+    }
+
+    private static void writeString(final CodedOutputStream output, final int field, final String value) throws IOException {
+        if (StringUtils.isNotEmpty(value)) {
+            output.writeString(field, value);
+        }
+    }
+
+    private static void writeInt32(final CodedOutputStream output, final int field, final Integer value) throws IOException {
+        if (Objects.nonNull(value) && value != 0) {
+            output.writeInt32(field, value);
+        }
+    }
+
+    private static void writeInt64(final CodedOutputStream output, final int field, final Long value) throws IOException {
+        if (Objects.nonNull(value) && value != 0) {
+            output.writeInt64(field, value);
+        }
+    }
+
+    private static void writeBool(final CodedOutputStream output, final int field, final Boolean value) throws IOException {
+        if (Boolean.TRUE.equals(value)) {
+            output.writeBool(field, true);
+        }
+    }
+}
@@ -73,6 +73,52 @@ public class KafkaLogCollectConfig {
 
         private String passWord;
 
+        /**
+         * record encoding, json or protobuf.
+         */
+        private String encoding = "json";
+
+        /**
+         * logs per kafka record, only used by the protobuf encoding.
+         */
+        private int recordBatchSize = 100;
+
+        /**
+         * get record encoding.
+         *
+         * @return encoding
+         */
+        public String getEncoding() {
+            return encoding;
+        }
+
+        /**
+         * set record encoding.
+         *
+         * @param encoding encoding
+         */
+        public void setEncoding(final String encoding) {
+            this.encoding = encoding;
+        }
+
+        /**
+         * get logs per kafka record.
+         *
+         * @return record batch size
+         */
+        public int getRecordBatchSize() {
+            return recordBatchSize;
+        }
+
+        /**
+         * set logs per kafka record.
+         *
+         * @param recordBatchSize record batch size
+         */
+        public void setRecordBatchSize(final int recordBatchSize) {
+            this.recordBatchSize = recordBatchSize;
+        }
+
         /**
          * get kafka securityProtocol.
          *
@@ -232,6 +278,8 @@ public class KafkaLogCollectConfig {
                     && Objects.equals(getCompressAlg(), that.getCompressAlg())
                     && Objects.equals(getNamesrvAddr(), that.getNamesrvAddr())
                     && Objects.equals(getProducerGroup(), that.getProducerGroup())
+                    && Objects.equals(getEncoding(), that.getEncoding())
+                    && Objects.equals(getRecordBatchSize(), that.getRecordBatchSize())
                     && Objects.equals(getSampleRate(), that.getSampleRate())
                     && Objects.equals(getBufferQueueSize(), that.getBufferQueueSize())
                     && Objects.equals(getMaxRequestBody(), that.getMaxRequestBody())
@@ -240,7 +288,7 @@ public class KafkaLogCollectConfig {
 
         @Override
         public int hashCode() {
-            return Objects.hash(topic, compressAlg, namesrvAddr, producerGroup);
+            return Objects.hash(topic, compressAlg, namesrvAddr, producerGroup, encoding);
         }
     }
 
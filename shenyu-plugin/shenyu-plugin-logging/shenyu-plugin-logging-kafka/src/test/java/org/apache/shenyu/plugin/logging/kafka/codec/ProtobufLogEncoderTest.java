@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.kafka.codec;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import org.apache.shenyu.common.utils.JsonUtils;
+import org.apache.shenyu.plugin.logging.common.entity.ShenyuRequestLog;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link ProtobufLogEncoder}.
+ */
+public final class ProtobufLogEncoderTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ShenyuRequestLog log = buildLog();
+        log.setTraceId("");
+        log.setWafHits("union select");
+        byte[] bytes = ProtobufLogEncoder.encode(List.of(log, log));
+        CodedInputStream input = CodedInputStream.newInstance(bytes);
+        int count = 0;
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            assertEquals(1, WireFormat.getTagFieldNumber(tag));
+            assertEquals(WireFormat.WIRETYPE_LENGTH_DELIMITED, WireFormat.getTagWireType(tag));
+            int limit = input.pushLimit(input.readRawVarint32());
+            Map<Integer, Object> fields = readLog(input);
+            input.popLimit(limit);
+            assertEquals("127.0.0.1", fields.get(1));
+            assertEquals("2022-08-10 16:21:05.508", fields.get(2));
+            assertEquals(65L, fields.get(10));
+            assertEquals(200L, fields.get(12));
+            assertEquals(302L, fields.get(14));
+            assertEquals("/http/shenyu/client/post/hi", fields.get(19));
+            assertEquals("selector", fields.get(20));
+            assertEquals("union select", fields.get(25));
+            assertFalse(fields.containsKey(18));
+            count++;
+        }
+        assertEquals(2, count);
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        assertEquals(0, ProtobufLogEncoder.encode(new ArrayList<>()).length);
+    }
+
+    @Test
+    public void testSmallerThanJson() {
+        List<ShenyuRequestLog> logs = new ArrayList<>();
+        int jsonBytes = 0;
+        for (int i = 0; i < 100; i++) {
+            ShenyuRequestLog log = buildLog();
+            logs.add(log);
+            jsonBytes += JsonUtils.toJson(log).getBytes(StandardCharsets.UTF_8).length;
+        }
+        assertTrue(ProtobufLogEncoder.encode(logs).length < jsonBytes);
+    }
+
+    private static Map<Integer, Object> readLog(final CodedInputStream input) throws IOException {
+        Map<Integer, Object> fields = new HashMap<>();
+        while (!input.isAtEnd()) {
+            int tag = input.readTag();
+            if (WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_VARINT) {
+                fields.put(WireFormat.getTagFieldNumber(tag), input.readInt64());
+            } else {
+                fields.put(WireFormat.getTagFieldNumber(tag), input.readString());
+            }
+        }
+        return fields;
+    }
+
+    private static ShenyuRequestLog buildLog() {
+        ShenyuRequestLog log = new ShenyuRequestLog();
+        log.setClientIp("127.0.0.1");
+        log.setTimeLocal("2022-08-10 16:21:05.508");
+        log.setMethod("/http/shenyu/client/post/hi");
+        log.setRequestHeader("{\"Accept\":\"application/json\",\"Host\":\"localhost:9195\"}");
+        log.setQueryParams("name=Tom");
+        log.setRequestUri("http://localhost:9195/http/shenyu/client/post/hi?name=Tom");
+        log.setResponseBody("[post method result]:hi! Tom! I'm Shenyu-Gateway System. Welcome!");
+        log.setResponseContentLength(65);
+        log.setRpcType("http");
+        log.setStatus(200);
+        log.setUpstreamIp("192.168.30.64");
+        log.setUpstreamResponseTime(302L);
+        log.setUserAgent("Apache-HttpClient/4.5.13 (Java/11.0.10)");
+        log.setHost("localhost:9195");
+        log.setModule("/http");
+        log.setTraceId("a3f1c2d4");
+        log.setPath("/http/shenyu/client/post/hi");
+        log.setSelectorId("selector");
+        log.setRuleId("rule");
+        return log;
+    }
+}
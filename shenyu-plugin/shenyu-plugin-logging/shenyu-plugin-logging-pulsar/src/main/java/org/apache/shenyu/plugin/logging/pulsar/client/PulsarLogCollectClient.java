@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.logging.pulsar.client;
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.pulsar.client.api.MessageId;
 import org.apache.pulsar.client.api.Producer;
 import org.apache.pulsar.client.api.PulsarClient;
 import org.apache.pulsar.client.api.PulsarClientException;
@@ -33,8 +34,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * queue-based logging collector.
@@ -70,9 +73,19 @@ public class PulsarLogCollectClient extends AbstractLogConsumeClient<PulsarLogCo
         }
     }
 
+    /**
+     * send logs, returns once every message is acknowledged.
+     *
+     * @param logs logs
+     * @throws Exception the first send error
+     */
     @Override
-    public void consume0(@NonNull final List<ShenyuRequestLog> logs) {
-        logs.forEach(log -> producer.sendAsync(toBytes(log)));
+    public void consume0(@NonNull final List<ShenyuRequestLog> logs) throws Exception {
+        List<CompletableFuture<MessageId>> sends = new ArrayList<>(logs.size());
+        for (ShenyuRequestLog log : logs) {
+            sends.add(producer.sendAsync(toBytes(log)));
+        }
+        awaitSends(sends);
     }
 
     private byte[] toBytes(final ShenyuRequestLog log) {
@@ -42,6 +42,8 @@ import java.util.concurrent.TimeoutException;
  */
 public class RabbitmqLogCollectClient extends AbstractLogConsumeClient<RabbitmqLogCollectConfig.RabbitmqLogConfig, ShenyuRequestLog> {
 
+    private static final long CONFIRM_TIMEOUT_MILLIS = 5000L;
+
     private String exchangeName;
 
     private Connection connection;
@@ -79,6 +81,8 @@ public class RabbitmqLogCollectClient extends AbstractLogConsumeClient<RabbitmqL
             channel.exchangeDeclare(exchangeName, config.getExchangeType(), true);
             channel.queueDeclare(queueName, config.getDurable(), config.getExclusive(), config.getAutoDelete(), config.getArgs());
             channel.queueBind(queueName, exchangeName, routingKey);
+            // publisher confirms tell whether the broker took a batch
+            channel.confirmSelect();
             LOG.info("init rabbitmqLogCollectClient success");
         } catch (IOException e) {
             LOG.error("failed to initialize Rabbitmq connection", e);
@@ -88,16 +92,18 @@ public class RabbitmqLogCollectClient extends AbstractLogConsumeClient<RabbitmqL
 
     }
 
+    /**
+     * publish logs, returns once the broker confirmed them.
+     *
+     * @param logs logs
+     * @throws Exception when a publish fails or is not confirmed in time
+     */
     @Override
-    public void consume0(@NonNull final List<ShenyuRequestLog> logs) {
-        logs.forEach(log -> {
-            try {
-                channel.basicPublish(exchangeName, routingKey, MessageProperties.PERSISTENT_TEXT_PLAIN, buildLogMessageBytes(log));
-//                LOG.info("publish log message success:{}", log);
-            } catch (Exception e) {
-                LOG.error("rabbitmq push logs error", e);
-            }
-        });
+    public void consume0(@NonNull final List<ShenyuRequestLog> logs) throws Exception {
+        for (ShenyuRequestLog log : logs) {
+            channel.basicPublish(exchangeName, routingKey, MessageProperties.PERSISTENT_TEXT_PLAIN, buildLogMessageBytes(log));
+        }
+        channel.waitForConfirmsOrDie(CONFIRM_TIMEOUT_MILLIS);
     }
 
     /**
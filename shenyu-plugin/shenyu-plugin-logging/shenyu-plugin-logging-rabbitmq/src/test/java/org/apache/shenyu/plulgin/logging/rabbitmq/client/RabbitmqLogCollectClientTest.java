@@ -60,16 +60,10 @@ public class RabbitmqLogCollectClientTest {
 
     @Test
     public void testConsume() {
-        String logMassage = "Hello Shenyu";
         RabbitmqLogCollectConfig.INSTANCE.setRabbitmqLogConfig(rabbitmqLogConfig);
         rabbitmqLogCollectClient.initClient(rabbitmqLogConfig);
-        try {
-            rabbitmqLogCollectClient.consume(logs);
-        } catch (Exception e) {
-            logMassage = "consume failed";
-            Assert.assertEquals(logMassage, "consume failed");
-        }
-        Assert.assertEquals(logMassage, "Hello Shenyu");
+        // no broker is running, so the batch is reported as not delivered
+        Assert.assertThrows(Exception.class, () -> rabbitmqLogCollectClient.consume(logs));
         rabbitmqLogCollectClient.close();
     }
 
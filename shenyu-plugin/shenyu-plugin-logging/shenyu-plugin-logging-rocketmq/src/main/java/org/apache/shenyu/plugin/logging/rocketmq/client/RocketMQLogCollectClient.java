@@ -23,6 +23,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.rocketmq.acl.common.AclClientRPCHook;
 import org.apache.rocketmq.acl.common.SessionCredentials;
 import org.apache.rocketmq.client.producer.DefaultMQProducer;
+import org.apache.rocketmq.client.producer.SendCallback;
+import org.apache.rocketmq.client.producer.SendResult;
 import org.apache.rocketmq.common.message.Message;
 import org.apache.rocketmq.remoting.RPCHook;
 import org.apache.shenyu.common.utils.JsonUtils;
@@ -36,11 +38,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * queue-based logging collector.
@@ -100,22 +104,33 @@ public class RocketMQLogCollectClient extends AbstractLogConsumeClient<RocketMQL
     }
 
     /**
-     * store logs.
+     * store logs, returns once every message is acknowledged.
      *
      * @param logs list of log
+     * @throws Exception the first send error
      */
     @Override
-    public void consume0(@NonNull final List<ShenyuRequestLog> logs) {
-        logs.forEach(log -> {
+    public void consume0(@NonNull final List<ShenyuRequestLog> logs) throws Exception {
+        List<CompletableFuture<SendResult>> sends = new ArrayList<>(logs.size());
+        for (ShenyuRequestLog log : logs) {
             String logTopic = Optional.ofNullable(LoggingRocketMQPluginDataHandler.getSelectApiConfigMap().get(log.getSelectorId()))
                     .map(apiConfig -> StringUtils.defaultIfBlank(apiConfig.getTopic(), topic)
                     ).orElse(topic);
-            try {
-                producer.sendOneway(toMessage(logTopic, log));
-            } catch (Exception e) {
-                LOG.error("rocketmq push logs error", e);
-            }
-        });
+            CompletableFuture<SendResult> send = new CompletableFuture<>();
+            producer.send(toMessage(logTopic, log), new SendCallback() {
+                @Override
+                public void onSuccess(final SendResult sendResult) {
+                    send.complete(sendResult);
+                }
+
+                @Override
+                public void onException(final Throwable throwable) {
+                    send.completeExceptionally(throwable);
+                }
+            });
+            sends.add(send);
+        }
+        awaitSends(sends);
     }
 
     private Message toMessage(final String logTopic, final ShenyuRequestLog log) {
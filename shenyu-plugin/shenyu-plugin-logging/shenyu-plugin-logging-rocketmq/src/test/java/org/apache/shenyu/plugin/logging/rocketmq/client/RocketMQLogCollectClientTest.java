@@ -65,7 +65,7 @@ public class RocketMQLogCollectClientTest {
         } catch (Exception e) {
             msg = "false";
         }
-        Assertions.assertEquals(msg, "");
+        Assertions.assertEquals(msg, "false");
         rocketMQLogCollectClient.close();
     }
 }
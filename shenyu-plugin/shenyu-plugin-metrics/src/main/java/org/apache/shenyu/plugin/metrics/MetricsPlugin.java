@@ -18,8 +18,8 @@
 package org.apache.shenyu.plugin.metrics;
 
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.PluginEnum;
-import org.apache.shenyu.common.utils.DateUtils;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
@@ -30,9 +30,9 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -40,22 +40,29 @@ import java.util.function.Consumer;
  */
 public class MetricsPlugin implements ShenyuPlugin {
 
+    private static final String OAUTH2_INTROSPECTION = "introspection";
+
+    private static final String LOGGING_DROPPED = "dropped";
+
+    private static final Map<String, String> LOGGING_GAUGES = Map.of("pending", LabelNames.LOGGING_PENDING,
+            "spoolDepth", LabelNames.LOGGING_SPOOL_DEPTH, "spoolBytes", LabelNames.LOGGING_SPOOL_BYTES);
+
     @Override
     public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
         MetricsReporter.counterIncrement(LabelNames.REQUEST_TOTAL);
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
-        setMetricsCallbacks(exchange);
-        MetricsReporter.counterIncrement(LabelNames.REQUEST_TYPE_TOTAL, new String[]{exchange.getRequest().getURI().getRawPath(), shenyuContext.getRpcType()});
-        LocalDateTime startDateTime = Optional.of(shenyuContext).map(ShenyuContext::getStartDateTime).orElseGet(LocalDateTime::now);
-        return chain.execute(exchange).doOnSuccess(e -> responseCommitted(exchange, startDateTime))
+        setMetricsCallbacks(exchange, shenyuContext);
+        return chain.execute(exchange).doOnSuccess(e -> responseCommitted(exchange, shenyuContext))
                 .doOnError(throwable -> {
                     MetricsReporter.counterIncrement(LabelNames.REQUEST_THROW_TOTAL);
-                    responseCommitted(exchange, startDateTime);
+                    responseCommitted(exchange, shenyuContext);
                 });
     }
 
-    private void setMetricsCallbacks(final ServerWebExchange exchange) {
+    private void setMetricsCallbacks(final ServerWebExchange exchange, final ShenyuContext shenyuContext) {
+        // counted as soon as the routing plugin matched, whether or not the response completes
+        exchange.getAttributes().put(Constants.METRICS_ROUTE, (Consumer<RuleData>) rule -> MetricsReporter.countRoute(rule, shenyuContext.getRpcType()));
         exchange.getAttributes().put(Constants.METRICS_SENTINEL, (Consumer<HttpStatus>) status -> {
             if (Objects.equals(HttpStatus.TOO_MANY_REQUESTS, status)) {
                 MetricsReporter.counterIncrement(LabelNames.SENTINEL_REQUEST_RESTRICT_TOTAL);
@@ -80,6 +87,21 @@ public class MetricsPlugin implements ShenyuPlugin {
                 MetricsReporter.counterIncrement(LabelNames.RATELIMITER_REQUEST_RESTRICT_TOTAL);
             }
         });
+        exchange.getAttributes().put(Constants.METRICS_OAUTH2, (BiConsumer<String, Long>) (event, millis) -> {
+            if (OAUTH2_INTROSPECTION.equals(event)) {
+                MetricsReporter.recordTime(LabelNames.OAUTH2_INTROSPECTION_LATENCY_NAME, millis);
+            } else {
+                MetricsReporter.counterIncrement(LabelNames.OAUTH2_TOKEN_CACHE_TOTAL, new String[]{event});
+            }
+        });
+        exchange.getAttributes().put(Constants.METRICS_LOGGING, (BiConsumer<String, Map<String, Long>>) (plugin, stats) -> stats.forEach((name, value) -> {
+            String[] labelValues = {plugin};
+            if (LOGGING_DROPPED.equals(name)) {
+                MetricsReporter.counterIncrement(LabelNames.LOGGING_DROPPED_TOTAL, labelValues, value);
+            } else if (LOGGING_GAUGES.containsKey(name)) {
+                MetricsReporter.gaugeSet(LOGGING_GAUGES.get(name), labelValues, value);
+            }
+        }));
     }
 
     @Override
@@ -92,20 +114,27 @@ public class MetricsPlugin implements ShenyuPlugin {
         return PluginEnum.METRICS.getName();
     }
 
-    private void responseCommitted(final ServerWebExchange exchange, final LocalDateTime startDateTime) {
+    private void responseCommitted(final ServerWebExchange exchange, final ShenyuContext shenyuContext) {
         ServerHttpResponse response = exchange.getResponse();
         if (response.isCommitted()) {
-            recordTime(startDateTime);
+            recordTime(exchange, shenyuContext);
         } else {
             response.beforeCommit(() -> {
-                recordTime(startDateTime);
+                recordTime(exchange, shenyuContext);
                 return Mono.empty();
             });
         }
     }
 
-    private void recordTime(final LocalDateTime startDateTime) {
-        long millisBetween = DateUtils.acquireMillisBetween(startDateTime, LocalDateTime.now());
-        MetricsReporter.recordTime(LabelNames.EXECUTE_LATENCY_NAME, millisBetween);
+    private void recordTime(final ServerWebExchange exchange, final ShenyuContext shenyuContext) {
+        long elapsed = shenyuContext.acquireElapsedMillis();
+        MetricsReporter.recordTime(LabelNames.EXECUTE_LATENCY_NAME, elapsed);
+        // label by the matched route, never by the raw path, to keep the series count bounded
+        RuleData rule = exchange.getAttribute(Constants.MATCHED_RULE);
+        if (Objects.isNull(rule)) {
+            // no routing plugin matched, so the request was not counted yet
+            MetricsReporter.countRoute(null, shenyuContext.getRpcType());
+        }
+        MetricsReporter.recordRoute(rule, shenyuContext.getRpcType(), elapsed);
     }
 }
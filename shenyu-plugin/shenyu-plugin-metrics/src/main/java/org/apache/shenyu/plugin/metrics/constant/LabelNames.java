@@ -42,6 +42,11 @@ public final class LabelNames {
      */
     public static final String EXECUTE_LATENCY_NAME = "shenyu_execute_latency_millis";
 
+    /**
+     * The constant ROUTE_LATENCY_NAME.
+     */
+    public static final String ROUTE_LATENCY_NAME = "shenyu_route_latency_millis";
+
     /**
      * The constant RATELIMITER_REQUEST_RESTRICT_TOTAL.
      */
@@ -71,4 +76,34 @@ public final class LabelNames {
      * The constant HYSTRIX_REQUEST_CIRCUITBREAKER_TOTAL.
      */
     public static final String HYSTRIX_REQUEST_CIRCUITBREAKER_TOTAL = "shenyu_hystrix_request_circuitbreaker_total";
+
+    /**
+     * The constant OAUTH2_TOKEN_CACHE_TOTAL.
+     */
+    public static final String OAUTH2_TOKEN_CACHE_TOTAL = "shenyu_oauth2_token_cache_total";
+
+    /**
+     * The constant OAUTH2_INTROSPECTION_LATENCY_NAME.
+     */
+    public static final String OAUTH2_INTROSPECTION_LATENCY_NAME = "shenyu_oauth2_introspection_latency_millis";
+
+    /**
+     * The constant LOGGING_DROPPED_TOTAL.
+     */
+    public static final String LOGGING_DROPPED_TOTAL = "shenyu_logging_dropped_total";
+
+    /**
+     * The constant LOGGING_PENDING.
+     */
+    public static final String LOGGING_PENDING = "shenyu_logging_pending";
+
+    /**
+     * The constant LOGGING_SPOOL_DEPTH.
+     */
+    public static final String LOGGING_SPOOL_DEPTH = "shenyu_logging_spool_depth";
+
+    /**
+     * The constant LOGGING_SPOOL_BYTES.
+     */
+    public static final String LOGGING_SPOOL_BYTES = "shenyu_logging_spool_bytes";
 }
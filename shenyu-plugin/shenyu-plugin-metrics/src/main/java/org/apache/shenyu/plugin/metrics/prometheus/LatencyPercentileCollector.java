@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.metrics.prometheus;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.SummaryMetricFamily;
+import org.apache.shenyu.common.latency.LatencyRecorders;
+import org.apache.shenyu.common.latency.LatencySnapshot;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exports the interval percentiles of the selector and upstream latency recorders as summaries.
+ */
+public final class LatencyPercentileCollector extends Collector {
+
+    /**
+     * The name of the selector latency summary.
+     */
+    public static final String SELECTOR_LATENCY_NAME = "shenyu_selector_latency_percentile_millis";
+
+    /**
+     * The name of the upstream latency summary.
+     */
+    public static final String UPSTREAM_LATENCY_NAME = "shenyu_upstream_latency_percentile_millis";
+
+    private static final List<Double> QUANTILES = Arrays.asList(0.5, 0.9, 0.99, 0.999);
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        LatencyRecorders recorders = LatencyRecorders.getInstance();
+        return Arrays.asList(summary(SELECTOR_LATENCY_NAME, "the shenyu selector latency millis of the last interval", "selector", recorders.getSelectorSnapshots()),
+                summary(UPSTREAM_LATENCY_NAME, "the shenyu upstream latency millis of the last interval", "upstream", recorders.getUpstreamSnapshots()));
+    }
+
+    private static SummaryMetricFamily summary(final String name, final String help, final String labelName, final Map<String, LatencySnapshot> snapshots) {
+        SummaryMetricFamily family = new SummaryMetricFamily(name, help, Collections.singletonList(labelName), QUANTILES);
+        snapshots.forEach((key, snapshot) -> family.addMetric(Collections.singletonList(key), snapshot.getCount(),
+                snapshot.getMean() * snapshot.getCount(),
+                Arrays.asList((double) snapshot.getP50(), (double) snapshot.getP90(), (double) snapshot.getP99(), (double) snapshot.getP999())));
+        return family;
+    }
+}
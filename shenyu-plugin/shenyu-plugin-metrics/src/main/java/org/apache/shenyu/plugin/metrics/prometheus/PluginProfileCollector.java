@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.metrics.prometheus;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import org.apache.shenyu.plugin.api.profile.PluginProfiler;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Exports the plugin timings of the profiled requests as counters.
+ */
+public final class PluginProfileCollector extends Collector {
+
+    /**
+     * The name of the profiled executions counter.
+     */
+    public static final String PROFILED_NAME = "shenyu_plugin_profiled";
+
+    /**
+     * The name of the sync time counter.
+     */
+    public static final String SYNC_SECONDS_NAME = "shenyu_plugin_sync_seconds";
+
+    /**
+     * The name of the async time counter.
+     */
+    public static final String ASYNC_SECONDS_NAME = "shenyu_plugin_async_seconds";
+
+    private static final List<String> LABEL_NAMES = Arrays.asList("selector", "plugin");
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        CounterMetricFamily profiled = new CounterMetricFamily(PROFILED_NAME, "shenyu profiled plugin executions", LABEL_NAMES);
+        CounterMetricFamily sync = new CounterMetricFamily(SYNC_SECONDS_NAME, "shenyu profiled plugin execute time", LABEL_NAMES);
+        CounterMetricFamily async = new CounterMetricFamily(ASYNC_SECONDS_NAME, "shenyu profiled plugin time until the next plugin runs", LABEL_NAMES);
+        PluginProfiler.getInstance().getTimings().forEach((selector, timings) -> timings.forEach((plugin, timing) -> {
+            List<String> labelValues = Arrays.asList(selector, plugin);
+            profiled.addMetric(labelValues, timing.getCount());
+            sync.addMetric(labelValues, timing.getSyncNanos() / NANOSECONDS_PER_SECOND);
+            async.addMetric(labelValues, timing.getAsyncNanos() / NANOSECONDS_PER_SECOND);
+        }));
+        return Arrays.asList(profiled, sync, async);
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.shenyu.spi.Join;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
 
 /**
  * Prometheus metric register.
@@ -33,6 +34,11 @@ import java.util.concurrent.ConcurrentHashMap;
 @Join
 public final class PrometheusMetricsRegister implements MetricsRegister {
 
+    /**
+     * the fixed bucket layout of every histogram, the shenyu histograms all record millis.
+     */
+    private static final double[] LATENCY_BUCKETS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
     private static final Map<String, Counter> COUNTER_MAP = new ConcurrentHashMap<>();
     
     private static final Map<String, Gauge> GAUGE_MAP = new ConcurrentHashMap<>();
@@ -64,7 +70,7 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
     @Override
     public void registerHistogram(final String name, final String[] labelNames, final String document) {
         if (!HISTOGRAM_MAP.containsKey(name)) {
-            Histogram.Builder builder = Histogram.build().name(name).help(document);
+            Histogram.Builder builder = Histogram.build().name(name).help(document).buckets(LATENCY_BUCKETS_MILLIS);
             if (null != labelNames) {
                 builder.labelNames(labelNames);
             }
@@ -111,6 +117,19 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
         }
     }
     
+    @Override
+    public void gaugeSet(final String name, final String[] labelValues, final double value) {
+        Gauge gauge = GAUGE_MAP.get(name);
+        if (Objects.isNull(gauge)) {
+            return;
+        }
+        if (null != labelValues) {
+            gauge.labels(labelValues).set(value);
+        } else {
+            gauge.set(value);
+        }
+    }
+    
     @Override
     public void recordTime(final String name, final String[] labelValues, final long duration) {
         Histogram histogram = HISTOGRAM_MAP.get(name);
@@ -124,6 +143,28 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
         }
     }
     
+    @Override
+    public LongConsumer bindCounter(final String name, final String[] labelValues) {
+        Counter counter = COUNTER_MAP.get(name);
+        if (Objects.isNull(counter)) {
+            return count -> {
+            };
+        }
+        Counter.Child child = counter.labels(labelValues);
+        return child::inc;
+    }
+    
+    @Override
+    public LongConsumer bindHistogram(final String name, final String[] labelValues) {
+        Histogram histogram = HISTOGRAM_MAP.get(name);
+        if (Objects.isNull(histogram)) {
+            return duration -> {
+            };
+        }
+        Histogram.Child child = histogram.labels(labelValues);
+        return child::observe;
+    }
+    
     /**
      * Clean.
      */
@@ -108,6 +108,9 @@ public final class PrometheusMetricsService implements MetricsService {
                 DefaultExports.initialize();
             }
         }
+        new LatencyPercentileCollector().register();
+        new PluginProfileCollector().register();
+        new UnroutableCollector().register();
         try {
             String jmxConfig = config.getJmxConfig();
             if (!"null".equals(jmxConfig) && StringUtils.isNotEmpty(jmxConfig)) {
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.metrics.prometheus;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import org.apache.shenyu.plugin.api.profile.UnroutableCounter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exports the requests the unroutable filter answered before the plugin chain.
+ */
+public final class UnroutableCollector extends Collector {
+
+    /**
+     * The name of the rejected requests counter.
+     */
+    public static final String REJECTED_NAME = "shenyu_unroutable_rejected";
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        return Collections.singletonList(new CounterMetricFamily(REJECTED_NAME, "shenyu requests rejected because no selector can match their path",
+                UnroutableCounter.getInstance().getRejectedCount()));
+    }
+}
@@ -17,12 +17,14 @@
 
 package org.apache.shenyu.plugin.metrics.reporter;
 
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.plugin.metrics.config.Metric;
 import org.apache.shenyu.plugin.metrics.constant.LabelNames;
 import org.apache.shenyu.plugin.metrics.spi.MetricsRegister;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -30,25 +32,50 @@ import java.util.Optional;
  */
 public final class MetricsReporter {
 
+    /**
+     * The default max number of routes with their own series.
+     */
+    public static final int DEFAULT_MAX_ROUTE_SERIES = 1000;
+
     private static MetricsRegister metricsRegister;
 
+    private static volatile RouteMetrics routeMetrics;
+
     /**
      * Register.
      *
      * @param metricsRegister metrics register
      */
     public static void register(final MetricsRegister metricsRegister) {
+        register(metricsRegister, DEFAULT_MAX_ROUTE_SERIES);
+    }
+
+    /**
+     * Register.
+     *
+     * @param metricsRegister metrics register
+     * @param maxRouteSeries the max number of routes with their own series, the others are folded into "other"
+     */
+    public static void register(final MetricsRegister metricsRegister, final int maxRouteSeries) {
         MetricsReporter.metricsRegister = metricsRegister;
         MetricsReporter.registerCounter(LabelNames.REQUEST_TOTAL, "shenyu request total count");
-        MetricsReporter.registerCounter(LabelNames.REQUEST_TYPE_TOTAL, new String[]{"path", "type"}, "shenyu http request type total count");
+        MetricsReporter.registerCounter(LabelNames.REQUEST_TYPE_TOTAL, RouteMetrics.LABEL_NAMES, "shenyu request total count by route and type");
         MetricsReporter.registerCounter(LabelNames.REQUEST_THROW_TOTAL, "shenyu request error total count");
         MetricsReporter.registerHistogram(LabelNames.EXECUTE_LATENCY_NAME, "the shenyu executor latency millis");
+        MetricsReporter.registerHistogram(LabelNames.ROUTE_LATENCY_NAME, RouteMetrics.LABEL_NAMES, "the shenyu executor latency millis by route");
         MetricsReporter.registerCounter(LabelNames.SENTINEL_REQUEST_RESTRICT_TOTAL, "shenyu sentinel request restrict total count");
         MetricsReporter.registerCounter(LabelNames.SENTINEL_REQUEST_CIRCUITBREAKER_TOTAL, "shenyu sentinel circuitbreaker request total count");
         MetricsReporter.registerCounter(LabelNames.RESILIENCE4J_REQUEST_RESTRICT_TOTAL, "shenyu resilience4j request restrict total count");
         MetricsReporter.registerCounter(LabelNames.RESILIENCE4J_REQUEST_CIRCUITBREAKER_TOTAL, "shenyu resilience4j circuitbreaker request total count");
         MetricsReporter.registerCounter(LabelNames.HYSTRIX_REQUEST_CIRCUITBREAKER_TOTAL, "shenyu hystrix circuitbreaker request total count");
         MetricsReporter.registerCounter(LabelNames.RATELIMITER_REQUEST_RESTRICT_TOTAL, "shenyu ratelimiter request restrict total count");
+        MetricsReporter.registerCounter(LabelNames.OAUTH2_TOKEN_CACHE_TOTAL, new String[]{"result"}, "shenyu oauth2 token cache lookups by hit or miss");
+        MetricsReporter.registerHistogram(LabelNames.OAUTH2_INTROSPECTION_LATENCY_NAME, "the shenyu oauth2 token introspection latency millis");
+        MetricsReporter.registerCounter(LabelNames.LOGGING_DROPPED_TOTAL, new String[]{"plugin"}, "shenyu logging dropped log total count");
+        MetricsReporter.registerGauge(LabelNames.LOGGING_PENDING, new String[]{"plugin"}, "shenyu logging logs waiting in the collector buffer");
+        MetricsReporter.registerGauge(LabelNames.LOGGING_SPOOL_DEPTH, new String[]{"plugin"}, "shenyu logging logs waiting in the disk spool");
+        MetricsReporter.registerGauge(LabelNames.LOGGING_SPOOL_BYTES, new String[]{"plugin"}, "shenyu logging bytes waiting in the disk spool");
+        routeMetrics = new RouteMetrics(metricsRegister, maxRouteSeries);
     }
 
     /**
@@ -205,6 +232,17 @@ public final class MetricsReporter {
         gaugeDecrement(name, null);
     }
 
+    /**
+     * Gauge set.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @param value value
+     */
+    public static void gaugeSet(final String name, final String[] labelValues, final double value) {
+        Optional.ofNullable(metricsRegister).ifPresent(register -> register.gaugeSet(name, labelValues, value));
+    }
+
     /**
      * Record time by duration.
      *
@@ -226,12 +264,40 @@ public final class MetricsReporter {
         recordTime(name, null, duration);
     }
 
+    /**
+     * Count a request against the pre-bound series of its route.
+     *
+     * @param rule the rule matched by the routing plugin, null if none matched
+     * @param rpcType the rpc type
+     */
+    public static void countRoute(final RuleData rule, final String rpcType) {
+        RouteMetrics routes = routeMetrics;
+        if (Objects.nonNull(routes)) {
+            routes.route(rule, rpcType).count();
+        }
+    }
+
+    /**
+     * Record the latency of a request against the pre-bound series of its route.
+     *
+     * @param rule the rule matched by the routing plugin, null if none matched
+     * @param rpcType the rpc type
+     * @param duration duration
+     */
+    public static void recordRoute(final RuleData rule, final String rpcType, final long duration) {
+        RouteMetrics routes = routeMetrics;
+        if (Objects.nonNull(routes)) {
+            routes.route(rule, rpcType).record(duration);
+        }
+    }
+
     /**
      * Clean.
      */
     public static void clean() {
         Optional.ofNullable(metricsRegister).ifPresent(MetricsRegister::clean);
         metricsRegister = null;
+        routeMetrics = null;
     }
 
     private static String[] getLabelNames(final List<String> labels) {
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.metrics.reporter;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.cache.CappedMap;
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.latency.LatencyRecorder;
+import org.apache.shenyu.common.latency.LatencyRecorders;
+import org.apache.shenyu.plugin.metrics.constant.LabelNames;
+import org.apache.shenyu.plugin.metrics.spi.MetricsRegister;
+
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Per route request metrics, labelled by the matched selector and rule ids.
+ *
+ * <p>The label children of a route are bound once, the first time the route is seen, and
+ * cached by rule id together with the latency recorder of the selector, so recording a request
+ * is a map lookup and a few lock-free updates.
+ * Once {@code maxRoutes} routes are bound, any further route is folded into the "other" series.
+ */
+public final class RouteMetrics {
+
+    /**
+     * label value of the series the routes over the cardinality cap are folded into.
+     */
+    public static final String OTHER = "other";
+
+    /**
+     * label value of the series of requests no selector matched.
+     */
+    public static final String NONE = "none";
+
+    /**
+     * the label names of the route metrics.
+     */
+    public static final String[] LABEL_NAMES = {"selector", "rule", "type"};
+
+    private final MetricsRegister metricsRegister;
+
+    private final CappedMap<String, Route> routes;
+
+    private final Route other;
+
+    private final Route none;
+
+    /**
+     * Instantiates a new route metrics.
+     *
+     * @param metricsRegister metrics register
+     * @param maxRoutes the max number of bound routes
+     */
+    public RouteMetrics(final MetricsRegister metricsRegister, final int maxRoutes) {
+        this.metricsRegister = metricsRegister;
+        this.routes = new CappedMap<>(maxRoutes, OTHER);
+        this.other = bind(new String[]{OTHER, OTHER, OTHER}, null);
+        this.none = bind(new String[]{NONE, NONE, NONE}, null);
+    }
+
+    /**
+     * Obtain the bound metrics of the route of a rule.
+     *
+     * @param rule the matched rule, null if no selector matched
+     * @param rpcType the rpc type of the request
+     * @return the route metrics
+     */
+    public Route route(final RuleData rule, final String rpcType) {
+        if (Objects.isNull(rule)) {
+            return none;
+        }
+        // rules of a selector that doesn't continue share the default rule id
+        final String key = Constants.DEFAULT_RULE.equals(rule.getId()) ? rule.getSelectorId() : rule.getId();
+        if (Objects.isNull(key)) {
+            return none;
+        }
+        Route route = routes.get(key);
+        if (Objects.nonNull(route)) {
+            return route;
+        }
+        // a rule belongs to a single plugin, so the rpc type of its first request is the one of all of them
+        return routes.computeIfAbsent(key, k -> OTHER.equals(k) ? other : bind(new String[]{StringUtils.defaultString(rule.getSelectorId()),
+                StringUtils.defaultString(rule.getId()), StringUtils.defaultString(rpcType)},
+                LatencyRecorders.getInstance().selector(rule.getSelectorId())));
+    }
+
+    /**
+     * Get the number of bound routes, the "other" series included once routes overflowed.
+     *
+     * @return the number of bound routes
+     */
+    public int size() {
+        return routes.size();
+    }
+
+    private Route bind(final String[] labelValues, final LatencyRecorder selectorLatency) {
+        return new Route(metricsRegister.bindCounter(LabelNames.REQUEST_TYPE_TOTAL, labelValues),
+                metricsRegister.bindHistogram(LabelNames.ROUTE_LATENCY_NAME, labelValues), selectorLatency);
+    }
+
+    /**
+     * The bound metrics of one route.
+     */
+    public static final class Route {
+
+        private final LongConsumer requests;
+
+        private final LongConsumer latency;
+
+        private final LatencyRecorder selectorLatency;
+
+        private Route(final LongConsumer requests, final LongConsumer latency, final LatencyRecorder selectorLatency) {
+            this.requests = requests;
+            this.latency = latency;
+            this.selectorLatency = selectorLatency;
+        }
+
+        /**
+         * Count a request of the route.
+         */
+        public void count() {
+            requests.accept(1);
+        }
+
+        /**
+         * Record the latency of a request of the route.
+         *
+         * @param elapsedMillis the request latency millis
+         */
+        public void record(final long elapsedMillis) {
+            latency.accept(elapsedMillis);
+            if (Objects.nonNull(selectorLatency)) {
+                selectorLatency.record(elapsedMillis);
+            }
+        }
+    }
+}
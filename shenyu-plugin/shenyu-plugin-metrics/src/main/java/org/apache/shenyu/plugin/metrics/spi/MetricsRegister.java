@@ -19,6 +19,8 @@ package org.apache.shenyu.plugin.metrics.spi;
 
 import org.apache.shenyu.spi.SPI;
 
+import java.util.function.LongConsumer;
+
 /**
  * Metrics register.
  */
@@ -77,6 +79,16 @@ public interface MetricsRegister {
      */
     void gaugeDecrement(String name, String[] labelValues);
     
+    /**
+     * Gauge set, registers that cannot set a gauge ignore it.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @param value value
+     */
+    default void gaugeSet(String name, String[] labelValues, double value) {
+    }
+    
     /**
      * Record time by duration.
      *
@@ -86,6 +98,28 @@ public interface MetricsRegister {
      */
     void recordTime(String name, String[] labelValues, long duration);
     
+    /**
+     * Bind the label values of a counter once, the returned recorder increments it without a lookup.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @return the counter recorder
+     */
+    default LongConsumer bindCounter(String name, String[] labelValues) {
+        return count -> counterIncrement(name, labelValues, count);
+    }
+    
+    /**
+     * Bind the label values of a histogram once, the returned recorder records a duration without a lookup.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @return the histogram recorder
+     */
+    default LongConsumer bindHistogram(String name, String[] labelValues) {
+        return duration -> recordTime(name, labelValues, duration);
+    }
+    
     /**
      * Clean.
      */
@@ -36,6 +36,8 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * The Test Case For MetricsPlugin.
@@ -73,6 +75,16 @@ public class MetricsPluginTest {
         Mockito.when(chain.execute(ArgumentMatchers.any())).thenReturn(Mono.empty());
         Mono<Void> result = metricsPlugin.execute(exchange, chain);
         StepVerifier.create(result).expectSubscription().verifyComplete();
+        Assertions.assertNotNull(exchange.getAttribute(Constants.METRICS_ROUTE));
+    }
+
+    @Test
+    public void testLoggingMetricsCallback() {
+        Mockito.when(chain.execute(ArgumentMatchers.any())).thenReturn(Mono.empty());
+        StepVerifier.create(metricsPlugin.execute(exchange, chain)).expectSubscription().verifyComplete();
+        BiConsumer<String, Map<String, Long>> metrics = exchange.getAttribute(Constants.METRICS_LOGGING);
+        Assertions.assertNotNull(metrics);
+        metrics.accept(PluginEnum.LOGGING_CONSOLE.getName(), Map.of("dropped", 1L, "pending", 2L));
     }
 
     @Test
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.metrics.prometheus;
+
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+import org.apache.shenyu.common.latency.LatencyRecorder;
+import org.apache.shenyu.common.latency.LatencyRecorders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * The Test Case For LatencyPercentileCollector.
+ */
+public final class LatencyPercentileCollectorTest {
+
+    @AfterEach
+    public void tearDown() {
+        LatencyRecorders.getInstance().clear();
+    }
+
+    @Test
+    public void testCollect() {
+        LatencyRecorder recorder = LatencyRecorders.getInstance().selector("selector1");
+        for (int i = 1; i <= 100; i++) {
+            recorder.record(i);
+        }
+        recorder.rotate();
+        List<MetricFamilySamples> families = new LatencyPercentileCollector().collect();
+        Assertions.assertEquals(2, families.size());
+        MetricFamilySamples selectors = families.get(0);
+        Assertions.assertEquals(LatencyPercentileCollector.SELECTOR_LATENCY_NAME, selectors.name);
+        Sample p99 = selectors.samples.stream()
+                .filter(sample -> sample.labelValues.contains("0.99"))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        Assertions.assertEquals("selector1", p99.labelValues.get(0));
+        Assertions.assertEquals(99, p99.value, 1);
+        Sample count = selectors.samples.stream()
+                .filter(sample -> sample.name.endsWith("_count"))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        Assertions.assertEquals(100, count.value);
+        Assertions.assertTrue(families.get(1).samples.isEmpty());
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.metrics.prometheus;
+
+import io.prometheus.client.Collector.MetricFamilySamples;
+import org.apache.shenyu.plugin.api.profile.UnroutableCounter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * The Test Case For UnroutableCollector.
+ */
+public final class UnroutableCollectorTest {
+
+    @Test
+    public void testCollect() {
+        final long before = UnroutableCounter.getInstance().getRejectedCount();
+        UnroutableCounter.getInstance().increment();
+        UnroutableCounter.getInstance().increment();
+        List<MetricFamilySamples> families = new UnroutableCollector().collect();
+        Assertions.assertEquals(1, families.size());
+        Assertions.assertEquals(UnroutableCollector.REJECTED_NAME, families.get(0).name);
+        Assertions.assertEquals(before + 2, families.get(0).samples.get(0).value);
+    }
+}
@@ -58,9 +58,9 @@ public final class MetricsReporterTest {
     @Test
     public void testRegister() throws Exception {
         Map<String, Counter> map1 = getPrivateField(metricsRegister, "COUNTER_MAP", Map.class);
-        Assertions.assertEquals(map1.size(), 9);
+        Assertions.assertEquals(map1.size(), 11);
         Map<String, Histogram> map2 = getPrivateField(metricsRegister, "HISTOGRAM_MAP", Map.class);
-        Assertions.assertEquals(map2.size(), 3);
+        Assertions.assertEquals(map2.size(), 5);
         List<String> labels = new ArrayList<>();
         labels.add("shenyu_request_total");
         Collection<Metric> metrics = new ArrayList<>();
@@ -69,11 +69,11 @@ public final class MetricsReporterTest {
         metrics.add(new Metric(MetricType.HISTOGRAM, "name3", DOCUMENT, labels));
         MetricsReporter.registerMetrics(metrics);
         Map<String, Counter> map3 = getPrivateField(metricsRegister, "COUNTER_MAP", Map.class);
-        Assertions.assertEquals(map3.size(), 10);
+        Assertions.assertEquals(map3.size(), 12);
         Map<String, Histogram> map4 = getPrivateField(metricsRegister, "HISTOGRAM_MAP", Map.class);
-        Assertions.assertEquals(map4.size(), 4);
+        Assertions.assertEquals(map4.size(), 6);
         Map<String, Gauge> map5 = getPrivateField(metricsRegister, "GAUGE_MAP", Map.class);
-        Assertions.assertEquals(map5.size(), 3);
+        Assertions.assertEquals(map5.size(), 6);
     }
 
     @Test
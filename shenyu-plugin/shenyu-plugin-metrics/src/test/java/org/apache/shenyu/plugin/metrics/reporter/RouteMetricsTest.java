@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.metrics.reporter;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.latency.LatencyRecorders;
+import org.apache.shenyu.plugin.metrics.constant.LabelNames;
+import org.apache.shenyu.plugin.metrics.spi.MetricsRegister;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * The Test Case For RouteMetrics.
+ */
+public final class RouteMetricsTest {
+
+    private final Map<List<String>, AtomicLong> requests = new ConcurrentHashMap<>();
+
+    private final Map<List<String>, AtomicLong> latency = new ConcurrentHashMap<>();
+
+    private MetricsRegister metricsRegister;
+
+    @BeforeEach
+    public void setUp() {
+        metricsRegister = Mockito.mock(MetricsRegister.class);
+        Mockito.when(metricsRegister.bindCounter(ArgumentMatchers.eq(LabelNames.REQUEST_TYPE_TOTAL), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> recorder(requests, invocation.getArgument(1)));
+        Mockito.when(metricsRegister.bindHistogram(ArgumentMatchers.eq(LabelNames.ROUTE_LATENCY_NAME), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> recorder(latency, invocation.getArgument(1)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        LatencyRecorders.getInstance().clear();
+    }
+
+    @Test
+    public void testRouteBoundOnce() {
+        RouteMetrics routeMetrics = new RouteMetrics(metricsRegister, 10);
+        RuleData rule = rule("selector1", "rule1");
+        routeMetrics.route(rule, "http").count();
+        routeMetrics.route(rule, "http").record(5);
+        routeMetrics.route(rule, "http").count();
+        routeMetrics.route(rule, "http").record(7);
+        Assertions.assertSame(routeMetrics.route(rule, "http"), routeMetrics.route(rule("selector1", "rule1"), "http"));
+        Assertions.assertEquals(1, routeMetrics.size());
+        Assertions.assertEquals(2, requests.get(Arrays.asList("selector1", "rule1", "http")).get());
+        Assertions.assertEquals(12, latency.get(Arrays.asList("selector1", "rule1", "http")).get());
+        Mockito.verify(metricsRegister, Mockito.times(3)).bindCounter(ArgumentMatchers.any(), ArgumentMatchers.any());
+        Assertions.assertEquals(2, LatencyRecorders.getInstance().selector("selector1").rotate().getCount());
+    }
+
+    @Test
+    public void testOverflowFoldedIntoOther() {
+        RouteMetrics routeMetrics = new RouteMetrics(metricsRegister, 2);
+        for (int i = 0; i < 10; i++) {
+            routeMetrics.route(rule("selector", "rule" + i), "http").count();
+        }
+        Assertions.assertEquals(3, routeMetrics.size());
+        Assertions.assertEquals(8, requests.get(Arrays.asList(RouteMetrics.OTHER, RouteMetrics.OTHER, RouteMetrics.OTHER)).get());
+        Assertions.assertEquals(1, requests.get(Arrays.asList("selector", "rule0", "http")).get());
+    }
+
+    @Test
+    public void testUnmatchedAndDefaultRule() {
+        RouteMetrics routeMetrics = new RouteMetrics(metricsRegister, 10);
+        routeMetrics.route(null, "http").count();
+        Assertions.assertEquals(1, requests.get(Arrays.asList(RouteMetrics.NONE, RouteMetrics.NONE, RouteMetrics.NONE)).get());
+        routeMetrics.route(rule("selector1", Constants.DEFAULT_RULE), "http").count();
+        routeMetrics.route(rule("selector2", Constants.DEFAULT_RULE), "http").count();
+        Assertions.assertEquals(2, routeMetrics.size());
+        Assertions.assertEquals(1, requests.get(Arrays.asList("selector2", Constants.DEFAULT_RULE, "http")).get());
+    }
+
+    private static LongConsumer recorder(final Map<List<String>, AtomicLong> series, final String[] labelValues) {
+        AtomicLong value = series.computeIfAbsent(Arrays.asList(labelValues), key -> new AtomicLong());
+        return value::addAndGet;
+    }
+
+    private static RuleData rule(final String selectorId, final String ruleId) {
+        RuleData rule = new RuleData();
+        rule.setSelectorId(selectorId);
+        rule.setId(ruleId);
+        return rule;
+    }
+}
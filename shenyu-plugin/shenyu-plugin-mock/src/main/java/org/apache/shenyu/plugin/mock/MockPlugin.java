@@ -23,7 +23,6 @@ import org.apache.shenyu.common.dto.convert.rule.MockHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.mock.api.MockRequest;
 import org.apache.shenyu.plugin.mock.generator.GeneratorFactory;
 import org.apache.shenyu.plugin.mock.handler.MockPluginHandler;
@@ -48,7 +47,7 @@ public class MockPlugin extends AbstractShenyuPlugin {
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain,
                                    final SelectorData selector, final RuleData rule) {
         
-        MockHandle mockHandle = MockPluginHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        MockHandle mockHandle = MockPluginHandler.CACHED_HANDLE.get().obtainRuleHandle(rule);
         if (Objects.isNull(mockHandle)) {
             return chain.execute(exchange);
         }
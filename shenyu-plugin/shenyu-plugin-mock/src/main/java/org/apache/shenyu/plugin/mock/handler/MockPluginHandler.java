@@ -41,7 +41,7 @@ public class MockPluginHandler implements PluginDataHandler {
         Optional.ofNullable(ruleData.getHandle())
                 .ifPresent(s -> {
                     MockHandle mockHandle = GsonUtils.getInstance().fromJson(s, MockHandle.class);
-                    CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), mockHandle);
+                    CACHED_HANDLE.get().cachedRuleHandle(ruleData, mockHandle);
                 });
     }
     
@@ -24,7 +24,6 @@ import org.apache.shenyu.common.dto.convert.rule.impl.ParamMappingRuleHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.param.mapping.handler.ParamMappingPluginDataHandler;
 import org.apache.shenyu.plugin.param.mapping.strategy.Operator;
 import org.slf4j.Logger;
@@ -52,7 +51,7 @@ public class ParamMappingPlugin extends AbstractShenyuPlugin {
 
     @Override
     public Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
-        ParamMappingRuleHandle paramMappingRuleHandle = ParamMappingPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        ParamMappingRuleHandle paramMappingRuleHandle = ParamMappingPluginDataHandler.CACHED_HANDLE.get().obtainRuleHandle(rule);
         if (Objects.isNull(paramMappingRuleHandle)) {
             LOG.error("param mapping rule configuration is null :{}", rule.getId());
             return chain.execute(exchange);
@@ -40,7 +40,7 @@ public class ParamMappingPluginDataHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             ParamMappingRuleHandle paramMappingRuleHandle = GsonUtils.getInstance().fromJson(s, ParamMappingRuleHandle.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), paramMappingRuleHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, paramMappingRuleHandle);
         });
     }
 
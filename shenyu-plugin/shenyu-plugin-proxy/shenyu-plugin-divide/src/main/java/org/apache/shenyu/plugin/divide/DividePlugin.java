@@ -37,15 +37,14 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.RequestUrlUtils;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.base.support.BodySizeLimitRequestDecorator;
 import org.apache.shenyu.plugin.divide.handler.DividePluginDataHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -60,36 +59,36 @@ public class DividePlugin extends AbstractShenyuPlugin {
 
     private static final String SHORTEST_RESPONSE = "shortestResponse";
 
-    private Long beginTime;
-    
     @Override
     protected String getRawPath(final ServerWebExchange exchange) {
         return RequestUrlUtils.getRewrittenRawPath(exchange);
     }
 
     @Override
-    protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+    protected Mono<Void> doExecute(final ServerWebExchange serverWebExchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+        ServerWebExchange exchange = serverWebExchange;
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
         DivideRuleHandle ruleHandle = buildRuleHandle(rule);
-        if (ruleHandle.getHeaderMaxSize() > 0) {
-            long headerSize = exchange.getRequest().getHeaders().values()
-                    .stream()
-                    .flatMap(Collection::stream)
-                    .mapToLong(header -> header.getBytes(StandardCharsets.UTF_8).length)
-                    .sum();
-            if (headerSize > ruleHandle.getHeaderMaxSize()) {
-                LOG.error("request header is too large");
-                Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.REQUEST_HEADER_TOO_LARGE);
-                return WebFluxResultUtils.result(exchange, error);
-            }
+        if (ruleHandle.getHeaderMaxSize() > 0
+                && headerSize(exchange.getRequest().getHeaders(), ruleHandle.getHeaderMaxSize()) > ruleHandle.getHeaderMaxSize()) {
+            LOG.error("request header is too large");
+            Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.REQUEST_HEADER_TOO_LARGE);
+            return WebFluxResultUtils.result(exchange, error);
         }
         if (ruleHandle.getRequestMaxSize() > 0) {
-            if (exchange.getRequest().getHeaders().getContentLength() > ruleHandle.getRequestMaxSize()) {
+            long contentLength = exchange.getRequest().getHeaders().getContentLength();
+            if (contentLength > ruleHandle.getRequestMaxSize()) {
                 LOG.error("request entity is too large");
                 Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.REQUEST_ENTITY_TOO_LARGE);
                 return WebFluxResultUtils.result(exchange, error);
             }
+            if (contentLength < 0) {
+                // no declared length (e.g. chunked), cut the body stream off once it exceeds the limit
+                exchange = exchange.mutate()
+                        .request(new BodySizeLimitRequestDecorator(exchange.getRequest(), ruleHandle.getRequestMaxSize()))
+                        .build();
+            }
         }
         List<Upstream> upstreamList = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId(selector.getId());
         if (CollectionUtils.isEmpty(upstreamList)) {
@@ -118,15 +117,16 @@ public class DividePlugin extends AbstractShenyuPlugin {
         exchange.getAttributes().put(Constants.RETRY_STRATEGY, StringUtils.defaultString(ruleHandle.getRetryStrategy(), RetryEnum.CURRENT.getName()));
         exchange.getAttributes().put(Constants.LOAD_BALANCE, StringUtils.defaultString(ruleHandle.getLoadBalance(), LoadBalanceEnum.RANDOM.getName()));
         exchange.getAttributes().put(Constants.DIVIDE_SELECTOR_ID, selector.getId());
+        final long beginTime = System.currentTimeMillis();
         if (ruleHandle.getLoadBalance().equals(P2C)) {
-            return chain.execute(exchange).doOnSuccess(e -> responseTrigger(upstream
-            )).doOnError(throwable -> responseTrigger(upstream));
+            return chain.execute(exchange).doOnSuccess(e -> {
+                responseTrigger(upstream);
+                recordLatency(upstream, beginTime);
+            }).doOnError(throwable -> responseTrigger(upstream));
         } else if (ruleHandle.getLoadBalance().equals(SHORTEST_RESPONSE)) {
-            beginTime = System.currentTimeMillis();
-            return chain.execute(exchange).doOnSuccess(e -> successResponseTrigger(upstream
-            ));
+            return chain.execute(exchange).doOnSuccess(e -> successResponseTrigger(upstream, beginTime));
         }
-        return chain.execute(exchange);
+        return chain.execute(exchange).doOnSuccess(e -> recordLatency(upstream, beginTime));
     }
 
     @Override
@@ -154,8 +154,47 @@ public class DividePlugin extends AbstractShenyuPlugin {
         return WebFluxResultUtils.noRuleResult(pluginName, exchange);
     }
     
+    /**
+     * Sum the utf-8 encoded size of the header values without copying them into byte arrays,
+     * stopping as soon as the limit is exceeded.
+     *
+     * @param headers the request headers
+     * @param limit   the max header size
+     * @return the header size, or a value above the limit once it is exceeded
+     */
+    private static long headerSize(final HttpHeaders headers, final long limit) {
+        long size = 0;
+        for (List<String> values : headers.values()) {
+            for (String value : values) {
+                size += utf8Length(value);
+                if (size > limit) {
+                    return size;
+                }
+            }
+        }
+        return size;
+    }
+
+    private static int utf8Length(final String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800 || Character.isSurrogate(c)) {
+                // a surrogate pair is 2 chars encoded as 4 bytes
+                bytes++;
+            } else {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
     private DivideRuleHandle buildRuleHandle(final RuleData rule) {
-        return DividePluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        return DividePluginDataHandler.CACHED_HANDLE.get().obtainRuleHandle(rule);
     }
 
     private void responseTrigger(final Upstream upstream) {
@@ -181,8 +220,14 @@ public class DividePlugin extends AbstractShenyuPlugin {
         upstream.setLag(lag);
     }
 
-    private void successResponseTrigger(final Upstream upstream) {
-        upstream.getSucceededElapsed().addAndGet(System.currentTimeMillis() - beginTime);
+    private void successResponseTrigger(final Upstream upstream, final long beginTime) {
+        long elapsed = System.currentTimeMillis() - beginTime;
+        upstream.getSucceededElapsed().addAndGet(elapsed);
         upstream.getSucceeded().incrementAndGet();
+        upstream.getLatencyRecorder().record(elapsed);
+    }
+
+    private void recordLatency(final Upstream upstream, final long beginTime) {
+        upstream.getLatencyRecorder().record(System.currentTimeMillis() - beginTime);
     }
 }
@@ -53,7 +53,6 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.InetSocketAddress;
@@ -233,16 +232,14 @@ public final class DividePluginTest {
     @Test
     public void successResponseTriggerTest() throws Exception {
         dividePlugin = DividePlugin.class.newInstance();
-        Field field = DividePlugin.class.getDeclaredField("beginTime");
-        field.setAccessible(true);
-        field.set(dividePlugin, 0L);
-        Method method = DividePlugin.class.getDeclaredMethod("successResponseTrigger", Upstream.class);
+        Method method = DividePlugin.class.getDeclaredMethod("successResponseTrigger", Upstream.class, long.class);
         method.setAccessible(true);
         Upstream upstream = Upstream.builder()
-                .url("upstream")
+                .url("successResponseTrigger")
                 .build();
-        method.invoke(dividePlugin, upstream);
+        method.invoke(dividePlugin, upstream, System.currentTimeMillis());
         assertEquals(1, upstream.getSucceeded().get());
+        assertEquals(1, upstream.getLatencyRecorder().rotate().getCount());
     }
 
     /**
@@ -42,7 +42,7 @@ public class GeneralContextPluginDataHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(handleData -> {
             Map<String, List<GeneralContextHandle>> generalContextHandleMap = GsonUtils.getInstance().toObjectMapList(handleData, GeneralContextHandle.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), generalContextHandleMap);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, generalContextHandleMap);
         });
     }
 
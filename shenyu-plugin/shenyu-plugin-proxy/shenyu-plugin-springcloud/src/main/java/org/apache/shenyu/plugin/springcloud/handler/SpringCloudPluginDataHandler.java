@@ -102,7 +102,7 @@ public class SpringCloudPluginDataHandler implements PluginDataHandler {
     @Override
     public void handlerSelector(final SelectorData selectorData) {
         SpringCloudSelectorHandle springCloudSelectorHandle = GsonUtils.getInstance().fromJson(selectorData.getHandle(), SpringCloudSelectorHandle.class);
-        SELECTOR_CACHED.get().cachedHandle(selectorData.getId(), springCloudSelectorHandle);
+        SELECTOR_CACHED.get().cachedSelectorHandle(selectorData, springCloudSelectorHandle);
         if (CollectionUtils.isEmpty(springCloudSelectorHandle.getDivideUpstreams())) {
             UpstreamCacheManager.getInstance().removeByKey(selectorData.getId());
             return;
@@ -132,7 +132,7 @@ public class SpringCloudPluginDataHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             SpringCloudRuleHandle springCloudRuleHandle = GsonUtils.getInstance().fromJson(s, SpringCloudRuleHandle.class);
-            RULE_CACHED.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), springCloudRuleHandle);
+            RULE_CACHED.get().cachedRuleHandle(ruleData, springCloudRuleHandle);
         });
     }
 
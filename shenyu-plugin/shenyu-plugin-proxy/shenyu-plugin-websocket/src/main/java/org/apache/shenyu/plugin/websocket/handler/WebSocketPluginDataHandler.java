@@ -60,7 +60,7 @@ public class WebSocketPluginDataHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             WebSocketRuleHandle websocketRuleHandle = GsonUtils.getInstance().fromJson(s, WebSocketRuleHandle.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), websocketRuleHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, websocketRuleHandle);
         });
     }
     
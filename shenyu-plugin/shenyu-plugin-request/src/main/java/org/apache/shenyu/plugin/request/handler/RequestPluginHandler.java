@@ -40,7 +40,7 @@ public class RequestPluginHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             RequestHandle requestHandle = GsonUtils.getInstance().fromJson(s, RequestHandle.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), requestHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, requestHandle);
         });
     }
 
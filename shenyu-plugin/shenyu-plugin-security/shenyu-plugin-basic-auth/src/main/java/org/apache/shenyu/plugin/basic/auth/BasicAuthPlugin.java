@@ -26,7 +26,8 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.base.auth.AuthFailureLimiter;
+import org.apache.shenyu.plugin.base.utils.HostAddressUtils;
 import org.apache.shenyu.plugin.basic.auth.handle.BasicAuthPluginDataHandler;
 import org.apache.shenyu.plugin.basic.auth.rule.BasicAuthRuleHandle;
 import org.apache.shenyu.plugin.basic.auth.strategy.BasicAuthAuthenticationStrategy;
@@ -52,13 +53,20 @@ public class BasicAuthPlugin extends AbstractShenyuPlugin {
      */
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+        AuthFailureLimiter limiter = BasicAuthPluginDataHandler.FAILURE_LIMITER.get();
+        String client = limiter.isEnabled() ? HostAddressUtils.acquireIp(exchange) : null;
+        if (limiter.isLocked(client)) {
+            return WebFluxResultUtils.result(exchange, ShenyuResultWrap.error(exchange, ShenyuResultEnum.TOO_MANY_REQUESTS));
+        }
         String authorization = StringUtils.defaultString(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION), exchange.getRequest().getURI().getUserInfo());
-        BasicAuthRuleHandle basicAuthRuleHandle = BasicAuthPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        BasicAuthRuleHandle basicAuthRuleHandle = BasicAuthPluginDataHandler.CACHED_HANDLE.get().obtainRuleHandle(rule);
         BasicAuthAuthenticationStrategy authenticationStrategy = Optional.ofNullable(basicAuthRuleHandle).map(BasicAuthRuleHandle::getBasicAuthAuthenticationStrategy).orElse(null);
 
         if (authenticationStrategy != null && authenticationStrategy.authenticate(basicAuthRuleHandle, authorization)) {
+            limiter.onSuccess(client);
             return chain.execute(exchange);
         }
+        limiter.onFailure(client);
         return WebFluxResultUtils.result(exchange, ShenyuResultWrap.error(exchange, ShenyuResultEnum.ERROR_TOKEN));
     }
 
@@ -28,6 +28,16 @@ public class BasicAuthConfig implements Serializable {
      */
     private String defaultHandleJson;
 
+    /**
+     * consecutive failures of a client before it is locked out, 0 disables the lockout.
+     */
+    private int maxFailures;
+
+    /**
+     * how long a client stays locked out.
+     */
+    private long lockoutSeconds;
+
     /**
      * get defaultHandleJson.
      *
@@ -46,4 +56,39 @@ public class BasicAuthConfig implements Serializable {
         this.defaultHandleJson = defaultHandleJson;
     }
 
+    /**
+     * get maxFailures.
+     *
+     * @return maxFailures.
+     */
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    /**
+     * set maxFailures.
+     *
+     * @param maxFailures maxFailures.
+     */
+    public void setMaxFailures(final int maxFailures) {
+        this.maxFailures = maxFailures;
+    }
+
+    /**
+     * get lockoutSeconds.
+     *
+     * @return lockoutSeconds.
+     */
+    public long getLockoutSeconds() {
+        return lockoutSeconds;
+    }
+
+    /**
+     * set lockoutSeconds.
+     *
+     * @param lockoutSeconds lockoutSeconds.
+     */
+    public void setLockoutSeconds(final long lockoutSeconds) {
+        this.lockoutSeconds = lockoutSeconds;
+    }
 }
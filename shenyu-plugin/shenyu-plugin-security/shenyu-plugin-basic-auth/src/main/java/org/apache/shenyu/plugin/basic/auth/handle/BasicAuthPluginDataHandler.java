@@ -19,15 +19,18 @@ package org.apache.shenyu.plugin.basic.auth.handle;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.base.auth.AuthFailureLimiter;
 import org.apache.shenyu.plugin.base.cache.CommonHandleCache;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.base.utils.BeanHolder;
@@ -42,13 +45,25 @@ public class BasicAuthPluginDataHandler implements PluginDataHandler {
 
     public static final Supplier<CommonHandleCache<String, BasicAuthRuleHandle>> CACHED_HANDLE = new BeanHolder<>(CommonHandleCache::new);
 
+    public static final AtomicReference<AuthFailureLimiter> FAILURE_LIMITER = new AtomicReference<>(AuthFailureLimiter.DISABLED);
+
+    private static final String MAX_FAILURES = "maxFailures";
+
+    private static final String LOCKOUT_SECONDS = "lockoutSeconds";
+
     @Override
     public void handlerPlugin(final PluginData pluginData) {
         Map<String, String> configMap = GsonUtils.getInstance().toObjectMap(pluginData.getConfig(), String.class);
         String defaultHandleJson = Optional.ofNullable(configMap.get(Constants.DEFAULT_HANDLE_JSON)).orElse("");
         BasicAuthConfig basicAuthConfig = new BasicAuthConfig();
         basicAuthConfig.setDefaultHandleJson(defaultHandleJson);
+        basicAuthConfig.setMaxFailures(NumberUtils.toInt(configMap.get(MAX_FAILURES)));
+        basicAuthConfig.setLockoutSeconds(NumberUtils.toLong(configMap.get(LOCKOUT_SECONDS)));
         Singleton.INST.single(BasicAuthConfig.class, basicAuthConfig);
+        // keep the counters when the plugin is re-synced with the same settings
+        if (!FAILURE_LIMITER.get().hasSettings(basicAuthConfig.getMaxFailures(), basicAuthConfig.getLockoutSeconds())) {
+            FAILURE_LIMITER.set(new AuthFailureLimiter(basicAuthConfig.getMaxFailures(), basicAuthConfig.getLockoutSeconds()));
+        }
     }
 
     @Override
@@ -61,7 +76,7 @@ public class BasicAuthPluginDataHandler implements PluginDataHandler {
         BasicAuthConfig basicAuthConfig = Singleton.INST.get(BasicAuthConfig.class);
         Optional.ofNullable(ruleData.getHandle()).ifPresent(ruleHandle -> {
             BasicAuthRuleHandle basicAuthRuleHandle = BasicAuthRuleHandle.newInstance(StringUtils.defaultString(ruleHandle, basicAuthConfig.getDefaultHandleJson()));
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), basicAuthRuleHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, basicAuthRuleHandle);
         });
     }
 
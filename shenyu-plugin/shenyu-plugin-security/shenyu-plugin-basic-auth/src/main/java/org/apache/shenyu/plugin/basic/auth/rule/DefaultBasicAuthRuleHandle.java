@@ -17,12 +17,18 @@
 
 package org.apache.shenyu.plugin.basic.auth.rule;
 
+import org.apache.shenyu.plugin.base.auth.HashedSecret;
+
+import java.util.Objects;
+
 public class DefaultBasicAuthRuleHandle extends BasicAuthRuleHandle {
 
     private static final long serialVersionUID = 7090772288389508730L;
 
     private String authorization;
 
+    private transient volatile HashedSecret hashedAuthorization;
+
     /**
      * get authorization.
      *
@@ -39,6 +45,21 @@ public class DefaultBasicAuthRuleHandle extends BasicAuthRuleHandle {
      */
     public void setAuthorization(final String authorization) {
         this.authorization = authorization;
+        this.hashedAuthorization = null;
+    }
+
+    /**
+     * get the hashed authorization, hashing it on first use.
+     *
+     * @return the hashed authorization, null when none is configured
+     */
+    public HashedSecret obtainHashedAuthorization() {
+        HashedSecret hashed = hashedAuthorization;
+        if (Objects.isNull(hashed) && Objects.nonNull(authorization)) {
+            hashed = HashedSecret.of(authorization);
+            hashedAuthorization = hashed;
+        }
+        return hashed;
     }
 
 }
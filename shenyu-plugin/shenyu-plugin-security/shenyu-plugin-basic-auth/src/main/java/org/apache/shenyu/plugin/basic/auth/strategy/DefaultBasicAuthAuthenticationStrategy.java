@@ -18,12 +18,15 @@
 package org.apache.shenyu.plugin.basic.auth.strategy;
 
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.base.auth.HashedSecret;
 import org.apache.shenyu.plugin.basic.auth.rule.BasicAuthRuleHandle;
 import org.apache.shenyu.plugin.basic.auth.rule.DefaultBasicAuthRuleHandle;
 import org.apache.shenyu.spi.Join;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Objects;
+
 @Join
 public class DefaultBasicAuthAuthenticationStrategy implements BasicAuthAuthenticationStrategy {
 
@@ -32,7 +35,12 @@ public class DefaultBasicAuthAuthenticationStrategy implements BasicAuthAuthenti
     @Override
     public DefaultBasicAuthRuleHandle parseHandleJson(final String handleJson) {
         try {
-            return GsonUtils.getInstance().fromJson(handleJson, DefaultBasicAuthRuleHandle.class);
+            DefaultBasicAuthRuleHandle handle = GsonUtils.getInstance().fromJson(handleJson, DefaultBasicAuthRuleHandle.class);
+            if (Objects.nonNull(handle)) {
+                // hash once when the rule arrives rather than on the first request
+                handle.obtainHashedAuthorization();
+            }
+            return handle;
         } catch (Exception exception) {
             LOG.error("Failed to parse json , please check json format", exception);
             return null;
@@ -41,6 +49,7 @@ public class DefaultBasicAuthAuthenticationStrategy implements BasicAuthAuthenti
 
     @Override
     public boolean authenticate(final BasicAuthRuleHandle basicAuthRuleHandle, final String authentication) {
-        return authentication.equals(((DefaultBasicAuthRuleHandle) basicAuthRuleHandle).getAuthorization());
+        HashedSecret hashed = ((DefaultBasicAuthRuleHandle) basicAuthRuleHandle).obtainHashedAuthorization();
+        return Objects.nonNull(hashed) && hashed.matches(authentication);
     }
 }
@@ -21,11 +21,14 @@ import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.plugin.api.RemoteAddressResolver;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.auth.AuthFailureLimiter;
 import org.apache.shenyu.plugin.basic.auth.handle.BasicAuthPluginDataHandler;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,8 +40,11 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.net.InetSocketAddress;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -70,6 +76,11 @@ public final class BasicAuthPluginTest {
         basicAuthPluginDataHandler = new BasicAuthPluginDataHandler();
     }
 
+    @AfterEach
+    public void tearDown() {
+        BasicAuthPluginDataHandler.FAILURE_LIMITER.set(AuthFailureLimiter.DISABLED);
+    }
+
     @Test
     public void testDoExecute() {
         ruleData.setHandle("{\"authorization\":\"test:test123\"}");
@@ -101,6 +112,35 @@ public final class BasicAuthPluginTest {
         StepVerifier.create(mono).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void testDoExecuteLocksOutAfterFailures() {
+        basicAuthPluginDataHandler.handlerPlugin(new PluginData("pluginId", "pluginName",
+                "{\"maxFailures\":\"2\",\"lockoutSeconds\":\"60\"}", "0", false, null));
+        ruleData.setHandle("{\"authorization\":\"test:test123\"}");
+        basicAuthPluginDataHandler.handlerRule(ruleData);
+        when(this.chain.execute(any())).thenReturn(Mono.empty());
+        for (int i = 0; i < 2; i++) {
+            ServerWebExchange wrong = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                    .remoteAddress(new InetSocketAddress("10.0.0.1", 8080))
+                    .header(HttpHeaders.AUTHORIZATION, "test:wrong")
+                    .build());
+            StepVerifier.create(basicAuthPlugin.doExecute(wrong, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        }
+        ServerWebExchange locked = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 8080))
+                .header(HttpHeaders.AUTHORIZATION, "test:test123")
+                .build());
+        StepVerifier.create(basicAuthPlugin.doExecute(locked, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        verify(chain, never()).execute(any());
+
+        ServerWebExchange other = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 8080))
+                .header(HttpHeaders.AUTHORIZATION, "test:test123")
+                .build());
+        StepVerifier.create(basicAuthPlugin.doExecute(other, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        verify(chain).execute(other);
+    }
+
     private static boolean hasHeader(final ServerWebExchange exchange, final String name, final String val) {
         return exchange.getRequest().getHeaders().get(name).contains(val);
     }
@@ -120,6 +160,8 @@ public final class BasicAuthPluginTest {
     private void initContext() {
         ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
         when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        when(context.getBean(RemoteAddressResolver.class)).thenReturn(new RemoteAddressResolver() {
+        });
         SpringBeanUtils springBeanUtils = SpringBeanUtils.getInstance();
         springBeanUtils.setApplicationContext(context);
         PluginData pluginData = new PluginData("pluginId", "pluginName", "{\"defaultHandleJson\":\"{\\\"authorization\\\":\\\"test:test123\\\"}\"}", "0", false, null);
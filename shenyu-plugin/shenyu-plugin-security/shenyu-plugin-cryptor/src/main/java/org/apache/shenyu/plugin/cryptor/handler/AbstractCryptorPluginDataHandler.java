@@ -25,6 +25,7 @@ import org.apache.shenyu.plugin.base.cache.CommonHandleCache;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.base.utils.BeanHolder;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.cryptor.strategy.CryptorStrategyFactory;
 
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -52,7 +53,9 @@ public abstract class AbstractCryptorPluginDataHandler implements PluginDataHand
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             CryptorRuleHandler cryptorRuleHandler = GsonUtils.getInstance().fromJson(s, CryptorRuleHandler.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), cryptorRuleHandler);
+            // parse the keys on rule update rather than on the first request
+            CryptorStrategyFactory.engine(cryptorRuleHandler);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, cryptorRuleHandler);
         });
     }
 
@@ -18,6 +18,7 @@
 package org.apache.shenyu.plugin.cryptor.handler;
 
 import org.apache.shenyu.common.dto.convert.rule.RuleHandle;
+import org.apache.shenyu.plugin.cryptor.strategy.CryptorEngine;
 
 /**
  * Cryptor response rule handle.
@@ -35,6 +36,11 @@ public class CryptorRuleHandler implements RuleHandle {
     private String mapType;
 
     private String way;
+
+    /**
+     * the engine prepared from the keys of this handle, never serialized.
+     */
+    private transient volatile CryptorEngine engine;
     
     /**
      * New instance cryptor rule handler.
@@ -61,6 +67,7 @@ public class CryptorRuleHandler implements RuleHandle {
      */
     public void setStrategyName(final String strategyName) {
         this.strategyName = strategyName;
+        this.engine = null;
     }
     
     /**
@@ -79,6 +86,7 @@ public class CryptorRuleHandler implements RuleHandle {
      */
     public void setDecryptKey(final String decryptKey) {
         this.decryptKey = decryptKey;
+        this.engine = null;
     }
     
     /**
@@ -97,6 +105,7 @@ public class CryptorRuleHandler implements RuleHandle {
      */
     public void setEncryptKey(final String encryptKey) {
         this.encryptKey = encryptKey;
+        this.engine = null;
     }
     
     /**
@@ -153,6 +162,24 @@ public class CryptorRuleHandler implements RuleHandle {
         this.way = way;
     }
 
+    /**
+     * get the prepared engine.
+     *
+     * @return the engine, null until prepared
+     */
+    public CryptorEngine obtainEngine() {
+        return engine;
+    }
+
+    /**
+     * bind the prepared engine.
+     *
+     * @param engine the engine
+     */
+    public void bindEngine(final CryptorEngine engine) {
+        this.engine = engine;
+    }
+
     @Override
     public String toString() {
         return "CryptorRuleHandler{"
@@ -24,7 +24,6 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.cryptor.handler.AbstractCryptorPluginDataHandler;
 import org.apache.shenyu.plugin.cryptor.handler.CryptorRuleHandler;
 import org.apache.shenyu.plugin.cryptor.strategy.MapTypeEnum;
@@ -45,7 +44,7 @@ public abstract class AbstractCryptorPlugin extends AbstractShenyuPlugin {
 
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
-        final CryptorRuleHandler ruleHandle = AbstractCryptorPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        final CryptorRuleHandler ruleHandle = AbstractCryptorPluginDataHandler.CACHED_HANDLE.get().obtainRuleHandle(rule);
         if (Objects.isNull(ruleHandle)) {
             LOG.error("{} rule configuration is null :{}", named(), rule.getId());
             return chain.execute(exchange);
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cryptor.strategy;
+
+import org.apache.commons.lang3.StringUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Authenticated symmetric cryptor for bulk payloads.
+ *
+ * <p>The key is a base64 raw secret key, configured as decryptKey and/or encryptKey.
+ * The encrypted form is base64 of a random nonce followed by the ciphertext and its tag.
+ */
+public abstract class AbstractAeadStrategy implements CryptorStrategy {
+
+    private static final int NONCE_LENGTH = 12;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Override
+    public String decrypt(final String key, final byte[] encryptData) throws Exception {
+        return prepare(key, null).decrypt(encryptData);
+    }
+
+    @Override
+    public String encrypt(final String key, final String data) throws Exception {
+        return prepare(null, key).encrypt(data);
+    }
+
+    @Override
+    public CryptorEngine prepare(final String decryptKey, final String encryptKey) throws Exception {
+        return new AeadEngine(secretKey(decryptKey), secretKey(encryptKey));
+    }
+
+    /**
+     * the cipher transformation.
+     *
+     * @return transformation
+     */
+    protected abstract String transformation();
+
+    /**
+     * the secret key algorithm.
+     *
+     * @return algorithm
+     */
+    protected abstract String keyAlgorithm();
+
+    /**
+     * check the raw secret key length.
+     *
+     * @param length the key length in bytes
+     * @return true if valid
+     */
+    protected abstract boolean validKeyLength(int length);
+
+    /**
+     * the cipher parameters of a nonce.
+     *
+     * @param nonce nonce
+     * @return parameters
+     */
+    protected abstract AlgorithmParameterSpec parameterSpec(byte[] nonce);
+
+    private SecretKey secretKey(final String key) {
+        if (StringUtils.isEmpty(key)) {
+            return null;
+        }
+        byte[] raw = Base64.getDecoder().decode(key);
+        if (!validKeyLength(raw.length)) {
+            throw new IllegalArgumentException(transformation() + " key length " + raw.length + " is invalid");
+        }
+        return new SecretKeySpec(raw, keyAlgorithm());
+    }
+
+    /**
+     * Getting a cipher is the costly part, so ciphers are kept per thread and only re-initialized with the nonce of each call.
+     */
+    private final class AeadEngine implements CryptorEngine {
+
+        private final SecretKey decryptKey;
+
+        private final SecretKey encryptKey;
+
+        private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(this::newCipher);
+
+        AeadEngine(final SecretKey decryptKey, final SecretKey encryptKey) {
+            this.decryptKey = decryptKey;
+            this.encryptKey = encryptKey;
+        }
+
+        @Override
+        public String decrypt(final byte[] encryptData) throws Exception {
+            if (Objects.isNull(decryptKey)) {
+                throw new IllegalStateException(transformation() + " decryptKey is not configured");
+            }
+            if (encryptData.length < NONCE_LENGTH) {
+                throw new IllegalArgumentException("encrypted data is shorter than its nonce");
+            }
+            Cipher current = init(Cipher.DECRYPT_MODE, decryptKey, Arrays.copyOf(encryptData, NONCE_LENGTH));
+            return new String(current.doFinal(encryptData, NONCE_LENGTH, encryptData.length - NONCE_LENGTH), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String encrypt(final String data) throws Exception {
+            if (Objects.isNull(encryptKey)) {
+                throw new IllegalStateException(transformation() + " encryptKey is not configured");
+            }
+            byte[] nonce = new byte[NONCE_LENGTH];
+            RANDOM.nextBytes(nonce);
+            Cipher current = init(Cipher.ENCRYPT_MODE, encryptKey, nonce);
+            byte[] plain = data.getBytes(StandardCharsets.UTF_8);
+            byte[] out = new byte[NONCE_LENGTH + current.getOutputSize(plain.length)];
+            System.arraycopy(nonce, 0, out, 0, NONCE_LENGTH);
+            int written = current.doFinal(plain, 0, plain.length, out, NONCE_LENGTH);
+            return Base64.getEncoder().encodeToString(NONCE_LENGTH + written == out.length ? out : Arrays.copyOf(out, NONCE_LENGTH + written));
+        }
+
+        private Cipher init(final int mode, final SecretKey key, final byte[] nonce) throws GeneralSecurityException {
+            Cipher current = cipher.get();
+            try {
+                current.init(mode, key, parameterSpec(nonce));
+            } catch (InvalidKeyException e) {
+                // chacha20 refuses the key and nonce of its previous init, e.g. when the same data is decrypted twice
+                current = newCipher();
+                current.init(mode, key, parameterSpec(nonce));
+                cipher.set(current);
+            }
+            return current;
+        }
+
+        private Cipher newCipher() {
+            try {
+                return Cipher.getInstance(transformation());
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cryptor.strategy;
+
+import org.apache.shenyu.spi.Join;
+
+import javax.crypto.spec.IvParameterSpec;
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * chacha20-poly1305 cryptor, with a 256 bit key.
+ */
+@Join
+public class ChaCha20Strategy extends AbstractAeadStrategy {
+
+    private static final int KEY_LENGTH = 32;
+
+    @Override
+    protected String transformation() {
+        return "ChaCha20-Poly1305";
+    }
+
+    @Override
+    protected String keyAlgorithm() {
+        return "ChaCha20";
+    }
+
+    @Override
+    protected boolean validKeyLength(final int length) {
+        return length == KEY_LENGTH;
+    }
+
+    @Override
+    protected AlgorithmParameterSpec parameterSpec(final byte[] nonce) {
+        return new IvParameterSpec(nonce);
+    }
+}
@@ -42,4 +42,25 @@ public interface CryptorStrategy {
      * @throws Exception error
      */
     String encrypt(String key, String data) throws Exception;
+
+    /**
+     * prepare the keys of a rule once, so requests don't parse keys or look up providers.
+     * @param decryptKey decryptKey, may be empty
+     * @param encryptKey encryptKey, may be empty
+     * @return the engine
+     * @throws Exception error
+     */
+    default CryptorEngine prepare(final String decryptKey, final String encryptKey) throws Exception {
+        return new CryptorEngine() {
+            @Override
+            public String decrypt(final byte[] encryptData) throws Exception {
+                return CryptorStrategy.this.decrypt(decryptKey, encryptData);
+            }
+
+            @Override
+            public String encrypt(final String data) throws Exception {
+                return CryptorStrategy.this.encrypt(encryptKey, data);
+            }
+        };
+    }
 }
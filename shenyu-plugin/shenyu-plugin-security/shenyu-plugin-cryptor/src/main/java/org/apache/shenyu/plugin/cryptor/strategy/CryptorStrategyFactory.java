@@ -17,12 +17,14 @@
 
 package org.apache.shenyu.plugin.cryptor.strategy;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.plugin.cryptor.handler.CryptorRuleHandler;
 import org.apache.shenyu.spi.ExtensionLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Base64;
+import java.util.Objects;
 
 /**
  * The type Cryptor strategy factory.
@@ -48,6 +50,27 @@ public final class CryptorStrategyFactory {
         return ExtensionLoader.getExtensionLoader(CryptorStrategy.class).getJoin(strategyName);
     }
 
+    /**
+     * Get the engine of a rule handle, preparing and binding it on first use.
+     *
+     * @param ruleHandle rule.
+     * @return the engine, or null if the strategy or its keys are invalid
+     */
+    public static CryptorEngine engine(final CryptorRuleHandler ruleHandle) {
+        CryptorEngine engine = ruleHandle.obtainEngine();
+        if (Objects.nonNull(engine) || StringUtils.isBlank(ruleHandle.getStrategyName())) {
+            return engine;
+        }
+        try {
+            engine = newInstance(ruleHandle.getStrategyName()).prepare(ruleHandle.getDecryptKey(), ruleHandle.getEncryptKey());
+        } catch (Exception e) {
+            LOG.error("prepare {} cryptor error: ", ruleHandle.getStrategyName(), e);
+            return null;
+        }
+        ruleHandle.bindEngine(engine);
+        return engine;
+    }
+
     /**
      * Match decrypt or encrypt.
      *
@@ -56,11 +79,15 @@ public final class CryptorStrategyFactory {
      * @return Return the parsed data if the match is successful, otherwise return null.
      */
     public static String match(final CryptorRuleHandler ruleHandle, final String data) {
+        CryptorEngine engine = engine(ruleHandle);
+        if (Objects.isNull(engine)) {
+            return null;
+        }
         switch (ruleHandle.getWay()) {
             case DECRYPT:
-                return decrypt(ruleHandle.getStrategyName(), ruleHandle.getDecryptKey(), data);
+                return decrypt(engine, data);
             case ENCRYPT:
-                return encrypt(ruleHandle.getStrategyName(), ruleHandle.getEncryptKey(), data);
+                return encrypt(engine, data);
             default:
                 return null;
         }
@@ -69,14 +96,13 @@ public final class CryptorStrategyFactory {
     /**
      * Encrypt string.
      *
-     * @param strategyName the strategy name
-     * @param key the key
+     * @param engine the engine
      * @param data the data
      * @return the string
      */
-    private static String encrypt(final String strategyName, final String key, final String data) {
+    private static String encrypt(final CryptorEngine engine, final String data) {
         try {
-            return newInstance(strategyName).encrypt(key, data);
+            return engine.encrypt(data);
         } catch (Exception e) {
             LOG.error("encrypt data error: ", e);
             return null;
@@ -86,15 +112,14 @@ public final class CryptorStrategyFactory {
     /**
      * Decrypt string.
      *
-     * @param strategyName the strategy name
-     * @param key the key
+     * @param engine the engine
      * @param encryptData the encrypt data
      * @return the string
      */
-    private static String decrypt(final String strategyName, final String key, final String encryptData) {
+    private static String decrypt(final CryptorEngine engine, final String encryptData) {
         try {
             byte[] inputByte = Base64.getMimeDecoder().decode(encryptData);
-            return newInstance(strategyName).decrypt(key, inputByte);
+            return engine.decrypt(inputByte);
         } catch (Exception e) {
             LOG.error("decrypt data error: ", e);
             return null;
@@ -17,8 +17,6 @@
 
 package org.apache.shenyu.plugin.cryptor.strategy;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.shenyu.plugin.cryptor.handler.CryptorRuleHandler;
@@ -27,9 +25,11 @@ import org.apache.shenyu.plugin.cryptor.utils.JsonUtil;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -41,9 +41,7 @@ public enum MapTypeEnum {
         
         @Override
         public String map(final String originalBody, final String modifiedBody, final String fieldName) {
-            JsonElement element = JsonParser.parseString(originalBody);
-            JsonElement resultJe = JsonUtil.replaceJsonNode(element, new AtomicInteger(0), modifiedBody, Arrays.asList(fieldName.split("\\.")));
-            return resultJe.toString();
+            return JsonUtil.replace(originalBody, Collections.singletonMap(fieldName, modifiedBody));
         }
 
         @Override
@@ -108,11 +106,11 @@ public enum MapTypeEnum {
         if (CollectionUtils.isEmpty(modifiedPairs)) {
             return originalBody;
         }
-        String modifiedString = originalBody;
+        Map<String, String> values = new HashMap<>(modifiedPairs.size() * 2);
         for (Pair<String, String> pair : modifiedPairs) {
-            modifiedString = ALL.map(modifiedString, pair.getRight(), pair.getLeft());
+            values.put(pair.getLeft(), pair.getRight());
         }
-        return modifiedString;
+        return JsonUtil.replace(originalBody, values);
     }
 
     /**
@@ -17,16 +17,20 @@
 
 package org.apache.shenyu.plugin.cryptor.strategy;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.spi.Join;
 
 import javax.crypto.Cipher;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
 import java.security.KeyFactory;
 import java.security.PrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.security.PublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.Objects;
 
 /**
  * rsa cryptor.
@@ -38,19 +42,59 @@ public class RsaStrategy implements CryptorStrategy {
 
     @Override
     public String decrypt(final String key, final byte[] encryptData) throws Exception {
-        byte[] decoded = Base64.getDecoder().decode(key);
-        PrivateKey priKey = KeyFactory.getInstance(RSA).generatePrivate(new PKCS8EncodedKeySpec(decoded));
-        Cipher cipher = Cipher.getInstance(RSA);
-        cipher.init(Cipher.DECRYPT_MODE, priKey);
-        return new String(cipher.doFinal(encryptData));
+        return prepare(key, null).decrypt(encryptData);
     }
 
     @Override
     public String encrypt(final String key, final String data) throws Exception {
-        byte[] decoded = Base64.getDecoder().decode(key);
-        RSAPublicKey pubKey = (RSAPublicKey) KeyFactory.getInstance(RSA).generatePublic(new X509EncodedKeySpec(decoded));
-        Cipher cipher = Cipher.getInstance(RSA);
-        cipher.init(Cipher.ENCRYPT_MODE, pubKey);
-        return Base64.getEncoder().encodeToString(cipher.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        return prepare(null, key).encrypt(data);
+    }
+
+    @Override
+    public CryptorEngine prepare(final String decryptKey, final String encryptKey) throws Exception {
+        KeyFactory keyFactory = KeyFactory.getInstance(RSA);
+        PrivateKey priKey = StringUtils.isEmpty(decryptKey) ? null
+                : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(decryptKey)));
+        PublicKey pubKey = StringUtils.isEmpty(encryptKey) ? null
+                : keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encryptKey)));
+        return new RsaEngine(priKey, pubKey);
+    }
+
+    /**
+     * Rsa ciphers are initialized once per thread, a pkcs1 cipher is reusable after each doFinal.
+     */
+    private static final class RsaEngine implements CryptorEngine {
+
+        private final ThreadLocal<Cipher> decryptCipher;
+
+        private final ThreadLocal<Cipher> encryptCipher;
+
+        RsaEngine(final PrivateKey priKey, final PublicKey pubKey) {
+            this.decryptCipher = ThreadLocal.withInitial(() -> cipher(Cipher.DECRYPT_MODE, priKey));
+            this.encryptCipher = ThreadLocal.withInitial(() -> cipher(Cipher.ENCRYPT_MODE, pubKey));
+        }
+
+        @Override
+        public String decrypt(final byte[] encryptData) throws Exception {
+            return new String(decryptCipher.get().doFinal(encryptData));
+        }
+
+        @Override
+        public String encrypt(final String data) throws Exception {
+            return Base64.getEncoder().encodeToString(encryptCipher.get().doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        private static Cipher cipher(final int mode, final Key key) {
+            if (Objects.isNull(key)) {
+                throw new IllegalStateException("rsa " + (mode == Cipher.DECRYPT_MODE ? "decryptKey" : "encryptKey") + " is not configured");
+            }
+            try {
+                Cipher cipher = Cipher.getInstance(RSA);
+                cipher.init(mode, key);
+                return cipher;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
     }
 }
@@ -21,13 +21,25 @@ import com.google.common.collect.Lists;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.shenyu.common.utils.GsonUtils;
 import org.springframework.util.CollectionUtils;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -47,22 +59,7 @@ public final class JsonUtil {
      * @return str.
      */
     public static String parser(final String json, final String fieldName) {
-        Map<String, Object> map = GsonUtils.getInstance().toObjectMap(json);
-        String str = null;
-        if (fieldName.contains(".")) {
-            String[] split = fieldName.split("\\.");
-            JsonObject jsonObject = (JsonObject) map.get(split[0]);
-            for (int i = 1; i < split.length; i++) {
-                if (i == split.length - 1) {
-                    str = jsonObject.getAsJsonPrimitive(split[i]).getAsString();
-                } else {
-                    jsonObject = jsonObject.getAsJsonObject(split[i]);
-                }
-            }
-        } else {
-            return map.get(fieldName) == null ? null : map.get(fieldName).toString();
-        }
-        return str;
+        return extract(json, Collections.singleton(fieldName)).get(fieldName);
     }
 
     /**
@@ -75,12 +72,50 @@ public final class JsonUtil {
         if (CollectionUtils.isEmpty(fieldNames) || StringUtils.isBlank(json)) {
             return Lists.newArrayList();
         }
+        Map<String, String> values = extract(json, fieldNames);
         return fieldNames.stream().filter(StringUtils::isNoneBlank)
-                .map(field -> Pair.of(field, parser(json, field)))
+                .map(field -> Pair.of(field, values.get(field)))
                 .filter(pair -> StringUtils.isNoneBlank(pair.getRight()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * read the values at field paths in one streaming pass, without building a json tree.
+     * @param json json
+     * @param fieldNames dot separated field paths, arrays are transparent to paths
+     * @return the first value of each found path, objects and arrays as json
+     */
+    public static Map<String, String> extract(final String json, final Collection<String> fieldNames) {
+        Map<String, String> values = new HashMap<>(fieldNames.size() * 2);
+        Set<String> prefixes = prefixes(fieldNames);
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.setLenient(true);
+            walk(reader, "", fieldNames, prefixes, values);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+        return values;
+    }
+
+    /**
+     * replace the values at field paths with strings in one streaming pass, without building a json tree.
+     * @param json json
+     * @param values the new string value of each dot separated field path, arrays are transparent to paths
+     * @return the replaced json
+     */
+    public static String replace(final String json, final Map<String, String> values) {
+        Set<String> prefixes = prefixes(values.keySet());
+        StringWriter out = new StringWriter(json.length() + 64);
+        try (JsonReader reader = new JsonReader(new StringReader(json)); JsonWriter writer = new JsonWriter(out)) {
+            reader.setLenient(true);
+            writer.setLenient(true);
+            copy(reader, writer, "", values, prefixes);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+        return out.toString();
+    }
+
     /**
      * operate json.
      * @param jsonElement jsonElement
@@ -128,4 +163,115 @@ public final class JsonUtil {
         }
         return jsonElement;
     }
+
+    private static Set<String> prefixes(final Collection<String> fieldNames) {
+        Set<String> prefixes = new HashSet<>();
+        for (String fieldName : fieldNames) {
+            int dot = fieldName.indexOf('.');
+            while (dot > 0) {
+                prefixes.add(fieldName.substring(0, dot));
+                dot = fieldName.indexOf('.', dot + 1);
+            }
+        }
+        return prefixes;
+    }
+
+    private static String child(final String path, final String name, final Set<String> prefixes, final Collection<String> fieldNames) {
+        String child = path.isEmpty() ? name : path + "." + name;
+        // null once no field path can be below, so the rest of the subtree is walked without tracking paths
+        return prefixes.contains(child) || fieldNames.contains(child) ? child : null;
+    }
+
+    private static void walk(final JsonReader reader, final String path, final Collection<String> fieldNames,
+                             final Set<String> prefixes, final Map<String, String> values) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                walk(reader, path, fieldNames, prefixes, values);
+            }
+            reader.endArray();
+        } else if (token == JsonToken.BEGIN_OBJECT) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String child = child(path, reader.nextName(), prefixes, fieldNames);
+                if (Objects.isNull(child)) {
+                    reader.skipValue();
+                } else if (fieldNames.contains(child) && !values.containsKey(child)) {
+                    String value = readValue(reader);
+                    if (Objects.nonNull(value)) {
+                        values.put(child, value);
+                    }
+                } else {
+                    walk(reader, child, fieldNames, prefixes, values);
+                }
+            }
+            reader.endObject();
+        } else {
+            reader.skipValue();
+        }
+    }
+
+    private static String readValue(final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                return JsonParser.parseReader(reader).toString();
+        }
+    }
+
+    private static void copy(final JsonReader reader, final JsonWriter writer, final String path,
+                             final Map<String, String> values, final Set<String> prefixes) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    writer.name(name);
+                    String child = Objects.isNull(path) ? null : child(path, name, prefixes, values.keySet());
+                    String value = Objects.isNull(child) ? null : values.get(child);
+                    if (Objects.nonNull(value)) {
+                        reader.skipValue();
+                        writer.value(value);
+                    } else {
+                        copy(reader, writer, child, values, prefixes);
+                    }
+                }
+                reader.endObject();
+                writer.endObject();
+                break;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copy(reader, writer, path, values, prefixes);
+                }
+                reader.endArray();
+                writer.endArray();
+                break;
+            case STRING:
+                writer.value(reader.nextString());
+                break;
+            case NUMBER:
+                writer.jsonValue(reader.nextString());
+                break;
+            case BOOLEAN:
+                writer.value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                writer.nullValue();
+                break;
+            default:
+                throw new JsonParseException("unexpected json token " + reader.peek());
+        }
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cryptor.strategy;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test case for {@link AbstractAeadStrategy}, run against {@link AesGcmStrategy} and {@link ChaCha20Strategy}.
+ */
+public class AbstractAeadStrategyTest {
+
+    private final String decryptedData = "shenyu";
+
+    @ParameterizedTest
+    @CsvSource({"aes-gcm, 16", "chacha20, 32"})
+    public void testEncrypt(final String strategyName, final int keyLength) throws Exception {
+        CryptorStrategy cryptorStrategy = CryptorStrategyFactory.newInstance(strategyName);
+        String key = randomKey(keyLength);
+        String first = cryptorStrategy.encrypt(key, decryptedData);
+        // a fresh nonce per call
+        assertThat(first, not(cryptorStrategy.encrypt(key, decryptedData)));
+        assertThat(cryptorStrategy.decrypt(key, Base64.getMimeDecoder().decode(first)), is(decryptedData));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"aes-gcm, 16", "chacha20, 32"})
+    public void testEngine(final String strategyName, final int keyLength) throws Exception {
+        String key = randomKey(keyLength);
+        CryptorEngine engine = CryptorStrategyFactory.newInstance(strategyName).prepare(key, key);
+        for (int i = 0; i < 3; i++) {
+            assertThat(engine.decrypt(Base64.getDecoder().decode(engine.encrypt(decryptedData + i))), is(decryptedData + i));
+        }
+        byte[] encryptedData = Base64.getDecoder().decode(engine.encrypt(decryptedData));
+        assertThat(engine.decrypt(encryptedData), is(decryptedData));
+        assertThat(engine.decrypt(encryptedData), is(decryptedData));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"aes-gcm, 16", "chacha20, 32"})
+    public void testTampered(final String strategyName, final int keyLength) throws Exception {
+        CryptorStrategy cryptorStrategy = CryptorStrategyFactory.newInstance(strategyName);
+        String key = randomKey(keyLength);
+        byte[] encryptedData = Base64.getDecoder().decode(cryptorStrategy.encrypt(key, decryptedData));
+        encryptedData[encryptedData.length - 1] ^= 1;
+        assertThrows(Exception.class, () -> cryptorStrategy.decrypt(key, encryptedData));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"aes-gcm", "chacha20"})
+    public void testInvalidKey(final String strategyName) {
+        CryptorStrategy cryptorStrategy = CryptorStrategyFactory.newInstance(strategyName);
+        assertThrows(IllegalArgumentException.class, () -> cryptorStrategy.prepare(randomKey(7), null));
+    }
+
+    private static String randomKey(final int length) {
+        byte[] raw = new byte[length];
+        new SecureRandom().nextBytes(raw);
+        return Base64.getEncoder().encodeToString(raw);
+    }
+}
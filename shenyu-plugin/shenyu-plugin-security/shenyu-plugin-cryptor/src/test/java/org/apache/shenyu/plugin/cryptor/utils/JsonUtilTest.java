@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.cryptor.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class JsonUtilTest {
+
+    private final String json = "{\"code\": 200, \"ok\": true, \"data\": {\"name\": \"shenyu\", \"tags\": [\"a\", 1]},"
+            + " \"list\": [{\"id\": \"x\"}, {\"id\": \"y\"}], \"empty\": null}";
+
+    @Test
+    public void testExtract() {
+        Map<String, String> values = JsonUtil.extract(json, Arrays.asList("code", "ok", "data.name", "data.tags", "list.id", "empty", "missing"));
+        assertEquals("200", values.get("code"));
+        assertEquals("true", values.get("ok"));
+        assertEquals("shenyu", values.get("data.name"));
+        assertEquals("[\"a\",1]", values.get("data.tags"));
+        assertEquals("x", values.get("list.id"));
+        assertNull(values.get("empty"));
+        assertNull(values.get("missing"));
+        assertEquals("{\"name\":\"shenyu\",\"tags\":[\"a\",1]}", JsonUtil.parser(json, "data"));
+    }
+
+    @Test
+    public void testReplace() {
+        Map<String, String> values = new HashMap<>();
+        values.put("data.name", "{\"k\":\"v\"}");
+        values.put("list.id", "z");
+        assertEquals("{\"code\":200,\"ok\":true,\"data\":{\"name\":\"{\\\"k\\\":\\\"v\\\"}\",\"tags\":[\"a\",1]},"
+                + "\"list\":[{\"id\":\"z\"},{\"id\":\"z\"}],\"empty\":null}", JsonUtil.replace(json, values));
+        assertEquals("{\"code\":200,\"ok\":true,\"data\":\"d\",\"list\":[{\"id\":\"x\"},{\"id\":\"y\"}],\"empty\":null}",
+                JsonUtil.replace(json, Collections.singletonMap("data", "d")));
+    }
+}
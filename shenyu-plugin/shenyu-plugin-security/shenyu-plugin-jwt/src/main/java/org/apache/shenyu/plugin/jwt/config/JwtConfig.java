@@ -29,6 +29,21 @@ public class JwtConfig implements Serializable {
      */
     private String secretKey;
 
+    /**
+     * jwks file path or http(s) url, verifying asymmetric tokens by kid.
+     */
+    private String jwks;
+
+    /**
+     * max verified tokens cached, 0 disables the cache.
+     */
+    private int cacheSize = 10000;
+
+    /**
+     * max seconds a verified token is cached, tokens are never cached past their exp.
+     */
+    private long cacheTtl = 300;
+
     /**
      * Gets secret key.
      *
@@ -47,4 +62,58 @@ public class JwtConfig implements Serializable {
         this.secretKey = secretKey;
     }
 
+    /**
+     * Gets jwks.
+     *
+     * @return the jwks location
+     */
+    public String getJwks() {
+        return jwks;
+    }
+
+    /**
+     * Sets jwks.
+     *
+     * @param jwks the jwks location
+     */
+    public void setJwks(final String jwks) {
+        this.jwks = jwks;
+    }
+
+    /**
+     * Gets cache size.
+     *
+     * @return the cache size
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets cache size.
+     *
+     * @param cacheSize the cache size
+     */
+    public void setCacheSize(final int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Gets cache ttl.
+     *
+     * @return the cache ttl in seconds
+     */
+    public long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * Sets cache ttl.
+     *
+     * @param cacheTtl the cache ttl in seconds
+     */
+    public void setCacheTtl(final long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
 }
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.jwt.handle;
 
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
@@ -29,6 +30,7 @@ import org.apache.shenyu.plugin.base.utils.BeanHolder;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.apache.shenyu.plugin.jwt.config.JwtConfig;
 import org.apache.shenyu.plugin.jwt.rule.JwtRuleHandle;
+import org.apache.shenyu.plugin.jwt.verifier.JwtVerifier;
 
 import java.util.Map;
 import java.util.Optional;
@@ -41,13 +43,23 @@ public class JwtPluginDataHandler implements PluginDataHandler {
 
     public static final Supplier<CommonHandleCache<String, JwtRuleHandle>> CACHED_HANDLE = new BeanHolder<>(CommonHandleCache::new);
 
+    private static final String JWKS = "jwks";
+
+    private static final String CACHE_SIZE = "cacheSize";
+
+    private static final String CACHE_TTL = "cacheTtl";
+
     @Override
     public void handlerPlugin(final PluginData pluginData) {
         Map<String, String> configMap = GsonUtils.getInstance().toObjectMap(pluginData.getConfig(), String.class);
         String secretKey = Optional.ofNullable(configMap.get(Constants.SECRET_KEY)).orElse("");
         JwtConfig jwtConfig = new JwtConfig();
         jwtConfig.setSecretKey(secretKey);
+        jwtConfig.setJwks(configMap.get(JWKS));
+        jwtConfig.setCacheSize(NumberUtils.toInt(configMap.get(CACHE_SIZE), jwtConfig.getCacheSize()));
+        jwtConfig.setCacheTtl(NumberUtils.toLong(configMap.get(CACHE_TTL), jwtConfig.getCacheTtl()));
         Singleton.INST.single(JwtConfig.class, jwtConfig);
+        Singleton.INST.single(JwtVerifier.class, new JwtVerifier(jwtConfig));
     }
     
     @Override
@@ -59,7 +71,7 @@ public class JwtPluginDataHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(ruleHandle -> {
             JwtRuleHandle jwtRuleHandle = JwtRuleHandle.newInstance(ruleHandle);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), jwtRuleHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, jwtRuleHandle);
         });
     }
 
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.verifier;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The keys of a JWKS document, by kid.
+ *
+ * <p>The document is loaded when the plugin config is handled. A token signed by an unknown kid
+ * triggers a reload in the background, at most once every 30 seconds, and is rejected meanwhile.
+ */
+final class JwksKeySource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JwksKeySource.class);
+
+    private static final long RELOAD_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static final String FILE = "file:";
+
+    /**
+     * reloads block on http, so they run on a daemon thread of their own rather than the common pool.
+     */
+    private static final ExecutorService RELOADER = Executors.newSingleThreadExecutor(ShenyuThreadFactory.create("shenyu-jwks-reload", true));
+
+    private final String location;
+
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    private volatile Map<String, Key> keys = Collections.emptyMap();
+
+    private volatile long loadedNanos;
+
+    JwksKeySource(final String location) {
+        this.location = location;
+        load();
+    }
+
+    /**
+     * Get the key of a kid.
+     *
+     * @param kid the kid, a set of a single key also matches tokens without kid
+     * @return the key, or null
+     */
+    Key get(final String kid) {
+        Map<String, Key> current = keys;
+        Key key = Objects.isNull(kid) && current.size() == 1 ? current.values().iterator().next() : current.get(kid);
+        if (Objects.isNull(key) && System.nanoTime() - loadedNanos > RELOAD_INTERVAL_NANOS && reloading.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::load, RELOADER).whenComplete((ignored, throwable) -> reloading.set(false));
+        }
+        return key;
+    }
+
+    private void load() {
+        loadedNanos = System.nanoTime();
+        try {
+            keys = parse(read());
+        } catch (IOException | RuntimeException e) {
+            LOG.error("jwt plugin failed to load jwks from {}", location, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String read() throws IOException, InterruptedException {
+        if (StringUtils.startsWithIgnoreCase(location, "http://") || StringUtils.startsWithIgnoreCase(location, "https://")) {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(location)).timeout(TIMEOUT).GET().build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("unexpected status " + response.statusCode());
+            }
+            return response.body();
+        }
+        return Files.readString(Paths.get(StringUtils.removeStart(location, FILE)));
+    }
+
+    private static Map<String, Key> parse(final String json) {
+        JwkSet set = Jwks.setParser().ignoreUnsupported(true).build().parse(json);
+        Map<String, Key> parsed = new HashMap<>();
+        for (Jwk<?> jwk : set) {
+            parsed.put(jwk.getId(), jwk.toKey());
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.verifier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.plugin.jwt.config.JwtConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Verifies jwt tokens with keys prepared once per plugin config.
+ *
+ * <p>Hmac tokens are checked against the secret key, other algorithms against the jwks keys by kid.
+ * Verified tokens are cached by the sha-256 of their compact form until the earlier of the cache ttl
+ * and their exp, so a hit skips parsing and signature checking entirely.
+ */
+public final class JwtVerifier {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JwtVerifier.class);
+
+    private static final String HMAC = "HS";
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(JwtVerifier::sha256);
+
+    private final Key secretKey;
+
+    private final JwksKeySource jwks;
+
+    private final JwtParser parser;
+
+    private final Cache<ByteBuffer, VerifiedJwt> cache;
+
+    private final long ttlMillis;
+
+    private final LongSupplier clock;
+
+    /**
+     * Instantiates a new jwt verifier, loading the jwks of the config when one is set.
+     *
+     * @param config the plugin config
+     */
+    public JwtVerifier(final JwtConfig config) {
+        this(config, System::currentTimeMillis);
+    }
+
+    JwtVerifier(final JwtConfig config, final LongSupplier clock) {
+        this.clock = clock;
+        this.secretKey = hmacKey(config.getSecretKey());
+        this.jwks = StringUtils.isBlank(config.getJwks()) ? null : new JwksKeySource(config.getJwks().trim());
+        this.parser = Jwts.parser()
+                .clock(() -> new Date(clock.getAsLong()))
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(final JwsHeader header) {
+                        return locateKey(header);
+                    }
+                })
+                .build();
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(Math.max(0, config.getCacheTtl()));
+        this.cache = config.getCacheSize() <= 0 || ttlMillis == 0 ? null : Caffeine.newBuilder()
+                .maximumSize(config.getCacheSize())
+                .expireAfter(new VerifiedJwtExpiry())
+                .build();
+    }
+
+    /**
+     * Whether any key is configured.
+     *
+     * @return false if neither a usable secret key nor a jwks is configured
+     */
+    public boolean hasKey() {
+        return Objects.nonNull(secretKey) || Objects.nonNull(jwks);
+    }
+
+    /**
+     * Verify a token.
+     *
+     * @param token the compact token
+     * @return the claims, or null if the token is not a valid signed token
+     */
+    public Map<String, Object> verify(final String token) {
+        if (StringUtils.isEmpty(token)) {
+            return null;
+        }
+        if (Objects.isNull(cache)) {
+            VerifiedJwt verified = parse(token);
+            return Objects.isNull(verified) ? null : verified.claims;
+        }
+        ByteBuffer digest = ByteBuffer.wrap(SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        VerifiedJwt cached = cache.getIfPresent(digest);
+        long now = clock.getAsLong();
+        if (Objects.nonNull(cached) && cached.expiresAt > now) {
+            return cached.claims;
+        }
+        VerifiedJwt verified = parse(token);
+        if (Objects.isNull(verified)) {
+            return null;
+        }
+        if (verified.expiresAt > now) {
+            cache.put(digest, verified);
+        }
+        return verified.claims;
+    }
+
+    private VerifiedJwt parse(final String token) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            long deadline = clock.getAsLong() + ttlMillis;
+            Date exp = claims.getExpiration();
+            return new VerifiedJwt(claims, Objects.isNull(exp) ? deadline : Math.min(deadline, exp.getTime()));
+        } catch (RuntimeException e) {
+            LOG.debug("jwt plugin rejected a token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Key locateKey(final JwsHeader header) {
+        String algorithm = header.getAlgorithm();
+        if (StringUtils.startsWith(algorithm, HMAC)) {
+            return secretKey;
+        }
+        return Objects.isNull(jwks) ? null : jwks.get(header.getKeyId());
+    }
+
+    private static Key hmacKey(final String secretKey) {
+        if (StringUtils.isEmpty(secretKey)) {
+            return null;
+        }
+        try {
+            return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        } catch (WeakKeyException e) {
+            LOG.error("jwt plugin secret key is too short for hmac-sha, hmac tokens will be rejected", e);
+            return null;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class VerifiedJwt {
+
+        private final Map<String, Object> claims;
+
+        private final long expiresAt;
+
+        VerifiedJwt(final Map<String, Object> claims, final long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final class VerifiedJwtExpiry implements Expiry<ByteBuffer, VerifiedJwt> {
+
+        @Override
+        public long expireAfterCreate(final ByteBuffer key, final VerifiedJwt value, final long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt - clock.getAsLong()));
+        }
+
+        @Override
+        public long expireAfterUpdate(final ByteBuffer key, final VerifiedJwt value, final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final ByteBuffer key, final VerifiedJwt value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.jwt.verifier;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.RsaPublicJwk;
+import org.apache.shenyu.plugin.jwt.config.JwtConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link JwtVerifier}.
+ */
+public final class JwtVerifierTest {
+
+    private static final String SECRET = "shenyu-test-shenyu-test-shenyu-test";
+
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+
+    @Test
+    public void testHmacCached() {
+        JwtConfig config = new JwtConfig();
+        config.setSecretKey(SECRET);
+        JwtVerifier verifier = new JwtVerifier(config, now::get);
+        String token = hmacToken(TimeUnit.MINUTES.toMillis(10));
+        Map<String, Object> first = verifier.verify(token);
+        assertNotNull(first);
+        assertEquals("shenyu", first.get("userId"));
+        assertSame(first, verifier.verify(token));
+        assertNull(verifier.verify(token + "x"));
+    }
+
+    @Test
+    public void testNotCachedPastExp() {
+        JwtConfig config = new JwtConfig();
+        config.setSecretKey(SECRET);
+        JwtVerifier verifier = new JwtVerifier(config, now::get);
+        String token = hmacToken(TimeUnit.SECONDS.toMillis(10));
+        assertNotNull(verifier.verify(token));
+        now.addAndGet(TimeUnit.SECONDS.toMillis(11));
+        assertNull(verifier.verify(token));
+    }
+
+    @Test
+    public void testCacheDisabled() {
+        JwtConfig config = new JwtConfig();
+        config.setSecretKey(SECRET);
+        config.setCacheSize(0);
+        JwtVerifier verifier = new JwtVerifier(config, now::get);
+        String token = hmacToken(TimeUnit.MINUTES.toMillis(10));
+        assertNotNull(verifier.verify(token));
+        assertEquals(verifier.verify(token), verifier.verify(token));
+    }
+
+    @Test
+    public void testWeakSecretKey() {
+        JwtConfig config = new JwtConfig();
+        config.setSecretKey("shenyu");
+        JwtVerifier verifier = new JwtVerifier(config, now::get);
+        assertFalse(verifier.hasKey());
+        assertNull(verifier.verify(hmacToken(TimeUnit.MINUTES.toMillis(10))));
+    }
+
+    @Test
+    public void testJwks(@TempDir final Path dir) throws Exception {
+        KeyPair keyPair = Jwts.SIG.RS256.keyPair().build();
+        RsaPublicJwk jwk = Jwks.builder().key((RSAPublicKey) keyPair.getPublic()).id("k1").build();
+        Path file = dir.resolve("jwks.json");
+        Files.writeString(file, "{\"keys\":[" + Jwks.json(jwk) + "]}", StandardCharsets.UTF_8);
+        JwtConfig config = new JwtConfig();
+        config.setJwks("file:" + file);
+        JwtVerifier verifier = new JwtVerifier(config, now::get);
+        assertTrue(verifier.hasKey());
+        String token = Jwts.builder().header().keyId("k1").and()
+                .claim("userId", "shenyu")
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+        assertEquals("shenyu", verifier.verify(token).get("userId"));
+        String unknown = Jwts.builder().header().keyId("k2").and()
+                .claim("userId", "shenyu")
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+        assertNull(verifier.verify(unknown));
+        // hmac tokens are rejected without a secret key
+        assertNull(verifier.verify(hmacToken(TimeUnit.MINUTES.toMillis(10))));
+    }
+
+    private String hmacToken(final long lifetimeMillis) {
+        return Jwts.builder()
+                .claim("userId", "shenyu")
+                .expiration(new Date(now.get() + lifetimeMillis))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
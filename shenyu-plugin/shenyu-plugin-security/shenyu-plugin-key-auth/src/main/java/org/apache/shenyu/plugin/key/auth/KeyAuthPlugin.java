@@ -27,7 +27,9 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.base.auth.AuthFailureLimiter;
+import org.apache.shenyu.plugin.base.auth.HashedSecret;
+import org.apache.shenyu.plugin.base.utils.HostAddressUtils;
 import org.apache.shenyu.plugin.key.auth.handler.KeyAuthPluginDataHandler;
 import org.springframework.http.HttpHeaders;
 import org.springframework.util.MultiValueMap;
@@ -53,15 +55,27 @@ public class KeyAuthPlugin extends AbstractShenyuPlugin {
                                    final SelectorData selector, final RuleData rule) {
 
         KeyAuthRuleHandle keyAuthRuleHandle = KeyAuthPluginDataHandler.CACHED_HANDLE.get()
-                .obtainHandle(CacheKeyUtils.INST.getKey(rule));
+                .obtainRuleHandle(rule);
         if (Objects.isNull(keyAuthRuleHandle) || StringUtils.isBlank(keyAuthRuleHandle.getKeyName())
                 || StringUtils.isBlank(keyAuthRuleHandle.getKey())) {
             Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.KEY_NAME_AND_KEY_MUST_BE_CONFIGURED);
             return WebFluxResultUtils.result(exchange, error);
         }
-        if (checkKey(exchange, keyAuthRuleHandle.getKeyName(), keyAuthRuleHandle.getKey())) {
+        AuthFailureLimiter limiter = KeyAuthPluginDataHandler.FAILURE_LIMITER.get();
+        String client = limiter.isEnabled() ? HostAddressUtils.acquireIp(exchange) : null;
+        if (limiter.isLocked(client)) {
+            return WebFluxResultUtils.result(exchange, ShenyuResultWrap.error(exchange, ShenyuResultEnum.TOO_MANY_REQUESTS));
+        }
+        HashedSecret hashedKey = keyAuthRuleHandle.obtainHashedKey();
+        if (Objects.isNull(hashedKey)) {
+            hashedKey = HashedSecret.of(keyAuthRuleHandle.getKey());
+            keyAuthRuleHandle.bindHashedKey(hashedKey);
+        }
+        if (checkKey(exchange, keyAuthRuleHandle.getKeyName(), hashedKey)) {
+            limiter.onSuccess(client);
             return chain.execute(exchange);
         }
+        limiter.onFailure(client);
         Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.ERROR_KEY);
         return WebFluxResultUtils.result(exchange, error);
     }
@@ -70,15 +84,15 @@ public class KeyAuthPlugin extends AbstractShenyuPlugin {
      * Check the key.
      * @param exchange exchange
      * @param keyName key attribute name
-     * @param key key
+     * @param hashedKey the hashed key
      * @return whether the key is correct.
      */
-    private boolean checkKey(final ServerWebExchange exchange, final String keyName, final String key) {
+    private boolean checkKey(final ServerWebExchange exchange, final String keyName, final HashedSecret hashedKey) {
         HttpHeaders httpHeaders = exchange.getRequest().getHeaders();
-        if (StringUtils.equals(httpHeaders.getFirst(keyName), key)) {
+        if (hashedKey.matches(httpHeaders.getFirst(keyName))) {
             return true;
         }
         MultiValueMap<String, String> multiValueMap = exchange.getRequest().getQueryParams();
-        return StringUtils.equals(multiValueMap.getFirst(keyName), key);
+        return hashedKey.matches(multiValueMap.getFirst(keyName));
     }
 }
@@ -17,27 +17,58 @@
 
 package org.apache.shenyu.plugin.key.auth.handler;
 
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.convert.rule.impl.KeyAuthRuleHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.base.auth.AuthFailureLimiter;
+import org.apache.shenyu.plugin.base.auth.HashedSecret;
 import org.apache.shenyu.plugin.base.cache.CommonHandleCache;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.base.utils.BeanHolder;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 public class KeyAuthPluginDataHandler implements PluginDataHandler {
 
     public static final Supplier<CommonHandleCache<String, KeyAuthRuleHandle>> CACHED_HANDLE = new BeanHolder<>(CommonHandleCache::new);
 
+    public static final AtomicReference<AuthFailureLimiter> FAILURE_LIMITER = new AtomicReference<>(AuthFailureLimiter.DISABLED);
+
+    private static final String MAX_FAILURES = "maxFailures";
+
+    private static final String LOCKOUT_SECONDS = "lockoutSeconds";
+
+    @Override
+    public void handlerPlugin(final PluginData pluginData) {
+        Map<String, String> configMap = Optional.ofNullable(pluginData.getConfig())
+                .map(config -> GsonUtils.getInstance().toObjectMap(config, String.class))
+                .orElse(Collections.emptyMap());
+        int maxFailures = NumberUtils.toInt(configMap.get(MAX_FAILURES));
+        long lockoutSeconds = NumberUtils.toLong(configMap.get(LOCKOUT_SECONDS));
+        // keep the counters when the plugin is re-synced with the same settings
+        if (!FAILURE_LIMITER.get().hasSettings(maxFailures, lockoutSeconds)) {
+            FAILURE_LIMITER.set(new AuthFailureLimiter(maxFailures, lockoutSeconds));
+        }
+    }
+
     @Override
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             final KeyAuthRuleHandle ruleHandle = GsonUtils.getInstance().fromJson(s, KeyAuthRuleHandle.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), ruleHandle);
+            if (Objects.nonNull(ruleHandle)) {
+                // hashed once here, so requests compare hashes without hashing the configured key
+                ruleHandle.bindHashedKey(HashedSecret.of(ruleHandle.getKey()));
+            }
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, ruleHandle);
         });
     }
     
@@ -17,14 +17,18 @@
 
 package org.apache.shenyu.plugin.key.auth;
 
+import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.plugin.api.RemoteAddressResolver;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.auth.AuthFailureLimiter;
 import org.apache.shenyu.plugin.key.auth.handler.KeyAuthPluginDataHandler;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -34,9 +38,13 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.net.InetSocketAddress;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -69,9 +77,16 @@ public class KeyAuthPluginTest {
         keyAuthPluginDataHandler = new KeyAuthPluginDataHandler();
         ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
         when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        when(context.getBean(RemoteAddressResolver.class)).thenReturn(new RemoteAddressResolver() {
+        });
         SpringBeanUtils.getInstance().setApplicationContext(context);
     }
 
+    @AfterEach
+    public void tearDown() {
+        KeyAuthPluginDataHandler.FAILURE_LIMITER.set(AuthFailureLimiter.DISABLED);
+    }
+
     @Test
     public void testNotConfigured() {
         ruleData.setHandle("{}");
@@ -122,6 +137,27 @@ public class KeyAuthPluginTest {
         StepVerifier.create(mono).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void testKeyAuthLocksOutAfterFailures() {
+        keyAuthPluginDataHandler.handlerPlugin(new PluginData("pluginId", "keyAuth",
+                "{\"maxFailures\":\"1\",\"lockoutSeconds\":\"60\"}", "0", true, null));
+        ruleData.setHandle("{\"keyName\":\"apiKey\",\"key\":\"key\"}");
+        keyAuthPluginDataHandler.handlerRule(ruleData);
+        exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .get("localhost")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 8080))
+                .header("apiKey", "123456")
+                .build());
+        StepVerifier.create(keyAuthPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .get("localhost")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 8080))
+                .header("apiKey", "key")
+                .build());
+        StepVerifier.create(keyAuthPlugin.doExecute(exchange, chain, selectorData, ruleData)).expectSubscription().verifyComplete();
+        verify(chain, never()).execute(any());
+    }
+
     @Test
     public void testNamed() {
         assertEquals(PluginEnum.KEY_AUTH.getName(), keyAuthPlugin.named());
@@ -21,11 +21,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.convert.rule.impl.KeyAuthRuleHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.plugin.base.auth.HashedSecret;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -55,6 +57,10 @@ public class KeyAuthPluginDataHandlerTest {
         KeyAuthRuleHandle testRuleHandle = KeyAuthPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(ruleData));
         assertTrue(StringUtils.equals(testRuleHandle.getKeyName(), "apiKey"));
         assertTrue(StringUtils.equals(testRuleHandle.getKey(), "key"));
+        assertTrue(testRuleHandle.<HashedSecret>obtainHashedKey().matches("key"));
+
+        keyAuthPluginDataHandler.removeRule(ruleData);
+        assertNull(KeyAuthPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(ruleData)));
     }
 
     @Test
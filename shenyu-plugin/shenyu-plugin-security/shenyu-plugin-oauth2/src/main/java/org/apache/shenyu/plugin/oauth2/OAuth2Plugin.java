@@ -17,11 +17,18 @@
 
 package org.apache.shenyu.plugin.oauth2;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
+import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
+import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.oauth2.validator.OAuth2TokenValidator;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -53,6 +60,13 @@ public class OAuth2Plugin extends AbstractShenyuPlugin {
     
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+        OAuth2TokenValidator validator = Singleton.INST.get(OAuth2TokenValidator.class);
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (Objects.nonNull(validator) && validator.isEnabled() && StringUtils.startsWithIgnoreCase(authorization, BEARER)) {
+            return validator.validate(authorization.substring(BEARER.length()).trim(), exchange.getAttribute(Constants.METRICS_OAUTH2))
+                    .flatMap(active -> active ? chain.execute(exchange)
+                            : WebFluxResultUtils.result(exchange, ShenyuResultWrap.error(exchange, ShenyuResultEnum.ERROR_TOKEN)));
+        }
         return exchange.getPrincipal()
                 .filter(OAuth2AuthenticationToken.class::isInstance)
                 .cast(OAuth2AuthenticationToken.class)
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.oauth2.config;
+
+import java.io.Serializable;
+
+/**
+ * The type OAuth2 config, validating bearer tokens at the gateway.
+ */
+public class OAuth2Config implements Serializable {
+
+    /**
+     * jwks url of the authorization server, verifying jwt access tokens locally.
+     */
+    private String jwksUri;
+
+    /**
+     * issuer a jwt access token must name in its iss claim, not checked when blank.
+     */
+    private String issuer;
+
+    /**
+     * comma separated audiences, a jwt access token must name one of them in its aud claim, not checked when blank.
+     */
+    private String audience;
+
+    /**
+     * token introspection endpoint (rfc 7662) of the authorization server, checking opaque access tokens.
+     */
+    private String introspectionUri;
+
+    /**
+     * client id authenticating the gateway to the introspection endpoint.
+     */
+    private String clientId;
+
+    /**
+     * client secret authenticating the gateway to the introspection endpoint.
+     */
+    private String clientSecret;
+
+    /**
+     * max validated tokens cached, 0 disables the cache.
+     */
+    private int cacheSize = 10000;
+
+    /**
+     * max seconds an active token is cached, tokens are never cached past their exp.
+     */
+    private long cacheTtl = 300;
+
+    /**
+     * seconds an invalid or inactive token is cached.
+     */
+    private long negativeCacheTtl = 30;
+
+    /**
+     * introspection request timeout in milliseconds.
+     */
+    private long introspectionTimeout = 3000;
+
+    /**
+     * Gets jwksUri.
+     *
+     * @return the jwksUri
+     */
+    public String getJwksUri() {
+        return jwksUri;
+    }
+
+    /**
+     * Sets jwksUri.
+     *
+     * @param jwksUri the jwksUri
+     */
+    public void setJwksUri(final String jwksUri) {
+        this.jwksUri = jwksUri;
+    }
+
+    /**
+     * Gets issuer.
+     *
+     * @return the issuer
+     */
+    public String getIssuer() {
+        return issuer;
+    }
+
+    /**
+     * Sets issuer.
+     *
+     * @param issuer the issuer
+     */
+    public void setIssuer(final String issuer) {
+        this.issuer = issuer;
+    }
+
+    /**
+     * Gets audience.
+     *
+     * @return the audience
+     */
+    public String getAudience() {
+        return audience;
+    }
+
+    /**
+     * Sets audience.
+     *
+     * @param audience the audience
+     */
+    public void setAudience(final String audience) {
+        this.audience = audience;
+    }
+
+    /**
+     * Gets introspectionUri.
+     *
+     * @return the introspectionUri
+     */
+    public String getIntrospectionUri() {
+        return introspectionUri;
+    }
+
+    /**
+     * Sets introspectionUri.
+     *
+     * @param introspectionUri the introspectionUri
+     */
+    public void setIntrospectionUri(final String introspectionUri) {
+        this.introspectionUri = introspectionUri;
+    }
+
+    /**
+     * Gets clientId.
+     *
+     * @return the clientId
+     */
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Sets clientId.
+     *
+     * @param clientId the clientId
+     */
+    public void setClientId(final String clientId) {
+        this.clientId = clientId;
+    }
+
+    /**
+     * Gets clientSecret.
+     *
+     * @return the clientSecret
+     */
+    public String getClientSecret() {
+        return clientSecret;
+    }
+
+    /**
+     * Sets clientSecret.
+     *
+     * @param clientSecret the clientSecret
+     */
+    public void setClientSecret(final String clientSecret) {
+        this.clientSecret = clientSecret;
+    }
+
+    /**
+     * Gets cacheSize.
+     *
+     * @return the cacheSize
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets cacheSize.
+     *
+     * @param cacheSize the cacheSize
+     */
+    public void setCacheSize(final int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Gets cacheTtl.
+     *
+     * @return the cacheTtl
+     */
+    public long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * Sets cacheTtl.
+     *
+     * @param cacheTtl the cacheTtl
+     */
+    public void setCacheTtl(final long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Gets negativeCacheTtl.
+     *
+     * @return the negativeCacheTtl
+     */
+    public long getNegativeCacheTtl() {
+        return negativeCacheTtl;
+    }
+
+    /**
+     * Sets negativeCacheTtl.
+     *
+     * @param negativeCacheTtl the negativeCacheTtl
+     */
+    public void setNegativeCacheTtl(final long negativeCacheTtl) {
+        this.negativeCacheTtl = negativeCacheTtl;
+    }
+
+    /**
+     * Gets introspectionTimeout.
+     *
+     * @return the introspectionTimeout
+     */
+    public long getIntrospectionTimeout() {
+        return introspectionTimeout;
+    }
+
+    /**
+     * Sets introspectionTimeout.
+     *
+     * @param introspectionTimeout the introspectionTimeout
+     */
+    public void setIntrospectionTimeout(final long introspectionTimeout) {
+        this.introspectionTimeout = introspectionTimeout;
+    }
+}
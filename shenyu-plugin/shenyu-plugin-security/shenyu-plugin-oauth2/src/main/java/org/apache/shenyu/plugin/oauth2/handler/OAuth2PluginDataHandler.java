@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.oauth2.handler;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.enums.PluginEnum;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
+import org.apache.shenyu.plugin.oauth2.config.OAuth2Config;
+import org.apache.shenyu.plugin.oauth2.validator.OAuth2TokenValidator;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Configuration data of the oauth2 plugin.
+ */
+public class OAuth2PluginDataHandler implements PluginDataHandler {
+
+    @Override
+    public void handlerPlugin(final PluginData pluginData) {
+        OAuth2Config oauth2Config = Optional.ofNullable(pluginData.getConfig())
+                .map(config -> GsonUtils.getInstance().fromJson(config, OAuth2Config.class))
+                .filter(Objects::nonNull)
+                .orElseGet(OAuth2Config::new);
+        Singleton.INST.single(OAuth2Config.class, oauth2Config);
+        Singleton.INST.single(OAuth2TokenValidator.class, new OAuth2TokenValidator(oauth2Config));
+    }
+
+    @Override
+    public String pluginNamed() {
+        return PluginEnum.OAUTH2.getName();
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.oauth2.validator;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.DefaultJOSEObjectTypeVerifier;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.oauth2.config.OAuth2Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Validates bearer access tokens at the gateway.
+ *
+ * <p>Jwt access tokens are verified locally against the cached JWKS of the authorization server,
+ * which keeps serving the last good key set while the server is unreachable, and their iss and aud
+ * claims are checked against the configured issuer and audience. Other tokens are sent to the
+ * introspection endpoint. Either way the outcome is cached by the token's SHA-256: active tokens
+ * until min(cacheTtl, exp), invalid ones for negativeCacheTtl. Concurrent misses of one token share
+ * a single validation, and failed introspections or key set loads are not cached.
+ */
+public final class OAuth2TokenValidator {
+
+    /**
+     * metrics event of a token found in the cache.
+     */
+    public static final String HIT = "hit";
+
+    /**
+     * metrics event of a token validated on a miss.
+     */
+    public static final String MISS = "miss";
+
+    /**
+     * metrics event carrying the latency of an introspection request, in milliseconds.
+     */
+    public static final String INTROSPECTION = "introspection";
+
+    private static final Logger LOG = LoggerFactory.getLogger(OAuth2TokenValidator.class);
+
+    private static final JOSEObjectType ACCESS_TOKEN_TYPE = new JOSEObjectType("at+jwt");
+
+    private static final int VERIFIER_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final int VERIFIER_QUEUE = 1024;
+
+    /**
+     * jwt verification may block on a jwks fetch, so it runs on daemon threads of its own rather than the common pool.
+     */
+    private static final ThreadPoolExecutor VERIFIER = verifier();
+
+    private final OAuth2Config config;
+
+    private final ConfigurableJWTProcessor<SecurityContext> jwtProcessor;
+
+    private final WebClient webClient;
+
+    private final Ticker ticker;
+
+    private final AsyncCache<String, TokenStatus> cache;
+
+    /**
+     * Instantiates a new validator.
+     *
+     * @param config the plugin config
+     */
+    public OAuth2TokenValidator(final OAuth2Config config) {
+        this(config, jwkSource(config.getJwksUri()), WebClient.create(), Ticker.systemTicker());
+    }
+
+    OAuth2TokenValidator(final OAuth2Config config, final JWKSource<SecurityContext> jwkSource, final WebClient webClient, final Ticker ticker) {
+        this.config = config;
+        this.jwtProcessor = Objects.isNull(jwkSource) ? null : jwtProcessor(config, jwkSource);
+        this.webClient = webClient;
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(config.getCacheSize(), 0))
+                .expireAfter(new TokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Whether tokens can be validated, i.e. a jwks or an introspection endpoint is configured.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return Objects.nonNull(jwtProcessor) || StringUtils.isNotBlank(config.getIntrospectionUri());
+    }
+
+    /**
+     * Validate a bearer token.
+     *
+     * @param token the access token
+     * @param metrics receives {@link #HIT}, {@link #MISS} and {@link #INTROSPECTION} events, may be null
+     * @return whether the token is active, never an error
+     */
+    public Mono<Boolean> validate(final String token, final BiConsumer<String, Long> metrics) {
+        if (StringUtils.isBlank(token)) {
+            return Mono.just(false);
+        }
+        boolean[] missed = new boolean[1];
+        final String key = sha256(token);
+        CompletableFuture<TokenStatus> status = cache.get(key, (ignored, executor) -> {
+            missed[0] = true;
+            return load(token, metrics);
+        });
+        if (Objects.nonNull(metrics)) {
+            metrics.accept(missed[0] ? MISS : HIT, 0L);
+        }
+        // the future is shared by concurrent requests, a cancelled request must not cancel it
+        return Mono.fromFuture(status, true)
+                .map(TokenStatus::isActive)
+                .onErrorResume(throwable -> {
+                    // caffeine drops failed futures too, but only after the waiting requests resumed
+                    cache.asMap().remove(key, status);
+                    LOG.warn("oauth2 plugin failed to validate the token, {}", throwable.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Get the cache statistics.
+     *
+     * @return the statistics
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    private CompletableFuture<TokenStatus> load(final String token, final BiConsumer<String, Long> metrics) {
+        if (Objects.nonNull(jwtProcessor) && StringUtils.countMatches(token, '.') == 2) {
+            try {
+                return CompletableFuture.supplyAsync(() -> verify(token), VERIFIER);
+            } catch (RejectedExecutionException e) {
+                // failed futures are not cached, the token is checked again by its next request
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        if (StringUtils.isBlank(config.getIntrospectionUri())) {
+            return CompletableFuture.completedFuture(inactive());
+        }
+        final long start = ticker.read();
+        return introspect(token)
+                .doOnTerminate(() -> {
+                    if (Objects.nonNull(metrics)) {
+                        metrics.accept(INTROSPECTION, TimeUnit.NANOSECONDS.toMillis(ticker.read() - start));
+                    }
+                })
+                .toFuture();
+    }
+
+    private TokenStatus verify(final String token) {
+        try {
+            JWTClaimsSet claims = jwtProcessor.process(token, null);
+            return active(claims.getExpirationTime());
+        } catch (KeySourceException e) {
+            // the token may well be valid, so the failure is not cached as an inactive token
+            throw new CompletionException(e);
+        } catch (Exception e) {
+            // malformed, badly signed, expired or foreign tokens
+            LOG.debug("oauth2 plugin rejected a jwt access token, {}", e.getMessage());
+            return inactive();
+        }
+    }
+
+    private Mono<TokenStatus> introspect(final String token) {
+        return webClient.post()
+                .uri(config.getIntrospectionUri())
+                .headers(headers -> {
+                    if (StringUtils.isNotBlank(config.getClientId())) {
+                        headers.setBasicAuth(config.getClientId(), StringUtils.defaultString(config.getClientSecret()), StandardCharsets.UTF_8);
+                    }
+                })
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromFormData("token", token).with("token_type_hint", "access_token"))
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(Duration.ofMillis(config.getIntrospectionTimeout()))
+                .map(this::parseIntrospection);
+    }
+
+    private TokenStatus parseIntrospection(final String body) {
+        JsonObject response = GsonUtils.getInstance().fromJson(body, JsonObject.class);
+        JsonElement active = response.get("active");
+        if (Objects.isNull(active) || !active.isJsonPrimitive() || !active.getAsBoolean()) {
+            return inactive();
+        }
+        JsonElement exp = response.get("exp");
+        return active(Objects.nonNull(exp) && exp.isJsonPrimitive() ? new Date(TimeUnit.SECONDS.toMillis(exp.getAsLong())) : null);
+    }
+
+    private TokenStatus active(final Date exp) {
+        long ttl = TimeUnit.SECONDS.toNanos(config.getCacheTtl());
+        if (Objects.nonNull(exp)) {
+            ttl = Math.min(ttl, TimeUnit.MILLISECONDS.toNanos(exp.getTime() - System.currentTimeMillis()));
+        }
+        return ttl > 0 ? new TokenStatus(true, ttl) : inactive();
+    }
+
+    private TokenStatus inactive() {
+        return new TokenStatus(false, TimeUnit.SECONDS.toNanos(config.getNegativeCacheTtl()));
+    }
+
+    private static ConfigurableJWTProcessor<SecurityContext> jwtProcessor(final OAuth2Config config, final JWKSource<SecurityContext> jwkSource) {
+        Set<JWSAlgorithm> algorithms = new HashSet<>(JWSAlgorithm.Family.RSA);
+        algorithms.addAll(JWSAlgorithm.Family.EC);
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, jwkSource));
+        processor.setJWSTypeVerifier(new DefaultJOSEObjectTypeVerifier<>(JOSEObjectType.JWT, ACCESS_TOKEN_TYPE, null));
+        processor.setJWTClaimsSetVerifier(claimsVerifier(config));
+        return processor;
+    }
+
+    private static DefaultJWTClaimsVerifier<SecurityContext> claimsVerifier(final OAuth2Config config) {
+        Set<String> audiences = Arrays.stream(StringUtils.defaultString(config.getAudience()).split(","))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .collect(Collectors.toSet());
+        JWTClaimsSet.Builder exactMatch = new JWTClaimsSet.Builder();
+        if (StringUtils.isNotBlank(config.getIssuer())) {
+            exactMatch.issuer(config.getIssuer().trim());
+        }
+        if (audiences.isEmpty() && StringUtils.isBlank(config.getIssuer())) {
+            LOG.warn("oauth2 plugin has no issuer nor audience configured, any jwt signed by the jwks is accepted");
+        }
+        // a non null audience set also makes the aud claim required
+        return new DefaultJWTClaimsVerifier<>(audiences.isEmpty() ? null : audiences, exactMatch.build(), Collections.emptySet(), null);
+    }
+
+    private static ThreadPoolExecutor verifier() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(VERIFIER_THREADS, VERIFIER_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(VERIFIER_QUEUE), ShenyuThreadFactory.create("shenyu-oauth2-verifier", true));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static JWKSource<SecurityContext> jwkSource(final String jwksUri) {
+        if (StringUtils.isBlank(jwksUri)) {
+            return null;
+        }
+        try {
+            return JWKSourceBuilder.<SecurityContext>create(new URL(jwksUri))
+                    .retrying(true)
+                    .refreshAheadCache(true)
+                    .outageTolerant(true)
+                    .build();
+        } catch (MalformedURLException e) {
+            LOG.error("oauth2 plugin ignored the invalid jwks uri {}", jwksUri, e);
+            return null;
+        }
+    }
+
+    private static String sha256(final String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class TokenStatus {
+
+        private final boolean active;
+
+        private final long ttlNanos;
+
+        TokenStatus(final boolean active, final long ttlNanos) {
+            this.active = active;
+            this.ttlNanos = ttlNanos;
+        }
+
+        boolean isActive() {
+            return active;
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, TokenStatus> {
+
+        @Override
+        public long expireAfterCreate(final String key, final TokenStatus value, final long currentTime) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final TokenStatus value, final long currentTime, final long currentDuration) {
+            return value.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final TokenStatus value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -17,12 +17,20 @@
 
 package org.apache.shenyu.plugin.oauth2;
 
+import org.apache.shenyu.common.utils.Singleton;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
+import org.apache.shenyu.plugin.api.result.ShenyuResult;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.oauth2.config.OAuth2Config;
+import org.apache.shenyu.plugin.oauth2.validator.OAuth2TokenValidator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.http.HttpHeaders;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
@@ -44,7 +52,10 @@ import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -67,12 +78,35 @@ public class OAuth2PluginTest {
         request = MockServerHttpRequest.get("/hello-world").build();
         mockExchange = MockServerWebExchange.from(request);
         chain = mock(ShenyuPluginChain.class);
-        when(chain.execute(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+        lenient().when(chain.execute(any(ServerWebExchange.class))).thenReturn(Mono.empty());
         oAuth2AuthorizedClientService = mock(ReactiveOAuth2AuthorizedClientService.class);
         ObjectProvider<ReactiveOAuth2AuthorizedClientService> objectProvider = mock(ObjectProvider.class);
-        when(objectProvider.getIfAvailable()).thenReturn(oAuth2AuthorizedClientService);
+        lenient().when(objectProvider.getIfAvailable()).thenReturn(oAuth2AuthorizedClientService);
         this.oAuth2Plugin = new OAuth2Plugin(objectProvider);
     }
+
+    @AfterEach
+    public void tearDown() {
+        Singleton.INST.single(OAuth2TokenValidator.class, new OAuth2TokenValidator(new OAuth2Config()));
+    }
+
+    @Test
+    public void rejectInvalidBearerToken() {
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        OAuth2Config config = new OAuth2Config();
+        config.setIntrospectionUri("http://127.0.0.1:1/introspect");
+        config.setIntrospectionTimeout(1000);
+        Singleton.INST.single(OAuth2TokenValidator.class, new OAuth2TokenValidator(config));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hello-world")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer opaque")
+                .build());
+
+        oAuth2Plugin.doExecute(exchange, chain, null, null).block(TIMEOUT);
+
+        verify(chain, never()).execute(any(ServerWebExchange.class));
+    }
     
     @Test
     public void havePrincipal() {
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.oauth2.validator;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.apache.shenyu.plugin.oauth2.config.OAuth2Config;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link OAuth2TokenValidator}.
+ */
+public final class OAuth2TokenValidatorTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private RSAKey rsaKey;
+
+    private OAuth2Config config;
+
+    private AtomicInteger introspections;
+
+    @BeforeEach
+    public void setUp() throws JOSEException {
+        rsaKey = new RSAKeyGenerator(2048).keyID("k1").generate();
+        config = new OAuth2Config();
+        config.setIntrospectionUri("http://auth/introspect");
+        introspections = new AtomicInteger();
+    }
+
+    @Test
+    public void testJwtVerifiedLocally() throws JOSEException {
+        OAuth2TokenValidator validator = jwtValidator();
+        String token = sign(rsaKey, new Date(System.currentTimeMillis() + 60_000));
+        assertTrue(validator.validate(token, null).block(TIMEOUT));
+        assertTrue(validator.validate(token, null).block(TIMEOUT));
+        assertEquals(1, validator.stats().hitCount());
+        assertEquals(0, introspections.get());
+    }
+
+    @Test
+    public void testJwtRejected() throws JOSEException {
+        OAuth2TokenValidator validator = jwtValidator();
+        String expired = sign(rsaKey, new Date(System.currentTimeMillis() - 120_000));
+        assertFalse(validator.validate(expired, null).block(TIMEOUT));
+        String foreign = sign(new RSAKeyGenerator(2048).keyID("k1").generate(), new Date(System.currentTimeMillis() + 60_000));
+        assertFalse(validator.validate(foreign, null).block(TIMEOUT));
+        // invalid tokens are cached too
+        assertFalse(validator.validate(foreign, null).block(TIMEOUT));
+        assertEquals(1, validator.stats().hitCount());
+    }
+
+    @Test
+    public void testKeySourceFailureNotCached() throws JOSEException {
+        config.setIntrospectionUri(null);
+        AtomicInteger loads = new AtomicInteger();
+        JWKSet keys = new JWKSet(rsaKey.toPublicJWK());
+        OAuth2TokenValidator validator = new OAuth2TokenValidator(config, (selector, context) -> {
+            if (loads.getAndIncrement() == 0) {
+                throw new KeySourceException("jwks is unreachable");
+            }
+            return selector.select(keys);
+        }, WebClient.create(), Ticker.systemTicker());
+        String token = sign(rsaKey, new Date(System.currentTimeMillis() + 60_000));
+        assertFalse(validator.validate(token, null).block(TIMEOUT));
+        // the outage is not cached as an inactive token
+        assertTrue(validator.validate(token, null).block(TIMEOUT));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testIssuerAndAudienceVerified() throws JOSEException {
+        config.setIssuer("https://auth.shenyu");
+        config.setAudience("gateway, api");
+        OAuth2TokenValidator validator = jwtValidator();
+        Date exp = new Date(System.currentTimeMillis() + 60_000);
+        assertTrue(validator.validate(sign(rsaKey, exp, "https://auth.shenyu", "api"), null).block(TIMEOUT));
+        assertFalse(validator.validate(sign(rsaKey, exp, "https://evil.shenyu", "api"), null).block(TIMEOUT));
+        assertFalse(validator.validate(sign(rsaKey, exp, "https://auth.shenyu", "other"), null).block(TIMEOUT));
+        assertFalse(validator.validate(sign(rsaKey, exp), null).block(TIMEOUT));
+    }
+
+    @Test
+    public void testIntrospectionCached() {
+        long exp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 60;
+        OAuth2TokenValidator validator = introspectionValidator(HttpStatus.OK, "{\"active\":true,\"exp\":" + exp + "}", Duration.ZERO);
+        List<String> events = new ArrayList<>();
+        assertTrue(validator.validate("opaque", (event, millis) -> events.add(event)).block(TIMEOUT));
+        assertTrue(validator.validate("opaque", (event, millis) -> events.add(event)).block(TIMEOUT));
+        assertEquals(1, introspections.get());
+        assertTrue(events.contains(OAuth2TokenValidator.MISS));
+        assertTrue(events.contains(OAuth2TokenValidator.HIT));
+        assertTrue(events.contains(OAuth2TokenValidator.INTROSPECTION));
+    }
+
+    @Test
+    public void testIntrospectionSingleFlight() {
+        OAuth2TokenValidator validator = introspectionValidator(HttpStatus.OK, "{\"active\":true}", Duration.ofMillis(200));
+        List<Boolean> results = Mono.zip(validator.validate("opaque", null), validator.validate("opaque", null),
+                (first, second) -> List.of(first, second)).block(TIMEOUT);
+        assertEquals(List.of(true, true), results);
+        assertEquals(1, introspections.get());
+    }
+
+    @Test
+    public void testInactiveTokenCached() {
+        OAuth2TokenValidator validator = introspectionValidator(HttpStatus.OK, "{\"active\":false}", Duration.ZERO);
+        assertFalse(validator.validate("opaque", null).block(TIMEOUT));
+        assertFalse(validator.validate("opaque", null).block(TIMEOUT));
+        assertEquals(1, introspections.get());
+    }
+
+    @Test
+    public void testFailedIntrospectionNotCached() {
+        OAuth2TokenValidator validator = introspectionValidator(HttpStatus.SERVICE_UNAVAILABLE, "", Duration.ZERO);
+        assertFalse(validator.validate("opaque", null).block(TIMEOUT));
+        assertFalse(validator.validate("opaque", null).block(TIMEOUT));
+        assertEquals(2, introspections.get());
+    }
+
+    private OAuth2TokenValidator jwtValidator() {
+        config.setIntrospectionUri(null);
+        return new OAuth2TokenValidator(config, new ImmutableJWKSet<>(new JWKSet(rsaKey.toPublicJWK())),
+                WebClient.builder().exchangeFunction(request -> {
+                    introspections.incrementAndGet();
+                    return Mono.error(new IllegalStateException("unexpected introspection"));
+                }).build(), Ticker.systemTicker());
+    }
+
+    private OAuth2TokenValidator introspectionValidator(final HttpStatus status, final String body, final Duration delay) {
+        WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+            introspections.incrementAndGet();
+            return Mono.delay(delay).map(ignored -> ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        }).build();
+        return new OAuth2TokenValidator(config, null, webClient, Ticker.systemTicker());
+    }
+
+    private static String sign(final RSAKey key, final Date exp) throws JOSEException {
+        return sign(key, new JWTClaimsSet.Builder().subject("shenyu").expirationTime(exp).build());
+    }
+
+    private static String sign(final RSAKey key, final Date exp, final String issuer, final String audience) throws JOSEException {
+        return sign(key, new JWTClaimsSet.Builder().subject("shenyu").expirationTime(exp).issuer(issuer).audience(audience).build());
+    }
+
+    private static String sign(final RSAKey key, final JWTClaimsSet claims) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -25,26 +25,46 @@ import org.apache.shenyu.plugin.api.exception.ResponsiveException;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.base.support.BodySizeLimitRequestDecorator;
 import org.apache.shenyu.plugin.base.utils.ServerWebExchangeUtils;
+import org.apache.shenyu.plugin.sign.api.BodyVerifier;
 import org.apache.shenyu.plugin.sign.service.SignService;
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
 import org.apache.shenyu.plugin.sign.handler.SignPluginDataHandler;
 import org.apache.shenyu.plugin.sign.handler.SignRuleHandler;
+import org.springframework.core.codec.AbstractDataBufferDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.DecoderHttpMessageReader;
 import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.NonNull;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Sign Plugin.
  */
 public class SignPlugin extends AbstractShenyuPlugin {
 
+    /**
+     * the spring codecs default, used when no reader declares a limit.
+     */
+    private static final int DEFAULT_MAX_IN_MEMORY_SIZE = 256 * 1024;
+
     private final List<HttpMessageReader<?>> messageReaders;
 
+    /**
+     * the most body bytes held while the streamed body signature is checked.
+     */
+    private final long maxInMemorySize;
+
     private final SignService signService;
 
     /**
@@ -56,6 +76,14 @@ public class SignPlugin extends AbstractShenyuPlugin {
     public SignPlugin(final List<HttpMessageReader<?>> readers, final SignService signService) {
         this.signService = signService;
         messageReaders = readers;
+        int limit = readers.stream()
+                .filter(DecoderHttpMessageReader.class::isInstance)
+                .map(reader -> ((DecoderHttpMessageReader<?>) reader).getDecoder())
+                .filter(AbstractDataBufferDecoder.class::isInstance)
+                .mapToInt(decoder -> ((AbstractDataBufferDecoder<?>) decoder).getMaxInMemorySize())
+                .max().orElse(DEFAULT_MAX_IN_MEMORY_SIZE);
+        // a negative codec limit means unlimited
+        this.maxInMemorySize = limit < 0 ? Long.MAX_VALUE : limit;
     }
 
     @Override
@@ -70,7 +98,7 @@ public class SignPlugin extends AbstractShenyuPlugin {
 
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selectorData, final RuleData rule) {
-        SignRuleHandler ruleHandler = SignPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        SignRuleHandler ruleHandler = SignPluginDataHandler.CACHED_HANDLE.get().obtainRuleHandle(rule);
         if (ObjectUtils.isEmpty(ruleHandler) || !ruleHandler.getSignRequestBody()) {
             VerifyResult result = signService.signatureVerify(exchange);
             if (result.isFailed()) {
@@ -80,6 +108,11 @@ public class SignPlugin extends AbstractShenyuPlugin {
             return chain.execute(exchange);
         }
 
+        BodyVerifier bodyVerifier = signService.bodyVerifier(exchange);
+        if (Objects.nonNull(bodyVerifier)) {
+            return verifyStreamingBody(exchange, chain, bodyVerifier);
+        }
+
         return ServerWebExchangeUtils.rewriteRequestBody(exchange, messageReaders, body -> {
             VerifyResult result = signVerifyWithBody(body, exchange);
             if (result.isSuccess()) {
@@ -95,6 +128,38 @@ public class SignPlugin extends AbstractShenyuPlugin {
                 });
     }
 
+    /**
+     * Signs the body buffers as they are read and hands the same buffers to the upstream,
+     * which is only called once the signature matches. The buffers are held until then, so a body
+     * beyond the codec max in memory size fails with 413 as soon as it grows past it.
+     */
+    private Mono<Void> verifyStreamingBody(final ServerWebExchange exchange, final ShenyuPluginChain chain, final BodyVerifier bodyVerifier) {
+        if (bodyVerifier.isFailed()) {
+            return WebFluxResultUtils.failedResult(ShenyuResultEnum.SIGN_IS_NOT_PASS.getCode(),
+                    bodyVerifier.verify().getReason(), exchange);
+        }
+        return new BodySizeLimitRequestDecorator(exchange.getRequest(), maxInMemorySize).getBody()
+                .doOnNext(bodyVerifier::update)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .collectList()
+                .flatMap(buffers -> {
+                    VerifyResult result = bodyVerifier.verify();
+                    if (result.isFailed()) {
+                        buffers.forEach(DataBufferUtils::release);
+                        return WebFluxResultUtils.failedResult(ShenyuResultEnum.SIGN_IS_NOT_PASS.getCode(),
+                                result.getReason(), exchange);
+                    }
+                    ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+                        @Override
+                        @NonNull
+                        public Flux<DataBuffer> getBody() {
+                            return Flux.fromIterable(buffers);
+                        }
+                    };
+                    return chain.execute(exchange.mutate().request(request).build());
+                });
+    }
+
     private VerifyResult signVerifyWithBody(final String originalBody, final ServerWebExchange exchange) {
         // get url params
         return signService.signatureVerify(exchange, originalBody);
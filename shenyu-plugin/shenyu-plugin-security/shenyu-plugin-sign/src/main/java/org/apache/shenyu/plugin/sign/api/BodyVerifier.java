@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.sign.api;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Objects;
+
+/**
+ * Verifies a signed request body as its buffers stream in.
+ *
+ * <p>Everything but the body is verified when the verifier is created, so a verifier is either
+ * failed from the start or is fed the body buffers and verified once they are all read.
+ */
+public final class BodyVerifier {
+
+    private final VerifyResult failure;
+
+    private final BodySigner signer;
+
+    private final String signature;
+
+    private final Runnable onSuccess;
+
+    /**
+     * Instantiates a verifier of a request whose signature is checked against its body.
+     *
+     * @param signer the signer fed the body buffers
+     * @param signature the signature sent with the request
+     * @param onSuccess run once the body matches the signature
+     */
+    public BodyVerifier(final BodySigner signer, final String signature, final Runnable onSuccess) {
+        this.failure = null;
+        this.signer = signer;
+        this.signature = signature;
+        this.onSuccess = onSuccess;
+    }
+
+    private BodyVerifier(final VerifyResult failure) {
+        this.failure = failure;
+        this.signer = null;
+        this.signature = null;
+        this.onSuccess = null;
+    }
+
+    /**
+     * Generates a verifier that failed before reading the body.
+     *
+     * @param failure the failed result
+     * @return verifier
+     */
+    public static BodyVerifier fail(final VerifyResult failure) {
+        return new BodyVerifier(failure);
+    }
+
+    /**
+     * Whether the request already failed without reading the body.
+     *
+     * @return true or false
+     */
+    public boolean isFailed() {
+        return Objects.nonNull(failure);
+    }
+
+    /**
+     * Feeds a body buffer, leaving its read position untouched.
+     *
+     * @param dataBuffer body buffer
+     */
+    public void update(final DataBuffer dataBuffer) {
+        if (isFailed()) {
+            return;
+        }
+        try (DataBuffer.ByteBufferIterator iterator = dataBuffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer byteBuffer = iterator.next();
+                signer.update(byteBuffer);
+            }
+        }
+    }
+
+    /**
+     * Verifies the signature of everything fed so far.
+     *
+     * @return result
+     */
+    public VerifyResult verify() {
+        if (isFailed()) {
+            return failure;
+        }
+        String sign = signer.sign();
+        if (!MessageDigest.isEqual(sign.getBytes(StandardCharsets.UTF_8), signature.getBytes(StandardCharsets.UTF_8))) {
+            return VerifyResult.fail(Constants.SIGN_VALUE_IS_ERROR);
+        }
+        onSuccess.run();
+        return VerifyResult.success();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.sign.cache;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.shenyu.common.utils.SignUtils;
+import org.apache.shenyu.plugin.sign.api.BodySigner;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The signing key of an app, with a keyed hmac prototype per algorithm.
+ *
+ * <p>Signers clone the prototype instead of looking up the provider and initializing the key per request.
+ */
+public final class AppSignKey {
+
+    private static final Map<String, String> HMAC_ALGORITHMS = Map.of(
+            SignUtils.SIGN_HMD5, "HmacMD5",
+            SignUtils.SIGN_HS256, "HmacSHA256",
+            SignUtils.SIGN_HS512, "HmacSHA512");
+
+    private final String appSecret;
+
+    private final byte[] secret;
+
+    private final Map<String, Mac> prototypes = new ConcurrentHashMap<>();
+
+    AppSignKey(final String appSecret) {
+        this.appSecret = appSecret;
+        this.secret = appSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets app secret.
+     *
+     * @return the app secret
+     */
+    public String getAppSecret() {
+        return appSecret;
+    }
+
+    /**
+     * Starts a signer with the same output as {@link SignUtils#sign} in upper case.
+     *
+     * @param algorithmName the sign algorithm
+     * @return the signer, or null if the algorithm isn't supported
+     */
+    public BodySigner newSigner(final String algorithmName) {
+        if (SignUtils.SIGN_MD5.equals(algorithmName)) {
+            return new DigestSigner(md5());
+        }
+        String hmac = HMAC_ALGORITHMS.get(algorithmName);
+        if (Objects.isNull(hmac)) {
+            return null;
+        }
+        Mac prototype = prototypes.computeIfAbsent(hmac, this::newMac);
+        try {
+            return new MacSigner((Mac) prototype.clone());
+        } catch (CloneNotSupportedException e) {
+            return new MacSigner(newMac(hmac));
+        }
+    }
+
+    private Mac newMac(final String algorithm) {
+        try {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(secret, algorithm));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(final byte[] bytes) {
+        return Hex.encodeHexString(bytes, false);
+    }
+
+    private final class DigestSigner implements BodySigner {
+
+        private final MessageDigest digest;
+
+        DigestSigner(final MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void update(final ByteBuffer data) {
+            digest.update(data);
+        }
+
+        @Override
+        public String sign() {
+            // md5 signs data + key
+            digest.update(secret);
+            return hex(digest.digest());
+        }
+    }
+
+    private static final class MacSigner implements BodySigner {
+
+        private final Mac mac;
+
+        MacSigner(final Mac mac) {
+            this.mac = mac;
+        }
+
+        @Override
+        public void update(final ByteBuffer data) {
+            mac.update(data);
+        }
+
+        @Override
+        public String sign() {
+            return hex(mac.doFinal());
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.sign.cache;
 import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.AppAuthData;
 
+import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -33,6 +34,11 @@ public final class SignAuthDataCache {
      * appKey -> AppAuthData.
      */
     private static final ConcurrentMap<String, AppAuthData> AUTH_MAP = Maps.newConcurrentMap();
+
+    /**
+     * appKey -> AppSignKey.
+     */
+    private static final ConcurrentMap<String, AppSignKey> SIGN_KEY_MAP = Maps.newConcurrentMap();
     
     private SignAuthDataCache() {
     }
@@ -53,6 +59,7 @@ public final class SignAuthDataCache {
      */
     public void cacheAuthData(final AppAuthData data) {
         AUTH_MAP.put(data.getAppKey(), data);
+        SIGN_KEY_MAP.remove(data.getAppKey());
     }
     
     /**
@@ -62,6 +69,7 @@ public final class SignAuthDataCache {
      */
     public void removeAuthData(final AppAuthData data) {
         AUTH_MAP.remove(data.getAppKey());
+        SIGN_KEY_MAP.remove(data.getAppKey());
     }
     
     /**
@@ -73,4 +81,19 @@ public final class SignAuthDataCache {
     public AppAuthData obtainAuthData(final String appKey) {
         return AUTH_MAP.get(appKey);
     }
+
+    /**
+     * Obtain the signing key of auth data, prepared once per app secret.
+     *
+     * @param data the app auth data
+     * @return the app sign key
+     */
+    public AppSignKey obtainSignKey(final AppAuthData data) {
+        AppSignKey signKey = SIGN_KEY_MAP.get(data.getAppKey());
+        if (Objects.isNull(signKey) || !Objects.equals(signKey.getAppSecret(), data.getAppSecret())) {
+            signKey = new AppSignKey(data.getAppSecret());
+            SIGN_KEY_MAP.put(data.getAppKey(), signKey);
+        }
+        return signKey;
+    }
 }
@@ -39,7 +39,7 @@ public class SignPluginDataHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             SignRuleHandler cryptorRuleHandler = GsonUtils.getInstance().fromJson(s, SignRuleHandler.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), cryptorRuleHandler);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, cryptorRuleHandler);
         });
     }
 
@@ -18,7 +18,9 @@
 package org.apache.shenyu.plugin.sign.provider;
 
 import com.google.common.collect.ImmutableMap;
+import org.apache.shenyu.plugin.sign.api.BodySigner;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
+import org.apache.shenyu.plugin.sign.cache.AppSignKey;
 
 import java.util.Map;
 
@@ -44,4 +46,10 @@ public class DefaultSignProvider implements SignProvider {
         return VERSION_SIGN.get(signParameters.getVersion())
                 .generateSign(signKey, signParameters);
     }
+
+    @Override
+    public BodySigner newBodySigner(final AppSignKey signKey, final SignParameters signParameters) {
+        return VERSION_SIGN.get(signParameters.getVersion())
+                .newBodySigner(signKey, signParameters);
+    }
 }
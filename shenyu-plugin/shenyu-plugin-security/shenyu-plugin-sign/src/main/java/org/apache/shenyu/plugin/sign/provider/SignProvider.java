@@ -17,7 +17,9 @@
 
 package org.apache.shenyu.plugin.sign.provider;
 
+import org.apache.shenyu.plugin.sign.api.BodySigner;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
+import org.apache.shenyu.plugin.sign.cache.AppSignKey;
 
 public interface SignProvider {
 
@@ -39,4 +41,15 @@ public interface SignProvider {
      * @return sign
      */
     String generateSign(String signKey, SignParameters signParameters);
+
+    /**
+     * Starts signing with everything but the body, so the raw body bytes can be signed as they stream in.
+     *
+     * @param signKey        signKey
+     * @param signParameters signParameters
+     * @return the body signer, or null if the sign needs the decoded body
+     */
+    default BodySigner newBodySigner(AppSignKey signKey, SignParameters signParameters) {
+        return null;
+    }
 }
@@ -18,9 +18,13 @@
 package org.apache.shenyu.plugin.sign.provider;
 
 import org.apache.shenyu.common.utils.SignUtils;
+import org.apache.shenyu.plugin.sign.api.BodySigner;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
+import org.apache.shenyu.plugin.sign.cache.AppSignKey;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -40,6 +44,16 @@ public class VersionTwoSignProvider implements SignProvider {
         return generateSign(signKey, signParameters, null);
     }
 
+    @Override
+    public BodySigner newBodySigner(final AppSignKey signKey, final SignParameters signParameters) {
+        BodySigner signer = signKey.newSigner(signParameters.getSignAlg());
+        if (Objects.nonNull(signer)) {
+            String head = signParameters.getParameters() + getRelativeURL(signParameters.getUri());
+            signer.update(ByteBuffer.wrap(head.getBytes(StandardCharsets.UTF_8)));
+        }
+        return signer;
+    }
+
     private String getRelativeURL(final URI uri) {
         if (Objects.isNull(uri.getQuery())) {
             return uri.getRawPath();
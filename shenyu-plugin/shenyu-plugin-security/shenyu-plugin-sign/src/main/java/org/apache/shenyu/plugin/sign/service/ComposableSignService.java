@@ -31,6 +31,8 @@ import org.apache.shenyu.common.utils.DateUtils;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.base.utils.PathMatchUtils;
+import org.apache.shenyu.plugin.sign.api.BodySigner;
+import org.apache.shenyu.plugin.sign.api.BodyVerifier;
 import org.apache.shenyu.plugin.sign.api.SignParameters;
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
 import org.apache.shenyu.plugin.sign.api.VerifySupplier;
@@ -121,6 +123,35 @@ public class ComposableSignService implements SignService {
         return result;
     }
 
+    @Override
+    public BodyVerifier bodyVerifier(final ServerWebExchange exchange) {
+
+        final ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
+        assert shenyuContext != null;
+
+        SignParameters signParameters = extractor.extract(exchange.getRequest());
+
+        AppAuthData appAuthData = Optional.ofNullable(signParameters.getAppKey())
+                .map(key -> SignAuthDataCache.getInstance().obtainAuthData(key))
+                .orElse(null);
+
+        VerifyResult result = VerifySupplier
+                .apply(() -> verifySignParameters(signParameters))
+                .and(() -> verifyExpires(signParameters))
+                .and(() -> verifyAuthConfig(appAuthData, signParameters))
+                .and(() -> verifyPath(appAuthData, signParameters))
+                .verify();
+        if (result.isFailed()) {
+            return BodyVerifier.fail(result);
+        }
+
+        BodySigner signer = signProvider.newBodySigner(SignAuthDataCache.getInstance().obtainSignKey(appAuthData), signParameters);
+        if (Objects.isNull(signer)) {
+            return null;
+        }
+        return new BodyVerifier(signer, signParameters.getSignature(), () -> handleExchange(exchange, appAuthData, shenyuContext));
+    }
+
     private VerifyResult verify(final SignParameters signParameters,
                                 final AppAuthData appAuthData,
                                 final BiFunction<String, SignParameters, String> signFunction) {
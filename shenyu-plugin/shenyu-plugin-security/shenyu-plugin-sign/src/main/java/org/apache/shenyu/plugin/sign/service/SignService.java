@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.sign.service;
 
+import org.apache.shenyu.plugin.sign.api.BodyVerifier;
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -36,4 +37,13 @@ public interface SignService {
      * @return result
      */
     VerifyResult signatureVerify(ServerWebExchange exchange);
+
+    /**
+     * Gets a verifier of the raw request body, with everything but the body verified.
+     * @param exchange exchange
+     * @return verifier, or null if the body has to be decoded to be verified
+     */
+    default BodyVerifier bodyVerifier(ServerWebExchange exchange) {
+        return null;
+    }
 }
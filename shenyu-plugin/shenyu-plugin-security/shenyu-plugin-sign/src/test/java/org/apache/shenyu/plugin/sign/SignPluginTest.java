@@ -24,6 +24,8 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.sign.api.BodySigner;
+import org.apache.shenyu.plugin.sign.api.BodyVerifier;
 import org.apache.shenyu.plugin.sign.service.SignService;
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
 import org.apache.shenyu.plugin.sign.handler.SignPluginDataHandler;
@@ -32,27 +34,35 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -153,9 +163,77 @@ public final class SignPluginTest {
 
     }
 
+    @Test
+    public void testSignPluginStreamingBody() {
+        this.ruleData.setHandle("{\"signRequestBody\": true}");
+        String requestBody = "{\"data\": \"5\"}";
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .method(HttpMethod.POST, "/test")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(requestBody));
+        when(signService.bodyVerifier(exchange)).thenReturn(new BodyVerifier(new EchoSigner(), requestBody, () -> { }));
+        ArgumentCaptor<ServerWebExchange> captor = ArgumentCaptor.forClass(ServerWebExchange.class);
+        when(this.chain.execute(captor.capture())).thenReturn(Mono.empty());
+        SelectorData selectorData = mock(SelectorData.class);
+        signPluginDataHandler.handlerRule(ruleData);
+        StepVerifier.create(signPlugin.doExecute(this.exchange, this.chain, selectorData, this.ruleData)).expectSubscription().verifyComplete();
+        // the upstream gets the original buffers, readable from the start
+        StepVerifier.create(DataBufferUtils.join(captor.getValue().getRequest().getBody()).map(buffer -> buffer.toString(StandardCharsets.UTF_8)))
+                .expectNext(requestBody).verifyComplete();
+    }
+
+    @Test
+    public void testSignPluginStreamingBodyMismatch() {
+        this.ruleData.setHandle("{\"signRequestBody\": true}");
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .method(HttpMethod.POST, "/test")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"data\": \"6\"}"));
+        when(signService.bodyVerifier(exchange)).thenReturn(new BodyVerifier(new EchoSigner(), "{\"data\": \"7\"}", () -> { }));
+        SelectorData selectorData = mock(SelectorData.class);
+        signPluginDataHandler.handlerRule(ruleData);
+        StepVerifier.create(signPlugin.doExecute(this.exchange, this.chain, selectorData, this.ruleData)).expectSubscription().verifyComplete();
+        verify(this.chain, never()).execute(any());
+    }
+
+    @Test
+    public void testSignPluginStreamingBodyTooLarge() {
+        this.ruleData.setHandle("{\"signRequestBody\": true}");
+        String requestBody = "{\"data\": \"" + "5".repeat(64) + "\"}";
+        this.exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .method(HttpMethod.POST, "/test")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(requestBody));
+        when(signService.bodyVerifier(exchange)).thenReturn(new BodyVerifier(new EchoSigner(), requestBody, () -> { }));
+        SignPlugin limited = new SignPlugin(HandlerStrategies.builder().codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(16))
+                .build().messageReaders(), signService);
+        SelectorData selectorData = mock(SelectorData.class);
+        signPluginDataHandler.handlerRule(ruleData);
+        StepVerifier.create(limited.doExecute(this.exchange, this.chain, selectorData, this.ruleData))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException
+                        && ((ResponseStatusException) error).getStatusCode() == HttpStatus.PAYLOAD_TOO_LARGE)
+                .verify();
+        verify(this.chain, never()).execute(any());
+    }
+
     @AfterEach
     public void clean() throws IOException {
         signPluginDataHandler.removeRule(this.ruleData);
     }
 
+
+    private static final class EchoSigner implements BodySigner {
+
+        private final StringBuilder signed = new StringBuilder();
+
+        @Override
+        public void update(final ByteBuffer data) {
+            signed.append(StandardCharsets.UTF_8.decode(data));
+        }
+
+        @Override
+        public String sign() {
+            return signed.toString();
+        }
+    }
 }
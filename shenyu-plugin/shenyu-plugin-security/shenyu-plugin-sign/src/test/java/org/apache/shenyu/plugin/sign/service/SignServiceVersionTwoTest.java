@@ -31,6 +31,7 @@ import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.sign.api.BodyVerifier;
 import org.apache.shenyu.plugin.sign.api.VerifyResult;
 import org.apache.shenyu.plugin.sign.cache.SignAuthDataCache;
 import org.apache.shenyu.plugin.sign.extractor.DefaultExtractor;
@@ -43,6 +44,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
@@ -50,6 +52,7 @@ import org.springframework.web.server.ServerWebExchange;
 
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
@@ -59,6 +62,8 @@ import java.util.Optional;
 
 import static org.apache.shenyu.plugin.sign.extractor.DefaultExtractor.VERSION_2;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -347,6 +352,54 @@ public final class SignServiceVersionTwoTest {
         assertEquals(ret, VerifyResult.fail(Constants.SIGN_VALUE_IS_ERROR));
     }
 
+    @Test
+    public void streamingBodySign() {
+        for (String alg : Lists.newArrayList(SignUtils.SIGN_MD5, SignUtils.SIGN_HMD5, SignUtils.SIGN_HS256, SignUtils.SIGN_HS512)) {
+            String body = "{\"data\":\"数据\"}";
+            String timestamp = String.valueOf(System.currentTimeMillis());
+            String parameters = buildParameters(timestamp, appKey, alg);
+            URI uri = URI.create("http://localhost/test-api/demo/test?data2=data");
+            String data = parameters + getRelativeURL(uri) + body;
+            this.exchange = buildServerWebExchange(uri.toString(), parameters, SignUtils.sign(alg, secretKey, data).toUpperCase());
+            this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+
+            BodyVerifier verifier = this.signService.bodyVerifier(this.exchange);
+            assertFalse(verifier.isFailed());
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            verifier.update(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, 0, 5)));
+            verifier.update(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, 5, bytes.length)));
+            assertEquals(VerifyResult.success(), verifier.verify(), alg);
+        }
+    }
+
+    @Test
+    public void streamingErrorBodySign() {
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        String parameters = buildParameters(timestamp, appKey);
+        this.exchange = buildServerWebExchange("http://localhost/test-api/demo/test",
+                parameters,
+                buildSign(secretKey, parameters, URI.create("http://localhost/test-api/demo/test"), "{\"data\":\"data\"}"));
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+
+        BodyVerifier verifier = this.signService.bodyVerifier(this.exchange);
+        verifier.update(DefaultDataBufferFactory.sharedInstance.wrap("{\"data\":\"data2\"}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(VerifyResult.fail(Constants.SIGN_VALUE_IS_ERROR), verifier.verify());
+    }
+
+    @Test
+    public void streamingErrorAppKey() {
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        String parameters = buildParameters(timestamp, "errorKey");
+        this.exchange = buildServerWebExchange("http://localhost/test-api/demo/test",
+                parameters,
+                buildSign("errorKey", parameters, URI.create("http://localhost/test-api/demo/test"), null));
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+
+        BodyVerifier verifier = this.signService.bodyVerifier(this.exchange);
+        assertTrue(verifier.isFailed());
+        assertEquals(VerifyResult.fail(Constants.SIGN_APP_KEY_IS_NOT_EXIST), verifier.verify());
+    }
+
     private String buildSign(final String signKey, final String parameters, final URI url, final String body) {
 
         String data = parameters + getRelativeURL(url) + Optional.ofNullable(body).orElse("");
@@ -354,6 +407,10 @@ public final class SignServiceVersionTwoTest {
     }
 
     private String buildParameters(final String timestamp, final String appKey) {
+        return buildParameters(timestamp, appKey, "MD5");
+    }
+
+    private String buildParameters(final String timestamp, final String appKey, final String alg) {
         Map<String, String> map = new HashMap<>();
         if (timestamp != null) {
             map.put(Constants.TIMESTAMP, timestamp);
@@ -361,7 +418,7 @@ public final class SignServiceVersionTwoTest {
         if (appKey != null) {
             map.put(Constants.APP_KEY, appKey);
         }
-        map.put("alg", "MD5");
+        map.put("alg", alg);
         return Base64.getEncoder().encodeToString(JsonUtils.toJson(map).getBytes(StandardCharsets.UTF_8));
     }
 
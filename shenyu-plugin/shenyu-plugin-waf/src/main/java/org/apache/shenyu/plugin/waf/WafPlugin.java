@@ -19,6 +19,7 @@ package org.apache.shenyu.plugin.waf;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.WafHandle;
@@ -30,16 +31,22 @@ import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
-import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.utils.HostAddressUtils;
+import org.apache.shenyu.plugin.waf.blocklist.WafIpBlocklist;
 import org.apache.shenyu.plugin.waf.config.WafConfig;
 import org.apache.shenyu.plugin.waf.handler.WafPluginDataHandler;
+import org.apache.shenyu.plugin.waf.inspect.PayloadInspector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * use waf plugin we can control some access.
@@ -47,6 +54,16 @@ import java.util.Objects;
 public class WafPlugin extends AbstractShenyuPlugin {
 
     private static final Logger LOG = LoggerFactory.getLogger(WafPlugin.class);
+
+    @Override
+    public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+        if (isBlocked(exchange)) {
+            exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+            Object error = ShenyuResultWrap.error(exchange, HttpStatus.FORBIDDEN.value(), Constants.REJECT_MSG, null);
+            return WebFluxResultUtils.result(exchange, error);
+        }
+        return super.execute(exchange, chain);
+    }
     
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
@@ -69,6 +86,9 @@ public class WafPlugin extends AbstractShenyuPlugin {
             Object error = ShenyuResultWrap.error(exchange, Integer.parseInt(wafHandle.getStatusCode()), Constants.REJECT_MSG, null);
             return WebFluxResultUtils.result(exchange, error);
         }
+        if (Boolean.TRUE.equals(wafHandle.getInspect())) {
+            return inspect(exchange, chain, wafHandle);
+        }
         return chain.execute(exchange);
     }
 
@@ -92,7 +112,54 @@ public class WafPlugin extends AbstractShenyuPlugin {
         return PluginEnum.WAF.getCode();
     }
     
+    private boolean isBlocked(final ServerWebExchange exchange) {
+        WafIpBlocklist blocklist = Singleton.INST.get(WafIpBlocklist.class);
+        if (Objects.isNull(blocklist) || blocklist.isEmpty()) {
+            return false;
+        }
+        // the blocklist only applies while the plugin is enabled, like its selectors and rules
+        PluginData pluginData = BaseDataCache.getInstance().obtainPluginData(named());
+        return Objects.nonNull(pluginData) && Boolean.TRUE.equals(pluginData.getEnabled())
+                && blocklist.contains(HostAddressUtils.acquireIp(exchange));
+    }
+
+    private Mono<Void> inspect(final ServerWebExchange exchange, final ShenyuPluginChain chain, final WafHandle wafHandle) {
+        PayloadInspector inspector = Singleton.INST.get(PayloadInspector.class);
+        if (Objects.isNull(inspector)) {
+            return chain.execute(exchange);
+        }
+        boolean reject = !Boolean.TRUE.equals(wafHandle.getInspectLogOnly());
+        String signature = inspector.inspect(exchange.getRequest());
+        if (Objects.nonNull(signature)) {
+            reportHit(exchange, signature);
+            return reject ? rejectInspected(exchange, wafHandle) : chain.execute(exchange);
+        }
+        int bodyLimit = Optional.ofNullable(wafHandle.getInspectBodyLimit()).orElse(0);
+        if (bodyLimit <= 0) {
+            return chain.execute(exchange);
+        }
+        AtomicBoolean bodyRejected = new AtomicBoolean();
+        ServerHttpRequest request = inspector.inspectBody(exchange.getRequest(), bodyLimit, reject, hit -> {
+            reportHit(exchange, hit);
+            bodyRejected.set(reject);
+        });
+        // the body is read by a later plugin, whose error may be remapped on the way back, so the rejection is tracked here
+        return chain.execute(exchange.mutate().request(request).build())
+                .onErrorResume(error -> bodyRejected.get() && !exchange.getResponse().isCommitted(), error -> rejectInspected(exchange, wafHandle));
+    }
+
+    private Mono<Void> rejectInspected(final ServerWebExchange exchange, final WafHandle wafHandle) {
+        exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+        Object error = ShenyuResultWrap.error(exchange, Integer.parseInt(wafHandle.getStatusCode()), Constants.REJECT_MSG, null);
+        return WebFluxResultUtils.result(exchange, error);
+    }
+
+    private void reportHit(final ServerWebExchange exchange, final String signature) {
+        LOG.warn("waf plugin found signature [{}] in request {}", signature, exchange.getRequest().getURI().getRawPath());
+        exchange.getAttributes().merge(Constants.WAF_INSPECTION_HITS, signature, (hits, hit) -> hits + "," + hit);
+    }
+
     private WafHandle buildRuleHandle(final RuleData rule) {
-        return WafPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        return WafPluginDataHandler.CACHED_HANDLE.get().obtainRuleHandle(rule);
     }
 }
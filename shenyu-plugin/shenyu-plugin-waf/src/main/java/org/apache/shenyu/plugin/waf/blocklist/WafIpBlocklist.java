@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.waf.blocklist;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.plugin.base.trie.IpRangeTrie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ip addresses and CIDRs blocked by the waf plugin, loaded from a local file.
+ *
+ * <p>The file holds one address or CIDR per line, blank lines and lines starting with '#' are
+ * ignored. It is checked for changes periodically and reloaded into a new {@link IpRangeTrie},
+ * which is swapped in atomically; a file that fails to load keeps the previous ranges.
+ */
+public final class WafIpBlocklist {
+
+    /**
+     * default seconds between checks of the file.
+     */
+    public static final long DEFAULT_RELOAD_INTERVAL = 10L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(WafIpBlocklist.class);
+
+    private static final String COMMENT = "#";
+
+    private final String file;
+
+    private final long reloadInterval;
+
+    private volatile IpRangeTrie ranges = IpRangeTrie.EMPTY;
+
+    private volatile FileTime loadedTime;
+
+    private final ScheduledFuture<?> reloadTask;
+
+    /**
+     * Instantiates a new blocklist and loads the file.
+     *
+     * @param file the file, blank for an empty blocklist
+     * @param reloadInterval seconds between checks of the file, 0 disables reloading
+     */
+    public WafIpBlocklist(final String file, final long reloadInterval) {
+        this.file = file;
+        this.reloadInterval = reloadInterval;
+        if (StringUtils.isBlank(file)) {
+            this.reloadTask = null;
+            return;
+        }
+        reload();
+        this.reloadTask = reloadInterval > 0
+                ? Reloader.EXECUTOR.scheduleWithFixedDelay(this::reload, reloadInterval, reloadInterval, TimeUnit.SECONDS) : null;
+    }
+
+    /**
+     * Whether the address is blocked.
+     *
+     * @param ip the client ip
+     * @return true if blocked
+     */
+    public boolean contains(final String ip) {
+        return ranges.contains(ip);
+    }
+
+    /**
+     * Whether no address is blocked.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    /**
+     * Whether this blocklist was created from the given settings.
+     *
+     * @param file the file
+     * @param reloadInterval seconds between checks of the file
+     * @return true if the settings are the same
+     */
+    public boolean hasSettings(final String file, final long reloadInterval) {
+        return Objects.equals(StringUtils.trimToNull(this.file), StringUtils.trimToNull(file)) && this.reloadInterval == reloadInterval;
+    }
+
+    /**
+     * Stop reloading the file.
+     */
+    public void close() {
+        if (Objects.nonNull(reloadTask)) {
+            reloadTask.cancel(false);
+        }
+    }
+
+    /**
+     * Reload the file if it changed since the last load.
+     */
+    public void reload() {
+        Path path = Paths.get(file.trim());
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.equals(loadedTime)) {
+                return;
+            }
+            IpRangeTrie.Builder builder = IpRangeTrie.builder();
+            int invalid = 0;
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while (Objects.nonNull(line = reader.readLine())) {
+                    String range = line.trim();
+                    if (!range.isEmpty() && !range.startsWith(COMMENT) && !builder.add(range)) {
+                        invalid++;
+                    }
+                }
+            }
+            ranges = builder.build();
+            loadedTime = modified;
+            LOG.info("waf plugin loaded {} blocked ranges from {}, skipped {} invalid lines", ranges.size(), file, invalid);
+        } catch (IOException e) {
+            LOG.error("waf plugin failed to load the blocklist {}", file, e);
+        }
+    }
+
+    private static final class Reloader {
+
+        private static final ScheduledExecutorService EXECUTOR =
+                Executors.newSingleThreadScheduledExecutor(ShenyuThreadFactory.create("shenyu-waf-blocklist", true));
+    }
+}
@@ -28,6 +28,26 @@ public class WafConfig {
      */
     private String model;
 
+    /**
+     * local file of blocked ip addresses and CIDRs, one per line, rejected before any selector.
+     */
+    private String blocklistFile;
+
+    /**
+     * seconds between checks of the blocklist file for changes, default 10, 0 disables reloading.
+     */
+    private Long blocklistReloadInterval;
+
+    /**
+     * payload signatures, one per line, scanned on rules with inspect on.
+     */
+    private String signatures;
+
+    /**
+     * local file of payload signatures, one per line, added to the inline ones.
+     */
+    private String signatureFile;
+
     /**
      * Gets model.
      *
@@ -45,4 +65,76 @@ public class WafConfig {
     public void setModel(final String model) {
         this.model = model;
     }
+
+    /**
+     * Gets blocklist file.
+     *
+     * @return the blocklist file
+     */
+    public String getBlocklistFile() {
+        return blocklistFile;
+    }
+
+    /**
+     * Sets blocklist file.
+     *
+     * @param blocklistFile the blocklist file
+     */
+    public void setBlocklistFile(final String blocklistFile) {
+        this.blocklistFile = blocklistFile;
+    }
+
+    /**
+     * Gets blocklist reload interval.
+     *
+     * @return the blocklist reload interval
+     */
+    public Long getBlocklistReloadInterval() {
+        return blocklistReloadInterval;
+    }
+
+    /**
+     * Sets blocklist reload interval.
+     *
+     * @param blocklistReloadInterval the blocklist reload interval
+     */
+    public void setBlocklistReloadInterval(final Long blocklistReloadInterval) {
+        this.blocklistReloadInterval = blocklistReloadInterval;
+    }
+
+    /**
+     * Gets signatures.
+     *
+     * @return the signatures
+     */
+    public String getSignatures() {
+        return signatures;
+    }
+
+    /**
+     * Sets signatures.
+     *
+     * @param signatures the signatures
+     */
+    public void setSignatures(final String signatures) {
+        this.signatures = signatures;
+    }
+
+    /**
+     * Gets signature file.
+     *
+     * @return the signature file
+     */
+    public String getSignatureFile() {
+        return signatureFile;
+    }
+
+    /**
+     * Sets signature file.
+     *
+     * @param signatureFile the signature file
+     */
+    public void setSignatureFile(final String signatureFile) {
+        this.signatureFile = signatureFile;
+    }
 }
@@ -29,8 +29,11 @@ import org.apache.shenyu.plugin.base.cache.CommonHandleCache;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.base.utils.BeanHolder;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.waf.blocklist.WafIpBlocklist;
 import org.apache.shenyu.plugin.waf.config.WafConfig;
+import org.apache.shenyu.plugin.waf.inspect.PayloadInspector;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -45,8 +48,28 @@ public class WafPluginDataHandler implements PluginDataHandler {
     public void handlerPlugin(final PluginData pluginData) {
         WafConfig wafConfig = GsonUtils.getInstance().fromJson(pluginData.getConfig(), WafConfig.class);
         Singleton.INST.single(WafConfig.class, wafConfig);
+        Singleton.INST.single(PayloadInspector.class, PayloadInspector.of(wafConfig.getSignatures(), wafConfig.getSignatureFile()));
+        if (!Boolean.TRUE.equals(pluginData.getEnabled())) {
+            closeBlocklist();
+            return;
+        }
+        String blocklistFile = wafConfig.getBlocklistFile();
+        long reloadInterval = Optional.ofNullable(wafConfig.getBlocklistReloadInterval()).orElse(WafIpBlocklist.DEFAULT_RELOAD_INTERVAL);
+        WafIpBlocklist previous = Singleton.INST.get(WafIpBlocklist.class);
+        if (Objects.nonNull(previous) && previous.hasSettings(blocklistFile, reloadInterval)) {
+            return;
+        }
+        Singleton.INST.single(WafIpBlocklist.class, new WafIpBlocklist(blocklistFile, reloadInterval));
+        if (Objects.nonNull(previous)) {
+            previous.close();
+        }
     }
     
+    @Override
+    public void removePlugin(final PluginData pluginData) {
+        closeBlocklist();
+    }
+
     @Override
     public void handlerSelector(final SelectorData selectorData) {
         if (!selectorData.getContinued()) {
@@ -63,7 +86,7 @@ public class WafPluginDataHandler implements PluginDataHandler {
     public void handlerRule(final RuleData ruleData) {
         Optional.ofNullable(ruleData.getHandle()).ifPresent(s -> {
             final WafHandle wafHandle = GsonUtils.getInstance().fromJson(s, WafHandle.class);
-            CACHED_HANDLE.get().cachedHandle(CacheKeyUtils.INST.getKey(ruleData), wafHandle);
+            CACHED_HANDLE.get().cachedRuleHandle(ruleData, wafHandle);
         });
     }
 
@@ -76,4 +99,12 @@ public class WafPluginDataHandler implements PluginDataHandler {
     public String pluginNamed() {
         return PluginEnum.WAF.getName();
     }
+
+    private void closeBlocklist() {
+        WafIpBlocklist previous = Singleton.INST.get(WafIpBlocklist.class);
+        if (Objects.nonNull(previous)) {
+            Singleton.INST.single(WafIpBlocklist.class, new WafIpBlocklist(null, WafIpBlocklist.DEFAULT_RELOAD_INTERVAL));
+            previous.close();
+        }
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.waf.inspect;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.util.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Request decorator that scans the body against the waf signatures as the buffers stream,
+ * without copying or aggregating them, and fails the stream on a hit when rejecting.
+ */
+public class InspectingRequestDecorator extends ServerHttpRequestDecorator {
+
+    private final SignatureMatcher matcher;
+
+    private final long limit;
+
+    private final boolean reject;
+
+    private final Consumer<String> listener;
+
+    /**
+     * Instantiates a new inspecting request decorator.
+     *
+     * @param delegate the delegate request
+     * @param matcher  the compiled signatures
+     * @param limit    the bytes to scan
+     * @param reject   whether to fail the body on a hit
+     * @param listener notified of the signature found
+     */
+    public InspectingRequestDecorator(final ServerHttpRequest delegate, final SignatureMatcher matcher, final long limit,
+                                      final boolean reject, final Consumer<String> listener) {
+        super(delegate);
+        this.matcher = matcher;
+        this.limit = limit;
+        this.reject = reject;
+        this.listener = listener;
+    }
+
+    @Override
+    @NonNull
+    public Flux<DataBuffer> getBody() {
+        return Flux.defer(() -> {
+            SignatureMatcher.Scanner scanner = matcher.scanner(MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(getHeaders().getContentType()));
+            AtomicLong remaining = new AtomicLong(limit);
+            return super.getBody().handle((dataBuffer, sink) -> {
+                if (remaining.get() > 0 && scan(scanner, dataBuffer, remaining)) {
+                    listener.accept(scanner.signature());
+                    remaining.set(0);
+                    if (reject) {
+                        DataBufferUtils.release(dataBuffer);
+                        sink.error(new ResponseStatusException(HttpStatus.FORBIDDEN));
+                        return;
+                    }
+                }
+                sink.next(dataBuffer);
+            });
+        });
+    }
+
+    private static boolean scan(final SignatureMatcher.Scanner scanner, final DataBuffer dataBuffer, final AtomicLong remaining) {
+        try (DataBuffer.ByteBufferIterator iterator = dataBuffer.readableByteBuffers()) {
+            while (iterator.hasNext() && remaining.get() > 0) {
+                ByteBuffer byteBuffer = iterator.next().asReadOnlyBuffer();
+                int length = (int) Math.min(byteBuffer.remaining(), remaining.get());
+                remaining.addAndGet(-length);
+                if (scanner.scan(byteBuffer.limit(byteBuffer.position() + length))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
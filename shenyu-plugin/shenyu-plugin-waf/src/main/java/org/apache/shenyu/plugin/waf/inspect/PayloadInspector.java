@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.waf.inspect;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Scans the payload of requests on routes that opt in against the waf signature set,
+ * compiled once into a {@link SignatureMatcher} when the plugin config is received.
+ */
+public final class PayloadInspector {
+
+    /**
+     * signatures used when the config gives none.
+     */
+    public static final List<String> DEFAULT_SIGNATURES = Arrays.asList(
+            "union select", "union all select", "' or '1'='1", "' or 1=1", "\" or 1=1", "or 1=1--",
+            "; drop table", "; shutdown", "sleep(", "benchmark(", "waitfor delay", "pg_sleep(",
+            "information_schema", "xp_cmdshell", "load_file(", "into outfile",
+            "<script", "javascript:", "vbscript:", "onerror=", "onload=", "<iframe", "<svg",
+            "document.cookie", "/etc/passwd", "${jndi:");
+
+    private static final Logger LOG = LoggerFactory.getLogger(PayloadInspector.class);
+
+    private static final String COMMENT = "#";
+
+    private final SignatureMatcher matcher;
+
+    private PayloadInspector(final SignatureMatcher matcher) {
+        this.matcher = matcher;
+    }
+
+    /**
+     * Compile the signatures listed inline and in the file, one per line, or the defaults if both are empty.
+     *
+     * @param signatures the inline signatures
+     * @param signatureFile the local signature file
+     * @return the inspector
+     */
+    public static PayloadInspector of(final String signatures, final String signatureFile) {
+        List<String> lines = new ArrayList<>();
+        if (StringUtils.isNotBlank(signatures)) {
+            lines.addAll(Arrays.asList(signatures.split("\\R")));
+        }
+        if (StringUtils.isNotBlank(signatureFile)) {
+            try {
+                lines.addAll(Files.readAllLines(Paths.get(signatureFile.trim()), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                LOG.error("waf plugin failed to load the signatures {}", signatureFile, e);
+            }
+        }
+        lines.removeIf(line -> StringUtils.isBlank(line) || line.trim().startsWith(COMMENT));
+        SignatureMatcher matcher = SignatureMatcher.compile(lines.isEmpty() ? DEFAULT_SIGNATURES : lines);
+        LOG.info("waf plugin compiled {} payload signatures", matcher.size());
+        return new PayloadInspector(matcher);
+    }
+
+    /**
+     * Scan the decoded query parameters and the header values of the request.
+     *
+     * @param request the request
+     * @return the first signature found, null if none
+     */
+    public String inspect(final ServerHttpRequest request) {
+        String signature = find(request.getQueryParams(), true);
+        return Objects.nonNull(signature) ? signature : find(request.getHeaders(), false);
+    }
+
+    /**
+     * Wrap the request so its body is scanned as it streams.
+     *
+     * @param request the request
+     * @param limit the bytes to scan
+     * @param reject whether to fail the body on a hit
+     * @param listener notified of the signature found
+     * @return the decorated request
+     */
+    public ServerHttpRequest inspectBody(final ServerHttpRequest request, final long limit, final boolean reject,
+                                         final Consumer<String> listener) {
+        return new InspectingRequestDecorator(request, matcher, limit, reject, listener);
+    }
+
+    private String find(final MultiValueMap<String, String> values, final boolean withKeys) {
+        for (Map.Entry<String, List<String>> entry : values.entrySet()) {
+            int match = withKeys ? matcher.find(entry.getKey()) : -1;
+            for (int i = 0; i < entry.getValue().size() && match < 0; i++) {
+                String value = entry.getValue().get(i);
+                match = Objects.isNull(value) ? -1 : matcher.find(value);
+            }
+            if (match >= 0) {
+                return matcher.signature(match);
+            }
+        }
+        return null;
+    }
+}
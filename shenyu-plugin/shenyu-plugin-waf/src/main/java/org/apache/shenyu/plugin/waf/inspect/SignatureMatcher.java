@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.waf.inspect;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * An Aho-Corasick automaton over the UTF-8 bytes of a signature set, matching ASCII letters
+ * case-insensitively.
+ *
+ * <p>The failure links are folded into a dense transition table over an alphabet reduced to the
+ * bytes that occur in the signatures, so scanning costs one table lookup per input byte whatever
+ * the number of signatures. The automaton is immutable and shared, the per-stream position lives
+ * in a {@link Scanner}.
+ */
+public final class SignatureMatcher {
+
+    private static final int NO_MATCH = -1;
+
+    private final String[] signatures;
+
+    /**
+     * byte -> alphabet class, 0 for bytes no signature contains.
+     */
+    private final int[] classes;
+
+    private final int alphabet;
+
+    /**
+     * state * alphabet + class -> next state.
+     */
+    private final int[] transitions;
+
+    /**
+     * state -> a signature ending at this state or at one of its suffixes, -1 if none.
+     */
+    private final int[] matches;
+
+    private SignatureMatcher(final String[] signatures, final int[] classes, final int alphabet,
+                             final int[] transitions, final int[] matches) {
+        this.signatures = signatures;
+        this.classes = classes;
+        this.alphabet = alphabet;
+        this.transitions = transitions;
+        this.matches = matches;
+    }
+
+    /**
+     * Compile the signatures, blank and duplicated ones are skipped.
+     *
+     * @param signatures the signatures
+     * @return the matcher
+     */
+    public static SignatureMatcher compile(final Collection<String> signatures) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String signature : signatures) {
+            if (signature != null && !signature.isBlank()) {
+                unique.add(signature.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        List<byte[]> patterns = new ArrayList<>(unique.size());
+        int[] classes = new int[256];
+        int alphabet = 1;
+        int maxStates = 1;
+        for (String signature : unique) {
+            byte[] pattern = signature.getBytes(StandardCharsets.UTF_8);
+            for (byte b : pattern) {
+                int c = b & 0xFF;
+                if (classes[c] == 0) {
+                    classes[c] = alphabet++;
+                }
+            }
+            patterns.add(pattern);
+            maxStates += pattern.length;
+        }
+        for (int c = 'A'; c <= 'Z'; c++) {
+            classes[c] = classes[c + ('a' - 'A')];
+        }
+        // 0 is the root, which is never the target of a trie edge, so it marks a missing edge while building
+        int[] transitions = new int[maxStates * alphabet];
+        int[] matches = new int[maxStates];
+        Arrays.fill(matches, NO_MATCH);
+        int states = 1;
+        for (int id = 0; id < patterns.size(); id++) {
+            int state = 0;
+            for (byte b : patterns.get(id)) {
+                int edge = state * alphabet + classes[b & 0xFF];
+                if (transitions[edge] == 0) {
+                    transitions[edge] = states++;
+                }
+                state = transitions[edge];
+            }
+            matches[state] = id;
+        }
+        int[] failures = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int c = 0; c < alphabet; c++) {
+                int edge = state * alphabet + c;
+                int child = transitions[edge];
+                // breadth first, so the transitions of the shallower failure state are already complete
+                int fallback = state == 0 ? 0 : transitions[failures[state] * alphabet + c];
+                if (child != 0) {
+                    failures[child] = fallback;
+                    if (matches[child] == NO_MATCH) {
+                        matches[child] = matches[fallback];
+                    }
+                    queue.add(child);
+                } else {
+                    transitions[edge] = fallback;
+                }
+            }
+        }
+        return new SignatureMatcher(unique.toArray(new String[0]), classes, alphabet,
+                Arrays.copyOf(transitions, states * alphabet), Arrays.copyOf(matches, states));
+    }
+
+    /**
+     * Find a signature in the value.
+     *
+     * @param value the value
+     * @return the index of the signature found, -1 if none
+     */
+    public int find(final CharSequence value) {
+        int state = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            // utf-8 encoded inline, lone surrogates are not matched
+            if (ch < 0x80) {
+                state = next(state, ch);
+            } else if (ch < 0x800) {
+                state = next(next(state, 0xC0 | ch >> 6), 0x80 | ch & 0x3F);
+            } else {
+                state = next(next(next(state, 0xE0 | ch >> 12), 0x80 | ch >> 6 & 0x3F), 0x80 | ch & 0x3F);
+            }
+            if (matches[state] != NO_MATCH) {
+                return matches[state];
+            }
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * New scanner at the start of a stream.
+     *
+     * @param urlEncoded whether to percent-decode the stream before matching
+     * @return the scanner
+     */
+    public Scanner scanner(final boolean urlEncoded) {
+        return new Scanner(urlEncoded);
+    }
+
+    /**
+     * Get the signature.
+     *
+     * @param index the index returned by a match
+     * @return the signature
+     */
+    public String signature(final int index) {
+        return signatures[index];
+    }
+
+    /**
+     * Get the number of signatures.
+     *
+     * @return the number of signatures
+     */
+    public int size() {
+        return signatures.length;
+    }
+
+    private int next(final int state, final int b) {
+        return transitions[state * alphabet + classes[b & 0xFF]];
+    }
+
+    private static int hex(final int b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        int lower = b | 0x20;
+        return lower >= 'a' && lower <= 'f' ? lower - 'a' + 10 : NO_MATCH;
+    }
+
+    /**
+     * The position of the automaton in one stream, fed buffer by buffer so signatures split
+     * across buffers are still found. Not thread safe.
+     */
+    public final class Scanner {
+
+        private final boolean urlEncoded;
+
+        private int state;
+
+        private int match = NO_MATCH;
+
+        /**
+         * bytes of an unfinished percent escape: 0, '%' or '%' and one hex digit.
+         */
+        private int pending;
+
+        private int pendingDigit;
+
+        private Scanner(final boolean urlEncoded) {
+            this.urlEncoded = urlEncoded;
+        }
+
+        /**
+         * Scan the remaining bytes of the buffer without moving its position.
+         *
+         * @param buffer the buffer
+         * @return true once a signature has been found
+         */
+        public boolean scan(final ByteBuffer buffer) {
+            for (int i = buffer.position(); i < buffer.limit() && match == NO_MATCH; i++) {
+                if (urlEncoded) {
+                    decode(buffer.get(i));
+                } else {
+                    feed(buffer.get(i));
+                }
+            }
+            return match != NO_MATCH;
+        }
+
+        /**
+         * Get the signature found.
+         *
+         * @return the signature, null if none
+         */
+        public String signature() {
+            return match == NO_MATCH ? null : signatures[match];
+        }
+
+        private void decode(final byte b) {
+            if (pending == 0) {
+                if (b == '%') {
+                    pending = 1;
+                } else {
+                    feed(b == '+' ? ' ' : b);
+                }
+                return;
+            }
+            int digit = hex(b);
+            if (digit == NO_MATCH) {
+                // not an escape, match it as it was sent
+                feed('%');
+                if (pending == 2) {
+                    feed(Character.forDigit(pendingDigit, 16));
+                }
+                pending = 0;
+                decode(b);
+            } else if (pending == 1) {
+                pendingDigit = digit;
+                pending = 2;
+            } else {
+                pending = 0;
+                feed(pendingDigit << 4 | digit);
+            }
+        }
+
+        private void feed(final int b) {
+            state = next(state, b);
+            if (matches[state] != NO_MATCH) {
+                match = matches[state];
+            }
+        }
+    }
+}
@@ -17,29 +17,50 @@
 
 package org.apache.shenyu.plugin.waf;
 
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.rule.WafHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.common.utils.Singleton;
+import org.apache.shenyu.plugin.api.RemoteAddressResolver;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
 import org.apache.shenyu.plugin.api.result.ShenyuResult;
 import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.waf.blocklist.WafIpBlocklist;
 import org.apache.shenyu.plugin.waf.handler.WafPluginDataHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -61,6 +82,8 @@ public final class WafPluginTest {
     public void setUp() {
         ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
         when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        when(context.getBean(RemoteAddressResolver.class)).thenReturn(new RemoteAddressResolver() {
+        });
         SpringBeanUtils springBeanUtils = SpringBeanUtils.getInstance();
         springBeanUtils.setApplicationContext(context);
 
@@ -130,4 +153,84 @@ public final class WafPluginTest {
         Mono<Void> execute = wafPluginUnderTest.doExecute(exchange, chain, selectorData, ruleData);
         StepVerifier.create(execute).expectSubscription().verifyComplete();
     }
+
+    @Test
+    public void testWafPluginBlocklist(@TempDir final Path dir) throws IOException {
+        Path file = dir.resolve("blocklist.txt");
+        Files.writeString(file, "10.0.0.0/8\n");
+        final PluginData pluginData = new PluginData("pluginId", PluginEnum.WAF.getName(),
+                "{\"model\":\"black\",\"blocklistFile\":\"" + file.toString().replace("\\", "\\\\") + "\",\"blocklistReloadInterval\":0}", "0", true, null);
+        WafPluginDataHandler handler = new WafPluginDataHandler();
+        handler.handlerPlugin(pluginData);
+        BaseDataCache.getInstance().cachePluginData(pluginData);
+        ServerWebExchange blocked = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .remoteAddress(new InetSocketAddress("10.1.2.3", 8080)).build());
+        StepVerifier.create(wafPluginUnderTest.execute(blocked, chain)).expectSubscription().verifyComplete();
+        assertEquals(403, blocked.getResponse().getStatusCode().value());
+        verify(chain, never()).execute(blocked);
+
+        // turning the plugin off in admin stops the blocklist and its reloading
+        pluginData.setEnabled(false);
+        handler.handlerPlugin(pluginData);
+        assertTrue(Singleton.INST.get(WafIpBlocklist.class).isEmpty());
+        pluginData.setEnabled(true);
+        handler.handlerPlugin(pluginData);
+        assertFalse(Singleton.INST.get(WafIpBlocklist.class).isEmpty());
+        handler.removePlugin(pluginData);
+        assertTrue(Singleton.INST.get(WafIpBlocklist.class).isEmpty());
+        BaseDataCache.getInstance().removePluginData(pluginData);
+    }
+
+    @Test
+    public void testWafPluginInspectQuery() {
+        RuleData rule = inspectRule("{\"permission\":\"allow\",\"statusCode\":\"403\",\"inspect\":true}");
+        ServerWebExchange attack = MockServerWebExchange.from(MockServerHttpRequest.get("localhost/waf?id={id}", "1' OR 1=1").build());
+        StepVerifier.create(wafPluginUnderTest.doExecute(attack, chain, selectorData, rule)).expectSubscription().verifyComplete();
+        assertEquals(403, attack.getResponse().getStatusCode().value());
+        assertEquals("' or 1=1", attack.getAttribute(Constants.WAF_INSPECTION_HITS));
+        verify(chain, never()).execute(attack);
+    }
+
+    @Test
+    public void testWafPluginInspectBody() {
+        RuleData logOnly = inspectRule("{\"permission\":\"allow\",\"statusCode\":\"403\",\"inspect\":true,\"inspectBodyLimit\":1024,\"inspectLogOnly\":true}");
+        ServerWebExchange attack = MockServerWebExchange.from(MockServerHttpRequest.post("localhost/waf")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED).body("name=%3CScRiPt%3Ealert(1)"));
+        when(chain.execute(any())).thenAnswer(invocation -> DataBufferUtils.join(invocation.<ServerWebExchange>getArgument(0).getRequest().getBody()).then());
+        StepVerifier.create(wafPluginUnderTest.doExecute(attack, chain, selectorData, logOnly)).expectSubscription().verifyComplete();
+        assertEquals("<script", attack.getAttribute(Constants.WAF_INSPECTION_HITS));
+
+        RuleData reject = inspectRule("{\"permission\":\"allow\",\"statusCode\":\"403\",\"inspect\":true,\"inspectBodyLimit\":1024}");
+        ServerWebExchange rejected = MockServerWebExchange.from(MockServerHttpRequest.post("localhost/waf")
+                .body("{\"q\":\"1 union select password from users\"}"));
+        StepVerifier.create(wafPluginUnderTest.doExecute(rejected, chain, selectorData, reject)).expectSubscription().verifyComplete();
+        assertEquals(403, rejected.getResponse().getStatusCode().value());
+        assertEquals("union select", rejected.getAttribute(Constants.WAF_INSPECTION_HITS));
+    }
+
+    @Test
+    public void testWafPluginInspectBodyRuleStatus() {
+        RuleData reject = inspectRule("{\"permission\":\"allow\",\"statusCode\":\"429\",\"inspect\":true,\"inspectBodyLimit\":1024}");
+        ServerWebExchange rejected = MockServerWebExchange.from(MockServerHttpRequest.post("localhost/waf")
+                .body("{\"q\":\"1 union select password from users\"}"));
+        // the upstream plugin maps the body error, the rule's reject response is written all the same
+        when(chain.execute(any())).thenAnswer(invocation -> DataBufferUtils.join(invocation.<ServerWebExchange>getArgument(0).getRequest().getBody())
+                .onErrorMap(error -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE)).then());
+        StepVerifier.create(wafPluginUnderTest.doExecute(rejected, chain, selectorData, reject)).expectSubscription().verifyComplete();
+        assertEquals(403, rejected.getResponse().getStatusCode().value());
+        StepVerifier.create(((MockServerWebExchange) rejected).getResponse().getBodyAsString())
+                .assertNext(body -> assertTrue(body.contains("\"code\":429") && body.contains(Constants.REJECT_MSG)))
+                .verifyComplete();
+
+        // errors without a body hit are left to the error handler
+        ServerWebExchange failed = MockServerWebExchange.from(MockServerHttpRequest.post("localhost/waf").body("{\"q\":1}"));
+        doReturn(Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY))).when(chain).execute(any());
+        StepVerifier.create(wafPluginUnderTest.doExecute(failed, chain, selectorData, reject)).expectError(ResponseStatusException.class).verify();
+    }
+
+    private RuleData inspectRule(final String handle) {
+        RuleData rule = RuleData.builder().id(handle).selectorId("inspect").handle(handle).build();
+        new WafPluginDataHandler().handlerRule(rule);
+        return rule;
+    }
 }
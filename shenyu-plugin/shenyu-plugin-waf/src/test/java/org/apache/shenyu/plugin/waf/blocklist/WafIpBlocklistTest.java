@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.waf.blocklist;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link WafIpBlocklist}.
+ */
+public final class WafIpBlocklistTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    public void testLoadAndReload() throws IOException {
+        Path file = dir.resolve("blocklist.txt");
+        Files.writeString(file, "# blocked\n10.0.0.0/8\n\n2001:db8::/32\nnot-an-ip\n");
+        WafIpBlocklist blocklist = new WafIpBlocklist(file.toString(), 0);
+        assertTrue(blocklist.contains("10.1.1.1"));
+        assertTrue(blocklist.contains("2001:db8::5"));
+        assertFalse(blocklist.contains("192.168.0.1"));
+
+        Files.writeString(file, "192.168.0.0/16\n");
+        Files.setLastModifiedTime(file, FileTime.from(System.currentTimeMillis() + 60_000, TimeUnit.MILLISECONDS));
+        blocklist.reload();
+        assertTrue(blocklist.contains("192.168.0.1"));
+        assertFalse(blocklist.contains("10.1.1.1"));
+        blocklist.close();
+    }
+
+    @Test
+    public void testMissingFileKeepsRanges() throws IOException {
+        Path file = dir.resolve("blocklist.txt");
+        Files.writeString(file, "10.0.0.0/8\n");
+        WafIpBlocklist blocklist = new WafIpBlocklist(file.toString(), 0);
+        Files.delete(file);
+        blocklist.reload();
+        assertTrue(blocklist.contains("10.1.1.1"));
+    }
+
+    @Test
+    public void testEmpty() {
+        WafIpBlocklist blocklist = new WafIpBlocklist(null, WafIpBlocklist.DEFAULT_RELOAD_INTERVAL);
+        assertTrue(blocklist.isEmpty());
+        assertTrue(blocklist.hasSettings("", WafIpBlocklist.DEFAULT_RELOAD_INTERVAL));
+        assertFalse(blocklist.contains("10.1.1.1"));
+    }
+}
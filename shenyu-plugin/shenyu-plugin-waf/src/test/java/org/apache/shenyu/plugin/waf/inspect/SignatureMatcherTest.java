@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.plugin.waf.inspect;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test case for {@link SignatureMatcher}.
+ */
+public final class SignatureMatcherTest {
+
+    private final SignatureMatcher matcher = SignatureMatcher.compile(Arrays.asList("hers", "his", "she", " ", "Union Select", "ünïcode", "he"));
+
+    @Test
+    public void testFind() {
+        assertEquals(6, matcher.size());
+        assertEquals("she", matcher.signature(matcher.find("ushers")));
+        assertEquals("his", matcher.signature(matcher.find("this")));
+        assertEquals("union select", matcher.signature(matcher.find("1 UNION SELECT *")));
+        assertEquals("ünïcode", matcher.signature(matcher.find("x-ÜNÏCODE-ünïcode")));
+        assertEquals(-1, matcher.find("union/**/select"));
+        assertEquals(-1, matcher.find(""));
+    }
+
+    @Test
+    public void testScanAcrossBuffers() {
+        SignatureMatcher.Scanner scanner = matcher.scanner(false);
+        assertFalse(scanner.scan(buffer("1 uni")));
+        assertFalse(scanner.scan(buffer("on sel")));
+        assertTrue(scanner.scan(buffer("ect 2")));
+        assertEquals("union select", scanner.signature());
+    }
+
+    @Test
+    public void testScanUrlEncoded() {
+        SignatureMatcher.Scanner scanner = matcher.scanner(true);
+        assertFalse(scanner.scan(buffer("q=1+union%2")));
+        assertTrue(scanner.scan(buffer("0select")));
+        assertEquals("union select", scanner.signature());
+        SignatureMatcher.Scanner invalid = matcher.scanner(true);
+        assertFalse(invalid.scan(buffer("union%2xselect%")));
+        assertNull(invalid.signature());
+    }
+
+    @Test
+    public void testScanDoesNotMoveBuffer() {
+        ByteBuffer buffer = buffer("ushers");
+        assertTrue(matcher.scanner(false).scan(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    private static ByteBuffer buffer(final String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -42,6 +42,7 @@ import org.apache.shenyu.web.filter.FallbackFilter;
 import org.apache.shenyu.web.filter.FileSizeFilter;
 import org.apache.shenyu.web.filter.HealthFilter;
 import org.apache.shenyu.web.filter.LocalDispatcherFilter;
+import org.apache.shenyu.web.filter.UnroutableFilter;
 import org.apache.shenyu.web.forward.ForwardedRemoteAddressResolver;
 import org.apache.shenyu.web.handler.ShenyuWebHandler;
 import org.apache.shenyu.web.loader.ShenyuLoaderService;
@@ -233,6 +234,18 @@ public class ShenyuConfiguration {
         return new ExcludeFilter(shenyuConfig.getExclude().getPaths());
     }
     
+    /**
+     * Unroutable filter.
+     *
+     * @return the web filter
+     */
+    @Bean
+    @Order(-4)
+    @ConditionalOnProperty(name = "shenyu.unroutable.enabled", havingValue = "true")
+    public WebFilter unroutableFilter() {
+        return new UnroutableFilter();
+    }
+    
     /**
      * fallback filter.
      *
@@ -154,6 +154,9 @@ public class ShenyuNettyWebServerConfiguration {
             return sniProcessor.apply(httpServer)
                     .runOn(LoopResources.create("shenyu-netty", nettyHttpProperties.getSelectCount(), nettyHttpProperties.getWorkerCount(), true))
                     .accessLog(nettyHttpProperties.getAccessLog())
+                    // reject oversized request lines and headers while decoding
+                    .httpRequestDecoder(spec -> spec.maxInitialLineLength(nettyHttpProperties.getMaxInitialLineLength())
+                            .maxHeaderSize(nettyHttpProperties.getMaxHeaderSize()))
                     // server socket channel parameters
                     .option(ChannelOption.SO_BACKLOG, nettyHttpProperties.getServerSocketChannel().getSoBacklog())
                     .option(ChannelOption.SO_REUSEADDR, nettyHttpProperties.getServerSocketChannel().isSoReuseAddr())
@@ -23,10 +23,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
 import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.oneOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 /**
@@ -97,4 +103,31 @@ public class ShenyuNettyWebServerConfigurationTest {
                 assertThat(properties.getSocketChannel().getSingleEventExecutorPerGroup(), is(false));
             });
     }
+
+    @Test
+    public void testRequestDecoderLimits() {
+        applicationContextRunner
+            .withPropertyValues(
+                "shenyu.netty.http.maxInitialLineLength=256",
+                "shenyu.netty.http.maxHeaderSize=512"
+            )
+            .run(context -> {
+                NettyReactiveWebServerFactory factory = context.getBean(NettyReactiveWebServerFactory.class);
+                factory.setPort(0);
+                WebServer webServer = factory.getWebServer((request, response) -> response.setComplete());
+                webServer.start();
+                try {
+                    HttpClient client = HttpClient.create().port(webServer.getPort());
+                    assertThat(status(client.headers(headers -> headers.add("X-Small", "a".repeat(64))), "/"), is(200));
+                    assertThat(status(client.headers(headers -> headers.add("X-Large", "a".repeat(1024))), "/"), is(oneOf(400, 431)));
+                    assertThat(status(client, "/" + "a".repeat(1024)), is(oneOf(400, 414)));
+                } finally {
+                    webServer.stop();
+                }
+            });
+    }
+
+    private static int status(final HttpClient client, final String uri) {
+        return client.get().uri(uri).response().map(response -> response.status().code()).block(Duration.ofSeconds(10));
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.shenyu.springboot.starter.plugin.metrics.boot;
 
 import com.google.common.base.Preconditions;
 import org.apache.shenyu.common.config.ShenyuConfig.MetricsConfig;
+import org.apache.shenyu.common.latency.LatencyRecorders;
 import org.apache.shenyu.plugin.metrics.reporter.MetricsReporter;
 import org.apache.shenyu.plugin.metrics.spi.MetricsRegister;
 import org.apache.shenyu.plugin.metrics.spi.MetricsService;
@@ -38,6 +39,10 @@ public class MetricsRunner implements CommandLineRunner, DisposableBean {
     
     private static final Logger LOG = LoggerFactory.getLogger(MetricsRunner.class);
     
+    private static final String MAX_ROUTE_SERIES = "max_route_series";
+    
+    private static final String MAX_LATENCY_RECORDERS = "max_latency_recorders";
+    
     private final AtomicBoolean isStarted = new AtomicBoolean(false);
     
     private final MetricsConfig config;
@@ -62,13 +67,23 @@ public class MetricsRunner implements CommandLineRunner, DisposableBean {
             MetricsRegister metricsRegister = ExtensionLoader.getExtensionLoader(MetricsRegister.class).getJoin(config.getName());
             Preconditions.checkNotNull(metricsRegister,
                     "Can not find metrics register with metrics name : %s in metrics configuration.", config.getName());
-            MetricsReporter.register(metricsRegister);
+            final int maxRouteSeries = intProp(MAX_ROUTE_SERIES, MetricsReporter.DEFAULT_MAX_ROUTE_SERIES);
+            MetricsReporter.register(metricsRegister, maxRouteSeries);
+            // a latency recorder costs about 30KB, so its cap follows the route series cap unless set
+            LatencyRecorders.getInstance().setMaxRecorders(intProp(MAX_LATENCY_RECORDERS, maxRouteSeries));
             metricsService.start(config, metricsRegister);
         } else {
             LOG.info("metrics service has started!");
         }
     }
     
+    private int intProp(final String name, final int defaultValue) {
+        return Optional.ofNullable(config.getProps())
+                .map(props -> props.getProperty(name))
+                .map(Integer::parseInt)
+                .orElse(defaultValue);
+    }
+    
     @Override
     public void destroy() {
         this.isStarted.compareAndSet(true, false);
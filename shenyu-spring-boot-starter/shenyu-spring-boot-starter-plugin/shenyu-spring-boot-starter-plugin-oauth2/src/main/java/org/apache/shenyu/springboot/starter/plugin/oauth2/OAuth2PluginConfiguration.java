@@ -18,7 +18,9 @@
 package org.apache.shenyu.springboot.starter.plugin.oauth2;
 
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.oauth2.OAuth2Plugin;
+import org.apache.shenyu.plugin.oauth2.handler.OAuth2PluginDataHandler;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -50,4 +52,14 @@ public class OAuth2PluginConfiguration {
     public ShenyuPlugin oAuth2Plugin(final ObjectProvider<ReactiveOAuth2AuthorizedClientService> authorizedClientServiceProvider) {
         return new OAuth2Plugin(authorizedClientServiceProvider);
     }
+
+    /**
+     * Oauth2 plugin data handler.
+     *
+     * @return the plugin data handler
+     */
+    @Bean
+    public PluginDataHandler oAuth2PluginDataHandler() {
+        return new OAuth2PluginDataHandler();
+    }
 }
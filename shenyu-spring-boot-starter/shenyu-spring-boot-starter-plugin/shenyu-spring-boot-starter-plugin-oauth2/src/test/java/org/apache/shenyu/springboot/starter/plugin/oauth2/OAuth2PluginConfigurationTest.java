@@ -19,6 +19,7 @@ package org.apache.shenyu.springboot.starter.plugin.oauth2;
 
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -55,4 +56,14 @@ public class OAuth2PluginConfigurationTest {
             }
         );
     }
+
+    @Test
+    public void testOAuth2PluginDataHandler() {
+        applicationContextRunner.run(context -> {
+                PluginDataHandler handler = context.getBean("oAuth2PluginDataHandler", PluginDataHandler.class);
+                assertNotNull(handler);
+                assertThat(handler.pluginNamed()).isEqualTo(PluginEnum.OAUTH2.getName());
+            }
+        );
+    }
 }
@@ -20,9 +20,11 @@ package org.apache.shenyu.springboot.starter.plugin.ratelimiter;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.ratelimiter.RateLimiterPlugin;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterBatchProperties;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -33,14 +35,26 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnProperty(value = {"shenyu.plugins.rate-limiter.enabled"}, havingValue = "true", matchIfMissing = true)
 public class RateLimiterPluginConfiguration {
     
+    /**
+     * Rate limiter batch properties.
+     *
+     * @return the rate limiter batch properties
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "shenyu.plugins.rate-limiter.batch")
+    public RateLimiterBatchProperties rateLimiterBatchProperties() {
+        return new RateLimiterBatchProperties();
+    }
+    
     /**
      * RateLimiter plugin.
      *
+     * @param batchProperties the batch properties
      * @return the shenyu plugin
      */
     @Bean
-    public ShenyuPlugin rateLimiterPlugin() {
-        return new RateLimiterPlugin(new RedisRateLimiter());
+    public ShenyuPlugin rateLimiterPlugin(final RateLimiterBatchProperties batchProperties) {
+        return new RateLimiterPlugin(new RedisRateLimiter(batchProperties));
     }
     
     /**
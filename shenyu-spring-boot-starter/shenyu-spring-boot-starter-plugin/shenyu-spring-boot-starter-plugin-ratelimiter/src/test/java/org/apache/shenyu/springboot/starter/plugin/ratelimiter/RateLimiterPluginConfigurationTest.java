@@ -20,6 +20,7 @@ package org.apache.shenyu.springboot.starter.plugin.ratelimiter;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterBatchProperties;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -28,6 +29,7 @@ import org.springframework.context.annotation.Configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test case for {@link RateLimiterPluginConfiguration}.
@@ -50,6 +52,19 @@ public class RateLimiterPluginConfigurationTest {
             });
     }
 
+    @Test
+    public void testRateLimiterBatchProperties() {
+        new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(RateLimiterPluginConfiguration.class))
+            .withBean(RateLimiterPluginConfigurationTest.class)
+            .withPropertyValues("shenyu.plugins.rate-limiter.batch.enabled=true", "shenyu.plugins.rate-limiter.batch.max-pending=100")
+            .run(context -> {
+                RateLimiterBatchProperties properties = context.getBean(RateLimiterBatchProperties.class);
+                assertTrue(properties.isEnabled());
+                assertThat(properties.getMaxPending()).isEqualTo(100);
+            });
+    }
+
     @Test
     public void testRateLimiterPluginDataHandler() {
         new ApplicationContextRunner()
@@ -87,6 +87,16 @@ public interface PluginDataSubscriber {
     default void refreshSelectorDataSelf(List<SelectorData> selectorDataList) {
     }
     
+    /**
+     * Replace all selector data with a full snapshot.
+     *
+     * @param selectorDataList the selector data list
+     */
+    default void replaceSelectorDataAll(List<SelectorData> selectorDataList) {
+        refreshSelectorDataAll();
+        selectorDataList.forEach(this::onSelectorSubscribe);
+    }
+    
     /**
      * On rule subscribe.
      *
@@ -116,4 +126,25 @@ public interface PluginDataSubscriber {
      */
     default void refreshRuleDataSelf(List<RuleData> ruleDataList) {
     }
+    
+    /**
+     * Replace all rule data with a full snapshot.
+     *
+     * @param ruleDataList the rule data list
+     */
+    default void replaceRuleDataAll(List<RuleData> ruleDataList) {
+        refreshRuleDataAll();
+        ruleDataList.forEach(this::onRuleSubscribe);
+    }
+    
+    /**
+     * Replace all selector and rule data with one full snapshot.
+     *
+     * @param selectorDataList the selector data list
+     * @param ruleDataList the rule data list
+     */
+    default void replaceSelectorAndRuleDataAll(List<SelectorData> selectorDataList, List<RuleData> ruleDataList) {
+        replaceSelectorDataAll(selectorDataList);
+        replaceRuleDataAll(ruleDataList);
+    }
 }
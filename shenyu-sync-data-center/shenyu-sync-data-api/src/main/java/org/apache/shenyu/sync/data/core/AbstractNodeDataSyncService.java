@@ -38,6 +38,7 @@ import org.apache.shenyu.sync.data.api.ProxySelectorDataSubscriber;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -80,10 +81,15 @@ public abstract class AbstractNodeDataSyncService {
         try {
             final List<String> pluginNames = getConfigListOnWatch(changeData.getPluginDataId() + DefaultNodeConstants.POINT_LIST, updateData -> {
                 List<String> changedPluginNames = GsonUtils.getInstance().fromList(updateData, String.class);
-                watcherPlugin(changedPluginNames);
+                watcherPlugin(changedPluginNames, this::cacheSelectorData, this::cacheRuleData);
             });
 
-            watcherPlugin(pluginNames);
+            // the initial load is a full snapshot, publish its selectors and rules together
+            final List<SelectorData> selectorSnapshot = new ArrayList<>();
+            final List<RuleData> ruleSnapshot = new ArrayList<>();
+            watcherPlugin(pluginNames, data -> Optional.ofNullable(GsonUtils.getInstance().fromJson(data, SelectorData.class)).ifPresent(selectorSnapshot::add),
+                data -> Optional.ofNullable(GsonUtils.getInstance().fromJson(data, RuleData.class)).ifPresent(ruleSnapshot::add));
+            Optional.ofNullable(pluginDataSubscriber).ifPresent(e -> e.replaceSelectorAndRuleDataAll(selectorSnapshot, ruleSnapshot));
 
             watchCommonList(changeData.getAuthDataId() + DefaultNodeConstants.JOIN_POINT, this::cacheAuthData, this::unCacheAuthData);
 
@@ -112,7 +118,7 @@ public abstract class AbstractNodeDataSyncService {
 
     protected abstract void doRemoveListener(String removeKey);
 
-    private void watcherPlugin(final List<String> pluginNames) {
+    private void watcherPlugin(final List<String> pluginNames, final Consumer<String> selectorHandler, final Consumer<String> ruleHandler) {
         if (ObjectUtils.isEmpty(pluginNames)) {
             return;
         }
@@ -122,10 +128,10 @@ public abstract class AbstractNodeDataSyncService {
 
             final List<String> selectorIds = getConfigListOnWatch(changeData.getSelectorDataId() + DefaultNodeConstants.JOIN_POINT + pluginName + DefaultNodeConstants.POINT_LIST, updateData -> {
                 List<String> changedSelectorIds = GsonUtils.getInstance().fromList(updateData, String.class);
-                watcherSelector(pluginName, changedSelectorIds);
+                watcherSelector(pluginName, changedSelectorIds, this::cacheSelectorData, this::cacheRuleData);
             });
 
-            watcherSelector(pluginName, selectorIds);
+            watcherSelector(pluginName, selectorIds, selectorHandler, ruleHandler);
 
             watchCommonList(NacosPathConstants.PROXY_SELECTOR_DATA_ID + DefaultNodeConstants.JOIN_POINT + pluginName + DefaultNodeConstants.JOIN_POINT,
                     this::cacheProxySelectorData, this::unCacheProxySelectorData);
@@ -166,7 +172,8 @@ public abstract class AbstractNodeDataSyncService {
         });
     }
 
-    private void watcherSelector(final String pluginName, final List<String> selectorIds) {
+    private void watcherSelector(final String pluginName, final List<String> selectorIds,
+                                 final Consumer<String> selectorHandler, final Consumer<String> ruleHandler) {
         if (ObjectUtils.isEmpty(selectorIds)) {
             return;
         }
@@ -175,20 +182,20 @@ public abstract class AbstractNodeDataSyncService {
                             + DefaultNodeConstants.JOIN_POINT + pluginName + DefaultNodeConstants.JOIN_POINT + selectorId,
                     this::cacheSelectorData, this::unCacheSelectorData);
 
-            cacheSelectorData(selectorData);
+            selectorHandler.accept(selectorData);
 
             final List<String> ruleIds = getConfigListOnWatch(changeData.getRuleDataId() + DefaultNodeConstants.JOIN_POINT
                             + pluginName + DefaultNodeConstants.JOIN_POINT + selectorId + DefaultNodeConstants.POINT_LIST,
                 updateData -> {
                     List<String> upSelectorIds = GsonUtils.getInstance().fromList(updateData, String.class);
-                    watcherRule(selectorId, upSelectorIds, pluginName);
+                    watcherRule(selectorId, upSelectorIds, pluginName, this::cacheRuleData);
                 });
 
-            watcherRule(selectorId, ruleIds, pluginName);
+            watcherRule(selectorId, ruleIds, pluginName, ruleHandler);
         });
     }
 
-    private void watcherRule(final String selectorId, final List<String> ruleIds, final String pluginName) {
+    private void watcherRule(final String selectorId, final List<String> ruleIds, final String pluginName, final Consumer<String> ruleHandler) {
         if (ObjectUtils.isEmpty(ruleIds)) {
             return;
         }
@@ -196,7 +203,7 @@ public abstract class AbstractNodeDataSyncService {
             final String ruleDataStr = this.getConfigOnWatch(changeData.getRuleDataId() + DefaultNodeConstants.JOIN_POINT + pluginName
                             + DefaultNodeConstants.JOIN_POINT + selectorId + DefaultNodeConstants.JOIN_POINT + ruleId,
                     this::cacheRuleData, this::unCacheRuleData);
-            cacheRuleData(ruleDataStr);
+            ruleHandler.accept(ruleDataStr);
         });
     }
 
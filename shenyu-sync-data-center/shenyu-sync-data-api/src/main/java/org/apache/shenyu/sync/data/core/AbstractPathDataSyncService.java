@@ -219,6 +219,11 @@ public abstract class AbstractPathDataSyncService implements SyncDataService {
                 .ifPresent(e -> e.unSelectorSubscribe(selectorData));
     }
 
+    protected void replaceSelectorAndRuleData(final List<SelectorData> selectorDataList, final List<RuleData> ruleDataList) {
+        Optional.ofNullable(pluginDataSubscriber)
+                .ifPresent(e -> e.replaceSelectorAndRuleDataAll(selectorDataList, ruleDataList));
+    }
+
     protected void unCachePluginName(final String pluginName) {
         final PluginData pluginData = new PluginData();
         pluginData.setName(pluginName);
@@ -75,8 +75,7 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
             pluginDataSubscriber.refreshSelectorDataAll();
         } else {
             // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshSelectorDataAll();
-            data.forEach(pluginDataSubscriber::onSelectorSubscribe);
+            pluginDataSubscriber.replaceSelectorDataAll(data);
         }
     }
 }
@@ -58,6 +58,15 @@ public abstract class AbstractDataHandler<T> implements DataHandler {
      */
     protected abstract void doDelete(List<T> dataList);
 
+    /**
+     * Do replace with the full snapshot sent on connect and reconnect.
+     *
+     * @param dataList the data list
+     */
+    protected void doReplace(final List<T> dataList) {
+        doRefresh(dataList);
+    }
+
     @Override
     public void handle(final String json, final String eventType) {
         List<T> dataList = convert(json);
@@ -69,9 +78,11 @@ public abstract class AbstractDataHandler<T> implements DataHandler {
         DataEventTypeEnum eventTypeEnum = DataEventTypeEnum.acquireByName(eventType);
         switch (eventTypeEnum) {
             case REFRESH:
-            case MYSELF:
                 doRefresh(dataList);
                 break;
+            case MYSELF:
+                doReplace(dataList);
+                break;
             case UPDATE:
             case CREATE:
                 doUpdate(dataList);
@@ -44,6 +44,11 @@ public class RuleDataHandler extends AbstractDataHandler<RuleData> {
         dataList.forEach(pluginDataSubscriber::onRuleSubscribe);
     }
 
+    @Override
+    protected void doReplace(final List<RuleData> dataList) {
+        pluginDataSubscriber.replaceRuleDataAll(dataList);
+    }
+
     @Override
     protected void doUpdate(final List<RuleData> dataList) {
         dataList.forEach(pluginDataSubscriber::onRuleSubscribe);
@@ -45,6 +45,11 @@ public class SelectorDataHandler extends AbstractDataHandler<SelectorData> {
         dataList.forEach(pluginDataSubscriber::onSelectorSubscribe);
     }
 
+    @Override
+    protected void doReplace(final List<SelectorData> dataList) {
+        pluginDataSubscriber.replaceSelectorDataAll(dataList);
+    }
+
     @Override
     protected void doUpdate(final List<SelectorData> dataList) {
         dataList.forEach(pluginDataSubscriber::onSelectorSubscribe);
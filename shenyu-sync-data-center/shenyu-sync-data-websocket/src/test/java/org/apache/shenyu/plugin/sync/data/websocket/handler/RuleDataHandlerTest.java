@@ -65,6 +65,13 @@ public final class RuleDataHandlerTest {
         ruleDataList.forEach(verify(subscriber)::onRuleSubscribe);
     }
 
+    @Test
+    public void testDoReplace() {
+        List<RuleData> ruleDataList = createFakeRuleDateObjects(3);
+        ruleDataHandler.doReplace(ruleDataList);
+        verify(subscriber).replaceRuleDataAll(ruleDataList);
+    }
+
     @Test
     public void testDoUpdate() {
         List<RuleData> ruleDataList = createFakeRuleDateObjects(4);
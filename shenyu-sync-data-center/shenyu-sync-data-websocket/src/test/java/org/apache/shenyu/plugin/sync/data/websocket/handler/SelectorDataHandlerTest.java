@@ -65,6 +65,13 @@ public final class SelectorDataHandlerTest {
         selectorDataList.forEach(verify(subscriber)::onSelectorSubscribe);
     }
 
+    @Test
+    public void testDoReplace() {
+        List<SelectorData> selectorDataList = createFakeSelectorDataObjects(3);
+        selectorDataHandler.doReplace(selectorDataList);
+        verify(subscriber).replaceSelectorDataAll(selectorDataList);
+    }
+
     @Test
     public void testDoUpdate() {
         List<SelectorData> selectorDataList = createFakeSelectorDataObjects(4);
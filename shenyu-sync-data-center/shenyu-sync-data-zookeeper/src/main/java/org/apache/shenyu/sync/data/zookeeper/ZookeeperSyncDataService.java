@@ -21,6 +21,9 @@ import com.google.common.base.Strings;
 import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
 import org.apache.shenyu.common.constant.DefaultPathConstants;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.DiscoveryUpstreamDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
@@ -31,6 +34,7 @@ import org.apache.shenyu.sync.data.core.AbstractPathDataSyncService;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * this cache data with zookeeper.
@@ -70,6 +74,12 @@ public class ZookeeperSyncDataService extends AbstractPathDataSyncService {
 
     private void watcherData0(final String registerPath) {
         zkClient.addCache(registerPath, (curatorFramework, treeCacheEvent) -> {
+            // the rule cache is registered last, once it is loaded or reconnected publish a full snapshot
+            if (DefaultPathConstants.RULE_PARENT.equals(registerPath) && isSnapshotEvent(treeCacheEvent.getType())) {
+                replaceSelectorAndRuleData(loadChildren(DefaultPathConstants.SELECTOR_PARENT, SelectorData.class),
+                        loadChildren(DefaultPathConstants.RULE_PARENT, RuleData.class));
+                return;
+            }
             ChildData childData = treeCacheEvent.getData();
             if (null == childData) {
                 return;
@@ -89,6 +99,22 @@ public class ZookeeperSyncDataService extends AbstractPathDataSyncService {
         });
     }
 
+    private boolean isSnapshotEvent(final TreeCacheEvent.Type type) {
+        return TreeCacheEvent.Type.INITIALIZED == type || TreeCacheEvent.Type.CONNECTION_RECONNECTED == type;
+    }
+
+    private <T> List<T> loadChildren(final String parentPath, final Class<T> clazz) {
+        return zkClient.getChildren(parentPath).stream()
+                .map(pluginName -> String.join(DefaultPathConstants.PATH_SEPARATOR, parentPath, pluginName))
+                .flatMap(pluginPath -> zkClient.getChildren(pluginPath).stream()
+                        .map(id -> String.join(DefaultPathConstants.PATH_SEPARATOR, pluginPath, id)))
+                .map(zkClient::get)
+                .filter(data -> !Strings.isNullOrEmpty(data))
+                .map(data -> GsonUtils.getInstance().fromJson(data, clazz))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void close() {
         if (Objects.nonNull(zkClient)) {
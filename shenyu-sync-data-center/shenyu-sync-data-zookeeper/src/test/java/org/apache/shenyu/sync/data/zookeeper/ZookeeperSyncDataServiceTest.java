@@ -21,21 +21,30 @@ import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
 import org.apache.curator.framework.recipes.cache.TreeCacheListener;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.sync.data.api.AuthDataSubscriber;
 import org.apache.shenyu.sync.data.api.MetaDataSubscriber;
 import org.apache.shenyu.sync.data.api.PluginDataSubscriber;
 import org.apache.shenyu.sync.data.api.ProxySelectorDataSubscriber;
 import org.apache.shenyu.sync.data.api.DiscoveryUpstreamDataSubscriber;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public final class ZookeeperSyncDataServiceTest {
@@ -92,6 +101,38 @@ public final class ZookeeperSyncDataServiceTest {
         zookeeperSyncDataService.close();
     }
 
+    @Test
+    public void testReplaceSelectorAndRuleDataOnInitialized() throws Exception {
+        ZookeeperClient zkClient = mock(ZookeeperClient.class);
+        PluginDataSubscriber pluginDataSubscriber = mock(PluginDataSubscriber.class);
+        Map<String, TreeCacheListener> treeCacheListeners = new HashMap<>();
+        doAnswer(invocationOnMock -> {
+            treeCacheListeners.put(invocationOnMock.getArgument(0), invocationOnMock.getArgument(1));
+            return null;
+        }).when(zkClient).addCache(any(), any());
+        when(zkClient.getChildren("/shenyu/selector")).thenReturn(Collections.singletonList("divide"));
+        when(zkClient.getChildren("/shenyu/selector/divide")).thenReturn(Collections.singletonList("1"));
+        when(zkClient.get("/shenyu/selector/divide/1")).thenReturn(GsonUtils.getInstance().toJson(SelectorData.builder().id("1").pluginName("divide").build()));
+        when(zkClient.getChildren("/shenyu/rule")).thenReturn(Collections.singletonList("divide"));
+        when(zkClient.getChildren("/shenyu/rule/divide")).thenReturn(Collections.singletonList("1-2"));
+        when(zkClient.get("/shenyu/rule/divide/1-2")).thenReturn(GsonUtils.getInstance().toJson(RuleData.builder().id("2").selectorId("1").pluginName("divide").build()));
+        final ZookeeperSyncDataService zookeeperSyncDataService = new ZookeeperSyncDataService(zkClient, pluginDataSubscriber,
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+        TreeCacheEvent event = mock(TreeCacheEvent.class);
+        when(event.getType()).thenReturn(TreeCacheEvent.Type.INITIALIZED);
+        treeCacheListeners.get("/shenyu/selector").childEvent(mock(CuratorFramework.class), event);
+        verify(pluginDataSubscriber, never()).replaceSelectorAndRuleDataAll(any(), any());
+        treeCacheListeners.get("/shenyu/rule").childEvent(mock(CuratorFramework.class), event);
+
+        ArgumentCaptor<List<SelectorData>> selectorCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<RuleData>> ruleCaptor = ArgumentCaptor.forClass(List.class);
+        verify(pluginDataSubscriber).replaceSelectorAndRuleDataAll(selectorCaptor.capture(), ruleCaptor.capture());
+        assertEquals("1", selectorCaptor.getValue().get(0).getId());
+        assertEquals("2", ruleCaptor.getValue().get(0).getId());
+        zookeeperSyncDataService.close();
+    }
+
     private static TreeCacheEvent treeCacheEvent(final String path, final TreeCacheEvent.Type type) {
         TreeCacheEvent treeCacheEvent = mock(TreeCacheEvent.class);
         ChildData childData = mock(ChildData.class);
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.shenyu.web.endpoint;
+
+import org.apache.shenyu.common.latency.LatencyRecorders;
+import org.apache.shenyu.common.latency.LatencySnapshot;
+import org.apache.shenyu.plugin.api.profile.PluginProfiler;
+import org.apache.shenyu.plugin.api.profile.PluginTiming;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * The latency endpoint, reporting the last completed interval of each latency recorder
+ * and the plugin timings of the profiled requests.
+ */
+@RestController
+@RequestMapping(value = "/actuator/latency", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+public class ShenyuLatencyEndpoint {
+    
+    /**
+     * Selector latency percentiles flux.
+     *
+     * @return the flux
+     */
+    @GetMapping("/selectors")
+    public Flux<Map<String, LatencySnapshot>> selectors() {
+        return Flux.just(LatencyRecorders.getInstance().getSelectorSnapshots());
+    }
+    
+    /**
+     * Upstream latency percentiles flux.
+     *
+     * @return the flux
+     */
+    @GetMapping("/upstreams")
+    public Flux<Map<String, LatencySnapshot>> upstreams() {
+        return Flux.just(LatencyRecorders.getInstance().getUpstreamSnapshots());
+    }
+    
+    /**
+     * Plugin timings of the profiled requests flux, by selector and plugin.
+     *
+     * @return the flux
+     */
+    @GetMapping("/plugins")
+    public Flux<Map<String, Map<String, PluginTiming>>> plugins() {
+        return Flux.just(PluginProfiler.getInstance().getTimings());
+    }
+}
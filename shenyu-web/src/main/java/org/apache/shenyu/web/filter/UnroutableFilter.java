@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.filter;
+
+import org.apache.shenyu.plugin.api.profile.UnroutableCounter;
+import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
+import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
+import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.SelectorPathIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Unroutable filter, answers 404 for paths no enabled selector can match, without walking the plugin chain.
+ *
+ * <p>The path index is rebuilt lazily when the selector data changes. Plugins that serve
+ * requests without any selector should not be used together with this filter. Rejected requests
+ * are counted in {@link UnroutableCounter}, which the metrics plugin exports.
+ */
+public class UnroutableFilter extends AbstractWebFilter {
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile SelectorPathIndex index = SelectorPathIndex.ALL;
+
+    private volatile long version = -1;
+
+    @Override
+    protected Mono<Boolean> doMatcher(final ServerWebExchange exchange, final WebFilterChain chain) {
+        String path = exchange.getRequest().getURI().getRawPath();
+        return Mono.just(!obtainIndex().mayRoute(path));
+    }
+
+    @Override
+    protected Mono<Void> doFilter(final ServerWebExchange exchange) {
+        rejected.increment();
+        UnroutableCounter.getInstance().increment();
+        exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+        Object error = ShenyuResultWrap.error(exchange, ShenyuResultEnum.SELECTOR_NOT_FOUND.getCode(), ShenyuResultEnum.SELECTOR_NOT_FOUND.getMsg(), null);
+        return WebFluxResultUtils.result(exchange, error);
+    }
+
+    /**
+     * Gets the count of rejected requests.
+     *
+     * @return the rejected count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private SelectorPathIndex obtainIndex() {
+        BaseDataCache cache = BaseDataCache.getInstance();
+        long current = cache.obtainSelectorVersion();
+        if (current != version && rebuilding.compareAndSet(false, true)) {
+            try {
+                index = SelectorPathIndex.build(cache.obtainAllSelectorData());
+                version = current;
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+        // while another thread rebuilds, the previous index is used
+        return index;
+    }
+}
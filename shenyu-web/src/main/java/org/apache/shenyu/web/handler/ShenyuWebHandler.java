@@ -22,21 +22,31 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.profile.PluginProfile;
+import org.apache.shenyu.plugin.api.profile.PluginProfiler;
+import org.apache.shenyu.plugin.api.trace.ShenyuSpan;
+import org.apache.shenyu.plugin.api.trace.ShenyuTracer;
+import org.apache.shenyu.plugin.api.trace.SpanKind;
+import org.apache.shenyu.plugin.api.trace.TraceContext;
+import org.apache.shenyu.plugin.api.trace.Tracing;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.PluginHandlerEvent;
 import org.apache.shenyu.web.loader.ShenyuLoaderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationListener;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.lang.NonNull;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -44,6 +54,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
@@ -69,6 +80,10 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
 
     private Scheduler scheduler;
     
+    private final boolean profiled;
+    
+    private final double profileSampleRate;
+    
     /**
      * Instantiates a new shenyu web handler.
      *
@@ -89,6 +104,13 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
                 this.scheduler = Schedulers.boundedElastic();
             }
         }
+        ShenyuConfig.ProfileConfig profile = shenyuConfig.getProfile();
+        this.profiled = profile.getEnabled() && profile.getSampleRate() > 0;
+        this.profileSampleRate = profile.getSampleRate();
+        if (profiled) {
+            PluginProfiler.getInstance().setMaxRoutes(profile.getMaxRoutes());
+        }
+        Tracing.init(shenyuConfig.getTrace());
     }
 
     /**
@@ -123,7 +145,8 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
     public Mono<Void> handle(@NonNull final ServerWebExchange exchange) {
         try {
             before(exchange);
-            Mono<Void> execute = new DefaultShenyuPluginChain(plugins).execute(exchange);
+            final ShenyuTracer tracer = Tracing.getTracer();
+            Mono<Void> execute = tracer.isEnabled() ? trace(exchange, tracer) : execute(exchange, null, null);
             if (scheduled) {
                 return execute.subscribeOn(scheduler);
             }
@@ -133,6 +156,50 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
         }
     }
     
+    private Mono<Void> execute(final ServerWebExchange exchange, final ShenyuTracer tracer, final TraceContext trace) {
+        return isProfiled() ? profile(exchange, tracer, trace) : new DefaultShenyuPluginChain(plugins, null, tracer, trace).execute(exchange);
+    }
+    
+    private Mono<Void> trace(final ServerWebExchange exchange, final ShenyuTracer tracer) {
+        return Mono.defer(() -> {
+            final ServerHttpRequest request = exchange.getRequest();
+            final ShenyuSpan span = tracer.startSpan("shenyu.chain", SpanKind.SERVER,
+                    TraceContext.parse(request.getHeaders().getFirst(TraceContext.TRACEPARENT)));
+            final TraceContext trace = span.getContext();
+            if (Objects.isNull(trace)) {
+                return execute(exchange, null, null);
+            }
+            span.setAttribute("http.request.method", request.getMethod().name())
+                    .setAttribute("url.path", request.getPath().value());
+            return execute(exchange, tracer, trace)
+                    .doOnError(span::setError)
+                    .doFinally(signal -> {
+                        RuleData rule = exchange.getAttribute(Constants.MATCHED_RULE);
+                        if (Objects.nonNull(rule)) {
+                            span.setAttribute("shenyu.selector.id", rule.getSelectorId()).setAttribute("shenyu.rule.id", rule.getId());
+                        }
+                        Optional.ofNullable(exchange.getResponse().getStatusCode())
+                                .ifPresent(status -> span.setAttribute("http.response.status_code", status.value()));
+                        span.end();
+                    })
+                    // the upstream calls of the plugins read the context of the chain span from here
+                    .contextWrite(Context.of(Tracing.CONTEXT_KEY, trace));
+        });
+    }
+    
+    private boolean isProfiled() {
+        return profiled && ThreadLocalRandom.current().nextDouble() < profileSampleRate;
+    }
+    
+    private Mono<Void> profile(final ServerWebExchange exchange, final ShenyuTracer tracer, final TraceContext trace) {
+        final List<ShenyuPlugin> current = plugins;
+        final PluginProfile profile = new PluginProfile(current.size());
+        return new DefaultShenyuPluginChain(current, profile, tracer, trace).execute(exchange).doFinally(signal -> {
+            RuleData rule = exchange.getAttribute(Constants.MATCHED_RULE);
+            PluginProfiler.getInstance().record(Objects.isNull(rule) ? null : rule.getSelectorId(), profile);
+        });
+    }
+    
     /**
      * Gets plugins.
      *
@@ -269,14 +336,27 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
         private int index;
 
         private final List<ShenyuPlugin> plugins;
+        
+        private final PluginProfile profile;
+        
+        private final ShenyuTracer tracer;
+        
+        private final TraceContext trace;
     
         /**
          * Instantiates a new Default shenyu plugin chain.
          *
          * @param plugins the plugins
+         * @param profile the profile of the request, null if it isn't profiled
+         * @param tracer the tracer, null if the request isn't traced
+         * @param trace the context of the chain span, null if the request isn't traced
          */
-        DefaultShenyuPluginChain(final List<ShenyuPlugin> plugins) {
+        DefaultShenyuPluginChain(final List<ShenyuPlugin> plugins, final PluginProfile profile,
+                                 final ShenyuTracer tracer, final TraceContext trace) {
             this.plugins = plugins;
+            this.profile = profile;
+            this.tracer = tracer;
+            this.trace = trace;
         }
 
         /**
@@ -294,15 +374,50 @@ public final class ShenyuWebHandler implements WebHandler, ApplicationListener<P
                     if (skip) {
                         return this.execute(exchange);
                     }
-                    try {
-                        plugin.before(exchange);
-                        return plugin.execute(exchange, this);
-                    } finally {
-                        plugin.after(exchange);
+                    if (Objects.nonNull(trace)) {
+                        return tracedExecute(plugin, exchange);
                     }
+                    return pluginExecute(plugin, exchange);
                 }
                 return Mono.empty();
             });
         }
+        
+        private Mono<Void> pluginExecute(final ShenyuPlugin plugin, final ServerWebExchange exchange) {
+            if (Objects.nonNull(profile)) {
+                return profiledExecute(plugin, exchange);
+            }
+            try {
+                plugin.before(exchange);
+                return plugin.execute(exchange, this);
+            } finally {
+                plugin.after(exchange);
+            }
+        }
+        
+        private Mono<Void> tracedExecute(final ShenyuPlugin plugin, final ServerWebExchange exchange) {
+            // the span of a plugin also covers the plugins it delegates to
+            final ShenyuSpan span = tracer.startSpan(plugin.named(), SpanKind.INTERNAL, trace);
+            final Mono<Void> execute;
+            try {
+                execute = pluginExecute(plugin, exchange);
+            } catch (RuntimeException e) {
+                span.setError(e);
+                span.end();
+                throw e;
+            }
+            return execute.doOnError(span::setError).doFinally(signal -> span.end());
+        }
+        
+        private Mono<Void> profiledExecute(final ShenyuPlugin plugin, final ServerWebExchange exchange) {
+            final int position = profile.enter(plugin.named());
+            try {
+                plugin.before(exchange);
+                return plugin.execute(exchange, this);
+            } finally {
+                plugin.after(exchange);
+                profile.exit(position);
+            }
+        }
     }
 }
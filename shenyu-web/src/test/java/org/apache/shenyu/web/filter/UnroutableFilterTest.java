@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.filter;
+
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.api.profile.UnroutableCounter;
+import org.apache.shenyu.plugin.api.result.DefaultShenyuResult;
+import org.apache.shenyu.plugin.api.result.ShenyuResult;
+import org.apache.shenyu.plugin.api.utils.SpringBeanUtils;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for UnroutableFilter.
+ */
+public final class UnroutableFilterTest {
+
+    private UnroutableFilter unroutableFilter;
+
+    private WebFilterChain webFilterChain;
+
+    @BeforeEach
+    public void setUp() {
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        SpringBeanUtils.getInstance().setApplicationContext(context);
+        when(context.getBean(ShenyuResult.class)).thenReturn(new DefaultShenyuResult());
+        ConditionData condition = new ConditionData();
+        condition.setParamType(ParamTypeEnum.URI.getName());
+        condition.setOperator(OperatorEnum.PATH_PATTERN.getAlias());
+        condition.setParamValue("/http/**");
+        BaseDataCache.getInstance().cacheSelectData(SelectorData.builder()
+                .id("1")
+                .pluginName("divide")
+                .sort(1)
+                .enabled(true)
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode())
+                .matchMode(MatchModeEnum.AND.getCode())
+                .conditionList(Collections.singletonList(condition))
+                .build());
+        unroutableFilter = new UnroutableFilter();
+        webFilterChain = mock(WebFilterChain.class);
+        when(webFilterChain.filter(any())).thenReturn(Mono.empty());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BaseDataCache.getInstance().cleanSelectorData();
+    }
+
+    @Test
+    public void testDoMatcher() {
+        ServerWebExchange webExchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:9195/grpc/echo"));
+        StepVerifier.create(unroutableFilter.doMatcher(webExchange, webFilterChain)).expectNext(Boolean.TRUE).verifyComplete();
+    }
+
+    @Test
+    public void testDoNotMatcher() {
+        ServerWebExchange webExchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:9195/http/order"));
+        StepVerifier.create(unroutableFilter.doMatcher(webExchange, webFilterChain)).expectNext(Boolean.FALSE).verifyComplete();
+    }
+
+    @Test
+    public void testIndexRebuiltOnSelectorChange() {
+        ServerWebExchange webExchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:9195/grpc/echo"));
+        StepVerifier.create(unroutableFilter.doMatcher(webExchange, webFilterChain)).expectNext(Boolean.TRUE).verifyComplete();
+        BaseDataCache.getInstance().cleanSelectorData();
+        StepVerifier.create(unroutableFilter.doMatcher(webExchange, webFilterChain)).expectNext(Boolean.FALSE).verifyComplete();
+    }
+
+    @Test
+    public void testDoFilter() {
+        MockServerWebExchange webExchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:9195/grpc/echo"));
+        final long exported = UnroutableCounter.getInstance().getRejectedCount();
+        StepVerifier.create(unroutableFilter.filter(webExchange, webFilterChain)).verifyComplete();
+        assertEquals(HttpStatus.NOT_FOUND, webExchange.getResponse().getStatusCode());
+        assertEquals(1, unroutableFilter.getRejectedCount());
+        assertEquals(exported + 1, UnroutableCounter.getInstance().getRejectedCount());
+    }
+}
@@ -20,10 +20,18 @@ package org.apache.shenyu.web.handler;
 import org.apache.shenyu.common.config.ShenyuConfig;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.enums.PluginHandlerEventEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.api.profile.PluginProfiler;
+import org.apache.shenyu.plugin.api.profile.PluginTiming;
+import org.apache.shenyu.plugin.api.trace.ShenyuSpan;
+import org.apache.shenyu.plugin.api.trace.ShenyuTracer;
+import org.apache.shenyu.plugin.api.trace.SpanKind;
+import org.apache.shenyu.plugin.api.trace.TraceContext;
+import org.apache.shenyu.plugin.api.trace.Tracing;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
 import org.apache.shenyu.plugin.base.cache.PluginHandlerEvent;
 import org.apache.shenyu.web.loader.ShenyuLoaderService;
@@ -43,8 +51,11 @@ import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -110,6 +121,62 @@ public final class ShenyuWebHandlerTest {
         assertNotNull(handle2);
     }
 
+    @Test
+    public void profileTest() {
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .remoteAddress(new InetSocketAddress(8090))
+                .build());
+        RuleData rule = new RuleData();
+        rule.setSelectorId("profiled-selector");
+        exchange.getAttributes().put(Constants.MATCHED_RULE, rule);
+        ShenyuConfig shenyuConfig = new ShenyuConfig();
+        shenyuConfig.getProfile().setEnabled(true);
+        shenyuConfig.getProfile().setSampleRate(1);
+        ShenyuWebHandler profiledHandler = new ShenyuWebHandler(listPlugins, shenyuLoaderService, shenyuConfig);
+        StepVerifier.create(profiledHandler.handle(exchange)).expectSubscription().verifyComplete();
+        Map<String, PluginTiming> timings = PluginProfiler.getInstance().getTimings().get("profiled-selector");
+        assertNotNull(timings);
+        assertEquals(1, timings.get(plugin1.named()).getCount());
+        // skipped plugins are not profiled
+        assertFalse(timings.containsKey(plugin2.named()));
+        assertTrue(timings.get(plugin1.named()).getSyncNanos() > 0);
+        PluginProfiler.getInstance().clear();
+    }
+
+    @Test
+    public void traceTest() {
+        final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .header(TraceContext.TRACEPARENT, "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")
+                .remoteAddress(new InetSocketAddress(8090))
+                .build());
+        final AtomicReference<TraceContext> seen = new AtomicReference<>();
+        final ShenyuPlugin upstreamPlugin = new TestPlugin3() {
+            @Override
+            public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+                return Mono.deferContextual(context -> {
+                    seen.set(Tracing.current(context));
+                    return chain.execute(exchange);
+                });
+            }
+        };
+        final RecordingTracer tracer = new RecordingTracer();
+        Tracing.setTracer(tracer);
+        try {
+            ShenyuWebHandler handler = new ShenyuWebHandler(List.of(plugin1, plugin2, upstreamPlugin), shenyuLoaderService, new ShenyuConfig());
+            StepVerifier.create(handler.handle(exchange)).expectSubscription().verifyComplete();
+        } finally {
+            Tracing.setTracer(null);
+        }
+        // the chain span continues the incoming trace, skipped plugins have no span
+        assertEquals(List.of("shenyu.chain", plugin1.named(), "test-plugin3"), tracer.names);
+        assertEquals("00f067aa0ba902b7", tracer.parents.get(0).getSpanId());
+        TraceContext chain = tracer.contexts.get(0);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", chain.getTraceId());
+        assertEquals(chain, tracer.parents.get(1));
+        assertEquals(chain, seen.get());
+        assertEquals(3, tracer.ended.size());
+    }
+
     @Test
     public void testOnApplicationEvent() {
         PluginData pluginData1 = PluginData.builder().id("1")
@@ -153,6 +220,58 @@ public final class ShenyuWebHandlerTest {
         assertEquals(pluginDataSorted.get(0), plugin2);
     }
 
+    static class RecordingTracer implements ShenyuTracer {
+
+        private final List<String> names = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<TraceContext> parents = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<TraceContext> contexts = Collections.synchronizedList(new ArrayList<>());
+
+        private final List<TraceContext> ended = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void start(final ShenyuConfig.TraceConfig traceConfig) {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public ShenyuSpan startSpan(final String name, final SpanKind kind, final TraceContext parent) {
+            final TraceContext context = parent == null ? TraceContext.root(true) : parent.child();
+            names.add(name);
+            parents.add(parent);
+            contexts.add(context);
+            return new ShenyuSpan() {
+                @Override
+                public TraceContext getContext() {
+                    return context;
+                }
+
+                @Override
+                public ShenyuSpan setAttribute(final String key, final Object value) {
+                    return this;
+                }
+
+                @Override
+                public void setError(final Throwable error) {
+                }
+
+                @Override
+                public void end() {
+                    ended.add(context);
+                }
+            };
+        }
+    }
+
     static class TestPlugin1 implements ShenyuPlugin {
 
         @Override